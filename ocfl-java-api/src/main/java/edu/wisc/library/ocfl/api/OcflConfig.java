@@ -39,6 +39,7 @@ public class OcflConfig {
     private String defaultContentDirectory;
     private int defaultZeroPaddingWidth;
     private boolean upgradeObjectsOnWrite;
+    private boolean recordFileSizes;
 
     public OcflConfig() {
         ocflVersion = null;
@@ -46,6 +47,7 @@ public class OcflConfig {
         defaultContentDirectory = OcflConstants.DEFAULT_CONTENT_DIRECTORY;
         defaultZeroPaddingWidth = OcflConstants.DEFAULT_ZERO_PADDING_WIDTH;
         upgradeObjectsOnWrite = false;
+        recordFileSizes = false;
     }
 
     public OcflConfig(OcflConfig original) {
@@ -54,6 +56,7 @@ public class OcflConfig {
         defaultContentDirectory = original.defaultContentDirectory;
         defaultZeroPaddingWidth = original.defaultZeroPaddingWidth;
         upgradeObjectsOnWrite = original.upgradeObjectsOnWrite;
+        recordFileSizes = original.recordFileSizes;
     }
 
     /**
@@ -142,6 +145,23 @@ public class OcflConfig {
         return this;
     }
 
+    public boolean isRecordFileSizes() {
+        return recordFileSizes;
+    }
+
+    /**
+     * When set to true, the size of every file that's added to an object is recorded in the inventory's fixity block
+     * using the {@code size} algorithm defined in extension 0009-digest-algorithms. The sizes are then returned with
+     * the file details, so that they do not need to be read from storage. This is defaulted to false.
+     *
+     * @param recordFileSizes true to record file sizes in the fixity block
+     * @return config
+     */
+    public OcflConfig setRecordFileSizes(boolean recordFileSizes) {
+        this.recordFileSizes = recordFileSizes;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "OcflConfig{" + "ocflVersion="
@@ -149,6 +169,7 @@ public class OcflConfig {
                 + defaultDigestAlgorithm + ", defaultContentDirectory='"
                 + defaultContentDirectory + '\'' + ", defaultZeroPaddingWidth="
                 + defaultZeroPaddingWidth + ", upgradeObjectsOnWrite="
-                + upgradeObjectsOnWrite + '}';
+                + upgradeObjectsOnWrite + ", recordFileSizes="
+                + recordFileSizes + '}';
     }
 }
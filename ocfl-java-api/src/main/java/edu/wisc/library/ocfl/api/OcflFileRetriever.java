@@ -24,7 +24,12 @@
 
 package edu.wisc.library.ocfl.api;
 
+import edu.wisc.library.ocfl.api.io.FixityCheckChannel;
 import edu.wisc.library.ocfl.api.io.FixityCheckInputStream;
+import edu.wisc.library.ocfl.api.io.InputStreamChannel;
+import edu.wisc.library.ocfl.api.io.RangeInputStream;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * This class is used to lazy-load object files. A new instance should be created for each file that's intended to be load.
@@ -41,4 +46,59 @@ public interface OcflFileRetriever {
      * @return FixityCheckInputStream of the file's content
      */
     FixityCheckInputStream retrieveFile();
+
+    /**
+     * Returns a new input stream of the specified byte range of the file's content. The caller is responsible for
+     * closing the stream. The input stream is buffered. If the file is shorter than the range, then only the bytes that
+     * exist within the range are returned.
+     *
+     * <p>The content is NOT fixity checked. Use {@link #retrieveFile()} to verify the fixity of the entire file.
+     *
+     * <p>The default implementation skips to the start of the range in the stream returned by {@link #retrieveFile()}.
+     * Implementations should override it to only read the requested range from storage.
+     *
+     * @param startPosition the position of the first byte to return, starting at 0
+     * @param endPosition the position of the last byte to return, inclusive
+     * @return InputStream of the file's content within the range
+     */
+    default InputStream retrieveRange(long startPosition, long endPosition) {
+        return new RangeInputStream(retrieveFile().enableFixityCheck(false), startPosition, endPosition);
+    }
+
+    /**
+     * Returns a new read-only channel of the file's content. The caller is responsible for closing the channel.
+     *
+     * <p>When the file is stored on the local filesystem, the channel is a {@link java.nio.channels.FileChannel}, and
+     * {@code transferTo()} may be used to send the content without copying it into the JVM. Because the bytes do not
+     * pass through the JVM, the content is NOT fixity checked. Use {@link #retrieveFixityCheckChannel()} if the
+     * content must be verified.
+     *
+     * <p>The default implementation reads the streams returned by {@link #retrieveFile()}, and opens a new stream when
+     * the position is moved backward. Implementations should override it to return a channel that can seek in storage.
+     *
+     * @return SeekableByteChannel of the file's content
+     */
+    default SeekableByteChannel retrieveChannel() {
+        return new InputStreamChannel(() -> retrieveFile().enableFixityCheck(false));
+    }
+
+    /**
+     * Returns a new channel of the file's content that computes the file's digest as it is read. The caller is
+     * responsible for closing the channel.
+     *
+     * <p>The caller may call {@code checkFixity()} on the channel after reading all of its data to ensure the
+     * fixity of the data.
+     *
+     * <p>The default implementation wraps the stream returned by {@link #retrieveFile()}, and checks it against the
+     * stream's digest algorithm and expected digest.
+     *
+     * @return FixityCheckChannel of the file's content
+     */
+    default FixityCheckChannel retrieveFixityCheckChannel() {
+        var stream = retrieveFile();
+        var digestAlgorithm = stream.getMessageDigest().getAlgorithm();
+        var expectedDigest = stream.getExpectedDigestValue();
+        return new FixityCheckChannel(
+                new InputStreamChannel(() -> stream.enableFixityCheck(false)), digestAlgorithm, expectedDigest);
+    }
 }
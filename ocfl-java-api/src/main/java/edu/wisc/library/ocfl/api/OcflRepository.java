@@ -25,20 +25,33 @@
 package edu.wisc.library.ocfl.api;
 
 import edu.wisc.library.ocfl.api.exception.AlreadyExistsException;
+import edu.wisc.library.ocfl.api.exception.FixityCheckException;
 import edu.wisc.library.ocfl.api.exception.NotFoundException;
 import edu.wisc.library.ocfl.api.exception.ObjectOutOfSyncException;
+import edu.wisc.library.ocfl.api.exception.OcflIOException;
 import edu.wisc.library.ocfl.api.exception.OcflStateException;
 import edu.wisc.library.ocfl.api.exception.ValidationException;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
 import edu.wisc.library.ocfl.api.model.FileChangeHistory;
 import edu.wisc.library.ocfl.api.model.ObjectDetails;
 import edu.wisc.library.ocfl.api.model.ObjectVersionId;
 import edu.wisc.library.ocfl.api.model.OcflObjectVersion;
+import edu.wisc.library.ocfl.api.model.OcflObjectVersionFile;
 import edu.wisc.library.ocfl.api.model.ValidationResults;
 import edu.wisc.library.ocfl.api.model.VersionDetails;
 import edu.wisc.library.ocfl.api.model.VersionInfo;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Interface for interacting with an OCFL repository.
@@ -112,6 +125,66 @@ public interface OcflRepository {
      */
     OcflObjectVersion getObject(ObjectVersionId objectVersionId);
 
+    /**
+     * Writes the entire contents of the object at the specified version to the output stream as a ZIP archive. The
+     * archive is streamed directly from storage; nothing is staged on disk. The fixity of every file is verified as it
+     * is written. The output stream is NOT closed.
+     *
+     * <p>If a file fails its fixity check, an exception is thrown and the archive is incomplete.
+     *
+     * <p>The default implementation writes the files returned by {@link #getObject(ObjectVersionId)} one at a time, in
+     * logical path order.
+     *
+     * @param objectVersionId the id and version of an object to retrieve
+     * @param outputStream the stream to write the archive to
+     * @throws NotFoundException when no object can be found for the specified objectVersionId
+     * @throws FixityCheckException when a file fails its fixity check
+     */
+    default void getObjectAsZip(ObjectVersionId objectVersionId, OutputStream outputStream) {
+        var files = new ArrayList<>(getObject(objectVersionId).getFiles());
+        files.sort(Comparator.comparing(OcflObjectVersionFile::getPath));
+
+        try {
+            var zip = new ZipOutputStream(outputStream);
+            for (var file : files) {
+                zip.putNextEntry(new ZipEntry(file.getPath()));
+                try (var stream = file.getStream()) {
+                    stream.transferTo(zip);
+                    stream.checkFixity();
+                }
+                zip.closeEntry();
+            }
+            zip.finish();
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+    }
+
+    /**
+     * Returns the details about multiple object versions along with lazy-loading handles to all of the files in them.
+     * This is more efficient than calling {@link #getObject(ObjectVersionId)} for each version, because the objects'
+     * inventories are fetched concurrently, or in bulk where possible. Objects or versions that do not exist are not
+     * included in the result.
+     *
+     * <p>The default implementation calls {@link #getObject(ObjectVersionId)} for each version.
+     *
+     * @param objectVersionIds the ids and versions of the objects to retrieve
+     * @return map of object version id to lazy-loading object version, in the order the ids were specified
+     */
+    default Map<ObjectVersionId, OcflObjectVersion> getObjects(Collection<ObjectVersionId> objectVersionIds) {
+        var objects = new LinkedHashMap<ObjectVersionId, OcflObjectVersion>(objectVersionIds.size());
+        for (var objectVersionId : objectVersionIds) {
+            if (!objects.containsKey(objectVersionId)) {
+                try {
+                    objects.put(objectVersionId, getObject(objectVersionId));
+                } catch (NotFoundException e) {
+                    // objects and versions that do not exist are not included
+                }
+            }
+        }
+        return objects;
+    }
+
     /**
      * Returns all of the details about an object and all of its versions.
      *
@@ -121,6 +194,30 @@ public interface OcflRepository {
      */
     ObjectDetails describeObject(String objectId);
 
+    /**
+     * Returns all of the details about multiple objects and all of their versions. This is more efficient than calling
+     * {@link #describeObject(String)} for each object, because the objects' inventories are fetched concurrently, or
+     * in bulk where possible. Objects that do not exist are not included in the result.
+     *
+     * <p>The default implementation calls {@link #describeObject(String)} for each object.
+     *
+     * @param objectIds the ids of the objects to describe
+     * @return map of object id to details about the object, in the order the ids were specified
+     */
+    default Map<String, ObjectDetails> describeObjects(Collection<String> objectIds) {
+        var objects = new LinkedHashMap<String, ObjectDetails>(objectIds.size());
+        for (var objectId : objectIds) {
+            if (!objects.containsKey(objectId)) {
+                try {
+                    objects.put(objectId, describeObject(objectId));
+                } catch (NotFoundException e) {
+                    // objects that do not exist are not included
+                }
+            }
+        }
+        return objects;
+    }
+
     /**
      * Returns the details about a specific version of an object.
      *
@@ -183,6 +280,29 @@ public interface OcflRepository {
      */
     ValidationResults validateObject(String objectId, boolean contentFixityCheck);
 
+    /**
+     * Validates an existing object against the OCFL spec and returns a report containing all of the issues that
+     * were found with their accompanying <a href="https://ocfl.io/validation/validation-codes.html">validation code</a>.
+     *
+     * <p>The validation does NOT lock the object, which means that if an object is updated while the object is in
+     * the process of being validated, then the results may be inaccurate.
+     *
+     * <p>{@link ContentValidation#SIZE} is a cheap middle ground between a structural validation and a full fixity
+     * check. It verifies that all of the content files exist and that they are the size recorded in the inventory,
+     * using only the file metadata returned by listing the object's contents.
+     *
+     * <p>The default implementation calls {@link #validateObject(String, boolean)}, with a fixity check only for
+     * {@link ContentValidation#FIXITY}, so {@link ContentValidation#SIZE} does not verify file sizes.
+     *
+     * @param objectId the id of the object to validate
+     * @param contentValidation how thoroughly the content files should be checked
+     * @return the validation results
+     * @throws NotFoundException if the object does not exist.
+     */
+    default ValidationResults validateObject(String objectId, ContentValidation contentValidation) {
+        return validateObject(objectId, contentValidation == ContentValidation.FIXITY);
+    }
+
     /**
      * Creates a new head version by copying the state of the specified version. This is a non-destructive way to roll an
      * object back to a prior version without altering its version history.
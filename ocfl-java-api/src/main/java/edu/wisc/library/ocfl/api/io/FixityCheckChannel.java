@@ -113,10 +113,13 @@ public class FixityCheckChannel implements ByteChannel {
 
     @Override
     public int read(ByteBuffer dst) throws IOException {
+        var start = dst.position();
         var r = delegate.read(dst);
         if (enabled && r > 0) {
-            dst.flip();
-            digest.update(dst);
+            // Digest only the bytes that were just read, leaving the caller's buffer untouched
+            var read = dst.duplicate();
+            read.limit(dst.position()).position(start);
+            digest.update(read);
         }
         return r;
     }
@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.api.io;
+
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.function.Supplier;
+
+/**
+ * A read-only SeekableByteChannel over streams of a file's content. The stream is opened on the first read. Moving the
+ * position forward skips bytes in the open stream, and moving it backward closes the stream and opens a new one.
+ *
+ * <p>The size is not known up front, so the first call to {@link #size()} reads an entire stream of the content to
+ * count its bytes.
+ */
+public class InputStreamChannel implements SeekableByteChannel {
+
+    private final Supplier<InputStream> streamSupplier;
+
+    private InputStream stream;
+    private long streamPosition;
+    private long position;
+    private long size = -1;
+    private boolean open = true;
+
+    /**
+     * @param streamSupplier returns a new stream of the content, positioned at its first byte, every time it's called
+     */
+    public InputStreamChannel(Supplier<InputStream> streamSupplier) {
+        this.streamSupplier = Enforce.notNull(streamSupplier, "streamSupplier cannot be null");
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        var in = streamAtPosition();
+        int read;
+        if (dst.hasArray()) {
+            read = in.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+            if (read > 0) {
+                dst.position(dst.position() + read);
+            }
+        } else {
+            var bytes = new byte[Math.min(dst.remaining(), 8192)];
+            read = in.read(bytes);
+            if (read > 0) {
+                dst.put(bytes, 0, read);
+            }
+        }
+
+        if (read > 0) {
+            position += read;
+            streamPosition = position;
+        }
+        return read;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        Enforce.expressionTrue(newPosition >= 0, newPosition, "newPosition cannot be negative");
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        if (size == -1) {
+            try (var in = streamSupplier.get()) {
+                size = in.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        open = false;
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private InputStream streamAtPosition() throws IOException {
+        if (stream != null && position < streamPosition) {
+            stream.close();
+            stream = null;
+        }
+        if (stream == null) {
+            stream = streamSupplier.get();
+            streamPosition = 0;
+        }
+        while (streamPosition < position) {
+            var skipped = stream.skip(position - streamPosition);
+            if (skipped > 0) {
+                streamPosition += skipped;
+            } else if (stream.read() != -1) {
+                streamPosition++;
+            } else {
+                // the position is past the end of the content, so reads return -1
+                break;
+            }
+        }
+        return stream;
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
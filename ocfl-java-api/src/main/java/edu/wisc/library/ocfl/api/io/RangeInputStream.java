@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.api.io;
+
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Wrapper around an InputStream that only returns the bytes within a range of the underlying stream. The bytes before
+ * the range are skipped when the stream is first read, and the stream ends at the end of the range, or at the end of
+ * the underlying stream if it is shorter.
+ */
+public class RangeInputStream extends FilterInputStream {
+
+    private long toSkip;
+    private long remaining;
+
+    /**
+     * @param inputStream the underlying stream, positioned at its first byte
+     * @param startPosition the position of the first byte to return, starting at 0
+     * @param endPosition the position of the last byte to return, inclusive
+     */
+    public RangeInputStream(InputStream inputStream, long startPosition, long endPosition) {
+        super(Enforce.notNull(inputStream, "inputStream cannot be null"));
+        Enforce.expressionTrue(startPosition >= 0, startPosition, "startPosition cannot be negative");
+        Enforce.expressionTrue(
+                endPosition >= startPosition, endPosition, "endPosition cannot be less than startPosition");
+
+        this.toSkip = startPosition;
+        var length = endPosition - startPosition;
+        this.remaining = length == Long.MAX_VALUE ? Long.MAX_VALUE : length + 1;
+    }
+
+    @Override
+    public int read() throws IOException {
+        skipToStart();
+        if (remaining <= 0) {
+            return -1;
+        }
+        var b = in.read();
+        if (b != -1) {
+            remaining--;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        skipToStart();
+        if (len == 0) {
+            return 0;
+        }
+        if (remaining <= 0) {
+            return -1;
+        }
+        var read = in.read(b, off, (int) Math.min(len, remaining));
+        if (read > 0) {
+            remaining -= read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        skipToStart();
+        var skipped = in.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (toSkip > 0) {
+            return 0;
+        }
+        return (int) Math.min(in.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // mark is not supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private void skipToStart() throws IOException {
+        while (toSkip > 0) {
+            var skipped = in.skip(toSkip);
+            if (skipped <= 0) {
+                // skip() may return 0 before the end of the stream, so read a byte to find out
+                if (in.read() == -1) {
+                    toSkip = 0;
+                    remaining = 0;
+                    return;
+                }
+                skipped = 1;
+            }
+            toSkip -= skipped;
+        }
+    }
+}
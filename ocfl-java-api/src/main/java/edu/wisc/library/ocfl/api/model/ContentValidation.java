@@ -0,0 +1,48 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.api.model;
+
+/**
+ * How thoroughly the content files of an object should be checked when the object is validated
+ */
+public enum ContentValidation {
+
+    /**
+     * The object's structure is validated, including verifying that every content path in the manifest exists, but
+     * the content files themselves are not inspected
+     */
+    NONE,
+    /**
+     * In addition to the structural validation, the size of every content file that has a size recorded in the
+     * inventory's {@code size} fixity block is verified. This only uses the metadata that's returned when listing
+     * files, and does not read any file content.
+     */
+    SIZE,
+    /**
+     * In addition to the size validation, every content file is read and its digests are verified. This is very
+     * expensive.
+     */
+    FIXITY
+}
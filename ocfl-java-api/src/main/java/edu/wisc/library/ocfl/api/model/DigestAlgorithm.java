@@ -57,6 +57,14 @@ public class DigestAlgorithm {
     public static final DigestAlgorithm blake2b384 = new DigestAlgorithm("blake2b-384", "blake2b-384");
     public static final DigestAlgorithm sha512_256 = new DigestAlgorithm("sha512/256", "sha-512/256");
 
+    /*
+     * From extensions: https://ocfl.github.io/extensions/0009-digest-algorithms
+     *
+     * The "digest" is the decimal size of the file in bytes. It is not registered in the DigestAlgorithmRegistry
+     * because it cannot be computed with a MessageDigest.
+     */
+    public static final DigestAlgorithm size = new DigestAlgorithm("size", null);
+
     private final String ocflName;
     private final String javaStandardName;
 
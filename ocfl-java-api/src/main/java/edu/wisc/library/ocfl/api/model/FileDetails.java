@@ -37,6 +37,7 @@ public class FileDetails {
     private String path;
     private String storageRelativePath;
     private Map<DigestAlgorithm, String> fixity;
+    private Long size;
 
     public FileDetails() {
         this.fixity = new HashMap<>();
@@ -84,6 +85,20 @@ public class FileDetails {
         return this;
     }
 
+    /**
+     * The file's size in bytes, if it was recorded in the inventory's fixity block. Otherwise, null.
+     *
+     * @return file size in bytes or null
+     */
+    public Long getSize() {
+        return size;
+    }
+
+    public FileDetails setSize(Long size) {
+        this.size = size;
+        return this;
+    }
+
     public FileDetails addDigest(DigestAlgorithm algorithm, String value) {
         Enforce.notNull(algorithm, "algorithm cannot be null");
         Enforce.notBlank(value, "value cannot be null");
@@ -96,7 +111,8 @@ public class FileDetails {
         return "FileDetails{" + "path='"
                 + path + '\'' + "storageRelativePath='"
                 + storageRelativePath + '\'' + ", fixity="
-                + fixity + '}';
+                + fixity + ", size="
+                + size + '}';
     }
 
     @Override
@@ -110,11 +126,12 @@ public class FileDetails {
         FileDetails that = (FileDetails) o;
         return Objects.equals(path, that.path)
                 && Objects.equals(storageRelativePath, that.storageRelativePath)
-                && Objects.equals(fixity, that.fixity);
+                && Objects.equals(fixity, that.fixity)
+                && Objects.equals(size, that.size);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(path, storageRelativePath, fixity);
+        return Objects.hash(path, storageRelativePath, fixity, size);
     }
 }
@@ -25,8 +25,11 @@
 package edu.wisc.library.ocfl.api.model;
 
 import edu.wisc.library.ocfl.api.OcflFileRetriever;
+import edu.wisc.library.ocfl.api.io.FixityCheckChannel;
 import edu.wisc.library.ocfl.api.io.FixityCheckInputStream;
 import edu.wisc.library.ocfl.api.util.Enforce;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
 import java.util.Map;
 
 /**
@@ -69,6 +72,15 @@ public class OcflObjectVersionFile {
         return fileDetails.getFixity();
     }
 
+    /**
+     * The file's size in bytes, if it was recorded in the inventory's fixity block. Otherwise, null.
+     *
+     * @return file size in bytes or null
+     */
+    public Long getSize() {
+        return fileDetails.getSize();
+    }
+
     /**
      * Returns a new input stream of the file's content. The caller is responsible for closing the stream.
      *
@@ -81,6 +93,47 @@ public class OcflObjectVersionFile {
         return fileRetriever.retrieveFile();
     }
 
+    /**
+     * Returns a new input stream of the specified byte range of the file's content. The caller is responsible for
+     * closing the stream. This is useful for serving HTTP range requests without reading the entire file.
+     *
+     * <p>The content is NOT fixity checked because only part of the file is read.
+     *
+     * @param startPosition the position of the first byte to return, starting at 0
+     * @param endPosition the position of the last byte to return, inclusive
+     * @return InputStream of the file's content within the range
+     */
+    public InputStream getRange(long startPosition, long endPosition) {
+        Enforce.expressionTrue(startPosition >= 0, startPosition, "startPosition cannot be negative");
+        Enforce.expressionTrue(
+                endPosition >= startPosition, endPosition, "endPosition cannot be less than startPosition");
+        return fileRetriever.retrieveRange(startPosition, endPosition);
+    }
+
+    /**
+     * Returns a new read-only channel of the file's content. The caller is responsible for closing the channel.
+     *
+     * <p>When the repository is on the local filesystem, the channel is a {@link java.nio.channels.FileChannel} that
+     * supports zero-copy transfers with {@code transferTo()}. The content is NOT fixity checked.
+     *
+     * @return SeekableByteChannel of the file's content
+     */
+    public SeekableByteChannel getChannel() {
+        return fileRetriever.retrieveChannel();
+    }
+
+    /**
+     * Returns a new channel of the file's content. The caller is responsible for closing the channel.
+     *
+     * <p>The caller may call {@code checkFixity()} on the channel after reading all of its data to ensure the
+     * fixity of data.
+     *
+     * @return FixityCheckChannel of the file's content
+     */
+    public FixityCheckChannel getFixityCheckChannel() {
+        return fileRetriever.retrieveFixityCheckChannel();
+    }
+
     @Override
     public String toString() {
         return "OcflObjectVersionFile{" + "fileDetails='" + fileDetails + '\'' + '}';
@@ -0,0 +1,61 @@
+package edu.wisc.library.ocfl.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import at.favre.lib.bytes.Bytes;
+import edu.wisc.library.ocfl.api.exception.FixityCheckException;
+import edu.wisc.library.ocfl.api.io.FixityCheckInputStream;
+import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class OcflFileRetrieverTest {
+
+    private static final String CONTENT = "file content";
+
+    @Test
+    public void shouldReadStreamThroughChannelWhenNotOverridden() throws IOException {
+        var retriever = retriever(digest(CONTENT));
+
+        try (var channel = retriever.retrieveChannel()) {
+            channel.position(5);
+            assertEquals("content", read(channel));
+            assertEquals(CONTENT.length(), channel.size());
+        }
+    }
+
+    @Test
+    public void shouldCheckFixityOfChannelWhenNotOverridden() throws IOException {
+        try (var channel = retriever(digest(CONTENT)).retrieveFixityCheckChannel()) {
+            assertEquals(CONTENT, read(channel));
+            channel.checkFixity();
+        }
+
+        try (var channel = retriever(digest("other content")).retrieveFixityCheckChannel()) {
+            read(channel);
+            assertThrows(FixityCheckException.class, channel::checkFixity);
+        }
+    }
+
+    private OcflFileRetriever retriever(String digest) {
+        return () -> new FixityCheckInputStream(
+                new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), DigestAlgorithm.sha512, digest);
+    }
+
+    private String read(ReadableByteChannel channel) throws IOException {
+        var buffer = ByteBuffer.allocate(64);
+        while (channel.read(buffer) > -1) {}
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    private String digest(String value) {
+        return Bytes.wrap(DigestAlgorithm.sha512.getMessageDigest().digest(value.getBytes(StandardCharsets.UTF_8)))
+                .encodeHex();
+    }
+}
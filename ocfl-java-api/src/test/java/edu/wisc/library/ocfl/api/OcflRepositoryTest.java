@@ -0,0 +1,149 @@
+package edu.wisc.library.ocfl.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import at.favre.lib.bytes.Bytes;
+import edu.wisc.library.ocfl.api.exception.FixityCheckException;
+import edu.wisc.library.ocfl.api.exception.NotFoundException;
+import edu.wisc.library.ocfl.api.io.FixityCheckInputStream;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
+import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
+import edu.wisc.library.ocfl.api.model.FileDetails;
+import edu.wisc.library.ocfl.api.model.ObjectDetails;
+import edu.wisc.library.ocfl.api.model.ObjectVersionId;
+import edu.wisc.library.ocfl.api.model.OcflObjectVersion;
+import edu.wisc.library.ocfl.api.model.OcflObjectVersionFile;
+import edu.wisc.library.ocfl.api.model.ValidationResults;
+import edu.wisc.library.ocfl.api.model.VersionDetails;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OcflRepositoryTest {
+
+    private OcflRepository repo;
+
+    @BeforeEach
+    public void setup() {
+        repo = mock(OcflRepository.class, CALLS_REAL_METHODS);
+    }
+
+    @Test
+    public void shouldGetEachObjectWhenGetObjectsNotOverridden() {
+        var o1 = ObjectVersionId.head("o1");
+        var o2 = ObjectVersionId.version("o2", "v2");
+        var missing = ObjectVersionId.head("o3");
+        var o1Version = new OcflObjectVersion(new VersionDetails(), Map.of());
+        var o2Version = new OcflObjectVersion(new VersionDetails(), Map.of());
+
+        doReturn(o1Version).when(repo).getObject(o1);
+        doReturn(o2Version).when(repo).getObject(o2);
+        doThrow(new NotFoundException("not found")).when(repo).getObject(missing);
+
+        var objects = repo.getObjects(List.of(o2, missing, o1, o2));
+
+        assertEquals(List.of(o2, o1), List.copyOf(objects.keySet()));
+        assertSame(o1Version, objects.get(o1));
+        assertSame(o2Version, objects.get(o2));
+        verify(repo, times(1)).getObject(o2);
+    }
+
+    @Test
+    public void shouldDescribeEachObjectWhenDescribeObjectsNotOverridden() {
+        var o1Details = new ObjectDetails().setId("o1");
+        var o2Details = new ObjectDetails().setId("o2");
+
+        doReturn(o1Details).when(repo).describeObject("o1");
+        doReturn(o2Details).when(repo).describeObject("o2");
+        doThrow(new NotFoundException("not found")).when(repo).describeObject("o3");
+
+        var objects = repo.describeObjects(List.of("o2", "o3", "o1"));
+
+        assertEquals(List.of("o2", "o1"), List.copyOf(objects.keySet()));
+        assertSame(o1Details, objects.get("o1"));
+        assertSame(o2Details, objects.get("o2"));
+    }
+
+    @Test
+    public void shouldZipFilesInPathOrderWhenGetObjectAsZipNotOverridden() throws IOException {
+        var objectVersionId = ObjectVersionId.head("o1");
+        doReturn(objectVersion(file("dir/b.txt", "file b", "file b"), file("a.txt", "file a", "file a")))
+                .when(repo)
+                .getObject(objectVersionId);
+
+        var out = new ByteArrayOutputStream();
+        repo.getObjectAsZip(objectVersionId, out);
+
+        var entries = new LinkedHashMap<String, String>();
+        try (var zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            var entry = zip.getNextEntry();
+            while (entry != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+                entry = zip.getNextEntry();
+            }
+        }
+
+        assertEquals(List.of("a.txt", "dir/b.txt"), List.copyOf(entries.keySet()));
+        assertEquals("file a", entries.get("a.txt"));
+        assertEquals("file b", entries.get("dir/b.txt"));
+    }
+
+    @Test
+    public void shouldFailZipWhenFileFailsFixityCheck() {
+        var objectVersionId = ObjectVersionId.head("o1");
+        doReturn(objectVersion(file("a.txt", "file a", "file a!"))).when(repo).getObject(objectVersionId);
+
+        assertThrows(
+                FixityCheckException.class, () -> repo.getObjectAsZip(objectVersionId, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void shouldValidateWithFixityCheckOnlyForFixityWhenNotOverridden() {
+        var results = new ValidationResults(List.of(), List.of(), List.of());
+        doReturn(results).when(repo).validateObject("o1", true);
+        doReturn(results).when(repo).validateObject("o1", false);
+
+        assertSame(results, repo.validateObject("o1", ContentValidation.FIXITY));
+        verify(repo).validateObject("o1", true);
+
+        repo.validateObject("o1", ContentValidation.SIZE);
+        repo.validateObject("o1", ContentValidation.NONE);
+        verify(repo, times(2)).validateObject("o1", false);
+    }
+
+    private OcflObjectVersion objectVersion(OcflObjectVersionFile... files) {
+        var fileMap = new LinkedHashMap<String, OcflObjectVersionFile>();
+        for (var file : files) {
+            fileMap.put(file.getPath(), file);
+        }
+        return new OcflObjectVersion(new VersionDetails(), fileMap);
+    }
+
+    private OcflObjectVersionFile file(String path, String content, String digestedContent) {
+        var bytes = content.getBytes(StandardCharsets.UTF_8);
+        var digest = Bytes.wrap(
+                        DigestAlgorithm.md5.getMessageDigest().digest(digestedContent.getBytes(StandardCharsets.UTF_8)))
+                .encodeHex();
+        var retriever = mock(OcflFileRetriever.class);
+        when(retriever.retrieveFile())
+                .thenAnswer(invocation ->
+                        new FixityCheckInputStream(new ByteArrayInputStream(bytes), DigestAlgorithm.md5, digest));
+        return new OcflObjectVersionFile(new FileDetails().setPath(path), retriever);
+    }
+}
@@ -36,6 +36,26 @@ public class FixityCheckChannelTest {
         assertEquals(expectedDigest, computeDigest(DigestAlgorithm.md5, outPath));
     }
 
+    @Test
+    public void shouldLeaveReadBytesInBufferWhenEnabled() throws IOException {
+        var content = "This is a test file";
+        var path = writeFile("test.txt", content);
+        var expectedDigest = computeDigest(DigestAlgorithm.md5, path);
+
+        var buffer = ByteBuffer.allocate(64);
+        buffer.put((byte) '>');
+
+        try (var fixityChannel = new FixityCheckChannel(FileChannel.open(path), DigestAlgorithm.md5, expectedDigest)) {
+            while (fixityChannel.read(buffer) > -1) {}
+            fixityChannel.checkFixity();
+        }
+
+        buffer.flip();
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        assertEquals(">" + content, new String(bytes));
+    }
+
     private void transfer(ReadableByteChannel srcChannel, Path dstPath) throws IOException {
         try (var dstChannel = FileChannel.open(dstPath, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
             long pos = 0;
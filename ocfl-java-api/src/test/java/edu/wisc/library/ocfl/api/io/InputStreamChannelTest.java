@@ -0,0 +1,86 @@
+package edu.wisc.library.ocfl.api.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class InputStreamChannelTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void shouldReadContentSequentially() throws IOException {
+        try (var channel = new InputStreamChannel(() -> new ByteArrayInputStream(CONTENT))) {
+            assertEquals("0123", read(channel, 4));
+            assertEquals(4, channel.position());
+            assertEquals("456789", read(channel, 20));
+            assertEquals(-1, channel.read(ByteBuffer.allocate(4)));
+        }
+    }
+
+    @Test
+    public void shouldSkipForwardAndReopenBackward() throws IOException {
+        var opened = new AtomicInteger();
+        try (var channel = new InputStreamChannel(() -> {
+            opened.incrementAndGet();
+            return new ByteArrayInputStream(CONTENT);
+        })) {
+            channel.position(6);
+            assertEquals("67", read(channel, 2));
+            channel.position(9);
+            assertEquals("9", read(channel, 2));
+            assertEquals(1, opened.get());
+
+            channel.position(2);
+            assertEquals("23", read(channel, 2));
+            assertEquals(2, opened.get());
+        }
+    }
+
+    @Test
+    public void shouldReturnEndOfStreamWhenPositionPastEnd() throws IOException {
+        try (var channel = new InputStreamChannel(() -> new ByteArrayInputStream(CONTENT))) {
+            channel.position(20);
+            assertEquals(-1, channel.read(ByteBuffer.allocate(4)));
+            assertEquals(20, channel.position());
+        }
+    }
+
+    @Test
+    public void shouldCountSizeAndReadIntoDirectBuffers() throws IOException {
+        try (var channel = new InputStreamChannel(() -> new ByteArrayInputStream(CONTENT))) {
+            assertEquals(10, channel.size());
+
+            var buffer = ByteBuffer.allocateDirect(3);
+            assertEquals(3, channel.read(buffer));
+            buffer.flip();
+            assertEquals("012", StandardCharsets.UTF_8.decode(buffer).toString());
+        }
+    }
+
+    @Test
+    public void shouldRejectWritesAndUseAfterClose() throws IOException {
+        var channel = new InputStreamChannel(() -> new ByteArrayInputStream(CONTENT));
+
+        assertThrows(NonWritableChannelException.class, () -> channel.write(ByteBuffer.wrap(CONTENT)));
+        assertThrows(NonWritableChannelException.class, () -> channel.truncate(1));
+
+        channel.close();
+        assertThrows(ClosedChannelException.class, () -> channel.read(ByteBuffer.allocate(1)));
+    }
+
+    private String read(InputStreamChannel channel, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length);
+        channel.read(buffer);
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+}
@@ -0,0 +1,60 @@
+package edu.wisc.library.ocfl.api.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.wisc.library.ocfl.api.exception.OcflInputException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class RangeInputStreamTest {
+
+    private static final String CONTENT = "0123456789";
+
+    @Test
+    public void shouldReturnBytesWithinRange() throws IOException {
+        assertEquals("2345", readRange(2, 5));
+        assertEquals("0", readRange(0, 0));
+        assertEquals("9", readRange(9, 9));
+    }
+
+    @Test
+    public void shouldStopAtEndOfStreamWhenRangeIsLonger() throws IOException {
+        assertEquals("89", readRange(8, 20));
+        assertEquals("", readRange(20, 30));
+    }
+
+    @Test
+    public void shouldReturnRestOfStreamWhenRangeIsOpenEnded() throws IOException {
+        assertEquals("3456789", readRange(3, Long.MAX_VALUE));
+        assertEquals(CONTENT, readRange(0, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldReadSingleBytesWithinRange() throws IOException {
+        try (var stream = rangeStream(7, 8)) {
+            assertEquals('7', stream.read());
+            assertEquals('8', stream.read());
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidRange() {
+        assertThrows(OcflInputException.class, () -> rangeStream(-1, 5));
+        assertThrows(OcflInputException.class, () -> rangeStream(5, 2));
+    }
+
+    private String readRange(long startPosition, long endPosition) throws IOException {
+        try (var stream = rangeStream(startPosition, endPosition)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private RangeInputStream rangeStream(long startPosition, long endPosition) {
+        return new RangeInputStream(
+                new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), startPosition, endPosition);
+    }
+}
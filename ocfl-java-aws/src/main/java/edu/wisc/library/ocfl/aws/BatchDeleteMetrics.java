@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.aws;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the DeleteObjects requests an S3 client has made, and the outcome of the objects they were for. This can be
+ * used to monitor how long purges take and how often S3 reports that it failed to delete individual objects.
+ */
+public class BatchDeleteMetrics {
+
+    private final LongAdder requestCount;
+    private final LongAdder deletedCount;
+    private final LongAdder retriedCount;
+    private final LongAdder failedCount;
+
+    public BatchDeleteMetrics() {
+        this.requestCount = new LongAdder();
+        this.deletedCount = new LongAdder();
+        this.retriedCount = new LongAdder();
+        this.failedCount = new LongAdder();
+    }
+
+    void recordRequest() {
+        requestCount.increment();
+    }
+
+    void recordDeleted(long count) {
+        deletedCount.add(count);
+    }
+
+    void recordRetried(long count) {
+        retriedCount.add(count);
+    }
+
+    void recordFailed(long count) {
+        failedCount.add(count);
+    }
+
+    /**
+     * @return the number of DeleteObjects requests that were sent, including retries
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return the number of objects that S3 reported as deleted
+     */
+    public long getDeletedCount() {
+        return deletedCount.sum();
+    }
+
+    /**
+     * @return the number of objects that S3 failed to delete and were retried
+     */
+    public long getRetriedCount() {
+        return retriedCount.sum();
+    }
+
+    /**
+     * @return the number of objects that could not be deleted after all retries
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchDeleteMetrics{" + "requestCount="
+                + getRequestCount() + ", deletedCount="
+                + getDeletedCount() + ", retriedCount="
+                + getRetriedCount() + ", failedCount="
+                + getFailedCount() + '}';
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.aws;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+
+/**
+ * Request body that publishes a region of a file. The region is read in chunks with asynchronous positional reads, and
+ * a chunk is only read once the subscriber has requested it, so no thread blocks on the file and no more than one chunk
+ * per subscription is in memory. Every subscription opens its own channel and starts at the beginning of the region,
+ * so the body may be resubscribed when a request is retried.
+ */
+class FileRegionRequestBody implements AsyncRequestBody {
+
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final long position;
+    private final long length;
+    private final int chunkSize;
+
+    /**
+     * @param path the file to read
+     * @param position the position of the first byte of the region
+     * @param length the number of bytes in the region
+     * @param chunkSize the maximum number of bytes to read at once
+     */
+    FileRegionRequestBody(Path path, long position, long length, int chunkSize) {
+        this.path = path;
+        this.position = position;
+        this.length = length;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.of(length);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException | RuntimeException e) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // noop
+                }
+
+                @Override
+                public void cancel() {
+                    // noop
+                }
+            });
+            subscriber.onError(e);
+            return;
+        }
+
+        var subscription = new RegionSubscription(subscriber, channel);
+        subscriber.onSubscribe(subscription);
+        subscription.readNext();
+    }
+
+    private class RegionSubscription implements Subscription, CompletionHandler<Integer, ByteBuffer> {
+
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final AsynchronousFileChannel channel;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicBoolean reading = new AtomicBoolean();
+        private volatile boolean done;
+
+        // only accessed by the thread that holds the reading flag
+        private long nextPosition;
+        private long remaining;
+
+        private RegionSubscription(Subscriber<? super ByteBuffer> subscriber, AsynchronousFileChannel channel) {
+            this.subscriber = subscriber;
+            this.channel = channel;
+            this.nextPosition = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested a non-positive number of chunks: " + n));
+                return;
+            }
+            demand.getAndUpdate(current -> Long.MAX_VALUE - current < n ? Long.MAX_VALUE : current + n);
+            readNext();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            closeChannel();
+        }
+
+        /**
+         * Starts a read if there is demand and no read is in progress. Reads are never concurrent, so the subscriber
+         * is signalled serially.
+         */
+        private void readNext() {
+            if (done || demand.get() == 0 || !reading.compareAndSet(false, true)) {
+                return;
+            }
+
+            if (remaining == 0) {
+                done = true;
+                closeChannel();
+                subscriber.onComplete();
+                return;
+            }
+
+            var buffer = ByteBuffer.allocate((int) Math.min(chunkSize, remaining));
+            try {
+                channel.read(buffer, nextPosition, buffer, this);
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void completed(Integer read, ByteBuffer buffer) {
+            if (done) {
+                return;
+            }
+            if (read < 0) {
+                fail(new IOException("Unexpected end of file " + path));
+                return;
+            }
+
+            nextPosition += read;
+            remaining -= read;
+            demand.decrementAndGet();
+
+            // the subscriber may request more while handling the chunk, which is picked up once the flag is cleared
+            subscriber.onNext(buffer.flip());
+
+            if (remaining == 0) {
+                done = true;
+                closeChannel();
+                subscriber.onComplete();
+                return;
+            }
+
+            reading.set(false);
+            readNext();
+        }
+
+        @Override
+        public void failed(Throwable error, ByteBuffer buffer) {
+            fail(error);
+        }
+
+        private void fail(Throwable error) {
+            if (!done) {
+                done = true;
+                closeChannel();
+                subscriber.onError(error);
+            }
+        }
+
+        private void closeChannel() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.aws;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * Adapts the body of an asynchronous GetObject response to a blocking InputStream. The future completes as soon as the
+ * response is received, and the body is requested one chunk at a time as the stream is read, so that no more than two
+ * chunks are buffered in memory.
+ *
+ * <p>The release callback runs once, when the stream is closed, read to the end, or fails, so that the caller can hold
+ * a request permit for as long as the connection is in use.
+ */
+class InputStreamResponseTransformer implements AsyncResponseTransformer<GetObjectResponse, InputStream> {
+
+    private final Runnable release;
+
+    private volatile CompletableFuture<InputStream> future;
+    private volatile PublisherInputStream stream;
+
+    /**
+     * @param release run once when the connection is no longer in use
+     */
+    InputStreamResponseTransformer(Runnable release) {
+        this.release = Objects.requireNonNull(release, "release cannot be null");
+    }
+
+    @Override
+    public CompletableFuture<InputStream> prepare() {
+        future = new CompletableFuture<>();
+        stream = new PublisherInputStream(release);
+        return future;
+    }
+
+    @Override
+    public void onResponse(GetObjectResponse response) {
+        // only the body is needed
+    }
+
+    @Override
+    public void onStream(SdkPublisher<ByteBuffer> publisher) {
+        publisher.subscribe(stream);
+        future.complete(stream);
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable error) {
+        stream.onError(error);
+        future.completeExceptionally(error);
+        stream.release();
+    }
+
+    private static class PublisherInputStream extends InputStream implements Subscriber<ByteBuffer> {
+
+        private static final Object END = new Object();
+
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final Runnable release;
+        private volatile Subscription subscription;
+        private ByteBuffer current;
+        private boolean done;
+
+        PublisherInputStream(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            queue.add(buffer);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            queue.add(error);
+        }
+
+        @Override
+        public void onComplete() {
+            queue.add(END);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return current.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            var read = Math.min(len, current.remaining());
+            current.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return current == null ? 0 : current.remaining();
+        }
+
+        @Override
+        public void close() {
+            done = true;
+            current = null;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            release();
+        }
+
+        private boolean fill() throws IOException {
+            while (current == null || !current.hasRemaining()) {
+                if (done) {
+                    return false;
+                }
+
+                Object next;
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for object content");
+                }
+
+                if (next == END) {
+                    done = true;
+                    release();
+                    return false;
+                } else if (next instanceof Throwable) {
+                    done = true;
+                    release();
+                    throw new IOException("Failed to read object content", (Throwable) next);
+                }
+
+                current = (ByteBuffer) next;
+                subscription.request(1);
+            }
+            return true;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                release.run();
+            }
+        }
+    }
+}
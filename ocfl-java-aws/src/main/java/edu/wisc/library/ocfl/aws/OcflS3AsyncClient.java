@@ -0,0 +1,1067 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.aws;
+
+import com.google.common.annotations.VisibleForTesting;
+import edu.wisc.library.ocfl.api.exception.OcflInputException;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.storage.cloud.CloudClient;
+import edu.wisc.library.ocfl.core.storage.cloud.CloudObjectKey;
+import edu.wisc.library.ocfl.core.storage.cloud.HeadResult;
+import edu.wisc.library.ocfl.core.storage.cloud.KeyNotFoundException;
+import edu.wisc.library.ocfl.core.storage.cloud.ListResult;
+import edu.wisc.library.ocfl.core.util.UncheckedFiles;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.ChecksumMode;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * CloudClient implementation that uses Amazon's S3 asynchronous v2 client. This may be any {@link S3AsyncClient},
+ * including the CRT based client.
+ *
+ * <p>Uploads, downloads, and copies are exposed as futures, so that {@link
+ * edu.wisc.library.ocfl.core.storage.cloud.CloudStorage} can have many requests in flight without a thread per
+ * request. At most {@code maxConcurrency} requests are sent at once, and the rest are queued until a request completes.
+ * A streaming download holds its connection until the stream is closed or read to the end, so it counts against the
+ * limit until then. This should not exceed the maximum concurrency of the SDK's HTTP client, or requests fail waiting
+ * for a connection.
+ */
+public class OcflS3AsyncClient implements CloudClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OcflS3AsyncClient.class);
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 50;
+
+    private final S3AsyncClient s3Client;
+    private final String bucket;
+    private final String repoPrefix;
+    private final CloudObjectKey.Builder keyBuilder;
+    private final S3Listings listings;
+
+    private final BiConsumer<String, PutObjectRequest.Builder> putObjectModifier;
+    private final BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier;
+    private final ChecksumAlgorithm checksumAlgorithm;
+    private final boolean multipartUploads;
+    private final RequestLimiter limiter;
+    private final BatchDeleteMetrics deleteMetrics;
+    private final S3BatchDeleter deleter;
+
+    private int maxPartBytes = S3PartSizes.MAX_PART_BYTES;
+    private int partSizeBytes = S3PartSizes.PART_SIZE_BYTES;
+    private Integer listPageSize;
+
+    /**
+     * Used to create a new OcflS3AsyncClient instance.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @see OcflS3AsyncClient#builder()
+     *
+     * @param s3Client aws sdk s3 async client
+     * @param bucket s3 bucket
+     * @param prefix key prefix, may be null
+     * @param putObjectModifier hook for modifying putObject requests, may be null
+     * @param createMultipartModifier hook for modifying createMultipartUpload requests, may be null
+     * @param checksumAlgorithm additional checksum to have S3 calculate on single part uploads, may be null
+     * @param maxConcurrency the maximum number of requests to send at once
+     * @param multipartUploads true to split files that are larger than the maximum part size into multipart uploads,
+     *                         false to upload all files with a single putObject request
+     */
+    public OcflS3AsyncClient(
+            S3AsyncClient s3Client,
+            String bucket,
+            String prefix,
+            BiConsumer<String, PutObjectRequest.Builder> putObjectModifier,
+            BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier,
+            ChecksumAlgorithm checksumAlgorithm,
+            int maxConcurrency,
+            boolean multipartUploads) {
+        this.s3Client = Enforce.notNull(s3Client, "s3Client cannot be null");
+        this.bucket = Enforce.notBlank(bucket, "bucket cannot be blank");
+        this.repoPrefix = S3Listings.sanitizeRepoPrefix(prefix);
+        this.keyBuilder = CloudObjectKey.builder().prefix(repoPrefix);
+        this.listings = new S3Listings(this.bucket, repoPrefix, keyBuilder);
+        this.putObjectModifier = putObjectModifier != null ? putObjectModifier : (k, b) -> {};
+        this.createMultipartModifier = createMultipartModifier != null ? createMultipartModifier : (k, b) -> {};
+        this.checksumAlgorithm = checksumAlgorithm;
+        this.multipartUploads = multipartUploads;
+        this.limiter = new RequestLimiter(
+                Enforce.expressionTrue(maxConcurrency > 0, maxConcurrency, "maxConcurrency must be greater than 0"));
+        this.deleteMetrics = new BatchDeleteMetrics();
+        this.deleter = new S3BatchDeleter(
+                this.bucket, request -> limiter.submit(() -> s3Client.deleteObjects(request)), deleteMetrics);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String bucket() {
+        return bucket;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String prefix() {
+        return repoPrefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloudObjectKey uploadFile(Path srcPath, String dstPath) {
+        return uploadFile(srcPath, dstPath, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloudObjectKey uploadFile(Path srcPath, String dstPath, String contentType) {
+        return join(uploadFileAsync(srcPath, dstPath, contentType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CloudObjectKey> uploadFileAsync(Path srcPath, String dstPath) {
+        return uploadFileAsync(srcPath, dstPath, null);
+    }
+
+    /**
+     * Uploads a file to the destination without waiting for the upload to complete.
+     *
+     * @param srcPath src file
+     * @param dstPath object path
+     * @param contentType the content type of the data
+     * @return future that completes with the object key
+     */
+    public CompletableFuture<CloudObjectKey> uploadFileAsync(Path srcPath, String dstPath, String contentType) {
+        var fileSize = UncheckedFiles.size(srcPath);
+        var dstKey = keyBuilder.buildFromPath(dstPath);
+
+        if (fileSize >= S3PartSizes.MAX_FILE_BYTES) {
+            throw new OcflInputException(
+                    String.format("Cannot store file %s because it exceeds the maximum file size.", srcPath));
+        }
+
+        if (multipartUploads && fileSize > maxPartBytes) {
+            return multipartUpload(srcPath, dstKey, fileSize, contentType);
+        }
+
+        LOG.debug("Uploading {} to bucket {} key {} size {}", srcPath, bucket, dstKey, fileSize);
+
+        var builder = PutObjectRequest.builder().contentType(contentType).checksumAlgorithm(checksumAlgorithm);
+
+        putObjectModifier.accept(dstKey.getKey(), builder);
+
+        var request = builder.bucket(bucket)
+                .key(dstKey.getKey())
+                .contentLength(fileSize)
+                .build();
+
+        return limiter.submit(() -> s3Client.putObject(request, AsyncRequestBody.fromFile(srcPath)))
+                .thenApply(response -> dstKey);
+    }
+
+    /**
+     * Parts are uploaded one after another. Each part's body is streamed from its region of the file with asynchronous
+     * reads, so the part is never held in memory and no SDK thread blocks on the file. Clients that upload parts in
+     * parallel themselves, such as the CRT based client, should be configured to not use multipart uploads here.
+     */
+    private CompletableFuture<CloudObjectKey> multipartUpload(
+            Path srcPath, CloudObjectKey dstKey, long fileSize, String contentType) {
+        var partSize = S3PartSizes.determinePartSize(fileSize, partSizeBytes, maxPartBytes);
+
+        LOG.debug(
+                "Multipart upload of {} to bucket {} key {}. File size: {}; part size: {}",
+                srcPath,
+                bucket,
+                dstKey,
+                fileSize,
+                partSize);
+
+        return beginMultipartUpload(dstKey, contentType).thenCompose(uploadId -> {
+            var completedParts = Collections.synchronizedList(new ArrayList<CompletedPart>());
+
+            return uploadParts(srcPath, dstKey, uploadId, fileSize, partSize, 1, completedParts)
+                    .thenCompose(nothing -> completeMultipartUpload(uploadId, dstKey, completedParts))
+                    .handle((nothing, error) -> {
+                        if (error != null) {
+                            abortMultipartUpload(uploadId, dstKey);
+                            throw new CompletionException(unwrap(error));
+                        }
+                        return dstKey;
+                    });
+        });
+    }
+
+    private CompletableFuture<Void> uploadParts(
+            Path srcPath,
+            CloudObjectKey dstKey,
+            String uploadId,
+            long fileSize,
+            int partSize,
+            int partNumber,
+            List<CompletedPart> completedParts) {
+        var position = (long) (partNumber - 1) * partSize;
+
+        if (position >= fileSize) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        var length = (int) Math.min(partSize, fileSize - position);
+
+        return limiter.submit(() -> s3Client.uploadPart(
+                        UploadPartRequest.builder()
+                                .bucket(bucket)
+                                .key(dstKey.getKey())
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) length)
+                                .build(),
+                        new FileRegionRequestBody(srcPath, position, length, FileRegionRequestBody.DEFAULT_CHUNK_SIZE)))
+                .thenCompose(response -> {
+                    completedParts.add(CompletedPart.builder()
+                            .partNumber(partNumber)
+                            .eTag(response.eTag())
+                            .build());
+                    return uploadParts(srcPath, dstKey, uploadId, fileSize, partSize, partNumber + 1, completedParts);
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloudObjectKey uploadBytes(String dstPath, byte[] bytes, String contentType) {
+        var dstKey = keyBuilder.buildFromPath(dstPath);
+        LOG.debug("Writing string to bucket {} key {}", bucket, dstKey);
+
+        var builder = PutObjectRequest.builder().contentType(contentType).checksumAlgorithm(checksumAlgorithm);
+
+        putObjectModifier.accept(dstKey.getKey(), builder);
+
+        var request = builder.bucket(bucket).key(dstKey.getKey()).build();
+
+        join(limiter.submit(() -> s3Client.putObject(request, AsyncRequestBody.fromBytes(bytes))));
+
+        return dstKey;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloudObjectKey copyObject(String srcPath, String dstPath) {
+        return join(copyObjectAsync(srcPath, dstPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CloudObjectKey> copyObjectAsync(String srcPath, String dstPath) {
+        var srcKey = keyBuilder.buildFromPath(srcPath);
+        var dstKey = keyBuilder.buildFromPath(dstPath);
+
+        LOG.debug("Copying {} to {} in bucket {}", srcKey, dstKey, bucket);
+
+        return limiter.submit(() -> s3Client.copyObject(CopyObjectRequest.builder()
+                        .destinationBucket(bucket)
+                        .destinationKey(dstKey.getKey())
+                        .sourceBucket(bucket)
+                        .sourceKey(srcKey.getKey())
+                        .build()))
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(dstKey);
+                    }
+
+                    var cause = unwrap(error);
+                    if (cause instanceof NoSuchKeyException) {
+                        return CompletableFuture.<CloudObjectKey>failedFuture(new KeyNotFoundException(cause));
+                    } else if (cause instanceof SdkException
+                            && cause.getMessage() != null
+                            && cause.getMessage().contains("copy source is larger than the maximum allowable size")) {
+                        return multipartCopy(srcKey, dstKey);
+                    }
+                    return CompletableFuture.<CloudObjectKey>failedFuture(cause);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<CloudObjectKey> multipartCopy(CloudObjectKey srcKey, CloudObjectKey dstKey) {
+        return limiter.submit(() -> s3Client.headObject(HeadObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(srcKey.getKey())
+                        .build()))
+                .thenCompose(head -> {
+                    var fileSize = head.contentLength();
+                    var partSize = S3PartSizes.determinePartSize(fileSize, partSizeBytes, maxPartBytes);
+
+                    LOG.debug(
+                            "Multipart copy of {} to {} in bucket {}: File size {}; part size: {}",
+                            srcKey,
+                            dstKey,
+                            bucket,
+                            fileSize,
+                            partSize);
+
+                    return beginMultipartUpload(dstKey, null).thenCompose(uploadId -> {
+                        var completedParts = Collections.synchronizedList(new ArrayList<CompletedPart>());
+
+                        return copyParts(srcKey, dstKey, uploadId, fileSize, partSize, 1, completedParts)
+                                .thenCompose(nothing -> completeMultipartUpload(uploadId, dstKey, completedParts))
+                                .handle((nothing, error) -> {
+                                    if (error != null) {
+                                        abortMultipartUpload(uploadId, dstKey);
+                                        throw new CompletionException(unwrap(error));
+                                    }
+                                    return dstKey;
+                                });
+                    });
+                });
+    }
+
+    private CompletableFuture<Void> copyParts(
+            CloudObjectKey srcKey,
+            CloudObjectKey dstKey,
+            String uploadId,
+            long fileSize,
+            int partSize,
+            int partNumber,
+            List<CompletedPart> completedParts) {
+        var position = (long) (partNumber - 1) * partSize;
+
+        if (position >= fileSize) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        var end = Math.min(fileSize - 1, position + partSize - 1);
+
+        return limiter.submit(() -> s3Client.uploadPartCopy(UploadPartCopyRequest.builder()
+                        .destinationBucket(bucket)
+                        .destinationKey(dstKey.getKey())
+                        .sourceBucket(bucket)
+                        .sourceKey(srcKey.getKey())
+                        .partNumber(partNumber)
+                        .uploadId(uploadId)
+                        .copySourceRange(String.format("bytes=%s-%s", position, end))
+                        .build()))
+                .thenCompose(response -> {
+                    completedParts.add(CompletedPart.builder()
+                            .partNumber(partNumber)
+                            .eTag(response.copyPartResult().eTag())
+                            .build());
+                    return copyParts(srcKey, dstKey, uploadId, fileSize, partSize, partNumber + 1, completedParts);
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path downloadFile(String srcPath, Path dstPath) {
+        return join(downloadFileAsync(srcPath, dstPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Path> downloadFileAsync(String srcPath, Path dstPath) {
+        var srcKey = keyBuilder.buildFromPath(srcPath);
+        LOG.debug("Downloading bucket {} key {} to {}", bucket, srcKey, dstPath);
+
+        return limiter.submit(() -> s3Client.getObject(
+                        GetObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(srcKey.getKey())
+                                .build(),
+                        AsyncResponseTransformer.toFile(dstPath)))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw mapNotFound(error, srcKey);
+                    }
+                    return dstPath;
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The download counts against {@code maxConcurrency} until the stream is closed or read to the end.
+     */
+    @Override
+    public InputStream downloadStream(String srcPath) {
+        var srcKey = keyBuilder.buildFromPath(srcPath);
+        LOG.debug("Streaming bucket {} key {}", bucket, srcKey);
+
+        try {
+            return join(limiter.submitHeld(release -> s3Client.getObject(
+                    GetObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(srcKey.getKey())
+                            .build(),
+                    new InputStreamResponseTransformer(release))));
+        } catch (NoSuchKeyException e) {
+            throw new KeyNotFoundException(String.format("Key %s not found in bucket %s.", srcKey, bucket), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The download counts against {@code maxConcurrency} until the stream is closed or read to the end.
+     */
+    @Override
+    public InputStream downloadStream(String srcPath, long startPosition, long endPosition) {
+        var srcKey = keyBuilder.buildFromPath(srcPath);
+        LOG.debug("Streaming bucket {} key {} range {}-{}", bucket, srcKey, startPosition, endPosition);
+
+        try {
+            return join(limiter.submitHeld(release -> s3Client.getObject(
+                    GetObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(srcKey.getKey())
+                            .range(String.format("bytes=%s-%s", startPosition, endPosition))
+                            .build(),
+                    new InputStreamResponseTransformer(release))));
+        } catch (NoSuchKeyException e) {
+            throw new KeyNotFoundException(String.format("Key %s not found in bucket %s.", srcKey, bucket), e);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 416) {
+                // The range starts after the end of the object
+                return InputStream.nullInputStream();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String downloadString(String srcPath) {
+        var srcKey = keyBuilder.buildFromPath(srcPath);
+        LOG.debug("Downloading bucket {} key {} to string", bucket, srcKey);
+
+        try {
+            return join(limiter.submit(() -> s3Client.getObject(
+                            GetObjectRequest.builder()
+                                    .bucket(bucket)
+                                    .key(srcKey.getKey())
+                                    .build(),
+                            AsyncResponseTransformer.toBytes())))
+                    .asUtf8String();
+        } catch (NoSuchKeyException e) {
+            throw new KeyNotFoundException(String.format("Key %s not found in bucket %s.", srcKey, bucket), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HeadResult head(String path) {
+        var key = keyBuilder.buildFromPath(path);
+
+        try {
+            var s3Result = join(limiter.submit(() -> s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key.getKey())
+                    .checksumMode(ChecksumMode.ENABLED)
+                    .build())));
+
+            return new HeadResult()
+                    .setContentEncoding(s3Result.contentEncoding())
+                    .setContentLength(s3Result.contentLength())
+                    .setETag(s3Result.eTag())
+                    .setLastModified(s3Result.lastModified())
+                    .setChecksumSha256(s3Result.checksumSHA256())
+                    .setChecksumSha1(s3Result.checksumSHA1());
+        } catch (NoSuchKeyException e) {
+            throw new KeyNotFoundException(String.format("Key %s not found in bucket %s.", key, bucket), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListResult list(String prefix) {
+        return listings.toListResult(listings.listRequest(prefix), this::listObjects);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The next page is requested as soon as the current page is received.
+     */
+    @Override
+    public Stream<ListResult.ObjectListing> listStream(String prefix) {
+        LOG.debug("Streaming listing of {} in bucket {}", prefix, bucket);
+
+        var iterator = new ObjectListingIterator(listings.listRequest(prefix).maxKeys(listPageSize));
+
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListResult listPage(String prefix, String startAfter, int maxKeys) {
+        LOG.debug("Listing page of {} in bucket {} after {}", prefix, bucket, startAfter);
+
+        var result = listObjects(
+                listings.listPageRequest(prefix, startAfter, maxKeys).build());
+
+        return new ListResult().setObjects(listings.toObjectListings(result));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListResult listDirectory(String path) {
+        LOG.debug("Listing directory {} in bucket {}", path, bucket);
+
+        return listings.toListResult(listings.listDirectoryRequest(path), this::listObjects);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean directoryExists(String path) {
+        LOG.debug("Checking existence of {} in bucket {}", path, bucket);
+
+        var response =
+                listObjects(listings.listDirectoryRequest(path).maxKeys(1).build());
+
+        return S3Listings.hasEntries(response);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Objects are deleted in batches of up to 1000 keys as the listing is streamed.
+     */
+    @Override
+    public void deletePath(String path) {
+        LOG.debug("Deleting path {} in bucket {}", path, bucket);
+
+        try (var objects = listStream(path)) {
+            deleter.deleteAll(objects.map(object -> object.getKey().getKey()).iterator());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteObjects(Collection<String> objectPaths) {
+        LOG.debug("Deleting objects in bucket {}: {}", bucket, objectPaths);
+
+        if (!objectPaths.isEmpty()) {
+            deleter.deleteAll(objectPaths.stream()
+                    .filter(Objects::nonNull)
+                    .map(path -> keyBuilder.buildFromPath(path).getKey())
+                    .iterator());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void safeDeleteObjects(String... objectPaths) {
+        safeDeleteObjects(Arrays.asList(objectPaths));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void safeDeleteObjects(Collection<String> objectPaths) {
+        try {
+            deleteObjects(objectPaths);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to cleanup objects in bucket {}: {}", bucket, objectPaths, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean bucketExists() {
+        try {
+            join(limiter.submit(() -> s3Client.headBucket(
+                    HeadBucketRequest.builder().bucket(bucket).build())));
+            return true;
+        } catch (NoSuchBucketException e) {
+            return false;
+        }
+    }
+
+    private CompletableFuture<String> beginMultipartUpload(CloudObjectKey key, String contentType) {
+        var builder = CreateMultipartUploadRequest.builder().contentType(contentType);
+
+        createMultipartModifier.accept(key.getKey(), builder);
+
+        var request = builder.bucket(bucket).key(key.getKey()).build();
+
+        return limiter.submit(() -> s3Client.createMultipartUpload(request)).thenApply(response -> response.uploadId());
+    }
+
+    private CompletableFuture<Void> completeMultipartUpload(
+            String uploadId, CloudObjectKey key, List<CompletedPart> parts) {
+        return limiter.submit(() -> s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key.getKey())
+                        .uploadId(uploadId)
+                        .multipartUpload(
+                                CompletedMultipartUpload.builder().parts(parts).build())
+                        .build()))
+                .thenApply(response -> null);
+    }
+
+    private void abortMultipartUpload(String uploadId, CloudObjectKey key) {
+        limiter.submit(() -> s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key.getKey())
+                        .uploadId(uploadId)
+                        .build()))
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        LOG.error(
+                                "Failed to abort multipart upload. Bucket: {}; Key: {}; Upload Id: {}",
+                                bucket,
+                                key,
+                                uploadId,
+                                error);
+                    }
+                });
+    }
+
+    private ListObjectsV2Response listObjects(ListObjectsV2Request request) {
+        return join(limiter.submit(() -> s3Client.listObjectsV2(request)));
+    }
+
+    /**
+     * Iterates over the objects in a listing, one page at a time. The next page is requested as soon as the current
+     * page is received.
+     */
+    private class ObjectListingIterator implements Iterator<ListResult.ObjectListing> {
+
+        private final ListObjectsV2Request.Builder requestBuilder;
+
+        private Iterator<ListResult.ObjectListing> current;
+        private CompletableFuture<ListObjectsV2Response> next;
+        private volatile boolean closed;
+
+        ObjectListingIterator(ListObjectsV2Request.Builder requestBuilder) {
+            this.requestBuilder = requestBuilder;
+            this.current = Collections.emptyIterator();
+            this.next = requestPage(null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && next != null) {
+                if (closed) {
+                    throw new IllegalStateException("Listing is closed");
+                }
+                loadPage();
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public ListResult.ObjectListing next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more objects in listing");
+            }
+            return current.next();
+        }
+
+        void close() {
+            closed = true;
+            if (next != null) {
+                next.cancel(true);
+                next = null;
+            }
+        }
+
+        private void loadPage() {
+            var response = join(next);
+
+            if (Boolean.TRUE.equals(response.isTruncated())) {
+                next = requestPage(response.nextContinuationToken());
+            } else {
+                next = null;
+            }
+
+            current = listings.toObjectListings(response).iterator();
+        }
+
+        private CompletableFuture<ListObjectsV2Response> requestPage(String continuationToken) {
+            var request = requestBuilder.continuationToken(continuationToken).build();
+            return limiter.submit(() -> s3Client.listObjectsV2(request));
+        }
+    }
+
+    private RuntimeException mapNotFound(Throwable error, CloudObjectKey key) {
+        var cause = unwrap(error);
+        if (cause instanceof NoSuchKeyException) {
+            return new KeyNotFoundException(String.format("Key %s not found in bucket %s.", key, bucket), cause);
+        } else if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new CompletionException(cause);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        var cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            var cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return counts of the DeleteObjects requests this client has made
+     */
+    public BatchDeleteMetrics getDeleteMetrics() {
+        return deleteMetrics;
+    }
+
+    @VisibleForTesting
+    void setMaxPartBytes(int maxPartBytes) {
+        this.maxPartBytes = maxPartBytes;
+    }
+
+    @VisibleForTesting
+    void setPartSizeBytes(int partSizeBytes) {
+        this.partSizeBytes = partSizeBytes;
+    }
+
+    @VisibleForTesting
+    void setListPageSize(int listPageSize) {
+        this.listPageSize = listPageSize;
+    }
+
+    /**
+     * Bounds the number of requests that are in flight at once. Requests that are submitted while all permits are
+     * taken are queued, and sent in order as earlier requests complete. Submitting never blocks the caller.
+     */
+    private static class RequestLimiter {
+
+        private final Semaphore permits;
+        private final Queue<Runnable> pending;
+        private final AtomicInteger drainRequests;
+
+        RequestLimiter(int maxConcurrency) {
+            this.permits = new Semaphore(maxConcurrency);
+            this.pending = new ConcurrentLinkedQueue<>();
+            this.drainRequests = new AtomicInteger();
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+            return submit(release -> request.get(), true);
+        }
+
+        /**
+         * Submits a request whose permit is held after its response is received, until the request runs the release
+         * callback that it is given. The permit is released when the request fails whether or not the callback runs.
+         * Running the callback more than once has no effect.
+         */
+        <T> CompletableFuture<T> submitHeld(Function<Runnable, CompletableFuture<T>> request) {
+            return submit(request, false);
+        }
+
+        private <T> CompletableFuture<T> submit(
+                Function<Runnable, CompletableFuture<T>> request, boolean releaseOnResponse) {
+            var result = new CompletableFuture<T>();
+
+            pending.add(() -> {
+                var released = new AtomicBoolean();
+                Runnable release = () -> {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                        drain();
+                    }
+                };
+
+                CompletableFuture<T> response;
+                try {
+                    response = request.apply(release);
+                } catch (RuntimeException e) {
+                    response = CompletableFuture.failedFuture(e);
+                }
+                response.whenComplete((value, error) -> {
+                    if (error != null || releaseOnResponse) {
+                        release.run();
+                    }
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            });
+
+            drain();
+            return result;
+        }
+
+        /**
+         * Starts pending requests while there are permits. A request that completes synchronously calls this method
+         * again from within a task. Instead of recursing, that call only records that another pass is needed, and the
+         * thread that is already draining makes the pass.
+         */
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+
+            var missed = 1;
+            do {
+                while (!pending.isEmpty() && permits.tryAcquire()) {
+                    var task = pending.poll();
+                    if (task == null) {
+                        permits.release();
+                    } else {
+                        task.run();
+                    }
+                }
+                missed = drainRequests.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    public static class Builder {
+        private S3AsyncClient s3Client;
+        private String bucket;
+        private String repoPrefix;
+
+        private BiConsumer<String, PutObjectRequest.Builder> putObjectModifier;
+        private BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier;
+        private ChecksumAlgorithm checksumAlgorithm;
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        private boolean multipartUploads = true;
+
+        /**
+         * The AWS SDK s3 async client. Required.
+         *
+         * @param s3Client s3 async client
+         * @return builder
+         */
+        public Builder s3Client(S3AsyncClient s3Client) {
+            this.s3Client = Enforce.notNull(s3Client, "s3Client cannot be null");
+            return this;
+        }
+
+        /**
+         * The S3 bucket to use. Required.
+         *
+         * @param bucket s3 bucket
+         * @return builder
+         */
+        public Builder bucket(String bucket) {
+            this.bucket = Enforce.notBlank(bucket, "bucket cannot be blank");
+            return this;
+        }
+
+        /**
+         * The key prefix to use for the repository. Optional.
+         *
+         * @param repoPrefix key prefix
+         * @return builder
+         */
+        public Builder repoPrefix(String repoPrefix) {
+            this.repoPrefix = repoPrefix;
+            return this;
+        }
+
+        /**
+         * Provides a hook to modify putObject requests before they are executed. It is intended to be used to set
+         * object attributes such as tags.
+         *
+         * <p>The first argument is the object key the request is for, and the second is the request builder to apply
+         * changes to.
+         *
+         * @param putObjectModifier hook for modifying putObject requests
+         * @return builder
+         */
+        public Builder putObjectModifier(BiConsumer<String, PutObjectRequest.Builder> putObjectModifier) {
+            this.putObjectModifier = putObjectModifier;
+            return this;
+        }
+
+        /**
+         * Provides a hook to modify createMultipartUpload requests before they are executed. It is intended to be used
+         * to set object attributes such as tags.
+         *
+         * <p>The first argument is the object key the request is for, and the second is the request builder to apply
+         * changes to.
+         *
+         * @param createMultipartModifier hook for modifying createMultipartUpload requests
+         * @return builder
+         */
+        public Builder createMultipartModifier(
+                BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier) {
+            this.createMultipartModifier = createMultipartModifier;
+            return this;
+        }
+
+        /**
+         * The additional checksum S3 should calculate and store when objects are uploaded in a single part. Optional.
+         *
+         * @param checksumAlgorithm the checksum algorithm
+         * @return builder
+         */
+        public Builder checksumAlgorithm(ChecksumAlgorithm checksumAlgorithm) {
+            this.checksumAlgorithm = checksumAlgorithm;
+            return this;
+        }
+
+        /**
+         * The maximum number of requests to have in flight at once, including streaming downloads that have not been
+         * closed or read to the end. This should not exceed the maximum concurrency of the SDK client's HTTP client.
+         * Default: 50
+         *
+         * @param maxConcurrency maximum number of concurrent requests
+         * @return builder
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Whether files larger than the maximum part size should be split into multipart uploads. This should be
+         * disabled when using the CRT based client, which splits large uploads into parts itself. Default: true
+         *
+         * @param multipartUploads true to use multipart uploads for large files
+         * @return builder
+         */
+        public Builder multipartUploads(boolean multipartUploads) {
+            this.multipartUploads = multipartUploads;
+            return this;
+        }
+
+        /**
+         * Constructs a new OcflS3AsyncClient. s3Client and bucket must be set.
+         *
+         * @return OcflS3AsyncClient
+         */
+        public OcflS3AsyncClient build() {
+            return new OcflS3AsyncClient(
+                    s3Client,
+                    bucket,
+                    repoPrefix,
+                    putObjectModifier,
+                    createMultipartModifier,
+                    checksumAlgorithm,
+                    maxConcurrency,
+                    multipartUploads);
+        }
+    }
+}
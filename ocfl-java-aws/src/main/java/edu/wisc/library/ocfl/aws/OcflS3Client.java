@@ -33,7 +33,9 @@ import edu.wisc.library.ocfl.core.storage.cloud.CloudObjectKey;
 import edu.wisc.library.ocfl.core.storage.cloud.HeadResult;
 import edu.wisc.library.ocfl.core.storage.cloud.KeyNotFoundException;
 import edu.wisc.library.ocfl.core.storage.cloud.ListResult;
+import edu.wisc.library.ocfl.core.util.BufferPool;
 import edu.wisc.library.ocfl.core.util.UncheckedFiles;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -44,23 +46,35 @@ import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.ChecksumMode;
 import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
 import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
-import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
@@ -69,8 +83,8 @@ import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
-import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
@@ -81,30 +95,26 @@ public class OcflS3Client implements CloudClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(OcflS3Client.class);
 
-    private static final int KB = 1024;
-    private static final int MB = 1024 * KB;
-    private static final long GB = 1024 * MB;
-    private static final long TB = 1024 * GB;
-
-    private static final long MAX_FILE_BYTES = 5 * TB;
-
-    private static final int MAX_PART_BYTES = 100 * MB;
-    private static final int PART_SIZE_BYTES = 10 * MB;
-
-    private static final int MAX_PARTS = 100;
-    private static final int PART_SIZE_INCREMENT = 10;
-    private static final int PARTS_INCREMENT = 100;
+    private static final String OCTET_STREAM = "application/octet-stream";
 
     private final S3Client s3Client;
     private final String bucket;
     private final String repoPrefix;
     private final CloudObjectKey.Builder keyBuilder;
+    private final S3Listings listings;
 
     private final BiConsumer<String, PutObjectRequest.Builder> putObjectModifier;
     private final BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier;
+    private final ChecksumAlgorithm checksumAlgorithm;
+    private final Executor listPrefetchExecutor;
+    private final BufferPool bufferPool;
+    private final Executor deleteExecutor;
+    private final BatchDeleteMetrics deleteMetrics;
+    private final S3BatchDeleter deleter;
 
-    private int maxPartBytes = MAX_PART_BYTES;
-    private int partSizeBytes = PART_SIZE_BYTES;
+    private int maxPartBytes = S3PartSizes.MAX_PART_BYTES;
+    private int partSizeBytes = S3PartSizes.PART_SIZE_BYTES;
+    private Integer listPageSize;
 
     /**
      * Used to create a new OcflS3Client instance.
@@ -115,6 +125,25 @@ public class OcflS3Client implements CloudClient {
         return new Builder();
     }
 
+    /**
+     * Determines if an exception was caused by S3 throttling requests, such as a 503 SlowDown. This is intended to be
+     * used as the throttling classifier of a {@link edu.wisc.library.ocfl.core.storage.cloud.ResilientCloudClient}.
+     *
+     * @param error the exception thrown by a client
+     * @return true if the request was throttled
+     */
+    public static boolean isThrottlingError(Throwable error) {
+        var cause = error;
+        while (cause != null) {
+            if (cause instanceof SdkServiceException) {
+                var serviceException = (SdkServiceException) cause;
+                return serviceException.isThrottlingException() || serviceException.statusCode() == 503;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
     /**
      * @see OcflS3Client#builder()
      *
@@ -140,25 +169,137 @@ public class OcflS3Client implements CloudClient {
             String prefix,
             BiConsumer<String, PutObjectRequest.Builder> putObjectModifier,
             BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier) {
+        this(s3Client, bucket, prefix, putObjectModifier, createMultipartModifier, null);
+    }
+
+    /**
+     * @see OcflS3Client#builder()
+     *
+     * @param s3Client aws sdk s3 client
+     * @param bucket s3 bucket
+     * @param prefix key prefix
+     * @param putObjectModifier hook for modifying putObject requests
+     * @param createMultipartModifier hook for modifying createMultipartUpload requests
+     * @param checksumAlgorithm additional checksum to have S3 calculate on single part uploads, may be null
+     */
+    public OcflS3Client(
+            S3Client s3Client,
+            String bucket,
+            String prefix,
+            BiConsumer<String, PutObjectRequest.Builder> putObjectModifier,
+            BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier,
+            ChecksumAlgorithm checksumAlgorithm) {
+        this(s3Client, bucket, prefix, putObjectModifier, createMultipartModifier, checksumAlgorithm, null);
+    }
+
+    /**
+     * @see OcflS3Client#builder()
+     *
+     * @param s3Client aws sdk s3 client
+     * @param bucket s3 bucket
+     * @param prefix key prefix
+     * @param putObjectModifier hook for modifying putObject requests
+     * @param createMultipartModifier hook for modifying createMultipartUpload requests
+     * @param checksumAlgorithm additional checksum to have S3 calculate on single part uploads, may be null
+     * @param listPrefetchExecutor executor to request the next page of a streamed listing on, may be null
+     */
+    public OcflS3Client(
+            S3Client s3Client,
+            String bucket,
+            String prefix,
+            BiConsumer<String, PutObjectRequest.Builder> putObjectModifier,
+            BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier,
+            ChecksumAlgorithm checksumAlgorithm,
+            Executor listPrefetchExecutor) {
+        this(
+                s3Client,
+                bucket,
+                prefix,
+                putObjectModifier,
+                createMultipartModifier,
+                checksumAlgorithm,
+                listPrefetchExecutor,
+                null);
+    }
+
+    /**
+     * @see OcflS3Client#builder()
+     *
+     * @param s3Client aws sdk s3 client
+     * @param bucket s3 bucket
+     * @param prefix key prefix
+     * @param putObjectModifier hook for modifying putObject requests
+     * @param createMultipartModifier hook for modifying createMultipartUpload requests
+     * @param checksumAlgorithm additional checksum to have S3 calculate on single part uploads, may be null
+     * @param listPrefetchExecutor executor to request the next page of a streamed listing on, may be null
+     * @param bufferPool pool that multipart upload part buffers are drawn from, may be null
+     */
+    public OcflS3Client(
+            S3Client s3Client,
+            String bucket,
+            String prefix,
+            BiConsumer<String, PutObjectRequest.Builder> putObjectModifier,
+            BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier,
+            ChecksumAlgorithm checksumAlgorithm,
+            Executor listPrefetchExecutor,
+            BufferPool bufferPool) {
+        this(
+                s3Client,
+                bucket,
+                prefix,
+                putObjectModifier,
+                createMultipartModifier,
+                checksumAlgorithm,
+                listPrefetchExecutor,
+                bufferPool,
+                null);
+    }
+
+    /**
+     * @see OcflS3Client#builder()
+     *
+     * @param s3Client aws sdk s3 client
+     * @param bucket s3 bucket
+     * @param prefix key prefix
+     * @param putObjectModifier hook for modifying putObject requests
+     * @param createMultipartModifier hook for modifying createMultipartUpload requests
+     * @param checksumAlgorithm additional checksum to have S3 calculate on single part uploads, may be null
+     * @param listPrefetchExecutor executor to request the next page of a streamed listing on, may be null
+     * @param bufferPool pool that multipart upload part buffers are drawn from, may be null
+     * @param deleteExecutor executor to send batches of deletes on concurrently, may be null
+     */
+    public OcflS3Client(
+            S3Client s3Client,
+            String bucket,
+            String prefix,
+            BiConsumer<String, PutObjectRequest.Builder> putObjectModifier,
+            BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier,
+            ChecksumAlgorithm checksumAlgorithm,
+            Executor listPrefetchExecutor,
+            BufferPool bufferPool,
+            Executor deleteExecutor) {
         this.s3Client = Enforce.notNull(s3Client, "s3Client cannot be null");
         this.bucket = Enforce.notBlank(bucket, "bucket cannot be blank");
-        this.repoPrefix = sanitizeRepoPrefix(prefix == null ? "" : prefix);
+        this.repoPrefix = S3Listings.sanitizeRepoPrefix(prefix);
         this.keyBuilder = CloudObjectKey.builder().prefix(repoPrefix);
+        this.listings = new S3Listings(this.bucket, repoPrefix, keyBuilder);
         this.putObjectModifier = putObjectModifier != null ? putObjectModifier : (k, b) -> {};
         this.createMultipartModifier = createMultipartModifier != null ? createMultipartModifier : (k, b) -> {};
+        this.checksumAlgorithm = checksumAlgorithm;
+        this.listPrefetchExecutor = listPrefetchExecutor;
+        this.bufferPool = bufferPool != null ? bufferPool : defaultPartPool();
+        this.deleteExecutor = deleteExecutor;
+        this.deleteMetrics = new BatchDeleteMetrics();
+        this.deleter = new S3BatchDeleter(this.bucket, this::sendDeleteRequest, deleteMetrics);
     }
 
-    private static String sanitizeRepoPrefix(String repoPrefix) {
-        return repoPrefix.substring(0, indexLastNonSlash(repoPrefix));
-    }
-
-    private static int indexLastNonSlash(String string) {
-        for (int i = string.length(); i > 0; i--) {
-            if (string.charAt(i - 1) != '/') {
-                return i;
-            }
-        }
-        return 0;
+    /**
+     * Parts are larger than the shared default pool retains, so, by default, each client has its own pool that
+     * retains up to one part of the maximum size, or several smaller parts.
+     */
+    private static BufferPool defaultPartPool() {
+        return new BufferPool(
+                BufferPool.DEFAULT_BUFFER_SIZE, BufferPool.pooledCapacity(S3PartSizes.MAX_PART_BYTES), false);
     }
 
     /**
@@ -193,7 +334,7 @@ public class OcflS3Client implements CloudClient {
         var fileSize = UncheckedFiles.size(srcPath);
         var dstKey = keyBuilder.buildFromPath(dstPath);
 
-        if (fileSize >= MAX_FILE_BYTES) {
+        if (fileSize >= S3PartSizes.MAX_FILE_BYTES) {
             throw new OcflInputException(
                     String.format("Cannot store file %s because it exceeds the maximum file size.", srcPath));
         }
@@ -203,7 +344,7 @@ public class OcflS3Client implements CloudClient {
         } else {
             LOG.debug("Uploading {} to bucket {} key {} size {}", srcPath, bucket, dstKey, fileSize);
 
-            var builder = PutObjectRequest.builder().contentType(contentType);
+            var builder = PutObjectRequest.builder().contentType(contentType).checksumAlgorithm(checksumAlgorithm);
 
             putObjectModifier.accept(dstKey.getKey(), builder);
 
@@ -218,9 +359,8 @@ public class OcflS3Client implements CloudClient {
         return dstKey;
     }
 
-    // TODO reduce memory consumption?
     private void multipartUpload(Path srcPath, CloudObjectKey dstKey, long fileSize, String contentType) {
-        var partSize = determinePartSize(fileSize);
+        var partSize = S3PartSizes.determinePartSize(fileSize, partSizeBytes, maxPartBytes);
 
         LOG.debug(
                 "Multipart upload of {} to bucket {} key {}. File size: {}; part size: {}",
@@ -234,9 +374,11 @@ public class OcflS3Client implements CloudClient {
 
         var completedParts = new ArrayList<CompletedPart>();
 
+        // The part buffer is reused for every part, and returned to the pool for the next upload
+        var buffer = bufferPool.acquire(partSize);
+
         try {
             try (var channel = FileChannel.open(srcPath, StandardOpenOption.READ)) {
-                var buffer = ByteBuffer.allocate(partSize);
                 var i = 1;
 
                 while (channel.read(buffer) > 0) {
@@ -248,16 +390,16 @@ public class OcflS3Client implements CloudClient {
                                     .key(dstKey.getKey())
                                     .uploadId(uploadId)
                                     .partNumber(i)
-                                    // TODO entire part is in memory. stream part to file first?
                                     .build(),
-                            RequestBody.fromByteBuffer(buffer));
+                            partBody(buffer));
 
                     completedParts.add(CompletedPart.builder()
                             .partNumber(i)
                             .eTag(partResponse.eTag())
                             .build());
 
-                    buffer.clear();
+                    // Pooled buffers may be larger than requested
+                    buffer.clear().limit(partSize);
                     i++;
                 }
             } catch (IOException e) {
@@ -268,9 +410,27 @@ public class OcflS3Client implements CloudClient {
         } catch (RuntimeException e) {
             abortMultipartUpload(uploadId, dstKey);
             throw e;
+        } finally {
+            bufferPool.release(buffer);
         }
     }
 
+    /**
+     * RequestBody.fromByteBuffer() copies the buffer. Heap buffers are instead streamed from their backing array, which
+     * is safe because the synchronous client has finished with the body when uploadPart() returns.
+     */
+    private RequestBody partBody(ByteBuffer buffer) {
+        if (!buffer.hasArray()) {
+            return RequestBody.fromByteBuffer(buffer);
+        }
+
+        var array = buffer.array();
+        var offset = buffer.arrayOffset() + buffer.position();
+        var length = buffer.remaining();
+        return RequestBody.fromContentProvider(
+                () -> new ByteArrayInputStream(array, offset, length), length, OCTET_STREAM);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -279,7 +439,7 @@ public class OcflS3Client implements CloudClient {
         var dstKey = keyBuilder.buildFromPath(dstPath);
         LOG.debug("Writing string to bucket {} key {}", bucket, dstKey);
 
-        var builder = PutObjectRequest.builder().contentType(contentType);
+        var builder = PutObjectRequest.builder().contentType(contentType).checksumAlgorithm(checksumAlgorithm);
 
         putObjectModifier.accept(dstKey.getKey(), builder);
 
@@ -322,7 +482,7 @@ public class OcflS3Client implements CloudClient {
     private void multipartCopy(CloudObjectKey srcKey, CloudObjectKey dstKey) {
         var head = headObject(srcKey);
         var fileSize = head.contentLength();
-        var partSize = determinePartSize(fileSize);
+        var partSize = S3PartSizes.determinePartSize(fileSize, partSizeBytes, maxPartBytes);
 
         LOG.debug(
                 "Multipart copy of {} to {} in bucket {}: File size {}; part size: {}",
@@ -412,6 +572,31 @@ public class OcflS3Client implements CloudClient {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream downloadStream(String srcPath, long startPosition, long endPosition) {
+        var srcKey = keyBuilder.buildFromPath(srcPath);
+        LOG.debug("Streaming bucket {} key {} range {}-{}", bucket, srcKey, startPosition, endPosition);
+
+        try {
+            return s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(srcKey.getKey())
+                    .range(String.format("bytes=%s-%s", startPosition, endPosition))
+                    .build());
+        } catch (NoSuchKeyException e) {
+            throw new KeyNotFoundException(String.format("Key %s not found in bucket %s.", srcKey, bucket), e);
+        } catch (S3Exception e) {
+            if (e.statusCode() == 416) {
+                // The range starts after the end of the object
+                return InputStream.nullInputStream();
+            }
+            throw e;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -432,14 +617,19 @@ public class OcflS3Client implements CloudClient {
         var key = keyBuilder.buildFromPath(path);
 
         try {
-            var s3Result = s3Client.headObject(
-                    HeadObjectRequest.builder().bucket(bucket).key(key.getKey()).build());
+            var s3Result = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key.getKey())
+                    .checksumMode(ChecksumMode.ENABLED)
+                    .build());
 
             return new HeadResult()
                     .setContentEncoding(s3Result.contentEncoding())
                     .setContentLength(s3Result.contentLength())
                     .setETag(s3Result.eTag())
-                    .setLastModified(s3Result.lastModified());
+                    .setLastModified(s3Result.lastModified())
+                    .setChecksumSha256(s3Result.checksumSHA256())
+                    .setChecksumSha1(s3Result.checksumSHA1());
         } catch (NoSuchKeyException e) {
             throw new KeyNotFoundException(String.format("Key %s not found in bucket %s.", key, bucket), e);
         }
@@ -450,63 +640,71 @@ public class OcflS3Client implements CloudClient {
      */
     @Override
     public ListResult list(String prefix) {
-        var prefixedPrefix = keyBuilder.buildFromPath(prefix);
-        return toListResult(ListObjectsV2Request.builder().bucket(bucket).prefix(prefixedPrefix.getKey()));
+        return listings.toListResult(listings.listRequest(prefix), s3Client::listObjectsV2);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public ListResult listDirectory(String path) {
-        var prefix = keyBuilder.buildFromPath(path).getKey();
+    public Stream<ListResult.ObjectListing> listStream(String prefix) {
+        LOG.debug("Streaming listing of {} in bucket {}", prefix, bucket);
 
-        if (!prefix.isEmpty() && !prefix.endsWith("/")) {
-            prefix = prefix + "/";
-        }
+        var iterator = new ObjectListingIterator(listings.listRequest(prefix).maxKeys(listPageSize));
+
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListResult listPage(String prefix, String startAfter, int maxKeys) {
+        LOG.debug("Listing page of {} in bucket {} after {}", prefix, bucket, startAfter);
 
-        LOG.debug("Listing directory {} in bucket {}", prefix, bucket);
+        var result = s3Client.listObjectsV2(
+                listings.listPageRequest(prefix, startAfter, maxKeys).build());
 
-        return toListResult(
-                ListObjectsV2Request.builder().bucket(bucket).delimiter("/").prefix(prefix));
+        return new ListResult().setObjects(listings.toObjectListings(result));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public boolean directoryExists(String path) {
-        var prefix = keyBuilder.buildFromPath(path).getKey();
+    public ListResult listDirectory(String path) {
+        LOG.debug("Listing directory {} in bucket {}", path, bucket);
 
-        if (!prefix.isEmpty() && !prefix.endsWith("/")) {
-            prefix = prefix + "/";
-        }
+        return listings.toListResult(listings.listDirectoryRequest(path), s3Client::listObjectsV2);
+    }
 
-        LOG.debug("Checking existence of {} in bucket {}", prefix, bucket);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean directoryExists(String path) {
+        LOG.debug("Checking existence of {} in bucket {}", path, bucket);
 
-        var response = s3Client.listObjectsV2(ListObjectsV2Request.builder()
-                .bucket(bucket)
-                .delimiter("/")
-                .prefix(prefix)
-                .maxKeys(1)
-                .build());
+        var response = s3Client.listObjectsV2(
+                listings.listDirectoryRequest(path).maxKeys(1).build());
 
-        return response.contents().stream().findAny().isPresent()
-                || response.commonPrefixes().stream().findAny().isPresent();
+        return S3Listings.hasEntries(response);
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>Objects are deleted in batches of up to 1000 keys as the listing is streamed.
      */
     @Override
     public void deletePath(String path) {
         LOG.debug("Deleting path {} in bucket {}", path, bucket);
 
-        var keys = list(path).getObjects().stream()
-                .map(ListResult.ObjectListing::getKey)
-                .collect(Collectors.toList());
-
-        deleteObjectsInternal(keys);
+        try (var objects = listStream(path)) {
+            deleter.deleteAll(objects.map(object -> object.getKey().getKey()).iterator());
+        }
     }
 
     /**
@@ -514,28 +712,27 @@ public class OcflS3Client implements CloudClient {
      */
     @Override
     public void deleteObjects(Collection<String> objectPaths) {
+        LOG.debug("Deleting objects in bucket {}: {}", bucket, objectPaths);
+
         if (!objectPaths.isEmpty()) {
-            var objectKeys = objectPaths.stream()
+            deleter.deleteAll(objectPaths.stream()
                     .filter(Objects::nonNull)
-                    .map(keyBuilder::buildFromPath)
-                    .collect(Collectors.toList());
-
-            deleteObjectsInternal(objectKeys);
+                    .map(path -> keyBuilder.buildFromPath(path).getKey())
+                    .iterator());
         }
     }
 
-    private void deleteObjectsInternal(Collection<CloudObjectKey> objectKeys) {
-        LOG.debug("Deleting objects in bucket {}: {}", bucket, objectKeys);
-
-        if (!objectKeys.isEmpty()) {
-            var objectIds = objectKeys.stream()
-                    .map(key -> ObjectIdentifier.builder().key(key.getKey()).build())
-                    .collect(Collectors.toList());
-
-            s3Client.deleteObjects(DeleteObjectsRequest.builder()
-                    .bucket(bucket)
-                    .delete(Delete.builder().objects(objectIds).build())
-                    .build());
+    /**
+     * Sends the request on the delete executor, or on the calling thread when there is not one.
+     */
+    private CompletableFuture<DeleteObjectsResponse> sendDeleteRequest(DeleteObjectsRequest request) {
+        if (deleteExecutor != null) {
+            return CompletableFuture.supplyAsync(() -> s3Client.deleteObjects(request), deleteExecutor);
+        }
+        try {
+            return CompletableFuture.completedFuture(s3Client.deleteObjects(request));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
     }
 
@@ -603,73 +800,95 @@ public class OcflS3Client implements CloudClient {
         }
     }
 
-    private int determinePartSize(long fileSize) {
-        var partSize = partSizeBytes;
-        var maxParts = MAX_PARTS;
+    /**
+     * Iterates over the objects in a listing, one page at a time. If a prefetch executor is configured, the next page
+     * is requested as soon as the current page is received.
+     */
+    private class ObjectListingIterator implements Iterator<ListResult.ObjectListing> {
 
-        while (fileSize / partSize > maxParts) {
-            partSize += PART_SIZE_INCREMENT;
+        private final ListObjectsV2Request.Builder requestBuilder;
 
-            if (partSize > maxPartBytes) {
-                maxParts += PARTS_INCREMENT;
-                partSize /= 2;
-            }
+        private Iterator<ListResult.ObjectListing> current;
+        private String continuationToken;
+        private boolean morePages;
+        private CompletableFuture<ListObjectsV2Response> prefetched;
+        private volatile boolean closed;
+
+        ObjectListingIterator(ListObjectsV2Request.Builder requestBuilder) {
+            this.requestBuilder = requestBuilder;
+            this.current = Collections.emptyIterator();
+            this.morePages = true;
         }
 
-        return partSize;
-    }
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && morePages) {
+                if (closed) {
+                    throw new IllegalStateException("Listing is closed");
+                }
+                loadPage();
+            }
+            return current.hasNext();
+        }
 
-    private ListResult toListResult(ListObjectsV2Request.Builder requestBuilder) {
-        var result = s3Client.listObjectsV2(requestBuilder.build());
+        @Override
+        public ListResult.ObjectListing next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more objects in listing");
+            }
+            return current.next();
+        }
 
-        var prefixLength = prefixLength(result.prefix());
-        var repoPrefixLength = repoPrefix.isBlank() ? 0 : repoPrefix.length() + 1;
+        void close() {
+            closed = true;
+            if (prefetched != null) {
+                prefetched.cancel(true);
+                prefetched = null;
+            }
+        }
 
-        var objects = toObjectListings(result, prefixLength);
-        var dirs = toDirectoryListings(result, repoPrefixLength);
+        private void loadPage() {
+            ListObjectsV2Response response;
 
-        while (Boolean.TRUE.equals(result.isTruncated())) {
-            result = s3Client.listObjectsV2(requestBuilder
-                    .continuationToken(result.nextContinuationToken())
-                    .build());
+            if (prefetched != null) {
+                response = awaitPage(prefetched);
+                prefetched = null;
+            } else {
+                response = s3Client.listObjectsV2(nextRequest());
+            }
 
-            objects.addAll(toObjectListings(result, prefixLength));
-            dirs.addAll(toDirectoryListings(result, repoPrefixLength));
-        }
+            morePages = Boolean.TRUE.equals(response.isTruncated());
+            continuationToken = response.nextContinuationToken();
 
-        return new ListResult().setObjects(objects).setDirectories(dirs);
-    }
+            if (morePages && listPrefetchExecutor != null) {
+                var request = nextRequest();
+                prefetched = CompletableFuture.supplyAsync(() -> s3Client.listObjectsV2(request), listPrefetchExecutor);
+            }
 
-    private List<ListResult.ObjectListing> toObjectListings(ListObjectsV2Response result, int prefixLength) {
-        return result.contents().stream()
-                .map(o -> {
-                    var key = o.key();
-                    return new ListResult.ObjectListing()
-                            .setKey(keyBuilder.buildFromKey(key))
-                            .setKeySuffix(key.substring(prefixLength));
-                })
-                .collect(Collectors.toList());
-    }
+            current = listings.toObjectListings(response).iterator();
+        }
 
-    private List<ListResult.DirectoryListing> toDirectoryListings(ListObjectsV2Response result, int repoPrefixLength) {
-        return result.commonPrefixes().stream()
-                .filter(p -> p.prefix() != null)
-                .map(p -> {
-                    var path = p.prefix();
-                    return new ListResult.DirectoryListing().setPath(path.substring(repoPrefixLength));
-                })
-                .collect(Collectors.toList());
-    }
+        private ListObjectsV2Request nextRequest() {
+            return requestBuilder.continuationToken(continuationToken).build();
+        }
 
-    private int prefixLength(String prefix) {
-        var prefixLength = 0;
-        if (prefix != null && !prefix.isEmpty()) {
-            prefixLength = prefix.length();
-            if (!prefix.endsWith("/")) {
-                prefixLength += 1;
+        private ListObjectsV2Response awaitPage(CompletableFuture<ListObjectsV2Response> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
             }
         }
-        return prefixLength;
+    }
+
+    /**
+     * @return counts of the DeleteObjects requests this client has made
+     */
+    public BatchDeleteMetrics getDeleteMetrics() {
+        return deleteMetrics;
     }
 
     @VisibleForTesting
@@ -682,6 +901,11 @@ public class OcflS3Client implements CloudClient {
         this.partSizeBytes = partSizeBytes;
     }
 
+    @VisibleForTesting
+    void setListPageSize(int listPageSize) {
+        this.listPageSize = listPageSize;
+    }
+
     public static class Builder {
         private S3Client s3Client;
         private String bucket;
@@ -689,6 +913,10 @@ public class OcflS3Client implements CloudClient {
 
         private BiConsumer<String, PutObjectRequest.Builder> putObjectModifier;
         private BiConsumer<String, CreateMultipartUploadRequest.Builder> createMultipartModifier;
+        private ChecksumAlgorithm checksumAlgorithm;
+        private Executor listPrefetchExecutor;
+        private BufferPool bufferPool;
+        private Executor deleteExecutor;
 
         /**
          * The AWS SDK s3 client. Required.
@@ -754,13 +982,76 @@ public class OcflS3Client implements CloudClient {
             return this;
         }
 
+        /**
+         * The additional checksum S3 should calculate and store when objects are uploaded in a single part. Optional.
+         *
+         * <p>When set to SHA256 or SHA1, the stored checksums can be used to verify content fixity without downloading
+         * the content. Objects that are uploaded in multiple parts are only assigned composite checksums, which cannot
+         * be used for this purpose.
+         *
+         * @param checksumAlgorithm the checksum algorithm
+         * @return builder
+         */
+        public Builder checksumAlgorithm(ChecksumAlgorithm checksumAlgorithm) {
+            this.checksumAlgorithm = checksumAlgorithm;
+            return this;
+        }
+
+        /**
+         * The executor to request the next page of a streamed listing on while the current page is being consumed.
+         * Optional. When not set, pages are only requested once the previous page has been consumed.
+         *
+         * @param listPrefetchExecutor the executor to prefetch listing pages on
+         * @return builder
+         */
+        public Builder listPrefetchExecutor(Executor listPrefetchExecutor) {
+            this.listPrefetchExecutor = listPrefetchExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the pool that multipart upload part buffers are drawn from. Parts are 10 MB or larger, so reusing them
+         * avoids a large allocation per upload. The pool's {@code maxPooledBytes} must be at least
+         * {@link BufferPool#pooledCapacity(int)} of the part size for parts to be reused. Default: a pool for this
+         * client that retains up to one part of the maximum size, 100 MB
+         *
+         * @param bufferPool the buffer pool
+         * @return builder
+         */
+        public Builder bufferPool(BufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+            return this;
+        }
+
+        /**
+         * The executor to send batches of deletes on. Optional. Deletes are sent in batches of up to 1000 keys, and,
+         * when an executor is set, up to 10 batches are sent concurrently. When not set, batches are sent one at a
+         * time on the calling thread.
+         *
+         * @param deleteExecutor the executor to send delete requests on
+         * @return builder
+         */
+        public Builder deleteExecutor(Executor deleteExecutor) {
+            this.deleteExecutor = deleteExecutor;
+            return this;
+        }
+
         /**
          * Constructs a new OcflS3Client. s3Client and bucket must be set.
          *
          * @return OcflS3Client
          */
         public OcflS3Client build() {
-            return new OcflS3Client(s3Client, bucket, repoPrefix, putObjectModifier, createMultipartModifier);
+            return new OcflS3Client(
+                    s3Client,
+                    bucket,
+                    repoPrefix,
+                    putObjectModifier,
+                    createMultipartModifier,
+                    checksumAlgorithm,
+                    listPrefetchExecutor,
+                    bufferPool,
+                    deleteExecutor);
         }
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.aws;
+
+import edu.wisc.library.ocfl.api.exception.OcflIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+/**
+ * Deletes keys in batches of up to 1000, the most S3 accepts in a single DeleteObjects request. Several batches may be
+ * in flight at once, depending on how the sender executes requests. S3 reports objects it failed to delete in the
+ * response rather than failing the request, so keys that failed with a transient error are retried with backoff.
+ */
+class S3BatchDeleter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(S3BatchDeleter.class);
+
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int MAX_BATCHES_IN_FLIGHT = 10;
+    private static final int MAX_RETRIES = 3;
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    private static final Set<String> RETRYABLE_CODES =
+            Set.of("InternalError", "OperationAborted", "RequestTimeout", "ServiceUnavailable", "SlowDown");
+
+    private final String bucket;
+    private final Function<DeleteObjectsRequest, CompletableFuture<DeleteObjectsResponse>> sender;
+    private final BatchDeleteMetrics metrics;
+    private final long retryDelayMillis;
+
+    /**
+     * @param bucket the bucket to delete from
+     * @param sender sends a DeleteObjects request, either on the calling thread or asynchronously
+     * @param metrics where to record the outcome of requests
+     */
+    S3BatchDeleter(
+            String bucket,
+            Function<DeleteObjectsRequest, CompletableFuture<DeleteObjectsResponse>> sender,
+            BatchDeleteMetrics metrics) {
+        this(bucket, sender, metrics, RETRY_DELAY_MILLIS);
+    }
+
+    S3BatchDeleter(
+            String bucket,
+            Function<DeleteObjectsRequest, CompletableFuture<DeleteObjectsResponse>> sender,
+            BatchDeleteMetrics metrics,
+            long retryDelayMillis) {
+        this.bucket = bucket;
+        this.sender = sender;
+        this.metrics = metrics;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    /**
+     * Deletes all of the keys, and returns once every batch has completed. Keys are consumed from the iterator as
+     * batches are sent, so that a large listing does not need to be held in memory. No new batches are sent after a
+     * batch fails.
+     *
+     * @param keys the full S3 keys to delete
+     */
+    void deleteAll(Iterator<String> keys) {
+        var inFlight = new Semaphore(MAX_BATCHES_IN_FLIGHT);
+        var failure = new AtomicReference<Throwable>();
+        var batch = new ArrayList<String>(MAX_BATCH_SIZE);
+
+        while (keys.hasNext() && failure.get() == null) {
+            batch.add(keys.next());
+            if (batch.size() == MAX_BATCH_SIZE) {
+                submit(batch, inFlight, failure);
+                batch = new ArrayList<>(MAX_BATCH_SIZE);
+            }
+        }
+
+        if (!batch.isEmpty() && failure.get() == null) {
+            submit(batch, inFlight, failure);
+        }
+
+        inFlight.acquireUninterruptibly(MAX_BATCHES_IN_FLIGHT);
+
+        var error = failure.get();
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error != null) {
+            throw new CompletionException(error);
+        }
+    }
+
+    private void submit(List<String> batch, Semaphore inFlight, AtomicReference<Throwable> failure) {
+        inFlight.acquireUninterruptibly();
+
+        CompletableFuture<Void> future;
+        try {
+            future = deleteBatch(batch, 0);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((nothing, error) -> {
+            if (error != null) {
+                failure.compareAndSet(null, unwrap(error));
+            }
+            inFlight.release();
+        });
+    }
+
+    private CompletableFuture<Void> deleteBatch(List<String> keys, int attempt) {
+        LOG.debug("Deleting {} objects in bucket {}", keys.size(), bucket);
+
+        var objectIds = keys.stream()
+                .map(key -> ObjectIdentifier.builder().key(key).build())
+                .collect(Collectors.toList());
+
+        metrics.recordRequest();
+
+        return sender.apply(DeleteObjectsRequest.builder()
+                        .bucket(bucket)
+                        .delete(Delete.builder().objects(objectIds).quiet(true).build())
+                        .build())
+                .thenCompose(response -> {
+                    if (!response.hasErrors() || response.errors().isEmpty()) {
+                        metrics.recordDeleted(keys.size());
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    var errors = response.errors();
+                    metrics.recordDeleted(keys.size() - errors.size());
+
+                    var retryable = errors.stream()
+                            .filter(error -> RETRYABLE_CODES.contains(error.code()))
+                            .map(S3Error::key)
+                            .collect(Collectors.toList());
+
+                    if (retryable.size() == errors.size() && attempt < MAX_RETRIES) {
+                        var delay = retryDelayMillis << attempt;
+                        LOG.debug(
+                                "Retrying delete of {} objects in bucket {} in {}ms", retryable.size(), bucket, delay);
+                        metrics.recordRetried(retryable.size());
+                        return CompletableFuture.runAsync(
+                                        () -> {}, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                                .thenCompose(nothing -> deleteBatch(retryable, attempt + 1));
+                    }
+
+                    metrics.recordFailed(errors.size());
+                    var first = errors.get(0);
+                    return CompletableFuture.failedFuture(new OcflIOException(String.format(
+                            "Failed to delete %s objects in bucket %s. First failure: %s %s: %s",
+                            errors.size(), bucket, first.key(), first.code(), first.message())));
+                });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        var cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
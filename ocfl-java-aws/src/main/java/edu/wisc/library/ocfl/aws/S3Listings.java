@@ -0,0 +1,205 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.aws;
+
+import edu.wisc.library.ocfl.core.storage.cloud.CloudObjectKey;
+import edu.wisc.library.ocfl.core.storage.cloud.ListResult;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+
+/**
+ * Builds the ListObjectsV2 requests that the S3 clients send, and converts the responses into listings that are
+ * relative to the repository prefix. The clients differ only in how the requests are sent.
+ */
+class S3Listings {
+
+    private final String bucket;
+    private final String repoPrefix;
+    private final CloudObjectKey.Builder keyBuilder;
+
+    /**
+     * Removes trailing slashes from a repository prefix.
+     *
+     * @param repoPrefix the prefix, may be null
+     * @return the prefix without trailing slashes
+     */
+    static String sanitizeRepoPrefix(String repoPrefix) {
+        if (repoPrefix == null) {
+            return "";
+        }
+        return repoPrefix.substring(0, indexLastNonSlash(repoPrefix));
+    }
+
+    private static int indexLastNonSlash(String string) {
+        for (int i = string.length(); i > 0; i--) {
+            if (string.charAt(i - 1) != '/') {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param bucket s3 bucket
+     * @param repoPrefix sanitized repository prefix
+     * @param keyBuilder builder for keys under the repository prefix
+     */
+    S3Listings(String bucket, String repoPrefix, CloudObjectKey.Builder keyBuilder) {
+        this.bucket = bucket;
+        this.repoPrefix = repoPrefix;
+        this.keyBuilder = keyBuilder;
+    }
+
+    /**
+     * @param prefix path prefix
+     * @return request for every object under the prefix
+     */
+    ListObjectsV2Request.Builder listRequest(String prefix) {
+        return ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(keyBuilder.buildFromPath(prefix).getKey());
+    }
+
+    /**
+     * @param prefix path prefix, the repository root when empty
+     * @param startAfter path to start the page after, may be null
+     * @param maxKeys maximum number of objects in the page
+     * @return request for a page of the objects under the prefix
+     */
+    ListObjectsV2Request.Builder listPageRequest(String prefix, String startAfter, int maxKeys) {
+        var prefixedPrefix = keyBuilder.buildFromPath(prefix).getKey();
+
+        if (prefix.isEmpty() && !prefixedPrefix.isEmpty()) {
+            prefixedPrefix = prefixedPrefix + "/";
+        }
+
+        var requestBuilder = ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefixedPrefix)
+                .maxKeys(maxKeys);
+
+        if (startAfter != null) {
+            requestBuilder.startAfter(keyBuilder.buildFromPath(startAfter).getKey());
+        }
+
+        return requestBuilder;
+    }
+
+    /**
+     * @param path directory path
+     * @return request for the objects and subdirectories that are immediately within the directory
+     */
+    ListObjectsV2Request.Builder listDirectoryRequest(String path) {
+        var prefix = keyBuilder.buildFromPath(path).getKey();
+
+        if (!prefix.isEmpty() && !prefix.endsWith("/")) {
+            prefix = prefix + "/";
+        }
+
+        return ListObjectsV2Request.builder().bucket(bucket).delimiter("/").prefix(prefix);
+    }
+
+    /**
+     * Sends the request, and then a request for every following page, and combines all of the pages.
+     *
+     * @param requestBuilder the request for the first page
+     * @param listObjects sends a request and waits for the response
+     * @return the combined listing
+     */
+    ListResult toListResult(
+            ListObjectsV2Request.Builder requestBuilder,
+            Function<ListObjectsV2Request, ListObjectsV2Response> listObjects) {
+        var result = listObjects.apply(requestBuilder.build());
+
+        var prefixLength = prefixLength(result.prefix());
+        var repoPrefixLength = repoPrefix.isBlank() ? 0 : repoPrefix.length() + 1;
+
+        var objects = toObjectListings(result, prefixLength);
+        var dirs = toDirectoryListings(result, repoPrefixLength);
+
+        while (Boolean.TRUE.equals(result.isTruncated())) {
+            result = listObjects.apply(requestBuilder
+                    .continuationToken(result.nextContinuationToken())
+                    .build());
+
+            objects.addAll(toObjectListings(result, prefixLength));
+            dirs.addAll(toDirectoryListings(result, repoPrefixLength));
+        }
+
+        return new ListResult().setObjects(objects).setDirectories(dirs);
+    }
+
+    /**
+     * @param result a single page
+     * @return the objects in the page
+     */
+    List<ListResult.ObjectListing> toObjectListings(ListObjectsV2Response result) {
+        return toObjectListings(result, prefixLength(result.prefix()));
+    }
+
+    /**
+     * @param result a response to a directory request
+     * @return true if the directory contains an object or subdirectory
+     */
+    static boolean hasEntries(ListObjectsV2Response result) {
+        return !result.contents().isEmpty() || !result.commonPrefixes().isEmpty();
+    }
+
+    private List<ListResult.ObjectListing> toObjectListings(ListObjectsV2Response result, int prefixLength) {
+        return result.contents().stream()
+                .map(o -> {
+                    var key = o.key();
+                    return new ListResult.ObjectListing()
+                            .setKey(keyBuilder.buildFromKey(key))
+                            .setKeySuffix(key.substring(prefixLength))
+                            .setSize(o.size());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private List<ListResult.DirectoryListing> toDirectoryListings(ListObjectsV2Response result, int repoPrefixLength) {
+        return result.commonPrefixes().stream()
+                .filter(p -> p.prefix() != null)
+                .map(p -> {
+                    var path = p.prefix();
+                    return new ListResult.DirectoryListing().setPath(path.substring(repoPrefixLength));
+                })
+                .collect(Collectors.toList());
+    }
+
+    private int prefixLength(String prefix) {
+        var prefixLength = 0;
+        if (prefix != null && !prefix.isEmpty()) {
+            prefixLength = prefix.length();
+            if (!prefix.endsWith("/")) {
+                prefixLength += 1;
+            }
+        }
+        return prefixLength;
+    }
+}
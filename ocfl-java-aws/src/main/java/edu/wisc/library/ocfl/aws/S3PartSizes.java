@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.aws;
+
+/**
+ * The S3 object and part size limits, and how the S3 clients split a file into multipart upload or copy parts.
+ */
+final class S3PartSizes {
+
+    private static final int KB = 1024;
+    private static final int MB = 1024 * KB;
+    private static final long GB = 1024 * MB;
+    private static final long TB = 1024 * GB;
+
+    /**
+     * The largest object S3 accepts
+     */
+    static final long MAX_FILE_BYTES = 5 * TB;
+
+    /**
+     * Files larger than this are split into parts
+     */
+    static final int MAX_PART_BYTES = 100 * MB;
+
+    /**
+     * The smallest part size that is used
+     */
+    static final int PART_SIZE_BYTES = 10 * MB;
+
+    private static final int MAX_PARTS = 100;
+    private static final int PART_SIZE_INCREMENT = 10;
+    private static final int PARTS_INCREMENT = 100;
+
+    private S3PartSizes() {}
+
+    /**
+     * Grows the part size, starting from {@code partSizeBytes}, until the file fits in the target number of parts. The
+     * target number of parts is raised whenever the part size would exceed {@code maxPartBytes}.
+     *
+     * @param fileSize the size of the file in bytes
+     * @param partSizeBytes the smallest part size
+     * @param maxPartBytes the largest part size
+     * @return the part size in bytes
+     */
+    static int determinePartSize(long fileSize, int partSizeBytes, int maxPartBytes) {
+        var partSize = partSizeBytes;
+        var maxParts = MAX_PARTS;
+
+        while (fileSize / partSize > maxParts) {
+            partSize += PART_SIZE_INCREMENT;
+
+            if (partSize > maxPartBytes) {
+                maxParts += PARTS_INCREMENT;
+                partSize /= 2;
+            }
+        }
+
+        return partSize;
+    }
+}
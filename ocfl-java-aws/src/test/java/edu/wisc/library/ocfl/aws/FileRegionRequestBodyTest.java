@@ -0,0 +1,106 @@
+package edu.wisc.library.ocfl.aws;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class FileRegionRequestBodyTest {
+
+    @TempDir
+    public Path tempDir;
+
+    private Path file;
+    private byte[] content;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        file = Files.write(tempDir.resolve("file"), content);
+    }
+
+    @Test
+    public void shouldPublishRegionInChunks() throws Exception {
+        var body = new FileRegionRequestBody(file, 100, 250, 64);
+
+        assertEquals(Optional.of(250L), body.contentLength());
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 350), read(body, 1));
+    }
+
+    @Test
+    public void shouldPublishRegionWhenAllChunksRequestedAtOnce() throws Exception {
+        var body = new FileRegionRequestBody(file, 900, 100, 7);
+
+        assertArrayEquals(Arrays.copyOfRange(content, 900, 1000), read(body, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldRestartRegionWhenResubscribed() throws Exception {
+        var body = new FileRegionRequestBody(file, 10, 90, 16);
+
+        assertArrayEquals(read(body, 1), read(body, 1));
+    }
+
+    @Test
+    public void shouldFailWhenRegionExtendsPastEndOfFile() {
+        var body = new FileRegionRequestBody(file, 950, 100, 64);
+
+        var e = assertThrows(ExecutionException.class, () -> read(body, 1));
+        assertEquals(IOException.class, e.getCause().getClass());
+    }
+
+    private byte[] read(FileRegionRequestBody body, long requestSize) throws Exception {
+        var result = new CompletableFuture<byte[]>();
+
+        body.subscribe(new Subscriber<ByteBuffer>() {
+            private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(requestSize);
+            }
+
+            @Override
+            public void onNext(ByteBuffer buffer) {
+                var bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                out.writeBytes(bytes);
+                if (requestSize != Long.MAX_VALUE) {
+                    subscription.request(requestSize);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                result.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(out.toByteArray());
+            }
+        });
+
+        return result.get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,311 @@
+package edu.wisc.library.ocfl.aws;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import at.favre.lib.bytes.Bytes;
+import com.adobe.testing.s3mock.junit5.S3MockExtension;
+import edu.wisc.library.ocfl.core.storage.cloud.KeyNotFoundException;
+import edu.wisc.library.ocfl.core.storage.cloud.ListResult;
+import edu.wisc.library.ocfl.core.util.FileUtil;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+public class OcflS3AsyncClientTest {
+
+    private static final String REPO_PREFIX =
+            "OcflS3AsyncClientTest-" + ThreadLocalRandom.current().nextLong();
+
+    @RegisterExtension
+    public static S3MockExtension S3_MOCK = S3MockExtension.builder().silent().build();
+
+    private static S3Client awsS3Client;
+    private static S3AsyncClient awsS3AsyncClient;
+    private static OcflS3AsyncClient client;
+    private static String bucket;
+
+    @TempDir
+    public Path tempDir;
+
+    @BeforeAll
+    public static void beforeAll() {
+        awsS3Client = S3_MOCK.createS3ClientV2();
+        awsS3AsyncClient = S3AsyncClient.builder()
+                .endpointOverride(URI.create("http://localhost:" + S3_MOCK.getHttpPort()))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("foo", "bar")))
+                .serviceConfiguration(
+                        S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+
+        bucket = UUID.randomUUID().toString();
+        awsS3Client.createBucket(request -> {
+            request.bucket(bucket);
+        });
+
+        client = OcflS3AsyncClient.builder()
+                .s3Client(awsS3AsyncClient)
+                .bucket(bucket)
+                .repoPrefix(REPO_PREFIX)
+                .maxConcurrency(4)
+                .build();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        awsS3AsyncClient.close();
+    }
+
+    @AfterEach
+    public void after() {
+        client.deletePath("");
+    }
+
+    @Test
+    public void basicPutAndGet() {
+        var key = "dir/sub/test.txt";
+
+        client.uploadFile(createFile("content"), key);
+
+        assertObjectsExist(bucket, List.of(key));
+
+        assertEquals("content", client.downloadString(key));
+    }
+
+    @Test
+    public void multipartUpload() {
+        var size = 1024 * 1024 * 5;
+        client.setMaxPartBytes(size);
+        client.setPartSizeBytes(size);
+
+        var key = "dir/sub/test.txt";
+
+        var byteString = Bytes.random(size + 100).encodeHex();
+
+        client.uploadFile(createFile(byteString), key);
+
+        assertObjectsExist(bucket, List.of(key));
+
+        assertEquals(byteString, client.downloadString(key));
+    }
+
+    @Test
+    public void uploadMoreFilesThanMaxConcurrency() {
+        var futures = new ArrayList<CompletableFuture<?>>();
+        var keys = new ArrayList<String>();
+
+        for (int i = 0; i < 20; i++) {
+            var key = "dir/file" + i;
+            keys.add(key);
+            futures.add(client.uploadFileAsync(createFile("content" + i), key));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertObjectsExist(bucket, keys);
+        assertEquals("content13", client.downloadString("dir/file13"));
+    }
+
+    @Test
+    public void basicDownloadFileWhenExists() throws IOException {
+        var key = "dir/sub/test.txt";
+
+        client.uploadFile(createFile("content"), key);
+
+        var out = tempDir.resolve("test.txt");
+        client.downloadFileAsync(key, out).join();
+
+        assertEquals("content", Files.readString(out));
+    }
+
+    @Test
+    public void failDownloadFileWhenKeyDoesNotExist() {
+        var out = tempDir.resolve("test.txt");
+
+        assertThrows(KeyNotFoundException.class, () -> {
+            client.downloadFile("bogus", out);
+        });
+    }
+
+    @Test
+    public void streamObjectAndRange() throws IOException {
+        var key = "dir/sub/test.txt";
+
+        client.uploadFile(createFile("0123456789"), key);
+
+        try (var stream = client.downloadStream(key)) {
+            assertEquals("0123456789", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (var stream = client.downloadStream(key, 2, 5)) {
+            assertEquals("2345", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void shouldCountOpenStreamAgainstMaxConcurrencyUntilClosed() throws Exception {
+        var limitedClient = OcflS3AsyncClient.builder()
+                .s3Client(awsS3AsyncClient)
+                .bucket(bucket)
+                .repoPrefix(REPO_PREFIX)
+                .maxConcurrency(1)
+                .build();
+
+        client.uploadFile(createFile("streamed"), "f1");
+        client.uploadFile(createFile("waiting"), "f2");
+
+        var stream = limitedClient.downloadStream("f1");
+        var download = CompletableFuture.supplyAsync(() -> limitedClient.downloadString("f2"));
+
+        try {
+            assertThrows(TimeoutException.class, () -> download.get(500, TimeUnit.MILLISECONDS));
+        } finally {
+            stream.close();
+        }
+
+        assertEquals("waiting", download.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldReleaseStreamFromMaxConcurrencyWhenReadToEnd() throws Exception {
+        var limitedClient = OcflS3AsyncClient.builder()
+                .s3Client(awsS3AsyncClient)
+                .bucket(bucket)
+                .repoPrefix(REPO_PREFIX)
+                .maxConcurrency(1)
+                .build();
+
+        client.uploadFile(createFile("streamed"), "f1");
+        client.uploadFile(createFile("waiting"), "f2");
+
+        var stream = limitedClient.downloadStream("f1");
+        assertEquals("streamed", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+
+        var download = CompletableFuture.supplyAsync(() -> limitedClient.downloadString("f2"));
+
+        assertEquals("waiting", download.get(10, TimeUnit.SECONDS));
+        stream.close();
+    }
+
+    @Test
+    public void copyObjectWhenExists() {
+        var src = "dir/file1.txt";
+        var dst = "file1.txt";
+        var content = "something";
+
+        client.uploadFile(createFile(content), src);
+        client.copyObjectAsync(src, dst).join();
+
+        assertObjectsExist(bucket, List.of(src, dst));
+
+        assertEquals(content, client.downloadString(dst));
+    }
+
+    @Test
+    public void failCopyWhenSrcDoesNotExist() {
+        assertThrows(KeyNotFoundException.class, () -> {
+            client.copyObject("dir/bogus.txt", "file1.txt");
+        });
+    }
+
+    @Test
+    public void shouldStreamAllKeysUnderPrefixOnePageAtATime() {
+        client.uploadBytes("f1", bytes("1"), null);
+        client.uploadBytes("d1/f3", bytes("3"), null);
+        client.uploadBytes("d1/f4", bytes("4"), null);
+        client.uploadBytes("d1/d2/f5", bytes("5"), null);
+        client.uploadBytes("d1/d2/f6", bytes("6"), null);
+        client.uploadBytes("d1/d2/f7", bytes("7"), null);
+
+        client.setListPageSize(2);
+
+        List<ListResult.ObjectListing> objects;
+        try (var stream = client.listStream("d1")) {
+            objects = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(5, objects.size());
+        assertEquals("d1/d2/f5", objects.get(0).getKey().getPath());
+        assertEquals("d1/f4", objects.get(4).getKey().getPath());
+
+        client.deletePath("d1");
+
+        assertObjectsExist(bucket, List.of("f1"));
+    }
+
+    @Test
+    public void shouldListKeysInDirectory() {
+        client.uploadBytes("d1/f3", bytes("3"), null);
+        client.uploadBytes("d1/d2/f5", bytes("5"), null);
+
+        var result = client.listDirectory("d1");
+
+        assertEquals(1, result.getObjects().size());
+        assertEquals("d1/f3", result.getObjects().get(0).getKey().getPath());
+        assertEquals(1, result.getDirectories().size());
+        assertEquals("d1/d2/", result.getDirectories().get(0).getPath());
+        assertTrue(client.directoryExists("d1/d2"));
+    }
+
+    @Test
+    public void failHeadWhenDoesNotExist() {
+        assertThrows(KeyNotFoundException.class, () -> {
+            client.head("bogus");
+        });
+    }
+
+    private Path createFile(String content) {
+        try {
+            return Files.writeString(
+                    tempDir.resolve("temp-file-" + ThreadLocalRandom.current().nextLong()), content);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void assertObjectsExist(String bucket, Collection<String> expectedKeys) {
+        var result = awsS3Client.listObjectsV2(ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(REPO_PREFIX)
+                .build());
+
+        var actualKeys = result.contents().stream().map(S3Object::key).collect(Collectors.toList());
+        var prefixedExpected = expectedKeys.stream()
+                .map(k -> FileUtil.pathJoinIgnoreEmpty(REPO_PREFIX, k))
+                .collect(Collectors.toList());
+
+        assertThat(actualKeys, containsInAnyOrder(prefixedExpected.toArray(String[]::new)));
+    }
+}
@@ -20,6 +20,7 @@ import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
@@ -324,6 +325,51 @@ public class OcflS3ClientTest {
         assertEquals(0, result.getDirectories().size());
     }
 
+    @Test
+    public void shouldStreamAllKeysUnderPrefixOnePageAtATime() {
+        client.uploadBytes("f1", bytes("1"), null);
+        client.uploadBytes("d1/f3", bytes("3"), null);
+        client.uploadBytes("d1/f4", bytes("4"), null);
+        client.uploadBytes("d1/d2/f5", bytes("5"), null);
+        client.uploadBytes("d1/d2/f6", bytes("6"), null);
+        client.uploadBytes("d1/d2/f7", bytes("7"), null);
+
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            var streamingClient = OcflS3Client.builder()
+                    .s3Client(awsS3Client)
+                    .bucket(bucket)
+                    .repoPrefix(REPO_PREFIX)
+                    .listPrefetchExecutor(executor)
+                    .build();
+            streamingClient.setListPageSize(2);
+
+            List<ListResult.ObjectListing> objects;
+            try (var stream = streamingClient.listStream("d1")) {
+                objects = stream.collect(Collectors.toList());
+            }
+
+            assertEquals(5, objects.size());
+            assertObjectListingAll("d1", "d1/d2/f5", objects.get(0));
+            assertObjectListingAll("d1", "d1/d2/f6", objects.get(1));
+            assertObjectListingAll("d1", "d1/d2/f7", objects.get(2));
+            assertObjectListingAll("d1", "d1/f3", objects.get(3));
+            assertObjectListingAll("d1", "d1/f4", objects.get(4));
+
+            try (var stream = streamingClient.listStream("d1")) {
+                assertEquals("d1/d2/f5", stream.findFirst().get().getKey().getPath());
+            }
+
+            streamingClient.setListPageSize(3);
+            streamingClient.deletePath("d1");
+
+            assertObjectsExist(bucket, List.of("f1"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void directoryExistsWhenContainsObjects() {
         client.uploadBytes("f1", bytes("1"), null);
@@ -358,6 +404,33 @@ public class OcflS3ClientTest {
         assertObjectsExist(bucket, List.of("f1", "f2"));
     }
 
+    @Test
+    public void shouldDeleteMoreObjectsThanFitInOneBatch() {
+        var executor = Executors.newFixedThreadPool(4);
+
+        try {
+            var deletingClient = OcflS3Client.builder()
+                    .s3Client(awsS3Client)
+                    .bucket(bucket)
+                    .repoPrefix(REPO_PREFIX)
+                    .deleteExecutor(executor)
+                    .build();
+
+            client.uploadBytes("f1", bytes("1"), null);
+            for (int i = 0; i < 1100; i++) {
+                client.uploadBytes("d1/f" + i, bytes("content"), null);
+            }
+
+            deletingClient.deletePath("d1");
+
+            assertObjectsExist(bucket, List.of("f1"));
+            assertEquals(2, deletingClient.getDeleteMetrics().getRequestCount());
+            assertEquals(1100, deletingClient.getDeleteMetrics().getDeletedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void shouldSafeDeleteAllObjectsUnderPrefix() {
         client.uploadBytes("f1", bytes("1"), null);
@@ -0,0 +1,118 @@
+package edu.wisc.library.ocfl.aws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.wisc.library.ocfl.api.exception.OcflIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+public class S3BatchDeleterTest {
+
+    @Test
+    public void splitKeysIntoBatchesOfAtMost1000() {
+        var requests = new ArrayList<List<String>>();
+        var metrics = new BatchDeleteMetrics();
+        var deleter = new S3BatchDeleter("bucket", recording(requests, request -> success()), metrics, 1);
+
+        deleter.deleteAll(keys(2500).iterator());
+
+        assertEquals(3, requests.size());
+        assertEquals(1000, requests.get(0).size());
+        assertEquals(1000, requests.get(1).size());
+        assertEquals(500, requests.get(2).size());
+        assertEquals(3, metrics.getRequestCount());
+        assertEquals(2500, metrics.getDeletedCount());
+        assertEquals(0, metrics.getRetriedCount());
+    }
+
+    @Test
+    public void retryKeysThatFailedWithRetryableErrors() {
+        var requests = new ArrayList<List<String>>();
+        var metrics = new BatchDeleteMetrics();
+        var deleter = new S3BatchDeleter(
+                "bucket",
+                recording(requests, request -> {
+                    if (requests.size() == 1) {
+                        return failures("SlowDown", "k1", "k3");
+                    }
+                    return success();
+                }),
+                metrics,
+                1);
+
+        deleter.deleteAll(keys(5).iterator());
+
+        assertEquals(2, requests.size());
+        assertEquals(List.of("k1", "k3"), requests.get(1));
+        assertEquals(2, metrics.getRequestCount());
+        assertEquals(5, metrics.getDeletedCount());
+        assertEquals(2, metrics.getRetriedCount());
+        assertEquals(0, metrics.getFailedCount());
+    }
+
+    @Test
+    public void failWhenKeysCannotBeDeleted() {
+        var requests = new ArrayList<List<String>>();
+        var metrics = new BatchDeleteMetrics();
+        var deleter = new S3BatchDeleter(
+                "bucket", recording(requests, request -> failures("AccessDenied", "k2")), metrics, 1);
+
+        assertThrows(OcflIOException.class, () -> deleter.deleteAll(keys(5).iterator()));
+
+        assertEquals(1, requests.size());
+        assertEquals(4, metrics.getDeletedCount());
+        assertEquals(1, metrics.getFailedCount());
+    }
+
+    @Test
+    public void failWhenRetriesAreExhausted() {
+        var requests = new ArrayList<List<String>>();
+        var metrics = new BatchDeleteMetrics();
+        var deleter = new S3BatchDeleter(
+                "bucket", recording(requests, request -> failures("InternalError", "k0")), metrics, 1);
+
+        assertThrows(OcflIOException.class, () -> deleter.deleteAll(keys(1).iterator()));
+
+        assertEquals(4, requests.size());
+        assertEquals(3, metrics.getRetriedCount());
+        assertEquals(1, metrics.getFailedCount());
+    }
+
+    private Function<DeleteObjectsRequest, CompletableFuture<DeleteObjectsResponse>> recording(
+            List<List<String>> requests, Function<DeleteObjectsRequest, DeleteObjectsResponse> responder) {
+        return request -> {
+            synchronized (requests) {
+                requests.add(request.delete().objects().stream()
+                        .map(ObjectIdentifier::key)
+                        .collect(Collectors.toList()));
+                return CompletableFuture.completedFuture(responder.apply(request));
+            }
+        };
+    }
+
+    private DeleteObjectsResponse success() {
+        return DeleteObjectsResponse.builder().build();
+    }
+
+    private DeleteObjectsResponse failures(String code, String... keys) {
+        var errors = new ArrayList<S3Error>();
+        for (var key : keys) {
+            errors.add(S3Error.builder().key(key).code(code).message("failed").build());
+        }
+        return DeleteObjectsResponse.builder().errors(errors).build();
+    }
+
+    private List<String> keys(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "k" + i).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,78 @@
+package edu.wisc.library.ocfl.aws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wisc.library.ocfl.core.storage.cloud.CloudObjectKey;
+import java.util.ArrayDeque;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+public class S3ListingsTest {
+
+    private final S3Listings listings =
+            new S3Listings("bucket", "repo", CloudObjectKey.builder().prefix("repo"));
+
+    @Test
+    public void shouldRemoveTrailingSlashesFromRepoPrefix() {
+        assertEquals("", S3Listings.sanitizeRepoPrefix(null));
+        assertEquals("", S3Listings.sanitizeRepoPrefix("//"));
+        assertEquals("a/b", S3Listings.sanitizeRepoPrefix("a/b//"));
+    }
+
+    @Test
+    public void shouldListDirectoryWithTrailingSlashAndDelimiter() {
+        var request = listings.listDirectoryRequest("d1").build();
+
+        assertEquals("bucket", request.bucket());
+        assertEquals("repo/d1/", request.prefix());
+        assertEquals("/", request.delimiter());
+    }
+
+    @Test
+    public void shouldListPageOfRepoRootAfterKey() {
+        var request = listings.listPageRequest("", "d1/f1", 10).build();
+
+        assertEquals("repo/", request.prefix());
+        assertEquals("repo/d1/f1", request.startAfter());
+        assertEquals(10, request.maxKeys());
+    }
+
+    @Test
+    public void shouldCombineAllPagesRelativeToPrefix() {
+        var pages = new ArrayDeque<>(List.of(
+                ListObjectsV2Response.builder()
+                        .prefix("repo/d1/")
+                        .contents(S3Object.builder().key("repo/d1/f1").size(1L).build())
+                        .commonPrefixes(
+                                CommonPrefix.builder().prefix("repo/d1/d2/").build())
+                        .isTruncated(true)
+                        .nextContinuationToken("next")
+                        .build(),
+                ListObjectsV2Response.builder()
+                        .prefix("repo/d1/")
+                        .contents(S3Object.builder().key("repo/d1/f2").size(2L).build())
+                        .isTruncated(false)
+                        .build()));
+
+        var result = listings.toListResult(listings.listDirectoryRequest("d1"), request -> pages.removeFirst());
+
+        assertEquals(2, result.getObjects().size());
+        assertEquals("f1", result.getObjects().get(0).getKeySuffix());
+        assertEquals("d1/f2", result.getObjects().get(1).getKey().getPath());
+        assertEquals(1, result.getDirectories().size());
+        assertEquals("d1/d2/", result.getDirectories().get(0).getPath());
+    }
+
+    @Test
+    public void shouldDetectWhetherDirectoryHasEntries() {
+        assertFalse(S3Listings.hasEntries(ListObjectsV2Response.builder().build()));
+        assertTrue(S3Listings.hasEntries(ListObjectsV2Response.builder()
+                .commonPrefixes(CommonPrefix.builder().prefix("repo/d1/").build())
+                .build()));
+    }
+}
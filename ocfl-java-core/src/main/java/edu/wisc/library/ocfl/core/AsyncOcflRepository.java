@@ -0,0 +1,268 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core;
+
+import edu.wisc.library.ocfl.api.OcflObjectUpdater;
+import edu.wisc.library.ocfl.api.OcflOption;
+import edu.wisc.library.ocfl.api.OcflRepository;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
+import edu.wisc.library.ocfl.api.model.ObjectDetails;
+import edu.wisc.library.ocfl.api.model.ObjectVersionId;
+import edu.wisc.library.ocfl.api.model.OcflObjectVersion;
+import edu.wisc.library.ocfl.api.model.ValidationResults;
+import edu.wisc.library.ocfl.api.model.VersionDetails;
+import edu.wisc.library.ocfl.api.model.VersionInfo;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous facade over an {@link OcflRepository}. Every operation is dispatched to an executor and its result is
+ * returned as a {@link CompletableFuture}, so that callers, such as reactive web frameworks, do not block while the
+ * repository performs storage I/O. Operations on different objects run concurrently; operations on the same object
+ * are serialized by the repository's object lock as usual.
+ *
+ * <p>By default, operations run on virtual threads when the JVM supports them, and on an unbounded pool of platform
+ * threads otherwise. A different executor may be supplied, in which case it's the caller's responsibility to shut it
+ * down.
+ *
+ * <p>Closing this object shuts down the default executor, but does not close the underlying repository.
+ */
+public class AsyncOcflRepository implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncOcflRepository.class);
+
+    private final OcflRepository repository;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Creates an AsyncOcflRepository that runs operations on the default executor.
+     *
+     * @param repository the repository to wrap
+     */
+    public AsyncOcflRepository(OcflRepository repository) {
+        this.repository = Enforce.notNull(repository, "repository cannot be null");
+        this.ownedExecutor = defaultExecutor();
+        this.executor = ownedExecutor;
+    }
+
+    /**
+     * Creates an AsyncOcflRepository that runs operations on the specified executor.
+     *
+     * @param repository the repository to wrap
+     * @param executor the executor to run operations on
+     */
+    public AsyncOcflRepository(OcflRepository repository, Executor executor) {
+        this.repository = Enforce.notNull(repository, "repository cannot be null");
+        this.executor = Enforce.notNull(executor, "executor cannot be null");
+        this.ownedExecutor = null;
+    }
+
+    /**
+     * Returns the wrapped repository, which may be used for the operations that are not exposed asynchronously.
+     *
+     * @return the wrapped repository
+     */
+    public OcflRepository getRepository() {
+        return repository;
+    }
+
+    /**
+     * @see OcflRepository#putObject(ObjectVersionId, Path, VersionInfo, OcflOption...)
+     *
+     * @param objectVersionId the id to store the object under
+     * @param path the path to the object content
+     * @param versionInfo information about the changes to the object
+     * @param options optional config options
+     * @return future that completes with the objectId and version of the new object version
+     */
+    public CompletableFuture<ObjectVersionId> putObject(
+            ObjectVersionId objectVersionId, Path path, VersionInfo versionInfo, OcflOption... options) {
+        return supply(() -> repository.putObject(objectVersionId, path, versionInfo, options));
+    }
+
+    /**
+     * The objectUpdater is called on an executor thread.
+     *
+     * @see OcflRepository#updateObject(ObjectVersionId, VersionInfo, Consumer)
+     *
+     * @param objectVersionId the id of the object
+     * @param versionInfo information about the changes to the object
+     * @param objectUpdater code block within which updates to an object may be made
+     * @return future that completes with the objectId and version of the new object version
+     */
+    public CompletableFuture<ObjectVersionId> updateObject(
+            ObjectVersionId objectVersionId, VersionInfo versionInfo, Consumer<OcflObjectUpdater> objectUpdater) {
+        return supply(() -> repository.updateObject(objectVersionId, versionInfo, objectUpdater));
+    }
+
+    /**
+     * @see OcflRepository#getObject(ObjectVersionId, Path)
+     *
+     * @param objectVersionId the id and version of an object to retrieve
+     * @param outputPath the directory to write the object files to, must NOT exist
+     * @return future that completes when the object has been written
+     */
+    public CompletableFuture<Void> getObject(ObjectVersionId objectVersionId, Path outputPath) {
+        return run(() -> repository.getObject(objectVersionId, outputPath));
+    }
+
+    /**
+     * @see OcflRepository#getObject(ObjectVersionId)
+     *
+     * @param objectVersionId the id and version of an object to retrieve
+     * @return future that completes with the lazy-loading object version
+     */
+    public CompletableFuture<OcflObjectVersion> getObject(ObjectVersionId objectVersionId) {
+        return supply(() -> repository.getObject(objectVersionId));
+    }
+
+    /**
+     * @see OcflRepository#getObjectAsZip(ObjectVersionId, OutputStream)
+     *
+     * @param objectVersionId the id and version of an object to retrieve
+     * @param outputStream the stream to write the archive to
+     * @return future that completes when the archive has been written
+     */
+    public CompletableFuture<Void> getObjectAsZip(ObjectVersionId objectVersionId, OutputStream outputStream) {
+        return run(() -> repository.getObjectAsZip(objectVersionId, outputStream));
+    }
+
+    /**
+     * @see OcflRepository#getObjects(Collection)
+     *
+     * @param objectVersionIds the ids and versions of the objects to retrieve
+     * @return future that completes with a map of object version id to lazy-loading object version
+     */
+    public CompletableFuture<Map<ObjectVersionId, OcflObjectVersion>> getObjects(
+            Collection<ObjectVersionId> objectVersionIds) {
+        return supply(() -> repository.getObjects(objectVersionIds));
+    }
+
+    /**
+     * @see OcflRepository#describeObject(String)
+     *
+     * @param objectId the id of the object to describe
+     * @return future that completes with the details about the object
+     */
+    public CompletableFuture<ObjectDetails> describeObject(String objectId) {
+        return supply(() -> repository.describeObject(objectId));
+    }
+
+    /**
+     * @see OcflRepository#describeObjects(Collection)
+     *
+     * @param objectIds the ids of the objects to describe
+     * @return future that completes with a map of object id to details about the object
+     */
+    public CompletableFuture<Map<String, ObjectDetails>> describeObjects(Collection<String> objectIds) {
+        return supply(() -> repository.describeObjects(objectIds));
+    }
+
+    /**
+     * @see OcflRepository#describeVersion(ObjectVersionId)
+     *
+     * @param objectVersionId the id and version of the object to describe
+     * @return future that completes with the details about the object version
+     */
+    public CompletableFuture<VersionDetails> describeVersion(ObjectVersionId objectVersionId) {
+        return supply(() -> repository.describeVersion(objectVersionId));
+    }
+
+    /**
+     * @see OcflRepository#containsObject(String)
+     *
+     * @param objectId the id of the object
+     * @return future that completes with true if the object exists
+     */
+    public CompletableFuture<Boolean> containsObject(String objectId) {
+        return supply(() -> repository.containsObject(objectId));
+    }
+
+    /**
+     * @see OcflRepository#purgeObject(String)
+     *
+     * @param objectId the id of the object to purge
+     * @return future that completes when the object has been purged
+     */
+    public CompletableFuture<Void> purgeObject(String objectId) {
+        return run(() -> repository.purgeObject(objectId));
+    }
+
+    /**
+     * @see OcflRepository#validateObject(String, ContentValidation)
+     *
+     * @param objectId the id of the object to validate
+     * @param contentValidation the level of content validation to perform
+     * @return future that completes with the validation results
+     */
+    public CompletableFuture<ValidationResults> validateObject(String objectId, ContentValidation contentValidation) {
+        return supply(() -> repository.validateObject(objectId, contentValidation));
+    }
+
+    /**
+     * Shuts down the default executor, if it's in use. Operations that are already running are allowed to complete.
+     * The underlying repository is not closed.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(operation, executor);
+    }
+
+    private CompletableFuture<Void> run(Runnable operation) {
+        return CompletableFuture.runAsync(operation, executor);
+    }
+
+    /**
+     * Creates a virtual thread per task executor if the JVM supports virtual threads, or an unbounded cached thread
+     * pool if it does not. Reflection is used because this library targets Java versions without virtual threads.
+     */
+    private static ExecutorService defaultExecutor() {
+        try {
+            var method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.debug("Virtual threads are not available. Using platform threads.");
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
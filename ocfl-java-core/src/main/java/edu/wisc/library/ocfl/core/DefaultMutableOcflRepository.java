@@ -38,8 +38,10 @@ import edu.wisc.library.ocfl.core.model.Version;
 import edu.wisc.library.ocfl.core.path.constraint.ContentPathConstraintProcessor;
 import edu.wisc.library.ocfl.core.path.mapper.LogicalPathMapper;
 import edu.wisc.library.ocfl.core.storage.OcflStorage;
+import edu.wisc.library.ocfl.core.util.BufferPool;
 import edu.wisc.library.ocfl.core.util.FileUtil;
 import edu.wisc.library.ocfl.core.util.UncheckedFiles;
+import edu.wisc.library.ocfl.core.util.ZipVersionWriter;
 import java.nio.file.Path;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
@@ -90,6 +92,79 @@ public class DefaultMutableOcflRepository extends DefaultOcflRepository implemen
                 verifyStaging);
     }
 
+    /**
+     * @see OcflRepositoryBuilder
+     *
+     * @param storage storage layer
+     * @param workDir path to the directory to use for assembling ocfl versions
+     * @param objectLock locking client
+     * @param inventoryMapper object mapper for serializing inventories
+     * @param logicalPathMapper logical path mapper
+     * @param contentPathConstraintProcessor content path constraint processor
+     * @param config ocfl defaults configuration
+     * @param verifyStaging true if the contents of a stage version should be double-checked
+     * @param zipVersionWriter writer used to stream object versions as ZIP archives
+     */
+    public DefaultMutableOcflRepository(
+            OcflStorage storage,
+            Path workDir,
+            ObjectLock objectLock,
+            InventoryMapper inventoryMapper,
+            LogicalPathMapper logicalPathMapper,
+            ContentPathConstraintProcessor contentPathConstraintProcessor,
+            OcflConfig config,
+            boolean verifyStaging,
+            ZipVersionWriter zipVersionWriter) {
+        super(
+                storage,
+                workDir,
+                objectLock,
+                inventoryMapper,
+                logicalPathMapper,
+                contentPathConstraintProcessor,
+                config,
+                verifyStaging,
+                zipVersionWriter);
+    }
+
+    /**
+     * @see OcflRepositoryBuilder
+     *
+     * @param storage storage layer
+     * @param workDir path to the directory to use for assembling ocfl versions
+     * @param objectLock locking client
+     * @param inventoryMapper object mapper for serializing inventories
+     * @param logicalPathMapper logical path mapper
+     * @param contentPathConstraintProcessor content path constraint processor
+     * @param config ocfl defaults configuration
+     * @param verifyStaging true if the contents of a stage version should be double-checked
+     * @param zipVersionWriter writer used to stream object versions as ZIP archives
+     * @param bufferPool pool that file copy and digest buffers are drawn from
+     */
+    public DefaultMutableOcflRepository(
+            OcflStorage storage,
+            Path workDir,
+            ObjectLock objectLock,
+            InventoryMapper inventoryMapper,
+            LogicalPathMapper logicalPathMapper,
+            ContentPathConstraintProcessor contentPathConstraintProcessor,
+            OcflConfig config,
+            boolean verifyStaging,
+            ZipVersionWriter zipVersionWriter,
+            BufferPool bufferPool) {
+        super(
+                storage,
+                workDir,
+                objectLock,
+                inventoryMapper,
+                logicalPathMapper,
+                contentPathConstraintProcessor,
+                config,
+                verifyStaging,
+                zipVersionWriter,
+                bufferPool);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -120,7 +195,8 @@ public class DefaultMutableOcflRepository extends DefaultOcflRepository implemen
         var inventoryUpdater = inventoryUpdaterBuilder.buildCopyStateMutable(inventory);
         var addFileProcessor =
                 addFileProcessorBuilder.build(inventoryUpdater, contentDir, inventory.getDigestAlgorithm());
-        var updater = new DefaultOcflObjectUpdater(inventory, inventoryUpdater, contentDir, addFileProcessor);
+        var updater = new DefaultOcflObjectUpdater(
+                inventory, inventoryUpdater, contentDir, addFileProcessor, config.isRecordFileSizes());
 
         try {
             objectUpdater.accept(updater);
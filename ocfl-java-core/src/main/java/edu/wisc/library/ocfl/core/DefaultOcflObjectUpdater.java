@@ -64,6 +64,7 @@ public class DefaultOcflObjectUpdater implements OcflObjectUpdater {
     private final InventoryUpdater inventoryUpdater;
     private final Path stagingDir;
     private final AddFileProcessor addFileProcessor;
+    private final boolean recordFileSizes;
 
     private final Map<String, Path> stagedFileMap;
 
@@ -72,10 +73,27 @@ public class DefaultOcflObjectUpdater implements OcflObjectUpdater {
             InventoryUpdater inventoryUpdater,
             Path stagingDir,
             AddFileProcessor addFileProcessor) {
+        this(inventory, inventoryUpdater, stagingDir, addFileProcessor, false);
+    }
+
+    /**
+     * @param inventory the inventory of the object that is being updated
+     * @param inventoryUpdater the updater for the object's inventory
+     * @param stagingDir the directory new content is staged in
+     * @param addFileProcessor the processor that stages added files
+     * @param recordFileSizes true to record the size of every new file in the inventory's fixity block
+     */
+    public DefaultOcflObjectUpdater(
+            Inventory inventory,
+            InventoryUpdater inventoryUpdater,
+            Path stagingDir,
+            AddFileProcessor addFileProcessor,
+            boolean recordFileSizes) {
         this.inventory = Enforce.notNull(inventory, "inventory cannot be null");
         this.inventoryUpdater = Enforce.notNull(inventoryUpdater, "inventoryUpdater cannot be null");
         this.stagingDir = Enforce.notNull(stagingDir, "stagingDir cannot be null");
         this.addFileProcessor = Enforce.notNull(addFileProcessor, "addFileProcessor cannot be null");
+        this.recordFileSizes = recordFileSizes;
 
         this.stagedFileMap = new HashMap<>();
     }
@@ -97,6 +115,7 @@ public class DefaultOcflObjectUpdater implements OcflObjectUpdater {
 
         var newStagedFiles = addFileProcessor.processPath(sourcePath, destinationPath, options);
         stagedFileMap.putAll(newStagedFiles);
+        recordSizes(newStagedFiles);
 
         return this;
     }
@@ -117,6 +136,7 @@ public class DefaultOcflObjectUpdater implements OcflObjectUpdater {
 
         var newStagedFiles = addFileProcessor.processFileWithDigest(digest, sourcePath, destinationPath, options);
         stagedFileMap.putAll(newStagedFiles);
+        recordSizes(newStagedFiles);
 
         return this;
     }
@@ -171,6 +191,7 @@ public class DefaultOcflObjectUpdater implements OcflObjectUpdater {
             FileUtil.deleteDirAndParentsIfEmpty(stagingFullPath.getParent(), stagingDir);
         } else {
             stagedFileMap.put(destinationPath, stagingFullPath);
+            recordSizes(Map.of(destinationPath, stagingFullPath));
         }
 
         return this;
@@ -263,21 +284,26 @@ public class DefaultOcflObjectUpdater implements OcflObjectUpdater {
                         logicalPath));
             }
 
-            if (!algorithm.hasJavaStandardName()) {
-                throw new OcflInputException(
-                        "The specified digest algorithm is not mapped to a Java name: " + algorithm);
-            }
-
             var file = stagedFileMap.get(logicalPath);
 
-            LOG.debug("Computing {} hash of {}", algorithm.getJavaStandardName(), file);
-            digest = DigestUtil.computeDigestHex(algorithm, file);
+            if (DigestAlgorithm.size.equals(algorithm)) {
+                digest = String.valueOf(UncheckedFiles.size(file));
+            } else {
+                if (!algorithm.hasJavaStandardName()) {
+                    throw new OcflInputException(
+                            "The specified digest algorithm is not mapped to a Java name: " + algorithm);
+                }
+
+                LOG.debug("Computing {} hash of {}", algorithm.getJavaStandardName(), file);
+                digest = DigestUtil.computeDigestHex(algorithm, file);
+            }
         }
 
         if (!value.equalsIgnoreCase(digest)) {
+            var algorithmName =
+                    algorithm.hasJavaStandardName() ? algorithm.getJavaStandardName() : algorithm.getOcflName();
             throw new FixityCheckException(String.format(
-                    "Expected %s digest of %s to be %s, but was %s.",
-                    algorithm.getJavaStandardName(), logicalPath, value, digest));
+                    "Expected %s digest of %s to be %s, but was %s.", algorithmName, logicalPath, value, digest));
         }
 
         if (!alreadyExists) {
@@ -297,6 +323,15 @@ public class DefaultOcflObjectUpdater implements OcflObjectUpdater {
         return this;
     }
 
+    private void recordSizes(Map<String, Path> newStagedFiles) {
+        if (recordFileSizes) {
+            newStagedFiles.forEach((logicalPath, file) -> {
+                var size = String.valueOf(UncheckedFiles.size(file));
+                inventoryUpdater.addFixity(logicalPath, DigestAlgorithm.size, size);
+            });
+        }
+    }
+
     private void removeUnneededStagedFiles(Set<InventoryUpdater.RemoveFileResult> removeFiles) {
         removeFiles.forEach(remove -> {
             var stagingPath = stagingFullPath(remove.getPathUnderContentDir());
@@ -38,6 +38,8 @@ import edu.wisc.library.ocfl.api.exception.OcflIOException;
 import edu.wisc.library.ocfl.api.exception.OcflInputException;
 import edu.wisc.library.ocfl.api.exception.OcflStateException;
 import edu.wisc.library.ocfl.api.exception.ValidationException;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
+import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
 import edu.wisc.library.ocfl.api.model.FileChangeHistory;
 import edu.wisc.library.ocfl.api.model.ObjectDetails;
 import edu.wisc.library.ocfl.api.model.ObjectVersionId;
@@ -58,14 +60,17 @@ import edu.wisc.library.ocfl.core.path.ContentPathMapper;
 import edu.wisc.library.ocfl.core.path.constraint.ContentPathConstraintProcessor;
 import edu.wisc.library.ocfl.core.path.mapper.LogicalPathMapper;
 import edu.wisc.library.ocfl.core.storage.OcflStorage;
+import edu.wisc.library.ocfl.core.util.BufferPool;
 import edu.wisc.library.ocfl.core.util.DigestUtil;
 import edu.wisc.library.ocfl.core.util.FileUtil;
 import edu.wisc.library.ocfl.core.util.ResponseMapper;
 import edu.wisc.library.ocfl.core.util.UncheckedFiles;
+import edu.wisc.library.ocfl.core.util.ZipVersionWriter;
 import edu.wisc.library.ocfl.core.validation.InventoryValidator;
 import edu.wisc.library.ocfl.core.validation.Validator;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -73,8 +78,12 @@ import java.nio.file.Path;
 import java.security.DigestOutputStream;
 import java.time.Clock;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -93,6 +102,8 @@ public class DefaultOcflRepository implements OcflRepository {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultOcflRepository.class);
 
     private final boolean verifyStaging;
+    private final ZipVersionWriter zipVersionWriter;
+    private final BufferPool bufferPool;
     protected final OcflStorage storage;
     protected final InventoryMapper inventoryMapper;
     protected final Path workDir;
@@ -128,12 +139,87 @@ public class DefaultOcflRepository implements OcflRepository {
             ContentPathConstraintProcessor contentPathConstraintProcessor,
             OcflConfig config,
             boolean verifyStaging) {
+        this(
+                storage,
+                workDir,
+                objectLock,
+                inventoryMapper,
+                logicalPathMapper,
+                contentPathConstraintProcessor,
+                config,
+                verifyStaging,
+                new ZipVersionWriter());
+    }
+
+    /**
+     * @see OcflRepositoryBuilder
+     *
+     * @param storage storage layer
+     * @param workDir path to the directory to use for assembling ocfl versions
+     * @param objectLock locking client
+     * @param inventoryMapper object mapper for serializing inventories
+     * @param logicalPathMapper logical path mapper
+     * @param contentPathConstraintProcessor content path constraint processor
+     * @param config ocfl defaults configuration
+     * @param verifyStaging true if the contents of a stage version should be double-checked
+     * @param zipVersionWriter writer used to stream object versions as ZIP archives
+     */
+    public DefaultOcflRepository(
+            OcflStorage storage,
+            Path workDir,
+            ObjectLock objectLock,
+            InventoryMapper inventoryMapper,
+            LogicalPathMapper logicalPathMapper,
+            ContentPathConstraintProcessor contentPathConstraintProcessor,
+            OcflConfig config,
+            boolean verifyStaging,
+            ZipVersionWriter zipVersionWriter) {
+        this(
+                storage,
+                workDir,
+                objectLock,
+                inventoryMapper,
+                logicalPathMapper,
+                contentPathConstraintProcessor,
+                config,
+                verifyStaging,
+                zipVersionWriter,
+                BufferPool.defaultPool());
+    }
+
+    /**
+     * @see OcflRepositoryBuilder
+     *
+     * @param storage storage layer
+     * @param workDir path to the directory to use for assembling ocfl versions
+     * @param objectLock locking client
+     * @param inventoryMapper object mapper for serializing inventories
+     * @param logicalPathMapper logical path mapper
+     * @param contentPathConstraintProcessor content path constraint processor
+     * @param config ocfl defaults configuration
+     * @param verifyStaging true if the contents of a stage version should be double-checked
+     * @param zipVersionWriter writer used to stream object versions as ZIP archives
+     * @param bufferPool pool that file copy and digest buffers are drawn from
+     */
+    public DefaultOcflRepository(
+            OcflStorage storage,
+            Path workDir,
+            ObjectLock objectLock,
+            InventoryMapper inventoryMapper,
+            LogicalPathMapper logicalPathMapper,
+            ContentPathConstraintProcessor contentPathConstraintProcessor,
+            OcflConfig config,
+            boolean verifyStaging,
+            ZipVersionWriter zipVersionWriter,
+            BufferPool bufferPool) {
         this.storage = Enforce.notNull(storage, "storage cannot be null");
         this.workDir = Enforce.notNull(workDir, "workDir cannot be null");
         this.objectLock = Enforce.notNull(objectLock, "objectLock cannot be null");
         this.inventoryMapper = Enforce.notNull(inventoryMapper, "inventoryMapper cannot be null");
         this.config = Enforce.notNull(config, "config cannot be null");
         this.verifyStaging = verifyStaging;
+        this.zipVersionWriter = Enforce.notNull(zipVersionWriter, "zipVersionWriter cannot be null");
+        this.bufferPool = Enforce.notNull(bufferPool, "bufferPool cannot be null");
 
         inventoryUpdaterBuilder = InventoryUpdater.builder()
                 .contentPathMapperBuilder(ContentPathMapper.builder()
@@ -143,7 +229,7 @@ public class DefaultOcflRepository implements OcflRepository {
         responseMapper = new ResponseMapper();
         clock = Clock.systemUTC();
 
-        addFileProcessorBuilder = AddFileProcessor.builder();
+        addFileProcessorBuilder = AddFileProcessor.builder().bufferPool(bufferPool);
     }
 
     /**
@@ -170,7 +256,12 @@ public class DefaultOcflRepository implements OcflRepository {
         var contentDir = createStagingContentDir(inventory, stagingDir);
 
         var fileProcessor = addFileProcessorBuilder.build(inventoryUpdater, contentDir, inventory.getDigestAlgorithm());
-        fileProcessor.processPath(path, options);
+        var stagedFiles = fileProcessor.processPath(path, options);
+
+        if (config.isRecordFileSizes()) {
+            stagedFiles.forEach((logicalPath, file) -> inventoryUpdater.addFixity(
+                    logicalPath, DigestAlgorithm.size, String.valueOf(UncheckedFiles.size(file))));
+        }
 
         var upgrade = inventoryUpdater.upgradeInventory(config);
         var newInventory = buildNewInventory(inventoryUpdater, versionInfo);
@@ -207,7 +298,8 @@ public class DefaultOcflRepository implements OcflRepository {
         var inventoryUpdater = inventoryUpdaterBuilder.buildCopyState(inventory);
         var addFileProcessor =
                 addFileProcessorBuilder.build(inventoryUpdater, contentDir, inventory.getDigestAlgorithm());
-        var updater = new DefaultOcflObjectUpdater(inventory, inventoryUpdater, contentDir, addFileProcessor);
+        var updater = new DefaultOcflObjectUpdater(
+                inventory, inventoryUpdater, contentDir, addFileProcessor, config.isRecordFileSizes());
 
         try {
             objectUpdater.accept(updater);
@@ -252,18 +344,55 @@ public class DefaultOcflRepository implements OcflRepository {
         var inventory = requireInventory(objectVersionId);
         var versionNum = requireVersion(objectVersionId, inventory);
 
-        var versionDetails = createVersionDetails(inventory, versionNum);
-        var objectStreams = storage.getObjectStreams(inventory, versionNum);
+        return createObjectVersion(inventory, versionNum);
+    }
 
-        var files = versionDetails.getFiles().stream()
-                .map(file -> {
-                    return new OcflObjectVersionFile(file, objectStreams.get(file.getPath()));
-                })
-                .collect(Collectors.toMap(OcflObjectVersionFile::getPath, v -> v));
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getObjectAsZip(ObjectVersionId objectVersionId, OutputStream outputStream) {
+        ensureOpen();
 
-        versionDetails.setFileMap(null);
+        Enforce.notNull(objectVersionId, "objectId cannot be null");
+        Enforce.notNull(outputStream, "outputStream cannot be null");
 
-        return new OcflObjectVersion(versionDetails, files);
+        LOG.debug("Get object <{}> as zip", objectVersionId);
+
+        var inventory = requireInventory(objectVersionId);
+        var versionNum = requireVersion(objectVersionId, inventory);
+
+        zipVersionWriter.write(createObjectVersion(inventory, versionNum).getFiles(), outputStream);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<ObjectVersionId, OcflObjectVersion> getObjects(Collection<ObjectVersionId> objectVersionIds) {
+        ensureOpen();
+
+        Enforce.notNull(objectVersionIds, "objectVersionIds cannot be null");
+
+        LOG.debug("Get {} objects", objectVersionIds.size());
+
+        var inventories = loadInventories(
+                objectVersionIds.stream().map(ObjectVersionId::getObjectId).collect(Collectors.toList()));
+        var objects = new LinkedHashMap<ObjectVersionId, OcflObjectVersion>(objectVersionIds.size());
+
+        for (var objectVersionId : objectVersionIds) {
+            var inventory = inventories.get(objectVersionId.getObjectId());
+            if (inventory == null || objects.containsKey(objectVersionId)) {
+                continue;
+            }
+
+            var versionNum = objectVersionId.isHead() ? inventory.getHead() : objectVersionId.getVersionNum();
+            if (inventory.getVersion(versionNum) != null) {
+                objects.put(objectVersionId, createObjectVersion(inventory, versionNum));
+            }
+        }
+
+        return objects;
     }
 
     /**
@@ -282,6 +411,30 @@ public class DefaultOcflRepository implements OcflRepository {
         return responseMapper.mapInventory(inventory);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, ObjectDetails> describeObjects(Collection<String> objectIds) {
+        ensureOpen();
+
+        Enforce.notNull(objectIds, "objectIds cannot be null");
+
+        LOG.debug("Describe {} objects", objectIds.size());
+
+        var inventories = loadInventories(objectIds);
+        var details = new LinkedHashMap<String, ObjectDetails>(objectIds.size());
+
+        for (var objectId : objectIds) {
+            var inventory = inventories.get(objectId);
+            if (inventory != null) {
+                details.put(objectId, responseMapper.mapInventory(inventory));
+            }
+        }
+
+        return details;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -355,13 +508,22 @@ public class DefaultOcflRepository implements OcflRepository {
      */
     @Override
     public ValidationResults validateObject(String objectId, boolean contentFixityCheck) {
+        return validateObject(objectId, contentFixityCheck ? ContentValidation.FIXITY : ContentValidation.NONE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidationResults validateObject(String objectId, ContentValidation contentValidation) {
         ensureOpen();
 
         Enforce.notBlank(objectId, "objectId cannot be blank");
+        Enforce.notNull(contentValidation, "contentValidation cannot be null");
 
         LOG.info("Validating object <{}>", objectId);
 
-        return storage.validateObject(objectId, contentFixityCheck);
+        return storage.validateObject(objectId, contentValidation);
     }
 
     /**
@@ -552,6 +714,7 @@ public class DefaultOcflRepository implements OcflRepository {
 
         closed = true;
         storage.close();
+        zipVersionWriter.close();
     }
 
     /**
@@ -584,6 +747,11 @@ public class DefaultOcflRepository implements OcflRepository {
         return storage.loadInventory(objectId.getObjectId());
     }
 
+    protected Map<String, Inventory> loadInventories(Collection<String> objectIds) {
+        objectIds.forEach(objectId -> Enforce.notBlank(objectId, "objectId cannot be blank"));
+        return storage.loadInventories(new LinkedHashSet<>(objectIds));
+    }
+
     private Inventory loadInventoryWithDefault(ObjectVersionId objectId) {
         var inventory = loadInventory(objectId);
         if (inventory == null) {
@@ -797,6 +965,21 @@ public class DefaultOcflRepository implements OcflRepository {
         }
     }
 
+    private OcflObjectVersion createObjectVersion(Inventory inventory, VersionNum versionNum) {
+        var versionDetails = createVersionDetails(inventory, versionNum);
+        var objectStreams = storage.getObjectStreams(inventory, versionNum);
+
+        var files = versionDetails.getFiles().stream()
+                .map(file -> {
+                    return new OcflObjectVersionFile(file, objectStreams.get(file.getPath()));
+                })
+                .collect(Collectors.toMap(OcflObjectVersionFile::getPath, v -> v));
+
+        versionDetails.setFileMap(null);
+
+        return new OcflObjectVersion(versionDetails, files);
+    }
+
     private VersionNum requireVersion(ObjectVersionId objectId, Inventory inventory) {
         if (objectId.isHead()) {
             return inventory.getHead();
@@ -834,7 +1017,8 @@ public class DefaultOcflRepository implements OcflRepository {
                 throw new OcflStateException(
                         "The version contains a content file that is not declared in its manifest: " + path);
             } else if (fixityCheck) {
-                var actualDigest = DigestUtil.computeDigestHex(inventory.getDigestAlgorithm(), path);
+                var actualDigest = DigestUtil.computeDigestHex(
+                        inventory.getDigestAlgorithm().getMessageDigest(), path, bufferPool);
                 if (!digest.equalsIgnoreCase(actualDigest)) {
                     throw new FixityCheckException(String.format(
                             "Expected file %s to have %s digest %s, but it was %s",
@@ -31,8 +31,12 @@ import edu.wisc.library.ocfl.api.OcflRepository;
 import edu.wisc.library.ocfl.api.util.Enforce;
 import edu.wisc.library.ocfl.core.cache.Cache;
 import edu.wisc.library.ocfl.core.cache.CaffeineCache;
+import edu.wisc.library.ocfl.core.db.ChangeFeedDatabase;
+import edu.wisc.library.ocfl.core.db.ChangeFeedDatabaseBuilder;
 import edu.wisc.library.ocfl.core.db.ObjectDetailsDatabase;
 import edu.wisc.library.ocfl.core.db.ObjectDetailsDatabaseBuilder;
+import edu.wisc.library.ocfl.core.db.ObjectIndexDatabase;
+import edu.wisc.library.ocfl.core.db.ObjectIndexDatabaseBuilder;
 import edu.wisc.library.ocfl.core.extension.ExtensionSupportEvaluator;
 import edu.wisc.library.ocfl.core.extension.OcflExtensionConfig;
 import edu.wisc.library.ocfl.core.extension.UnsupportedExtensionBehavior;
@@ -50,14 +54,19 @@ import edu.wisc.library.ocfl.core.path.mapper.DirectLogicalPathMapper;
 import edu.wisc.library.ocfl.core.path.mapper.LogicalPathMapper;
 import edu.wisc.library.ocfl.core.path.mapper.LogicalPathMappers;
 import edu.wisc.library.ocfl.core.storage.CachingOcflStorage;
+import edu.wisc.library.ocfl.core.storage.ChangeFeedOcflStorage;
 import edu.wisc.library.ocfl.core.storage.ObjectDetailsDbOcflStorage;
+import edu.wisc.library.ocfl.core.storage.ObjectIndexOcflStorage;
 import edu.wisc.library.ocfl.core.storage.OcflStorage;
 import edu.wisc.library.ocfl.core.storage.OcflStorageBuilder;
+import edu.wisc.library.ocfl.core.util.BufferPool;
+import edu.wisc.library.ocfl.core.util.ZipVersionWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -74,6 +83,10 @@ public class OcflRepositoryBuilder {
     private OcflExtensionConfig defaultLayoutConfig;
     private Path workDir;
     private boolean verifyStaging;
+    private int zipPrefetchCount;
+    private int zipPrefetchBufferSize;
+    private ExecutorService zipPrefetchExecutor;
+    private BufferPool bufferPool;
 
     private ObjectLock objectLock;
     private Cache<String, Inventory> inventoryCache;
@@ -81,6 +94,9 @@ public class OcflRepositoryBuilder {
     private LogicalPathMapper logicalPathMapper;
     private ContentPathConstraintProcessor contentPathConstraintProcessor;
     private ObjectDetailsDatabase objectDetailsDb;
+    private ObjectIndexDatabase objectIndexDb;
+    private boolean rebuildObjectIndex;
+    private ChangeFeedDatabase changeFeedDb;
     private UnsupportedExtensionBehavior unsupportedBehavior;
     private Set<String> ignoreUnsupportedExtensions;
 
@@ -103,6 +119,9 @@ public class OcflRepositoryBuilder {
         unsupportedBehavior = UnsupportedExtensionBehavior.FAIL;
         ignoreUnsupportedExtensions = Collections.emptySet();
         verifyStaging = true;
+        zipPrefetchCount = ZipVersionWriter.DEFAULT_PREFETCH_COUNT;
+        zipPrefetchBufferSize = ZipVersionWriter.DEFAULT_PREFETCH_BUFFER_SIZE;
+        bufferPool = BufferPool.defaultPool();
     }
 
     /**
@@ -123,7 +142,7 @@ public class OcflRepositoryBuilder {
      * @return builder
      */
     public OcflRepositoryBuilder storage(Consumer<OcflStorageBuilder> configureStorage) {
-        var builder = OcflStorageBuilder.builder();
+        var builder = OcflStorageBuilder.builder().bufferPool(bufferPool);
         configureStorage.accept(builder);
         this.storage = builder.build();
         return this;
@@ -213,6 +232,82 @@ public class OcflRepositoryBuilder {
         return this;
     }
 
+    /**
+     * Used to maintain an index of the objects in the repository in a database. When set, objects are listed from the
+     * index rather than by walking storage, and objects that are in the index are not probed for in storage. Use
+     * {@link ObjectIndexDatabaseBuilder} to construct an {@link ObjectIndexDatabase} instance.
+     *
+     * <p>The index only tracks changes that are made through this library. If the index is added to an existing
+     * repository, it must be rebuilt, see {@link #rebuildObjectIndex()}.
+     *
+     * @param objectIndexDb object index db
+     * @return builder
+     * @see ObjectIndexDatabaseBuilder
+     */
+    public OcflRepositoryBuilder objectIndexDb(ObjectIndexDatabase objectIndexDb) {
+        this.objectIndexDb = objectIndexDb;
+        return this;
+    }
+
+    /**
+     * Used to maintain an index of the objects in the repository in a database.
+     *
+     * @param configureDb use to configure the object index db
+     * @return builder
+     * @see #objectIndexDb(ObjectIndexDatabase)
+     * @see ObjectIndexDatabaseBuilder
+     */
+    public OcflRepositoryBuilder objectIndexDb(Consumer<ObjectIndexDatabaseBuilder> configureDb) {
+        var builder = new ObjectIndexDatabaseBuilder();
+        configureDb.accept(builder);
+        this.objectIndexDb = builder.build();
+        return this;
+    }
+
+    /**
+     * Reconciles the object index with storage when the repository is built. This must be done when an object index
+     * is added to an existing repository, or when the index falls out of sync with storage. It walks the entire
+     * repository, so it may take a long time. It has no effect if an object index is not configured.
+     *
+     * @return builder
+     * @see ObjectIndexOcflStorage#rebuildIndex()
+     */
+    public OcflRepositoryBuilder rebuildObjectIndex() {
+        this.rebuildObjectIndex = true;
+        return this;
+    }
+
+    /**
+     * Used to record a feed of the changes that are made to objects in a database. When set, a change is recorded every
+     * time a version is written, an object is rolled back, imported, or purged, or a mutable HEAD is updated,
+     * committed, or purged. Consumers read the feed from a cursor using {@link ChangeFeedDatabase#listChanges(long)},
+     * which completes changes that a failed process left pending once they are older than the feed's pending timeout.
+     * Use {@link ChangeFeedDatabaseBuilder} to construct a {@link ChangeFeedDatabase} instance.
+     *
+     * @param changeFeedDb change feed db
+     * @return builder
+     * @see ChangeFeedDatabaseBuilder
+     */
+    public OcflRepositoryBuilder changeFeedDb(ChangeFeedDatabase changeFeedDb) {
+        this.changeFeedDb = changeFeedDb;
+        return this;
+    }
+
+    /**
+     * Used to record a feed of the changes that are made to objects in a database.
+     *
+     * @param configureDb use to configure the change feed db
+     * @return builder
+     * @see #changeFeedDb(ChangeFeedDatabase)
+     * @see ChangeFeedDatabaseBuilder
+     */
+    public OcflRepositoryBuilder changeFeedDb(Consumer<ChangeFeedDatabaseBuilder> configureDb) {
+        var builder = new ChangeFeedDatabaseBuilder();
+        configureDb.accept(builder);
+        this.changeFeedDb = builder.build();
+        return this;
+    }
+
     /**
      * Changes the InventoryMapper to pretty print Inventory JSON files so that they are human readable but use more
      * disk space.
@@ -373,6 +468,59 @@ public class OcflRepositoryBuilder {
         return this;
     }
 
+    /**
+     * Configures the number of files that are fetched ahead of the file that is currently being written when an object
+     * version is streamed as a ZIP archive. Default: 4
+     *
+     * @param zipPrefetchCount the number of files to prefetch, must be greater than 0
+     * @return builder
+     */
+    public OcflRepositoryBuilder zipPrefetchCount(int zipPrefetchCount) {
+        this.zipPrefetchCount = Enforce.expressionTrue(
+                zipPrefetchCount > 0, zipPrefetchCount, "zipPrefetchCount must be greater than 0");
+        return this;
+    }
+
+    /**
+     * Configures the maximum number of bytes of each prefetched file that are buffered in memory when an object version
+     * is streamed as a ZIP archive. Files smaller than this are fully downloaded ahead of time. Default: 1 MiB
+     *
+     * @param zipPrefetchBufferSize the maximum number of bytes to buffer per file, must be greater than 0
+     * @return builder
+     */
+    public OcflRepositoryBuilder zipPrefetchBufferSize(int zipPrefetchBufferSize) {
+        this.zipPrefetchBufferSize = Enforce.expressionTrue(
+                zipPrefetchBufferSize > 0, zipPrefetchBufferSize, "zipPrefetchBufferSize must be greater than 0");
+        return this;
+    }
+
+    /**
+     * Configures the executor that files are prefetched on when object versions are streamed as ZIP archives. It is
+     * shared by all concurrent streams, and each uses no more than zipPrefetchCount of its threads at a time. The
+     * executor is not shut down when the repository is closed. By default, the repository creates a pool of daemon
+     * threads that is shut down when the repository is closed.
+     *
+     * @param zipPrefetchExecutor the executor to prefetch files on
+     * @return builder
+     */
+    public OcflRepositoryBuilder zipPrefetchExecutor(ExecutorService zipPrefetchExecutor) {
+        this.zipPrefetchExecutor = Enforce.notNull(zipPrefetchExecutor, "zipPrefetchExecutor cannot be null");
+        return this;
+    }
+
+    /**
+     * Configures the pool that buffers are drawn from when files are copied into staging and digested. Storage that is
+     * configured by {@link #storage(Consumer)} after this is called uses the same pool, unless the storage builder is
+     * given a different one. Default: {@link BufferPool#defaultPool()}
+     *
+     * @param bufferPool the buffer pool
+     * @return builder
+     */
+    public OcflRepositoryBuilder bufferPool(BufferPool bufferPool) {
+        this.bufferPool = Enforce.notNull(bufferPool, "bufferPool cannot be null");
+        return this;
+    }
+
     /**
      * Constructs an OCFL repository. Brand new repositories are initialized.
      *
@@ -397,10 +545,15 @@ public class OcflRepositoryBuilder {
 
         var supportEvaluator = new ExtensionSupportEvaluator(unsupportedBehavior, ignoreUnsupportedExtensions);
 
-        var wrappedStorage = cache(db(storage));
+        var indexedStorage = index(storage);
+        var wrappedStorage = cache(db(changeFeed(indexedStorage)));
         var initResult = wrappedStorage.initializeStorage(
                 config.getOcflVersion(), defaultLayoutConfig, inventoryMapper, supportEvaluator);
 
+        if (rebuildObjectIndex && indexedStorage instanceof ObjectIndexOcflStorage) {
+            ((ObjectIndexOcflStorage) indexedStorage).rebuildIndex();
+        }
+
         // Default the OCFL version to whatever was in the storage root
         if (config.getOcflVersion() == null) {
             config.setOcflVersion(initResult.getOcflVersion());
@@ -409,6 +562,8 @@ public class OcflRepositoryBuilder {
         Enforce.expressionTrue(Files.exists(workDir), workDir, "workDir must exist");
         Enforce.expressionTrue(Files.isDirectory(workDir), workDir, "workDir must be a directory");
 
+        var zipVersionWriter = new ZipVersionWriter(zipPrefetchCount, zipPrefetchBufferSize, zipPrefetchExecutor);
+
         if (MutableOcflRepository.class.isAssignableFrom(clazz)) {
             return clazz.cast(new DefaultMutableOcflRepository(
                     wrappedStorage,
@@ -418,7 +573,9 @@ public class OcflRepositoryBuilder {
                     logicalPathMapper,
                     contentPathConstraintProcessor,
                     config,
-                    verifyStaging));
+                    verifyStaging,
+                    zipVersionWriter,
+                    bufferPool));
         }
 
         return clazz.cast(new DefaultOcflRepository(
@@ -429,7 +586,9 @@ public class OcflRepositoryBuilder {
                 logicalPathMapper,
                 contentPathConstraintProcessor,
                 config,
-                verifyStaging));
+                verifyStaging,
+                zipVersionWriter,
+                bufferPool));
     }
 
     private OcflStorage cache(OcflStorage storage) {
@@ -439,6 +598,20 @@ public class OcflRepositoryBuilder {
         return storage;
     }
 
+    private OcflStorage index(OcflStorage storage) {
+        if (objectIndexDb != null) {
+            return new ObjectIndexOcflStorage(objectIndexDb, storage);
+        }
+        return storage;
+    }
+
+    private OcflStorage changeFeed(OcflStorage storage) {
+        if (changeFeedDb != null) {
+            return new ChangeFeedOcflStorage(changeFeedDb, storage);
+        }
+        return storage;
+    }
+
     private OcflStorage db(OcflStorage storage) {
         if (objectDetailsDb != null) {
             return new ObjectDetailsDbOcflStorage(objectDetailsDb, storage);
@@ -74,4 +74,18 @@ public interface Cache<K, V> {
      * @return true if the cache contains the key
      */
     boolean contains(K key);
+
+    /**
+     * Returns the cached value for the key, or null if it is not cached. The default implementation is not atomic;
+     * implementations should override it so that the value cannot be evicted between the check and the read.
+     *
+     * @param key key
+     * @return the cached value, or null
+     */
+    default V getIfPresent(K key) {
+        if (contains(key)) {
+            return get(key, k -> null);
+        }
+        return null;
+    }
 }
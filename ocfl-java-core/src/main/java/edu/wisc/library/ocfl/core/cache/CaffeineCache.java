@@ -79,4 +79,12 @@ public class CaffeineCache<K, V> implements Cache<K, V> {
     public boolean contains(K key) {
         return cache.asMap().containsKey(key);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getIfPresent(K key) {
+        return cache.getIfPresent(key);
+    }
 }
@@ -55,4 +55,9 @@ public class NoOpCache<K, V> implements Cache<K, V> {
     public boolean contains(K key) {
         return false;
     }
+
+    @Override
+    public V getIfPresent(K key) {
+        return null;
+    }
 }
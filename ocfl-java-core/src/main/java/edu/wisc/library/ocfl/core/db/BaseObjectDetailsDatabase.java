@@ -40,10 +40,17 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
@@ -54,6 +61,11 @@ public abstract class BaseObjectDetailsDatabase implements ObjectDetailsDatabase
 
     private static final Logger LOG = LoggerFactory.getLogger(BaseObjectDetailsDatabase.class);
 
+    /**
+     * The maximum number of object ids that are bound to a single batch select
+     */
+    private static final int BATCH_SIZE = 500;
+
     private final String tableName;
     private final DataSource dataSource;
     private final boolean storeInventory;
@@ -128,6 +140,21 @@ public abstract class BaseObjectDetailsDatabase implements ObjectDetailsDatabase
                 tableName);
     }
 
+    /**
+     * Constructs the query for selecting the object details entries of multiple objects
+     *
+     * @param tableName the name of the object details table
+     * @param count the number of object ids that are bound to the query
+     * @return the query string
+     */
+    protected String selectDetailsBatchQuery(String tableName, int count) {
+        return String.format(
+                "SELECT"
+                        + " object_id, version_id, object_root_path, revision_id, inventory_digest, digest_algorithm, inventory, update_timestamp"
+                        + " FROM %s WHERE object_id IN (%s)",
+                tableName, String.join(", ", Collections.nCopies(count, "?")));
+    }
+
     /**
      * Constructs the query for deleting object details entries
      *
@@ -212,15 +239,7 @@ public abstract class BaseObjectDetailsDatabase implements ObjectDetailsDatabase
 
                 try (var rs = statement.executeQuery()) {
                     if (rs.next()) {
-                        details = new OcflObjectDetails()
-                                .setObjectId(rs.getString(1))
-                                .setVersionNum(VersionNum.fromString(rs.getString(2)))
-                                .setObjectRootPath(rs.getString(3))
-                                .setRevisionNum(revisionNumFromString(rs.getString(4)))
-                                .setInventoryDigest(rs.getString(5))
-                                .setDigestAlgorithm(DigestAlgorithm.fromOcflName(rs.getString(6)))
-                                .setInventory(rs.getBytes(7))
-                                .setUpdateTimestamp(rs.getTimestamp(8).toLocalDateTime());
+                        details = toDetails(rs);
                     }
                 }
             }
@@ -231,6 +250,44 @@ public abstract class BaseObjectDetailsDatabase implements ObjectDetailsDatabase
         return details;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, OcflObjectDetails> retrieveObjectDetails(Collection<String> objectIds) {
+        Enforce.notNull(objectIds, "objectIds cannot be null");
+
+        var ids = List.copyOf(new LinkedHashSet<>(objectIds));
+        var results = new HashMap<String, OcflObjectDetails>(ids.size());
+
+        if (ids.isEmpty()) {
+            return results;
+        }
+
+        try (var connection = dataSource.getConnection()) {
+            for (int start = 0; start < ids.size(); start += BATCH_SIZE) {
+                var batch = ids.subList(start, Math.min(start + BATCH_SIZE, ids.size()));
+
+                try (var statement = connection.prepareStatement(selectDetailsBatchQuery(tableName, batch.size()))) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        statement.setString(i + 1, batch.get(i));
+                    }
+
+                    try (var rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            var details = toDetails(rs);
+                            results.put(details.getObjectId(), details);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+
+        return results;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -427,6 +484,18 @@ public abstract class BaseObjectDetailsDatabase implements ObjectDetailsDatabase
         return revisionNum == null ? null : revisionNum.toString();
     }
 
+    private OcflObjectDetails toDetails(ResultSet rs) throws SQLException {
+        return new OcflObjectDetails()
+                .setObjectId(rs.getString(1))
+                .setVersionNum(VersionNum.fromString(rs.getString(2)))
+                .setObjectRootPath(rs.getString(3))
+                .setRevisionNum(revisionNumFromString(rs.getString(4)))
+                .setInventoryDigest(rs.getString(5))
+                .setDigestAlgorithm(DigestAlgorithm.fromOcflName(rs.getString(6)))
+                .setInventory(rs.getBytes(7))
+                .setUpdateTimestamp(rs.getTimestamp(8).toLocalDateTime());
+    }
+
     private RevisionNum revisionNumFromString(String revisionNum) {
         if (revisionNum == null) {
             return null;
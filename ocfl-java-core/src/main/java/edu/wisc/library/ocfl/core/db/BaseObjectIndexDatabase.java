@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.db;
+
+import edu.wisc.library.ocfl.api.exception.OcflDbException;
+import edu.wisc.library.ocfl.api.model.VersionNum;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+
+public abstract class BaseObjectIndexDatabase implements ObjectIndexDatabase {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final DataSource dataSource;
+
+    private final String containsObjectQuery;
+    private final String upsertObjectQuery;
+    private final String deleteObjectQuery;
+    private final String deleteBeforeQuery;
+    private final String listFirstPageQuery;
+    private final String listPageQuery;
+
+    public BaseObjectIndexDatabase(String tableName, DataSource dataSource) {
+        Enforce.notBlank(tableName, "tableName cannot be blank");
+        this.dataSource = Enforce.notNull(dataSource, "dataSource cannot be null");
+
+        this.containsObjectQuery = containsObjectQuery(tableName);
+        this.upsertObjectQuery = upsertObjectQuery(tableName);
+        this.deleteObjectQuery = deleteObjectQuery(tableName);
+        this.deleteBeforeQuery = deleteBeforeQuery(tableName);
+        this.listFirstPageQuery = listFirstPageQuery(tableName);
+        this.listPageQuery = listPageQuery(tableName);
+    }
+
+    /**
+     * Constructs the query for inserting an index entry, or updating it if it already exists. The parameters are, in
+     * order: object_id, object_root_path, head_version, update_timestamp
+     *
+     * @param tableName the name of the object index table
+     * @return the query string
+     */
+    protected abstract String upsertObjectQuery(String tableName);
+
+    /**
+     * Constructs the query for checking if an object is indexed
+     *
+     * @param tableName the name of the object index table
+     * @return the query string
+     */
+    protected String containsObjectQuery(String tableName) {
+        return String.format("SELECT 1 FROM %s WHERE object_id = ?", tableName);
+    }
+
+    /**
+     * Constructs the query for deleting an index entry
+     *
+     * @param tableName the name of the object index table
+     * @return the query string
+     */
+    protected String deleteObjectQuery(String tableName) {
+        return String.format("DELETE FROM %s WHERE object_id = ?", tableName);
+    }
+
+    /**
+     * Constructs the query for deleting index entries that were updated before a timestamp
+     *
+     * @param tableName the name of the object index table
+     * @return the query string
+     */
+    protected String deleteBeforeQuery(String tableName) {
+        return String.format("DELETE FROM %s WHERE update_timestamp < ?", tableName);
+    }
+
+    /**
+     * Constructs the query for selecting the first page of object ids
+     *
+     * @param tableName the name of the object index table
+     * @return the query string
+     */
+    protected String listFirstPageQuery(String tableName) {
+        return String.format("SELECT object_id FROM %s ORDER BY object_id LIMIT %s", tableName, PAGE_SIZE);
+    }
+
+    /**
+     * Constructs the query for selecting the page of object ids that follows an object id
+     *
+     * @param tableName the name of the object index table
+     * @return the query string
+     */
+    protected String listPageQuery(String tableName) {
+        return String.format(
+                "SELECT object_id FROM %s WHERE object_id > ? ORDER BY object_id LIMIT %s", tableName, PAGE_SIZE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsObject(String objectId) {
+        Enforce.notBlank(objectId, "objectId cannot be blank");
+
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(containsObjectQuery)) {
+            statement.setString(1, objectId);
+
+            try (var rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void indexObject(String objectId, String objectRootPath, VersionNum headVersion) {
+        Enforce.notBlank(objectId, "objectId cannot be blank");
+        Enforce.notBlank(objectRootPath, "objectRootPath cannot be blank");
+        Enforce.notNull(headVersion, "headVersion cannot be null");
+
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(upsertObjectQuery)) {
+            statement.setString(1, objectId);
+            statement.setString(2, objectRootPath);
+            statement.setString(3, headVersion.toString());
+            statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeObject(String objectId) {
+        Enforce.notBlank(objectId, "objectId cannot be blank");
+
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(deleteObjectQuery)) {
+            statement.setString(1, objectId);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeObjectsIndexedBefore(LocalDateTime timestamp) {
+        Enforce.notNull(timestamp, "timestamp cannot be null");
+
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(deleteBeforeQuery)) {
+            statement.setTimestamp(1, Timestamp.valueOf(timestamp));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<String> listObjectIds() {
+        return KeysetPageIterator.stream(
+                new KeysetPageIterator<String, String>(null, PAGE_SIZE, this::listPage, Function.identity()));
+    }
+
+    private List<String> listPage(String lastObjectId) {
+        var query = lastObjectId == null ? listFirstPageQuery : listPageQuery;
+
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(query)) {
+            if (lastObjectId != null) {
+                statement.setString(1, lastObjectId);
+            }
+
+            var page = new ArrayList<String>(PAGE_SIZE);
+
+            try (var rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    page.add(rs.getString(1));
+                }
+            }
+
+            return page;
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+}
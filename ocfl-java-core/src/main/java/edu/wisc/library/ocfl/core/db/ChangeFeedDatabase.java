@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.db;
+
+import edu.wisc.library.ocfl.api.model.VersionNum;
+import edu.wisc.library.ocfl.core.model.RevisionNum;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * Interface for interacting with an append-only feed of the changes that are made to the objects in an OCFL repository.
+ * Every change is assigned a change id that is greater than the ids of all of the changes that were recorded before it,
+ * so a consumer can process the changes that were made since it last read the feed by passing the id of the last
+ * change it processed to {@link #listChanges(long)}.
+ *
+ * <p>A change to storage is recorded in two steps. {@link #beginChange(OcflChangeType, String)} adds a pending change
+ * before storage is modified, and {@link #completeChange(long, VersionNum, RevisionNum)} or
+ * {@link #abandonChange(long)} settles it afterwards. This way a change is never lost when the feed cannot be updated
+ * after storage was modified: the change is left pending, and {@link #resolvePendingChanges(Duration)} later completes
+ * it.
+ */
+public interface ChangeFeedDatabase {
+
+    /**
+     * Appends a completed change to the feed.
+     *
+     * @param changeType the kind of change
+     * @param objectId the OCFL object id
+     * @param versionNum the object's HEAD version after the change, or null if the object no longer exists
+     * @param revisionNum the object's mutable HEAD revision after the change, or null if it does not have one
+     */
+    void recordChange(OcflChangeType changeType, String objectId, VersionNum versionNum, RevisionNum revisionNum);
+
+    /**
+     * Appends a pending change to the feed. This must be called before the object is modified. Pending changes are not
+     * listed, and no change after a pending change is listed until it is completed or abandoned.
+     *
+     * @param changeType the kind of change
+     * @param objectId the OCFL object id
+     * @return the id of the pending change
+     */
+    long beginChange(OcflChangeType changeType, String objectId);
+
+    /**
+     * Completes a pending change after the object was modified.
+     *
+     * @param changeId the id of the pending change
+     * @param versionNum the object's HEAD version after the change, or null if the object no longer exists
+     * @param revisionNum the object's mutable HEAD revision after the change, or null if it does not have one
+     */
+    void completeChange(long changeId, VersionNum versionNum, RevisionNum revisionNum);
+
+    /**
+     * Abandons a pending change when the object could not be modified. Abandoned changes are never listed.
+     *
+     * @param changeId the id of the pending change
+     */
+    void abandonChange(long changeId);
+
+    /**
+     * Completes all of the changes that have been pending for longer than the specified duration. A change is left
+     * pending when the process that made it failed to complete or abandon it, and it blocks the feed until it is
+     * resolved. Because it is unknown whether the object was actually modified, resolved changes do not have a version
+     * number, and consumers should read the object's current state from the repository. {@link #listChanges(long)}
+     * resolves the pending changes it reaches once they are older than the feed's pending timeout, so this only needs
+     * to be called to resolve them sooner.
+     *
+     * @param olderThan how long a change must have been pending to be completed
+     * @return the number of changes that were completed
+     */
+    int resolvePendingChanges(Duration olderThan);
+
+    /**
+     * Lazily lists all of the completed changes that have a change id greater than the specified id, in change id
+     * order. Changes are read from the database a page at a time as the stream is consumed. Use 0 to read the feed
+     * from the start.
+     *
+     * <p>Change ids are allocated when a change is inserted, and concurrent writers may commit out of order, so a
+     * change can become visible after a change with a greater id. The stream therefore ends early, before any change
+     * that a consumer could otherwise skip past:
+     *
+     * <ul>
+     *     <li>at the first pending change, unless it is older than the feed's pending timeout, in which case it is
+     *     completed without a version number, as described in {@link #resolvePendingChanges(Duration)}</li>
+     *     <li>at the first gap in the change ids that was recorded recently enough that the missing change may still
+     *     be committed</li>
+     * </ul>
+     *
+     * <p>As a result, a consumer that stores the id of the last change it processed as its cursor never misses a
+     * change, and never sees a change twice. A stream that ended early is resumed by listing again later.
+     *
+     * @param afterChangeId only changes with ids greater than this id are returned
+     * @return stream of changes
+     */
+    Stream<OcflChange> listChanges(long afterChangeId);
+
+    /**
+     * Returns the id of the most recently recorded change, or 0 if the feed is empty.
+     *
+     * @return the id of the most recent change
+     */
+    long latestChangeId();
+
+    /**
+     * Removes all of the changes that have a change id less than or equal to the specified id. This is used to trim
+     * changes that all consumers have processed.
+     *
+     * @param changeId changes with ids less than or equal to this id are removed
+     */
+    void removeChangesThrough(long changeId);
+}
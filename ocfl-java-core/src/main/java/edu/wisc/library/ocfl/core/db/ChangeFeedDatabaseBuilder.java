@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.db;
+
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.time.Duration;
+import javax.sql.DataSource;
+
+/**
+ * Constructs {@link ChangeFeedDatabase} instances
+ */
+public class ChangeFeedDatabaseBuilder {
+
+    private static final String DEFAULT_TABLE_NAME = "ocfl_change_feed";
+
+    private DataSource dataSource;
+    private String tableName;
+    private Duration gapTimeout;
+    private Duration pendingTimeout;
+
+    /**
+     * Sets the DataSource to use for the change feed table. This is a required field.
+     *
+     * @param dataSource the DataSource
+     * @return builder
+     */
+    public ChangeFeedDatabaseBuilder dataSource(DataSource dataSource) {
+        this.dataSource = Enforce.notNull(dataSource, "dataSource cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets the name of the table to use to store the change feed. Default: ocfl_change_feed
+     *
+     * @param tableName the table name to use
+     * @return builder
+     */
+    public ChangeFeedDatabaseBuilder tableName(String tableName) {
+        this.tableName = tableName;
+        return this;
+    }
+
+    /**
+     * Sets how long {@link ChangeFeedDatabase#listChanges(long)} waits for a missing change id to be committed before
+     * it lists the changes after it. Ids go missing when a writer allocated an id that it has not committed yet, or
+     * when an insert is rolled back. This should be longer than the clock skew between the machines that write to the
+     * feed. Default: 1 minute
+     *
+     * @param gapTimeout how long to wait for a missing change id
+     * @return builder
+     */
+    public ChangeFeedDatabaseBuilder gapTimeout(Duration gapTimeout) {
+        this.gapTimeout = Enforce.notNull(gapTimeout, "gapTimeout cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets how long a change may be pending before {@link ChangeFeedDatabase#listChanges(long)} assumes that the
+     * process that began it failed, and completes it. This should be longer than any storage operation takes. Default:
+     * 10 minutes
+     *
+     * @param pendingTimeout how long a change may be pending
+     * @return builder
+     */
+    public ChangeFeedDatabaseBuilder pendingTimeout(Duration pendingTimeout) {
+        this.pendingTimeout = Enforce.notNull(pendingTimeout, "pendingTimeout cannot be null");
+        return this;
+    }
+
+    /**
+     * Constructs a new {@link ChangeFeedDatabase} instance using the given dataSource. If the database does not
+     * already contain a change feed table, it attempts to create one.
+     *
+     * @return ChangeFeedDatabase
+     */
+    public ChangeFeedDatabase build() {
+        Enforce.notNull(dataSource, "dataSource cannot be null");
+
+        var resolvedTableName = tableName == null ? DEFAULT_TABLE_NAME : tableName;
+
+        var dbType = DbType.fromDataSource(dataSource);
+        new TableCreator(dbType, dataSource).createChangeFeedTable(resolvedTableName);
+
+        return new DefaultChangeFeedDatabase(
+                resolvedTableName,
+                dataSource,
+                gapTimeout == null ? DefaultChangeFeedDatabase.DEFAULT_GAP_TIMEOUT : gapTimeout,
+                pendingTimeout == null ? DefaultChangeFeedDatabase.DEFAULT_PENDING_TIMEOUT : pendingTimeout);
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.db;
+
+import edu.wisc.library.ocfl.api.exception.OcflDbException;
+import edu.wisc.library.ocfl.api.model.VersionNum;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.model.RevisionNum;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+
+/**
+ * {@link ChangeFeedDatabase} implementation that uses SQL that is supported by all of the supported databases.
+ */
+public class DefaultChangeFeedDatabase implements ChangeFeedDatabase {
+
+    private static final int PAGE_SIZE = 1000;
+    static final Duration DEFAULT_GAP_TIMEOUT = Duration.ofMinutes(1);
+    static final Duration DEFAULT_PENDING_TIMEOUT = Duration.ofMinutes(10);
+
+    private static final String PENDING = "PENDING";
+    private static final String COMMITTED = "COMMITTED";
+    private static final String ABANDONED = "ABANDONED";
+
+    private final DataSource dataSource;
+    private final Duration gapTimeout;
+    private final Duration pendingTimeout;
+
+    private final String insertChangeQuery;
+    private final String completeChangeQuery;
+    private final String abandonChangeQuery;
+    private final String resolvePendingQuery;
+    private final String resolveStaleChangeQuery;
+    private final String listPageQuery;
+    private final String latestChangeQuery;
+    private final String deleteThroughQuery;
+
+    public DefaultChangeFeedDatabase(String tableName, DataSource dataSource) {
+        this(tableName, dataSource, DEFAULT_GAP_TIMEOUT);
+    }
+
+    /**
+     * @param tableName the name of the change feed table
+     * @param dataSource the DataSource
+     * @param gapTimeout how long to wait for a missing change id to be committed before assuming that it never will be
+     */
+    public DefaultChangeFeedDatabase(String tableName, DataSource dataSource, Duration gapTimeout) {
+        this(tableName, dataSource, gapTimeout, DEFAULT_PENDING_TIMEOUT);
+    }
+
+    /**
+     * @param tableName the name of the change feed table
+     * @param dataSource the DataSource
+     * @param gapTimeout how long to wait for a missing change id to be committed before assuming that it never will be
+     * @param pendingTimeout how long a change may be pending before {@link #listChanges(long)} completes it
+     */
+    public DefaultChangeFeedDatabase(
+            String tableName, DataSource dataSource, Duration gapTimeout, Duration pendingTimeout) {
+        Enforce.notBlank(tableName, "tableName cannot be blank");
+        this.dataSource = Enforce.notNull(dataSource, "dataSource cannot be null");
+        this.gapTimeout = Enforce.notNull(gapTimeout, "gapTimeout cannot be null");
+        this.pendingTimeout = Enforce.notNull(pendingTimeout, "pendingTimeout cannot be null");
+
+        this.insertChangeQuery = String.format(
+                "INSERT INTO %s (change_type, object_id, version_id, revision_id, change_status, change_timestamp)"
+                        + " VALUES (?, ?, ?, ?, ?, ?)",
+                tableName);
+        this.completeChangeQuery = String.format(
+                "UPDATE %s SET version_id = ?, revision_id = ?, change_status = '%s'"
+                        + " WHERE change_id = ? AND change_status = '%s'",
+                tableName, COMMITTED, PENDING);
+        this.abandonChangeQuery = String.format(
+                "UPDATE %s SET change_status = '%s' WHERE change_id = ? AND change_status = '%s'",
+                tableName, ABANDONED, PENDING);
+        this.resolvePendingQuery = String.format(
+                "UPDATE %s SET change_status = '%s' WHERE change_status = '%s' AND change_timestamp < ?",
+                tableName, COMMITTED, PENDING);
+        this.resolveStaleChangeQuery = String.format(
+                "UPDATE %s SET change_status = '%s'"
+                        + " WHERE change_id = ? AND change_status = '%s' AND change_timestamp < ?",
+                tableName, COMMITTED, PENDING);
+        this.listPageQuery = String.format(
+                "SELECT change_id, change_type, object_id, version_id, revision_id, change_timestamp, change_status"
+                        + " FROM %s WHERE change_id > ? ORDER BY change_id LIMIT %s",
+                tableName, PAGE_SIZE);
+        this.latestChangeQuery = String.format("SELECT MAX(change_id) FROM %s", tableName);
+        this.deleteThroughQuery = String.format("DELETE FROM %s WHERE change_id <= ?", tableName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordChange(
+            OcflChangeType changeType, String objectId, VersionNum versionNum, RevisionNum revisionNum) {
+        insertChange(changeType, objectId, versionNum, revisionNum, COMMITTED);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long beginChange(OcflChangeType changeType, String objectId) {
+        return insertChange(changeType, objectId, null, null, PENDING);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void completeChange(long changeId, VersionNum versionNum, RevisionNum revisionNum) {
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(completeChangeQuery)) {
+            statement.setString(1, versionNum == null ? null : versionNum.toString());
+            statement.setString(2, revisionNum == null ? null : revisionNum.toString());
+            statement.setLong(3, changeId);
+
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void abandonChange(long changeId) {
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(abandonChangeQuery)) {
+            statement.setLong(1, changeId);
+
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int resolvePendingChanges(Duration olderThan) {
+        Enforce.notNull(olderThan, "olderThan cannot be null");
+
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(resolvePendingQuery)) {
+            statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now().minus(olderThan)));
+
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A pending change that is older than the pending timeout was left by a process that failed, and is completed
+     * when it is reached, rather than blocking the feed until {@link #resolvePendingChanges(Duration)} is called.
+     */
+    @Override
+    public Stream<OcflChange> listChanges(long afterChangeId) {
+        var rows = new KeysetPageIterator<Long, ChangeRow>(
+                afterChangeId, PAGE_SIZE, this::listPage, row -> row.change.getChangeId());
+        return KeysetPageIterator.stream(new ChangeIterator(afterChangeId, rows));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long latestChangeId() {
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(latestChangeQuery);
+                var rs = statement.executeQuery()) {
+            if (rs.next()) {
+                return rs.getLong(1);
+            }
+            return 0;
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeChangesThrough(long changeId) {
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(deleteThroughQuery)) {
+            statement.setLong(1, changeId);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    private long insertChange(
+            OcflChangeType changeType, String objectId, VersionNum versionNum, RevisionNum revisionNum, String status) {
+        Enforce.notNull(changeType, "changeType cannot be null");
+        Enforce.notBlank(objectId, "objectId cannot be blank");
+
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(insertChangeQuery, Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, changeType.name());
+            statement.setString(2, objectId);
+            statement.setString(3, versionNum == null ? null : versionNum.toString());
+            statement.setString(4, revisionNum == null ? null : revisionNum.toString());
+            statement.setString(5, status);
+            statement.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
+
+            statement.executeUpdate();
+
+            try (var rs = statement.getGeneratedKeys()) {
+                if (!rs.next()) {
+                    throw new OcflDbException("Failed to get the id of the change that was recorded");
+                }
+                return rs.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    /**
+     * Completes a change if it is still pending and older than the pending timeout.
+     *
+     * @return true if the change was completed
+     */
+    private boolean resolveStaleChange(OcflChange change) {
+        var cutoff = LocalDateTime.now().minus(pendingTimeout);
+        if (!change.getChangeTimestamp().isBefore(cutoff)) {
+            return false;
+        }
+
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(resolveStaleChangeQuery)) {
+            statement.setLong(1, change.getChangeId());
+            statement.setTimestamp(2, Timestamp.valueOf(cutoff));
+
+            return statement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    private List<ChangeRow> listPage(Long afterChangeId) {
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(listPageQuery)) {
+            statement.setLong(1, afterChangeId);
+
+            var page = new ArrayList<ChangeRow>(PAGE_SIZE);
+
+            try (var rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    page.add(new ChangeRow(toChange(rs), rs.getString(7)));
+                }
+            }
+
+            return page;
+        } catch (SQLException e) {
+            throw new OcflDbException(e);
+        }
+    }
+
+    private OcflChange toChange(ResultSet rs) throws SQLException {
+        var versionStr = rs.getString(4);
+        var revisionStr = rs.getString(5);
+
+        return new OcflChange()
+                .setChangeId(rs.getLong(1))
+                .setChangeType(OcflChangeType.valueOf(rs.getString(2)))
+                .setObjectId(rs.getString(3))
+                .setVersionNum(versionStr == null ? null : VersionNum.fromString(versionStr))
+                .setRevisionNum(revisionStr == null ? null : RevisionNum.fromString(revisionStr))
+                .setChangeTimestamp(rs.getTimestamp(6).toLocalDateTime());
+    }
+
+    private static class ChangeRow {
+        private final OcflChange change;
+        private final String status;
+
+        private ChangeRow(OcflChange change, String status) {
+            this.change = change;
+            this.status = status;
+        }
+    }
+
+    /**
+     * Filters the rows of the feed in change id order. Iteration stops at the first change that may be followed by a
+     * change that is not visible yet: a pending change that is within the pending timeout, or a change whose id does
+     * not directly follow the previous id and that was recorded within the gap timeout. Older pending changes are
+     * completed as they are reached. If one was completed or abandoned concurrently, iteration stops, and its final
+     * state is listed the next time the feed is read.
+     */
+    private class ChangeIterator implements Iterator<OcflChange> {
+
+        private final Iterator<ChangeRow> rows;
+        private long lastChangeId;
+        private boolean done;
+        private OcflChange next;
+
+        private ChangeIterator(long afterChangeId, Iterator<ChangeRow> rows) {
+            this.lastChangeId = afterChangeId;
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !done) {
+                if (!rows.hasNext()) {
+                    done = true;
+                    break;
+                }
+
+                var row = rows.next();
+
+                if (isBoundary(row)) {
+                    done = true;
+                    break;
+                }
+
+                lastChangeId = row.change.getChangeId();
+
+                if (!ABANDONED.equals(row.status)) {
+                    next = row.change;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public OcflChange next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more changes in the feed");
+            }
+            var change = next;
+            next = null;
+            return change;
+        }
+
+        private boolean isBoundary(ChangeRow row) {
+            if (PENDING.equals(row.status) && !resolveStaleChange(row.change)) {
+                return true;
+            }
+            return row.change.getChangeId() != lastChangeId + 1
+                    && row.change
+                            .getChangeTimestamp()
+                            .isAfter(LocalDateTime.now().minus(gapTimeout));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.db;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the rows of a table one page at a time, by selecting the rows whose key is greater than the key of the
+ * last row of the previous page. A connection is only held while a page is being read, and the next page is not read
+ * until the current page has been consumed.
+ *
+ * @param <K> the type of the key the rows are ordered by
+ * @param <T> the type of the rows
+ */
+class KeysetPageIterator<K, T> implements Iterator<T> {
+
+    private final int pageSize;
+    private final Function<K, List<T>> pageLoader;
+    private final Function<T, K> keyExtractor;
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private K lastKey;
+    private boolean morePages = true;
+
+    /**
+     * @param startAfter the key to start after, or null to start from the beginning if the page loader supports it
+     * @param pageSize the maximum number of rows the page loader returns
+     * @param pageLoader loads the page of rows that directly follows the given key, ordered by key
+     * @param keyExtractor returns the key of a row
+     */
+    KeysetPageIterator(K startAfter, int pageSize, Function<K, List<T>> pageLoader, Function<T, K> keyExtractor) {
+        this.lastKey = startAfter;
+        this.pageSize = pageSize;
+        this.pageLoader = pageLoader;
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * Returns an ordered, sequential stream over the rows.
+     *
+     * @param iterator the iterator to stream
+     * @param <T> the type of the rows
+     * @return the stream
+     */
+    static <T> Stream<T> stream(Iterator<T> iterator) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(
+                        iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+                false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!current.hasNext() && morePages) {
+            var page = pageLoader.apply(lastKey);
+            morePages = page.size() == pageSize;
+            if (!page.isEmpty()) {
+                lastKey = keyExtractor.apply(page.get(page.size() - 1));
+            }
+            current = page.iterator();
+        }
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows");
+        }
+        return current.next();
+    }
+}
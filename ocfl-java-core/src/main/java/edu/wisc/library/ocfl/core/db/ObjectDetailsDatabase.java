@@ -26,6 +26,8 @@ package edu.wisc.library.ocfl.core.db;
 
 import edu.wisc.library.ocfl.core.model.Inventory;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Interface for interacting with OCFL object details that are stored in a database.
@@ -40,6 +42,15 @@ public interface ObjectDetailsDatabase {
      */
     OcflObjectDetails retrieveObjectDetails(String objectId);
 
+    /**
+     * Retrieves the ObjectDetails of multiple objects from the database, using as few queries as possible. Objects that
+     * do not have details are not included in the result.
+     *
+     * @param objectIds the OCFL object ids
+     * @return map of object id to ObjectDetails
+     */
+    Map<String, OcflObjectDetails> retrieveObjectDetails(Collection<String> objectIds);
+
     /**
      * Adds ObjectDetails to the database. In the case of a concurrent update, this operation will only fail if the inventory
      * digests are different.
@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.db;
+
+import edu.wisc.library.ocfl.api.model.VersionNum;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Interface for interacting with an index of the objects in an OCFL repository that is stored in a database. The
+ * index records the id, object root path, and head version of every object in the repository, so that objects can be
+ * enumerated and looked up without touching storage.
+ */
+public interface ObjectIndexDatabase {
+
+    /**
+     * Returns true if the object is in the index.
+     *
+     * @param objectId the OCFL object id
+     * @return true if the object is in the index
+     */
+    boolean containsObject(String objectId);
+
+    /**
+     * Adds an object to the index, or updates its entry if it is already indexed.
+     *
+     * @param objectId the OCFL object id
+     * @param objectRootPath the path to the object's root, relative the storage root
+     * @param headVersion the object's head version
+     */
+    void indexObject(String objectId, String objectRootPath, VersionNum headVersion);
+
+    /**
+     * Removes an object from the index. If the object is not indexed, nothing happens.
+     *
+     * @param objectId the OCFL object id
+     */
+    void removeObject(String objectId);
+
+    /**
+     * Removes all of the objects whose entries were last updated before the specified time.
+     *
+     * @param timestamp entries updated before this time are removed
+     */
+    void removeObjectsIndexedBefore(LocalDateTime timestamp);
+
+    /**
+     * Lazily lists the ids of all of the objects in the index, in id order. Ids are read from the database a page at a
+     * time as the stream is consumed.
+     *
+     * @return stream of object ids
+     */
+    Stream<String> listObjectIds();
+}
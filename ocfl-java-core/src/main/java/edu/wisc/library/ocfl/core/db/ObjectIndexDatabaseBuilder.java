@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.db;
+
+import edu.wisc.library.ocfl.api.exception.OcflJavaException;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import javax.sql.DataSource;
+
+/**
+ * Constructs {@link ObjectIndexDatabase} instances
+ */
+public class ObjectIndexDatabaseBuilder {
+
+    private static final String DEFAULT_TABLE_NAME = "ocfl_object_index";
+
+    private DataSource dataSource;
+    private String tableName;
+
+    /**
+     * Sets the DataSource to use for the object index table. This is a required field.
+     *
+     * @param dataSource the DataSource
+     * @return builder
+     */
+    public ObjectIndexDatabaseBuilder dataSource(DataSource dataSource) {
+        this.dataSource = Enforce.notNull(dataSource, "dataSource cannot be null");
+        return this;
+    }
+
+    /**
+     * Sets the name of the table to use to store the object index. Default: ocfl_object_index
+     *
+     * @param tableName the table name to use
+     * @return builder
+     */
+    public ObjectIndexDatabaseBuilder tableName(String tableName) {
+        this.tableName = tableName;
+        return this;
+    }
+
+    /**
+     * Constructs a new {@link ObjectIndexDatabase} instance using the given dataSource. If the database does not
+     * already contain an object index table, it attempts to create one.
+     *
+     * @return ObjectIndexDatabase
+     */
+    public ObjectIndexDatabase build() {
+        Enforce.notNull(dataSource, "dataSource cannot be null");
+
+        var resolvedTableName = tableName == null ? DEFAULT_TABLE_NAME : tableName;
+
+        var dbType = DbType.fromDataSource(dataSource);
+        ObjectIndexDatabase database;
+
+        switch (dbType) {
+            case POSTGRES:
+                database = new PostgresObjectIndexDatabase(resolvedTableName, dataSource);
+                break;
+            case MARIADB:
+                database = new MariaDbObjectIndexDatabase(resolvedTableName, dataSource);
+                break;
+            case H2:
+                database = new H2ObjectIndexDatabase(resolvedTableName, dataSource);
+                break;
+            default:
+                throw new OcflJavaException(String.format(
+                        "Database type %s is not mapped to an ObjectIndexDatabase implementation.", dbType));
+        }
+
+        new TableCreator(dbType, dataSource).createObjectIndexTable(resolvedTableName);
+
+        return database;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.db;
+
+import edu.wisc.library.ocfl.api.model.VersionNum;
+import edu.wisc.library.ocfl.core.model.RevisionNum;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a ChangeFeed database record.
+ */
+public class OcflChange {
+
+    private long changeId;
+    private OcflChangeType changeType;
+    private String objectId;
+    private VersionNum versionNum;
+    private RevisionNum revisionNum;
+    private LocalDateTime changeTimestamp;
+
+    /**
+     * The position of the change in the feed. Change ids increase monotonically, and are used as the cursor when
+     * reading the feed.
+     *
+     * @return change id
+     */
+    public long getChangeId() {
+        return changeId;
+    }
+
+    public OcflChange setChangeId(long changeId) {
+        this.changeId = changeId;
+        return this;
+    }
+
+    /**
+     * The kind of change
+     *
+     * @return kind of change
+     */
+    public OcflChangeType getChangeType() {
+        return changeType;
+    }
+
+    public OcflChange setChangeType(OcflChangeType changeType) {
+        this.changeType = changeType;
+        return this;
+    }
+
+    /**
+     * The OCFL object id
+     *
+     * @return OCFL object id
+     */
+    public String getObjectId() {
+        return objectId;
+    }
+
+    public OcflChange setObjectId(String objectId) {
+        this.objectId = objectId;
+        return this;
+    }
+
+    /**
+     * The HEAD version of the object after the change. This is not set when the object was purged.
+     *
+     * @return HEAD version of the object
+     */
+    public VersionNum getVersionNum() {
+        return versionNum;
+    }
+
+    public OcflChange setVersionNum(VersionNum versionNum) {
+        this.versionNum = versionNum;
+        return this;
+    }
+
+    /**
+     * The HEAD revision of the object after the change. This will only be set if the change was to a mutable HEAD.
+     *
+     * @return HEAD revision number
+     */
+    public RevisionNum getRevisionNum() {
+        return revisionNum;
+    }
+
+    public OcflChange setRevisionNum(RevisionNum revisionNum) {
+        this.revisionNum = revisionNum;
+        return this;
+    }
+
+    /**
+     * The timestamp the change was recorded
+     *
+     * @return timestamp the change was recorded
+     */
+    public LocalDateTime getChangeTimestamp() {
+        return changeTimestamp;
+    }
+
+    public OcflChange setChangeTimestamp(LocalDateTime changeTimestamp) {
+        this.changeTimestamp = changeTimestamp;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "OcflChange{" + "changeId="
+                + changeId + ", changeType="
+                + changeType + ", objectId='"
+                + objectId + '\'' + ", versionNum="
+                + versionNum + ", revisionNum="
+                + revisionNum + ", changeTimestamp="
+                + changeTimestamp + '}';
+    }
+}
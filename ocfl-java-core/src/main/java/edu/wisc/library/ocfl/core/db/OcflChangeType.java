@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.db;
+
+/**
+ * The kinds of changes that are recorded in the change feed.
+ */
+public enum OcflChangeType {
+
+    /**
+     * A new version was written to an object. This includes the creation of the object.
+     */
+    VERSION_CREATED,
+    /**
+     * A new revision was written to an object's mutable HEAD.
+     */
+    MUTABLE_HEAD_UPDATED,
+    /**
+     * An object's mutable HEAD was committed as a new version.
+     */
+    MUTABLE_HEAD_COMMITTED,
+    /**
+     * An object's mutable HEAD was purged.
+     */
+    MUTABLE_HEAD_PURGED,
+    /**
+     * An object was rolled back to a previous version.
+     */
+    ROLLED_BACK,
+    /**
+     * An object was imported into the repository.
+     */
+    IMPORTED,
+    /**
+     * An object was purged from the repository.
+     */
+    PURGED
+}
@@ -0,0 +1,47 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.db;
+
+import javax.sql.DataSource;
+
+public class PostgresObjectIndexDatabase extends BaseObjectIndexDatabase {
+
+    public PostgresObjectIndexDatabase(String tableName, DataSource dataSource) {
+        super(tableName, dataSource);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String upsertObjectQuery(String tableName) {
+        return String.format(
+                "INSERT INTO %s (object_id, object_root_path, head_version, update_timestamp)"
+                        + " VALUES (?, ?, ?, ?)"
+                        + " ON CONFLICT (object_id) DO UPDATE SET object_root_path = EXCLUDED.object_root_path,"
+                        + " head_version = EXCLUDED.head_version, update_timestamp = EXCLUDED.update_timestamp",
+                tableName);
+    }
+}
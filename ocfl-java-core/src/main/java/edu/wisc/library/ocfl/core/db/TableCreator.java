@@ -51,6 +51,8 @@ public class TableCreator {
 
     private static final String LOCK_TABLE_FILE = "ocfl_object_lock.ddl.tmpl";
     private static final String OBJECT_DETAILS_TABLE_FILE = "ocfl_object_details.ddl.tmpl";
+    private static final String OBJECT_INDEX_TABLE_FILE = "ocfl_object_index.ddl.tmpl";
+    private static final String CHANGE_FEED_TABLE_FILE = "ocfl_change_feed.ddl.tmpl";
 
     private final Map<DbType, String> dbScriptDir = Map.of(
             DbType.POSTGRES, "db/postgresql",
@@ -73,6 +75,14 @@ public class TableCreator {
         createTable(tableName, OBJECT_DETAILS_TABLE_FILE);
     }
 
+    public void createObjectIndexTable(String tableName) {
+        createTable(tableName, OBJECT_INDEX_TABLE_FILE);
+    }
+
+    public void createChangeFeedTable(String tableName) {
+        createTable(tableName, CHANGE_FEED_TABLE_FILE);
+    }
+
     private void createTable(String tableName, String fileName) {
         Enforce.notBlank(tableName, "tableName cannot be blank");
         try (var connection = dataSource.getConnection()) {
@@ -0,0 +1,163 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.extension.storage.layout;
+
+import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.cache.Cache;
+import edu.wisc.library.ocfl.core.extension.OcflExtensionConfig;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adds a caching layer on top of an {@link OcflStorageLayoutExtension} so that object ids that are resolved repeatedly
+ * do not need to be re-mapped every time. This is useful for layouts, such as {@link HashedNTupleLayoutExtension},
+ * that compute a digest of the object id on every call.
+ *
+ * <p>Storage layouts are required to be deterministic, so entries never need to be invalidated. The number of cache
+ * requests and misses are tracked so that the effectiveness of the cache can be monitored.
+ */
+public class CachingOcflStorageLayoutExtension implements OcflStorageLayoutExtension {
+
+    private final OcflStorageLayoutExtension delegate;
+    private final Cache<String, String> objectRootCache;
+
+    private final LongAdder requestCount;
+    private final LongAdder missCount;
+
+    /**
+     * @param delegate the layout extension to cache mappings for
+     * @param objectRootCache the cache to store object id to object root path mappings in
+     */
+    public CachingOcflStorageLayoutExtension(
+            OcflStorageLayoutExtension delegate, Cache<String, String> objectRootCache) {
+        this.delegate = Enforce.notNull(delegate, "delegate cannot be null");
+        this.objectRootCache = Enforce.notNull(objectRootCache, "objectRootCache cannot be null");
+        this.requestCount = new LongAdder();
+        this.missCount = new LongAdder();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getExtensionName() {
+        return delegate.getExtensionName();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void init(OcflExtensionConfig config) {
+        delegate.init(config);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<? extends OcflExtensionConfig> getExtensionConfigClass() {
+        return delegate.getExtensionConfigClass();
+    }
+
+    /**
+     * If the object id has been mapped before, the cached path is returned. Otherwise, the mapping is delegated to
+     * the wrapped extension and the result is cached.
+     *
+     * @param objectId the object id
+     * @return the path to the object root relative to the OCFL storage root
+     */
+    @Override
+    public String mapObjectId(String objectId) {
+        requestCount.increment();
+        return objectRootCache.get(objectId, id -> {
+            missCount.increment();
+            return delegate.mapObjectId(id);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<String> mapObjectRootPath(String objectRootPath) {
+        return delegate.mapObjectRootPath(objectRootPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDescription() {
+        return delegate.getDescription();
+    }
+
+    /**
+     * @return the wrapped layout extension
+     */
+    public OcflStorageLayoutExtension getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return the number of times an object id was mapped
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return the number of times an object id was mapped and the mapping was already cached
+     */
+    public long getHitCount() {
+        return Math.max(0, getRequestCount() - getMissCount());
+    }
+
+    /**
+     * @return the number of times an object id was mapped and the mapping was not cached
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the ratio of cache hits to requests, or 1.0 if there have not been any requests
+     */
+    public double getHitRate() {
+        var requests = getRequestCount();
+        if (requests == 0) {
+            return 1.0;
+        }
+        return (double) getHitCount() / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CachingOcflStorageLayoutExtension{" + "delegate="
+                + delegate + ", requestCount="
+                + getRequestCount() + ", missCount="
+                + getMissCount() + '}';
+    }
+}
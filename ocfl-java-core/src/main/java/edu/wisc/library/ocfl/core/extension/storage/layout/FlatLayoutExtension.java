@@ -29,6 +29,7 @@ import edu.wisc.library.ocfl.api.exception.OcflExtensionException;
 import edu.wisc.library.ocfl.core.extension.OcflExtensionConfig;
 import edu.wisc.library.ocfl.core.extension.storage.layout.config.FlatLayoutConfig;
 import java.nio.file.FileSystems;
+import java.util.Optional;
 
 /**
  * Implementation of the Flat Storage Layout extension.
@@ -91,4 +92,18 @@ public class FlatLayoutExtension implements OcflStorageLayoutExtension {
 
         return objectId;
     }
+
+    /**
+     * Object root paths are the same as object ids in this layout.
+     *
+     * @param objectRootPath the path to the object root relative to the OCFL storage root
+     * @return the object id
+     */
+    @Override
+    public Optional<String> mapObjectRootPath(String objectRootPath) {
+        if (objectRootPath.indexOf('/') != -1 || objectRootPath.indexOf(pathSeparator) != -1) {
+            return Optional.empty();
+        }
+        return Optional.of(objectRootPath);
+    }
 }
@@ -30,6 +30,9 @@ import edu.wisc.library.ocfl.core.extension.OcflExtensionConfig;
 import edu.wisc.library.ocfl.core.extension.storage.layout.config.HashedNTupleIdEncapsulationLayoutConfig;
 import edu.wisc.library.ocfl.core.util.DigestUtil;
 import edu.wisc.library.ocfl.core.util.PercentEscaper;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 
 /**
  * Implementation of the <a href="https://ocfl.github.io/extensions/0003-hash-and-id-n-tuple-storage-layout.html">
@@ -123,6 +126,33 @@ public class HashedNTupleIdEncapsulationLayoutExtension implements OcflStorageLa
         return pathBuilder.toString();
     }
 
+    /**
+     * Decodes the object id from the encapsulation directory name. This is only possible when the encoded id was not
+     * truncated.
+     *
+     * @param objectRootPath the path to the object root relative to the OCFL storage root
+     * @return the object id, or empty if it cannot be determined from the path
+     */
+    @Override
+    public Optional<String> mapObjectRootPath(String objectRootPath) {
+        var encapsulationDir = objectRootPath.substring(objectRootPath.lastIndexOf('/') + 1);
+
+        if (encapsulationDir.length() > MAX_LENGTH) {
+            return Optional.empty();
+        }
+
+        try {
+            var objectId = URLDecoder.decode(encapsulationDir, StandardCharsets.UTF_8);
+            if (mapObjectId(objectId).equals(objectRootPath)) {
+                return Optional.of(objectId);
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a valid percent encoding
+        }
+
+        return Optional.empty();
+    }
+
     private String encapsulationDirectory(String objectId, String digest) {
         var escapedId = percentEscaper.escape(objectId);
 
@@ -26,6 +26,7 @@ package edu.wisc.library.ocfl.core.extension.storage.layout;
 
 import edu.wisc.library.ocfl.core.extension.OcflExtension;
 import edu.wisc.library.ocfl.core.extension.OcflExtensionConfig;
+import java.util.Optional;
 
 /**
  * Interface for OCFL storage layout extensions. Storage layout extensions are expected to be used as singletons.
@@ -56,6 +57,18 @@ public interface OcflStorageLayoutExtension extends OcflExtension {
      */
     String mapObjectId(String objectId);
 
+    /**
+     * Maps an object root path back to the id of the object that is stored there, if the layout makes it possible
+     * to recover the id from the path alone. Layouts that hash or truncate ids, or that omit parts of them, cannot be
+     * reversed. An id must only be returned if {@link #mapObjectId(String)} maps it to the same path.
+     *
+     * @param objectRootPath the path to the object root relative to the OCFL storage root
+     * @return the object id, or empty if it cannot be determined from the path
+     */
+    default Optional<String> mapObjectRootPath(String objectRootPath) {
+        return Optional.empty();
+    }
+
     /**
      * @return the description text that should be used in ocfl_layout.json
      */
@@ -29,18 +29,18 @@ import edu.wisc.library.ocfl.api.OcflOption;
 import edu.wisc.library.ocfl.api.exception.OcflIOException;
 import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
 import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.util.BufferPool;
 import edu.wisc.library.ocfl.core.util.DigestUtil;
 import edu.wisc.library.ocfl.core.util.FileUtil;
 import edu.wisc.library.ocfl.core.util.UncheckedFiles;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
-import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.util.HashMap;
 import java.util.Map;
@@ -58,6 +58,7 @@ public class AddFileProcessor {
     private final Path stagingDir;
     private final DigestAlgorithm digestAlgorithm;
     private final MessageDigest messageDigest;
+    private final BufferPool bufferPool;
 
     public static Builder builder() {
         return new Builder();
@@ -65,9 +66,16 @@ public class AddFileProcessor {
 
     public static class Builder {
 
+        private BufferPool bufferPool = BufferPool.defaultPool();
+
+        public Builder bufferPool(BufferPool bufferPool) {
+            this.bufferPool = Enforce.notNull(bufferPool, "bufferPool cannot be null");
+            return this;
+        }
+
         public AddFileProcessor build(
                 InventoryUpdater inventoryUpdater, Path stagingDir, DigestAlgorithm digestAlgorithm) {
-            return new AddFileProcessor(inventoryUpdater, stagingDir, digestAlgorithm);
+            return new AddFileProcessor(inventoryUpdater, stagingDir, digestAlgorithm, bufferPool);
         }
     }
 
@@ -79,9 +87,26 @@ public class AddFileProcessor {
      * @param digestAlgorithm the digest algorithm
      */
     public AddFileProcessor(InventoryUpdater inventoryUpdater, Path stagingDir, DigestAlgorithm digestAlgorithm) {
+        this(inventoryUpdater, stagingDir, digestAlgorithm, BufferPool.defaultPool());
+    }
+
+    /**
+     * @see Builder
+     *
+     * @param inventoryUpdater the inventory updater
+     * @param stagingDir the staging directory to move files into
+     * @param digestAlgorithm the digest algorithm
+     * @param bufferPool the pool to draw copy and digest buffers from
+     */
+    public AddFileProcessor(
+            InventoryUpdater inventoryUpdater,
+            Path stagingDir,
+            DigestAlgorithm digestAlgorithm,
+            BufferPool bufferPool) {
         this.inventoryUpdater = Enforce.notNull(inventoryUpdater, "inventoryUpdater cannot be null");
         this.stagingDir = Enforce.notNull(stagingDir, "stagingDir cannot be null");
         this.digestAlgorithm = Enforce.notNull(digestAlgorithm, "digestAlgorithm cannot be null");
+        this.bufferPool = Enforce.notNull(bufferPool, "bufferPool cannot be null");
         this.messageDigest = digestAlgorithm.getMessageDigest();
     }
 
@@ -118,7 +143,7 @@ public class AddFileProcessor {
                 var logicalPath = logicalPath(sourcePath, file, destination);
 
                 if (optionsSet.contains(OcflOption.MOVE_SOURCE)) {
-                    var digest = DigestUtil.computeDigestHex(messageDigest, file);
+                    var digest = DigestUtil.computeDigestHex(messageDigest, file, bufferPool);
                     var result = inventoryUpdater.addFile(digest, logicalPath, options);
 
                     if (result.isNew()) {
@@ -136,24 +161,11 @@ public class AddFileProcessor {
                         UncheckedFiles.createDirectories(stagingFullPath.getParent());
                     }
 
-                    String digest;
-                    InventoryUpdater.AddFileResult result;
-
-                    try (var stream = new DigestOutputStream(
-                            new BufferedOutputStream(Files.newOutputStream(
-                                    stagingFullPath,
-                                    StandardOpenOption.CREATE,
-                                    StandardOpenOption.WRITE,
-                                    StandardOpenOption.TRUNCATE_EXISTING)),
-                            messageDigest)) {
-                        LOG.debug("Copying file <{}> to <{}>", file, stagingFullPath);
-                        Files.copy(file, stream);
-
-                        digest = Bytes.wrap(stream.getMessageDigest().digest()).encodeHex();
-                        result = inventoryUpdater.addFile(digest, logicalPath, options);
-                    } catch (IOException e) {
-                        throw new OcflIOException(e);
-                    }
+                    LOG.debug("Copying file <{}> to <{}>", file, stagingFullPath);
+                    copyAndDigest(file, stagingFullPath);
+
+                    var digest = Bytes.wrap(messageDigest.digest()).encodeHex();
+                    var result = inventoryUpdater.addFile(digest, logicalPath, options);
 
                     if (result.isNew()) {
                         results.put(logicalPath, stagingFullPath);
@@ -223,6 +235,29 @@ public class AddFileProcessor {
         return results;
     }
 
+    private void copyAndDigest(Path src, Path dst) {
+        var buffer = bufferPool.acquire();
+        try (var in = FileChannel.open(src, StandardOpenOption.READ);
+                var out = FileChannel.open(
+                        dst,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (in.read(buffer) > -1) {
+                buffer.flip();
+                messageDigest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new OcflIOException(e);
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
     private String destinationPath(String path, Path sourcePath) {
         if (path.isBlank() && Files.isRegularFile(sourcePath)) {
             return sourcePath.getFileName().toString();
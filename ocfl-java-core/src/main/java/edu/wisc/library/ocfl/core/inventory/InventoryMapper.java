@@ -25,6 +25,8 @@
 package edu.wisc.library.ocfl.core.inventory;
 
 import at.favre.lib.bytes.Bytes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.InjectableValues;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.wisc.library.ocfl.api.exception.CorruptObjectException;
@@ -52,6 +54,8 @@ import java.util.Collection;
  */
 public class InventoryMapper {
 
+    private static final String ID_FIELD = "id";
+
     private final ObjectMapper objectMapper;
     private final ContentPathConstraintProcessor contentPathConstraints;
 
@@ -135,6 +139,39 @@ public class InventoryMapper {
         return readInternal(true, revisionNum, objectRootPath, null, inputStream);
     }
 
+    /**
+     * Reads the object id from the inventory without parsing the rest of the inventory. The stream is read only up to
+     * the top level id field, which means that the stream may contain just the beginning of the inventory.
+     *
+     * @param inputStream the inventory stream
+     * @return the object id, or null if it could not be found in the stream
+     */
+    public String readId(InputStream inputStream) {
+        try (var parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var fieldName = parser.getCurrentName();
+                var valueToken = parser.nextToken();
+
+                if (ID_FIELD.equals(fieldName)) {
+                    return valueToken == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+
+                parser.skipChildren();
+            }
+
+            return null;
+        } catch (JsonProcessingException e) {
+            // The id was not within the portion of the inventory that was read
+            return null;
+        } catch (IOException e) {
+            throw new OcflIOException(e);
+        }
+    }
+
     private Inventory readInternal(
             boolean mutableHead,
             RevisionNum revisionNum,
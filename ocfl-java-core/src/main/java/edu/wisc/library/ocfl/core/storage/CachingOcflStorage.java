@@ -26,6 +26,7 @@ package edu.wisc.library.ocfl.core.storage;
 
 import edu.wisc.library.ocfl.api.OcflFileRetriever;
 import edu.wisc.library.ocfl.api.exception.ObjectOutOfSyncException;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
 import edu.wisc.library.ocfl.api.model.ObjectVersionId;
 import edu.wisc.library.ocfl.api.model.OcflVersion;
 import edu.wisc.library.ocfl.api.model.ValidationResults;
@@ -35,20 +36,36 @@ import edu.wisc.library.ocfl.core.cache.Cache;
 import edu.wisc.library.ocfl.core.extension.OcflExtensionConfig;
 import edu.wisc.library.ocfl.core.model.Inventory;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
 /**
  * Adds an Inventory caching layer on top of an OcflStorage implementation.
+ *
+ * <p>Inventories that are not cached are loaded single-flight: when multiple threads miss on the same object at the
+ * same time, only one of them loads the inventory from the delegate storage and the others wait for its result. This
+ * prevents a burst of requests for a popular object from fetching and parsing the same inventory many times over after
+ * it is evicted or invalidated.
  */
 public class CachingOcflStorage extends AbstractOcflStorage {
 
     private final Cache<String, Inventory> inventoryCache;
     private final OcflStorage delegate;
+    private final ConcurrentMap<String, CompletableFuture<Inventory>> inFlightLoads;
 
     public CachingOcflStorage(Cache<String, Inventory> inventoryCache, OcflStorage delegate) {
         this.inventoryCache = Enforce.notNull(inventoryCache, "inventoryCache cannot be null");
         this.delegate = Enforce.notNull(delegate, "delegate cannot be null");
+        this.inFlightLoads = new ConcurrentHashMap<>();
     }
 
     /**
@@ -60,7 +77,8 @@ public class CachingOcflStorage extends AbstractOcflStorage {
     }
 
     /**
-     * If the inventory is cached, it's returned immediately. Otherwise, it's fetched from the delegate storage.
+     * If the inventory is cached, it's returned immediately. Otherwise, it's fetched from the delegate storage. If
+     * another thread is already fetching the inventory, its result is used instead of fetching it again.
      *
      * @param objectId the id of the object to load
      * @return inventory
@@ -69,7 +87,38 @@ public class CachingOcflStorage extends AbstractOcflStorage {
     public Inventory loadInventory(String objectId) {
         ensureOpen();
 
-        return inventoryCache.get(objectId, delegate::loadInventory);
+        return inventoryCache.get(objectId, this::loadSingleFlight);
+    }
+
+    /**
+     * Cached inventories are returned immediately, and all of the inventories that are not cached or already being
+     * fetched by another thread are fetched from the delegate storage in a single batch and then cached.
+     *
+     * @param objectIds the ids of the objects to load
+     * @return map of object id to inventory
+     */
+    @Override
+    public Map<String, Inventory> loadInventories(Collection<String> objectIds) {
+        ensureOpen();
+
+        var inventories = new HashMap<String, Inventory>(objectIds.size());
+        var missing = new ArrayList<String>();
+
+        for (var objectId : objectIds) {
+            // a single lookup, because an entry that is evicted after a contains() check would be loaded serially
+            var inventory = inventoryCache.getIfPresent(objectId);
+            if (inventory != null) {
+                inventories.put(objectId, inventory);
+            } else {
+                missing.add(objectId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            inventories.putAll(loadSingleFlight(missing));
+        }
+
+        return inventories;
     }
 
     /**
@@ -93,8 +142,10 @@ public class CachingOcflStorage extends AbstractOcflStorage {
 
         try {
             delegate.storeNewVersion(inventory, stagingDir, upgradeOcflVersion);
+            inFlightLoads.remove(inventory.getId());
             inventoryCache.put(inventory.getId(), inventory);
         } catch (ObjectOutOfSyncException e) {
+            inFlightLoads.remove(inventory.getId());
             inventoryCache.invalidate(inventory.getId());
             throw e;
         }
@@ -130,6 +181,7 @@ public class CachingOcflStorage extends AbstractOcflStorage {
         try {
             delegate.purgeObject(objectId);
         } finally {
+            inFlightLoads.remove(objectId);
             inventoryCache.invalidate(objectId);
         }
     }
@@ -143,8 +195,10 @@ public class CachingOcflStorage extends AbstractOcflStorage {
 
         try {
             delegate.commitMutableHead(oldInventory, newInventory, stagingDir);
+            inFlightLoads.remove(newInventory.getId());
             inventoryCache.put(newInventory.getId(), newInventory);
         } catch (ObjectOutOfSyncException e) {
+            inFlightLoads.remove(newInventory.getId());
             inventoryCache.invalidate(newInventory.getId());
             throw e;
         }
@@ -160,6 +214,7 @@ public class CachingOcflStorage extends AbstractOcflStorage {
         try {
             delegate.purgeMutableHead(objectId);
         } finally {
+            inFlightLoads.remove(objectId);
             inventoryCache.invalidate(objectId);
         }
     }
@@ -174,6 +229,7 @@ public class CachingOcflStorage extends AbstractOcflStorage {
         try {
             delegate.rollbackToVersion(inventory, versionNum);
         } finally {
+            inFlightLoads.remove(inventory.getId());
             inventoryCache.invalidate(inventory.getId());
         }
     }
@@ -246,10 +302,10 @@ public class CachingOcflStorage extends AbstractOcflStorage {
      * {@inheritDoc}
      */
     @Override
-    public ValidationResults validateObject(String objectId, boolean contentFixityCheck) {
+    public ValidationResults validateObject(String objectId, ContentValidation contentValidation) {
         ensureOpen();
 
-        return delegate.validateObject(objectId, contentFixityCheck);
+        return delegate.validateObject(objectId, contentValidation);
     }
 
     /**
@@ -265,6 +321,7 @@ public class CachingOcflStorage extends AbstractOcflStorage {
      */
     @Override
     public void invalidateCache(String objectId) {
+        inFlightLoads.remove(objectId);
         inventoryCache.invalidate(objectId);
         delegate.invalidateCache(objectId);
     }
@@ -274,7 +331,112 @@ public class CachingOcflStorage extends AbstractOcflStorage {
      */
     @Override
     public void invalidateCache() {
+        inFlightLoads.clear();
         inventoryCache.invalidateAll();
         delegate.invalidateCache();
     }
+
+    /**
+     * Loads an inventory from the delegate storage, unless another thread is already loading it, in which case its
+     * result is returned.
+     */
+    private Inventory loadSingleFlight(String objectId) {
+        var future = new CompletableFuture<Inventory>();
+        var existing = inFlightLoads.putIfAbsent(objectId, future);
+
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            var inventory = delegate.loadInventory(objectId);
+            future.complete(inventory);
+            return inventory;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(objectId, future);
+        }
+    }
+
+    /**
+     * Loads the inventories that are not already being loaded by another thread from the delegate storage in a single
+     * batch, and caches them. The loads that are owned by other threads are waited on only after this thread's loads
+     * complete, so that two overlapping batches cannot wait on each other.
+     */
+    private Map<String, Inventory> loadSingleFlight(List<String> objectIds) {
+        var inventories = new HashMap<String, Inventory>(objectIds.size());
+        var owned = new LinkedHashMap<String, CompletableFuture<Inventory>>();
+        var waiting = new LinkedHashMap<String, CompletableFuture<Inventory>>();
+
+        for (var objectId : objectIds) {
+            var future = new CompletableFuture<Inventory>();
+            var existing = inFlightLoads.putIfAbsent(objectId, future);
+            if (existing == null) {
+                owned.put(objectId, future);
+            } else {
+                waiting.put(objectId, existing);
+            }
+        }
+
+        try {
+            if (!owned.isEmpty()) {
+                var loaded = delegate.loadInventories(owned.keySet());
+                owned.forEach((objectId, future) -> {
+                    var inventory = loaded.get(objectId);
+                    // Waiters are released before caching, because a waiter may hold the cache entry's lock
+                    future.complete(inventory);
+                    if (inventory != null) {
+                        cacheIfCurrent(objectId, future, inventory);
+                        inventories.put(objectId, inventory);
+                    }
+                });
+            }
+        } catch (Throwable e) {
+            owned.values().forEach(future -> future.completeExceptionally(e));
+            throw e;
+        } finally {
+            owned.forEach(inFlightLoads::remove);
+        }
+
+        waiting.forEach((objectId, future) -> {
+            var inventory = await(future);
+            if (inventory != null) {
+                inventories.put(objectId, inventory);
+            }
+        });
+
+        return inventories;
+    }
+
+    /**
+     * Caches a loaded inventory, unless the object was modified or invalidated while it was being loaded, in which case
+     * the load is no longer registered and the inventory may be stale.
+     *
+     * <p>The cache must not be written to while holding a lock in {@code inFlightLoads}, because
+     * {@link #loadInventory(String)} registers loads in {@code inFlightLoads} while holding the cache entry's lock. If
+     * the object is modified between the check and the put, the entry is invalidated again after the put.
+     */
+    private void cacheIfCurrent(String objectId, CompletableFuture<Inventory> future, Inventory inventory) {
+        if (inFlightLoads.get(objectId) == future) {
+            inventoryCache.put(objectId, inventory);
+            if (inFlightLoads.get(objectId) != future) {
+                inventoryCache.invalidate(objectId);
+            }
+        }
+    }
+
+    private Inventory await(CompletableFuture<Inventory> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
 }
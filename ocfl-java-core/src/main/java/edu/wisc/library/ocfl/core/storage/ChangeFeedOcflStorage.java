@@ -0,0 +1,330 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.storage;
+
+import edu.wisc.library.ocfl.api.OcflFileRetriever;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
+import edu.wisc.library.ocfl.api.model.ObjectVersionId;
+import edu.wisc.library.ocfl.api.model.OcflVersion;
+import edu.wisc.library.ocfl.api.model.ValidationResults;
+import edu.wisc.library.ocfl.api.model.VersionNum;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.db.ChangeFeedDatabase;
+import edu.wisc.library.ocfl.core.db.OcflChangeType;
+import edu.wisc.library.ocfl.core.extension.OcflExtensionConfig;
+import edu.wisc.library.ocfl.core.model.Inventory;
+import edu.wisc.library.ocfl.core.model.RevisionNum;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records a change in a {@link ChangeFeedDatabase} after every operation that modifies an object, so that downstream
+ * consumers can process the changes that were made since they last read the feed rather than scanning the entire
+ * repository.
+ *
+ * <p>A pending change is recorded before the underlying storage operation runs, and the operation fails if it cannot be
+ * recorded. After the operation, the change is completed, or abandoned if the operation failed. If the change cannot be
+ * settled, the error is logged and the operation is not failed, because the object has already been modified in
+ * storage. The change is left pending until {@link ChangeFeedDatabase#listChanges(long)} reaches it after the feed's
+ * pending timeout, or {@link ChangeFeedDatabase#resolvePendingChanges(java.time.Duration)} completes it, so it is never
+ * lost. Changes that are made outside of this library are not recorded.
+ */
+public class ChangeFeedOcflStorage extends AbstractOcflStorage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeFeedOcflStorage.class);
+
+    private final ChangeFeedDatabase changeFeedDb;
+    private final OcflStorage delegate;
+
+    public ChangeFeedOcflStorage(ChangeFeedDatabase changeFeedDb, OcflStorage delegate) {
+        this.changeFeedDb = Enforce.notNull(changeFeedDb, "changeFeedDb cannot be null");
+        this.delegate = Enforce.notNull(delegate, "delegate cannot be null");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected RepositoryConfig doInitialize(OcflVersion ocflVersion, OcflExtensionConfig layoutConfig) {
+        return delegate.initializeStorage(ocflVersion, layoutConfig, inventoryMapper, supportEvaluator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Inventory loadInventory(String objectId) {
+        ensureOpen();
+
+        return delegate.loadInventory(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Inventory> loadInventories(Collection<String> objectIds) {
+        ensureOpen();
+
+        return delegate.loadInventories(objectIds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getInventoryBytes(String objectId, VersionNum versionNum) {
+        ensureOpen();
+
+        return delegate.getInventoryBytes(objectId, versionNum);
+    }
+
+    /**
+     * Records a pending change, writes the new object version to the underlying storage, and then completes the
+     * change. Writes to a mutable HEAD are recorded as {@link OcflChangeType#MUTABLE_HEAD_UPDATED}.
+     *
+     * @param inventory the updated object inventory
+     * @param stagingDir the directory that contains the composed contents of the new object version
+     * @param upgradeOcflVersion indicates if the OCFL spec version needs to be upgraded as part of the write operation
+     */
+    @Override
+    public void storeNewVersion(Inventory inventory, Path stagingDir, boolean upgradeOcflVersion) {
+        ensureOpen();
+
+        if (inventory.hasMutableHead()) {
+            var changeId = changeFeedDb.beginChange(OcflChangeType.MUTABLE_HEAD_UPDATED, inventory.getId());
+            runChange(changeId, () -> delegate.storeNewVersion(inventory, stagingDir, upgradeOcflVersion));
+            safeCompleteChange(changeId, inventory.getHead(), inventory.getRevisionNum());
+        } else {
+            var changeId = changeFeedDb.beginChange(OcflChangeType.VERSION_CREATED, inventory.getId());
+            runChange(changeId, () -> delegate.storeNewVersion(inventory, stagingDir, upgradeOcflVersion));
+            safeCompleteChange(changeId, inventory.getHead(), null);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, OcflFileRetriever> getObjectStreams(Inventory inventory, VersionNum versionNum) {
+        ensureOpen();
+
+        return delegate.getObjectStreams(inventory, versionNum);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reconstructObjectVersion(Inventory inventory, VersionNum versionNum, Path stagingDir) {
+        ensureOpen();
+
+        delegate.reconstructObjectVersion(inventory, versionNum, stagingDir);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purgeObject(String objectId) {
+        ensureOpen();
+
+        var changeId = changeFeedDb.beginChange(OcflChangeType.PURGED, objectId);
+        runChange(changeId, () -> delegate.purgeObject(objectId));
+        safeCompleteChange(changeId, null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rollbackToVersion(Inventory inventory, VersionNum versionNum) {
+        ensureOpen();
+
+        var changeId = changeFeedDb.beginChange(OcflChangeType.ROLLED_BACK, inventory.getId());
+        runChange(changeId, () -> delegate.rollbackToVersion(inventory, versionNum));
+        safeCompleteChange(changeId, versionNum, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commitMutableHead(Inventory oldInventory, Inventory newInventory, Path stagingDir) {
+        ensureOpen();
+
+        var changeId = changeFeedDb.beginChange(OcflChangeType.MUTABLE_HEAD_COMMITTED, newInventory.getId());
+        runChange(changeId, () -> delegate.commitMutableHead(oldInventory, newInventory, stagingDir));
+        safeCompleteChange(changeId, newInventory.getHead(), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purgeMutableHead(String objectId) {
+        ensureOpen();
+
+        var changeId = changeFeedDb.beginChange(OcflChangeType.MUTABLE_HEAD_PURGED, objectId);
+        runChange(changeId, () -> delegate.purgeMutableHead(objectId));
+        safeCompleteChange(changeId, null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsObject(String objectId) {
+        ensureOpen();
+
+        return delegate.containsObject(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String objectRootPath(String objectId) {
+        ensureOpen();
+
+        return delegate.objectRootPath(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<String> listObjectIds() {
+        ensureOpen();
+
+        return delegate.listObjectIds();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportVersion(ObjectVersionId objectVersionId, Path outputPath) {
+        ensureOpen();
+
+        delegate.exportVersion(objectVersionId, outputPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportObject(String objectId, Path outputPath) {
+        ensureOpen();
+
+        delegate.exportObject(objectId, outputPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void importObject(String objectId, Path objectPath) {
+        ensureOpen();
+
+        var changeId = changeFeedDb.beginChange(OcflChangeType.IMPORTED, objectId);
+        runChange(changeId, () -> delegate.importObject(objectId, objectPath));
+
+        VersionNum head = null;
+        try {
+            var inventory = delegate.loadInventory(objectId);
+            if (inventory != null) {
+                head = inventory.getHead();
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to load the inventory of imported object {}", objectId, e);
+        }
+
+        safeCompleteChange(changeId, head, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidationResults validateObject(String objectId, ContentValidation contentValidation) {
+        ensureOpen();
+
+        return delegate.validateObject(objectId, contentValidation);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidateCache(String objectId) {
+        delegate.invalidateCache(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidateCache() {
+        delegate.invalidateCache();
+    }
+
+    private void runChange(long changeId, Runnable operation) {
+        try {
+            operation.run();
+        } catch (RuntimeException e) {
+            try {
+                changeFeedDb.abandonChange(changeId);
+            } catch (RuntimeException e2) {
+                LOG.error("Failed to abandon change {} in the change feed.", changeId, e2);
+            }
+            throw e;
+        }
+    }
+
+    private void safeCompleteChange(long changeId, VersionNum versionNum, RevisionNum revisionNum) {
+        try {
+            changeFeedDb.completeChange(changeId, versionNum, revisionNum);
+        } catch (RuntimeException e) {
+            LOG.error(
+                    "Failed to complete change {} in the change feed. It will be completed when pending changes are"
+                            + " resolved.",
+                    changeId,
+                    e);
+        }
+    }
+}
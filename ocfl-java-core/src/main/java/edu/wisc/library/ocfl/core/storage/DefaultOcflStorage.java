@@ -26,6 +26,7 @@ package edu.wisc.library.ocfl.core.storage;
 
 import static edu.wisc.library.ocfl.api.OcflConstants.INVENTORY_SIDECAR_PREFIX;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.wisc.library.ocfl.api.OcflConstants;
 import edu.wisc.library.ocfl.api.OcflFileRetriever;
 import edu.wisc.library.ocfl.api.exception.CorruptObjectException;
@@ -34,9 +35,11 @@ import edu.wisc.library.ocfl.api.exception.NotFoundException;
 import edu.wisc.library.ocfl.api.exception.ObjectOutOfSyncException;
 import edu.wisc.library.ocfl.api.exception.OcflFileAlreadyExistsException;
 import edu.wisc.library.ocfl.api.exception.OcflIOException;
+import edu.wisc.library.ocfl.api.exception.OcflJavaException;
 import edu.wisc.library.ocfl.api.exception.OcflNoSuchFileException;
 import edu.wisc.library.ocfl.api.exception.OcflStateException;
 import edu.wisc.library.ocfl.api.io.FixityCheckInputStream;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
 import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
 import edu.wisc.library.ocfl.api.model.ObjectVersionId;
 import edu.wisc.library.ocfl.api.model.OcflVersion;
@@ -44,7 +47,9 @@ import edu.wisc.library.ocfl.api.model.ValidationResults;
 import edu.wisc.library.ocfl.api.model.VersionNum;
 import edu.wisc.library.ocfl.api.util.Enforce;
 import edu.wisc.library.ocfl.core.ObjectPaths;
+import edu.wisc.library.ocfl.core.cache.Cache;
 import edu.wisc.library.ocfl.core.extension.OcflExtensionConfig;
+import edu.wisc.library.ocfl.core.extension.storage.layout.CachingOcflStorageLayoutExtension;
 import edu.wisc.library.ocfl.core.extension.storage.layout.OcflStorageLayoutExtension;
 import edu.wisc.library.ocfl.core.inventory.SidecarMapper;
 import edu.wisc.library.ocfl.core.model.Inventory;
@@ -57,6 +62,7 @@ import edu.wisc.library.ocfl.core.storage.common.Storage;
 import edu.wisc.library.ocfl.core.util.FileUtil;
 import edu.wisc.library.ocfl.core.util.NamasteTypeFile;
 import edu.wisc.library.ocfl.core.util.UncheckedFiles;
+import edu.wisc.library.ocfl.core.validation.SimpleInventoryValidator;
 import edu.wisc.library.ocfl.core.validation.Validator;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
@@ -66,15 +72,25 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -96,12 +112,21 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
     private static final String MEDIA_TYPE_TEXT = "text/plain; charset=UTF-8";
     private static final String MEDIA_TYPE_JSON = "application/json; charset=UTF-8";
 
+    /**
+     * The number of bytes at the beginning of an inventory that are read when looking for the object id
+     */
+    private static final int INVENTORY_ID_READ_BYTES = 8 * 1024;
+
     private final PathConstraintProcessor logicalPathConstraints;
     private final Storage storage;
     private final OcflStorageInitializer initializer;
     private OcflStorageLayoutExtension storageLayoutExtension;
+    private final Cache<String, String> objectRootPathCache;
     private final Validator validator;
     private final boolean verifyInventoryDigest;
+    private final int inventoryLoadParallelism;
+    private final ExecutorService inventoryLoadExecutor;
+    private final boolean ownsInventoryLoadExecutor;
 
     /**
      * This retry policy is used for retrying failed inventory installs
@@ -129,11 +154,139 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
      * @param initializer initializes a new OCFL repo
      */
     public DefaultOcflStorage(Storage storage, boolean verifyInventoryDigest, OcflStorageInitializer initializer) {
+        this(storage, verifyInventoryDigest, initializer, null);
+    }
+
+    /**
+     * Creates a new DefaultOcflStorage object.
+     *
+     * <p>{@link #initializeStorage} must be called before using this object.
+     *
+     * @see OcflStorageBuilder
+     *
+     * @param storage the abstraction over the underlying storage system that contains the OCFL repository
+     * @param verifyInventoryDigest true if inventory digests should be verified on read
+     * @param initializer initializes a new OCFL repo
+     * @param objectRootPathCache cache for object id to object root path mappings, may be null to disable caching
+     */
+    public DefaultOcflStorage(
+            Storage storage,
+            boolean verifyInventoryDigest,
+            OcflStorageInitializer initializer,
+            Cache<String, String> objectRootPathCache) {
+        this(storage, verifyInventoryDigest, initializer, objectRootPathCache, 1.0);
+    }
+
+    /**
+     * Creates a new DefaultOcflStorage object.
+     *
+     * <p>{@link #initializeStorage} must be called before using this object.
+     *
+     * @see OcflStorageBuilder
+     *
+     * @param storage the abstraction over the underlying storage system that contains the OCFL repository
+     * @param verifyInventoryDigest true if inventory digests should be verified on read
+     * @param initializer initializes a new OCFL repo
+     * @param objectRootPathCache cache for object id to object root path mappings, may be null to disable caching
+     * @param fixityDownloadRate the fraction of files with storage computed digests that are downloaded when
+     *                           validating content fixity
+     */
+    public DefaultOcflStorage(
+            Storage storage,
+            boolean verifyInventoryDigest,
+            OcflStorageInitializer initializer,
+            Cache<String, String> objectRootPathCache,
+            double fixityDownloadRate) {
+        this(storage, verifyInventoryDigest, initializer, objectRootPathCache, fixityDownloadRate, 1);
+    }
+
+    /**
+     * Creates a new DefaultOcflStorage object.
+     *
+     * <p>{@link #initializeStorage} must be called before using this object.
+     *
+     * @see OcflStorageBuilder
+     *
+     * @param storage the abstraction over the underlying storage system that contains the OCFL repository
+     * @param verifyInventoryDigest true if inventory digests should be verified on read
+     * @param initializer initializes a new OCFL repo
+     * @param objectRootPathCache cache for object id to object root path mappings, may be null to disable caching
+     * @param fixityDownloadRate the fraction of files with storage computed digests that are downloaded when
+     *                           validating content fixity
+     * @param inventoryLoadParallelism the maximum number of inventories that are loaded concurrently when multiple
+     *                                 inventories are requested at once
+     */
+    public DefaultOcflStorage(
+            Storage storage,
+            boolean verifyInventoryDigest,
+            OcflStorageInitializer initializer,
+            Cache<String, String> objectRootPathCache,
+            double fixityDownloadRate,
+            int inventoryLoadParallelism) {
+        this(
+                storage,
+                verifyInventoryDigest,
+                initializer,
+                objectRootPathCache,
+                fixityDownloadRate,
+                inventoryLoadParallelism,
+                null);
+    }
+
+    /**
+     * Creates a new DefaultOcflStorage object.
+     *
+     * <p>{@link #initializeStorage} must be called before using this object.
+     *
+     * @see OcflStorageBuilder
+     *
+     * @param storage the abstraction over the underlying storage system that contains the OCFL repository
+     * @param verifyInventoryDigest true if inventory digests should be verified on read
+     * @param initializer initializes a new OCFL repo
+     * @param objectRootPathCache cache for object id to object root path mappings, may be null to disable caching
+     * @param fixityDownloadRate the fraction of files with storage computed digests that are downloaded when
+     *                           validating content fixity
+     * @param inventoryLoadParallelism the maximum number of inventories that are loaded concurrently when multiple
+     *                                 inventories are requested at once
+     * @param inventoryLoadExecutor the executor to load inventories on when multiple inventories are requested at once,
+     *                              or null to use a pool of inventoryLoadParallelism threads that is owned by this
+     *                              storage and shut down when it is closed. A supplied executor is not shut down.
+     */
+    public DefaultOcflStorage(
+            Storage storage,
+            boolean verifyInventoryDigest,
+            OcflStorageInitializer initializer,
+            Cache<String, String> objectRootPathCache,
+            double fixityDownloadRate,
+            int inventoryLoadParallelism,
+            ExecutorService inventoryLoadExecutor) {
         this.storage = Enforce.notNull(storage, "storage cannot be null");
+        this.inventoryLoadParallelism = Enforce.expressionTrue(
+                inventoryLoadParallelism > 0,
+                inventoryLoadParallelism,
+                "inventoryLoadParallelism must be greater than 0");
+        if (inventoryLoadExecutor != null) {
+            this.inventoryLoadExecutor = inventoryLoadExecutor;
+            this.ownsInventoryLoadExecutor = false;
+        } else if (inventoryLoadParallelism > 1) {
+            // threads are only started once inventories are loaded
+            this.inventoryLoadExecutor = Executors.newFixedThreadPool(
+                    inventoryLoadParallelism,
+                    new ThreadFactoryBuilder()
+                            .setDaemon(true)
+                            .setNameFormat("ocfl-inventory-load-%d")
+                            .build());
+            this.ownsInventoryLoadExecutor = true;
+        } else {
+            this.inventoryLoadExecutor = null;
+            this.ownsInventoryLoadExecutor = false;
+        }
         this.verifyInventoryDigest = verifyInventoryDigest;
         this.initializer = Enforce.notNull(initializer, "initializer cannot be null");
+        this.objectRootPathCache = objectRootPathCache;
         this.logicalPathConstraints = LogicalPathConstraints.constraintsWithBackslashCheck();
-        this.validator = new Validator(storage);
+        this.validator =
+                new Validator(storage, new SimpleInventoryValidator(ForkJoinPool.commonPool()), fixityDownloadRate);
         this.invRetry = new RetryPolicy<Void>()
                 .handle(RuntimeException.class)
                 .withBackoff(10, 200, ChronoUnit.MILLIS, 1.5)
@@ -180,6 +333,70 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         return inventory;
     }
 
+    /**
+     * Loads the inventories on the inventory load executor, so that the storage round trips and inventory parsing of
+     * different objects overlap. Up to inventoryLoadParallelism workers are submitted, and each loads inventories until
+     * there are none left, so a call never occupies more than that many of the executor's threads.
+     *
+     * @param objectIds the ids of the objects to load
+     * @return map of object id to inventory
+     */
+    @Override
+    public Map<String, Inventory> loadInventories(Collection<String> objectIds) {
+        ensureOpen();
+
+        Enforce.notNull(objectIds, "objectIds cannot be null");
+
+        var ids = new LinkedHashSet<>(objectIds);
+        var workers = Math.min(inventoryLoadParallelism, ids.size());
+
+        if (workers <= 1 || inventoryLoadExecutor == null) {
+            var inventories = new HashMap<String, Inventory>(ids.size());
+            for (var objectId : ids) {
+                var inventory = loadInventory(objectId);
+                if (inventory != null) {
+                    inventories.put(objectId, inventory);
+                }
+            }
+            return inventories;
+        }
+
+        var remaining = new ConcurrentLinkedQueue<>(ids);
+        var inventories = new ConcurrentHashMap<String, Inventory>(ids.size());
+        var futures = new ArrayList<Future<?>>(workers);
+
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(inventoryLoadExecutor.submit(() -> {
+                    String objectId;
+                    while ((objectId = remaining.poll()) != null) {
+                        var inventory = loadInventory(objectId);
+                        if (inventory != null) {
+                            inventories.put(objectId, inventory);
+                        }
+                    }
+                }));
+            }
+
+            for (var future : futures) {
+                future.get();
+            }
+
+            return inventories;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OcflJavaException("Failed to load inventories", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OcflJavaException("Interrupted while loading inventories", e);
+        } finally {
+            remaining.clear();
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -230,9 +447,7 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
     public Stream<String> listObjectIds() {
         LOG.debug("List object ids");
 
-        return findOcflObjectRootDirs().map(objectRoot -> {
-            return parseInventory(objectRoot).getId();
-        });
+        return findOcflObjectRootDirs().map(this::readObjectId);
     }
 
     /**
@@ -597,7 +812,7 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
      * {@inheritDoc}
      */
     @Override
-    public ValidationResults validateObject(String objectId, boolean contentFixityCheck) {
+    public ValidationResults validateObject(String objectId, ContentValidation contentValidation) {
         ensureOpen();
 
         if (!containsObject(objectId)) {
@@ -608,7 +823,7 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
 
         LOG.debug("Validating object <{}> at <{}>", objectId, objectRoot);
 
-        return validator.validateObject(objectRoot, contentFixityCheck);
+        return validator.validateObject(objectRoot, contentValidation);
     }
 
     /**
@@ -617,13 +832,29 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
     @Override
     public void close() {
         LOG.debug("Closing {}", this.getClass().getName());
+        if (storageLayoutExtension instanceof CachingOcflStorageLayoutExtension) {
+            var cachingExtension = (CachingOcflStorageLayoutExtension) storageLayoutExtension;
+            LOG.debug(
+                    "Object root path cache stats: requests={} hits={} hitRate={}",
+                    cachingExtension.getRequestCount(),
+                    cachingExtension.getHitCount(),
+                    cachingExtension.getHitRate());
+        }
+        if (ownsInventoryLoadExecutor) {
+            inventoryLoadExecutor.shutdownNow();
+        }
         super.close();
     }
 
     @Override
     protected RepositoryConfig doInitialize(OcflVersion ocflVersion, OcflExtensionConfig layoutConfig) {
         var result = this.initializer.initializeStorage(ocflVersion, layoutConfig, supportEvaluator);
-        this.storageLayoutExtension = result.getStorageLayoutExtension();
+        if (objectRootPathCache != null) {
+            this.storageLayoutExtension =
+                    new CachingOcflStorageLayoutExtension(result.getStorageLayoutExtension(), objectRootPathCache);
+        } else {
+            this.storageLayoutExtension = result.getStorageLayoutExtension();
+        }
         return result;
     }
 
@@ -951,6 +1182,31 @@ public class DefaultOcflStorage extends AbstractOcflStorage {
         }
     }
 
+    /**
+     * Determines the id of the object at the specified root as cheaply as possible. If the storage layout is
+     * reversible, then the id is derived from the path. Otherwise, the id is read from the first few KB of the
+     * inventory, and the entire inventory is only read if the id is not near the beginning of the file.
+     */
+    private String readObjectId(String objectRootPath) {
+        var objectId = storageLayoutExtension.mapObjectRootPath(objectRootPath);
+        if (objectId.isPresent()) {
+            return objectId.get();
+        }
+
+        var inventoryPath = ObjectPaths.inventoryPath(objectRootPath);
+        try (var stream = storage.readRange(inventoryPath, 0, INVENTORY_ID_READ_BYTES - 1)) {
+            var id = inventoryMapper.readId(stream);
+            if (id != null) {
+                return id;
+            }
+        } catch (IOException e) {
+            throw new OcflIOException(e);
+        }
+
+        LOG.debug("Object id not found in the first {} bytes of {}", INVENTORY_ID_READ_BYTES, inventoryPath);
+        return parseInventory(objectRootPath).getId();
+    }
+
     private String createRevisionMarker(Inventory inventory, ObjectPaths.ObjectRoot objectRoot) {
         var revision = inventory.getRevisionNum().toString();
         var revisionsDir = objectRoot.mutableHeadRevisionsPath();
@@ -27,6 +27,7 @@ package edu.wisc.library.ocfl.core.storage;
 import edu.wisc.library.ocfl.api.OcflFileRetriever;
 import edu.wisc.library.ocfl.api.exception.FixityCheckException;
 import edu.wisc.library.ocfl.api.exception.ObjectOutOfSyncException;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
 import edu.wisc.library.ocfl.api.model.ObjectVersionId;
 import edu.wisc.library.ocfl.api.model.OcflVersion;
 import edu.wisc.library.ocfl.api.model.ValidationResults;
@@ -40,6 +41,9 @@ import edu.wisc.library.ocfl.core.inventory.SidecarMapper;
 import edu.wisc.library.ocfl.core.model.Inventory;
 import java.io.ByteArrayInputStream;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -82,12 +86,7 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
             var inventory = delegate.loadInventory(objectId);
 
             if (inventory != null) {
-                try {
-                    var inventoryBytes = delegate.getInventoryBytes(inventory.getId(), inventory.getHead());
-                    objectDetailsDb.addObjectDetails(inventory, inventory.getInventoryDigest(), inventoryBytes);
-                } catch (Exception e) {
-                    LOG.warn("Failed to cache inventory for object <{}>", objectId, e);
-                }
+                addObjectDetails(inventory);
             }
 
             return inventory;
@@ -96,6 +95,41 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
         return parseInventory(details);
     }
 
+    /**
+     * The details of all of the objects are selected from the database in bulk. Inventories that are stored in the
+     * database are loaded from there, and the rest are loaded from the underlying storage and inserted into the
+     * database before they're returned.
+     *
+     * @param objectIds the ids of the objects to load
+     * @return map of object id to inventory
+     */
+    @Override
+    public Map<String, Inventory> loadInventories(Collection<String> objectIds) {
+        ensureOpen();
+
+        var allDetails = objectDetailsDb.retrieveObjectDetails(objectIds);
+        var inventories = new HashMap<String, Inventory>(objectIds.size());
+        var missing = new ArrayList<String>();
+
+        for (var objectId : objectIds) {
+            var details = allDetails.get(objectId);
+            if (details == null || details.getInventoryBytes() == null) {
+                missing.add(objectId);
+            } else {
+                inventories.put(objectId, parseInventory(details));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            delegate.loadInventories(missing).forEach((objectId, inventory) -> {
+                addObjectDetails(inventory);
+                inventories.put(objectId, inventory);
+            });
+        }
+
+        return inventories;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -256,10 +290,10 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
      * {@inheritDoc}
      */
     @Override
-    public ValidationResults validateObject(String objectId, boolean contentFixityCheck) {
+    public ValidationResults validateObject(String objectId, ContentValidation contentValidation) {
         ensureOpen();
 
-        return delegate.validateObject(objectId, contentFixityCheck);
+        return delegate.validateObject(objectId, contentValidation);
     }
 
     /**
@@ -312,6 +346,15 @@ public class ObjectDetailsDbOcflStorage extends AbstractOcflStorage {
         }
     }
 
+    private void addObjectDetails(Inventory inventory) {
+        try {
+            var inventoryBytes = delegate.getInventoryBytes(inventory.getId(), inventory.getHead());
+            objectDetailsDb.addObjectDetails(inventory, inventory.getInventoryDigest(), inventoryBytes);
+        } catch (Exception e) {
+            LOG.warn("Failed to cache inventory for object <{}>", inventory.getId(), e);
+        }
+    }
+
     private Inventory parseInventory(OcflObjectDetails details) {
         Inventory inventory;
 
@@ -0,0 +1,356 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.storage;
+
+import edu.wisc.library.ocfl.api.OcflFileRetriever;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
+import edu.wisc.library.ocfl.api.model.ObjectVersionId;
+import edu.wisc.library.ocfl.api.model.OcflVersion;
+import edu.wisc.library.ocfl.api.model.ValidationResults;
+import edu.wisc.library.ocfl.api.model.VersionNum;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.db.ObjectIndexDatabase;
+import edu.wisc.library.ocfl.core.extension.OcflExtensionConfig;
+import edu.wisc.library.ocfl.core.model.Inventory;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains an index of the objects in the repository in a database, so that objects can be listed with a sequential
+ * scan of the index rather than a walk of the entire storage hierarchy, and so that objects that are known to exist do
+ * not need to be probed for in storage.
+ *
+ * <p>The index is updated after every operation that creates an object, changes its head version, or removes it. It is
+ * not updated if the object is changed outside of this library. When an index is first added to an existing
+ * repository, or if it falls out of sync, {@link #rebuildIndex()} must be called to reconcile it with storage.
+ */
+public class ObjectIndexOcflStorage extends AbstractOcflStorage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ObjectIndexOcflStorage.class);
+
+    private final ObjectIndexDatabase objectIndexDb;
+    private final OcflStorage delegate;
+
+    public ObjectIndexOcflStorage(ObjectIndexDatabase objectIndexDb, OcflStorage delegate) {
+        this.objectIndexDb = Enforce.notNull(objectIndexDb, "objectIndexDb cannot be null");
+        this.delegate = Enforce.notNull(delegate, "delegate cannot be null");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected RepositoryConfig doInitialize(OcflVersion ocflVersion, OcflExtensionConfig layoutConfig) {
+        return delegate.initializeStorage(ocflVersion, layoutConfig, inventoryMapper, supportEvaluator);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Inventory loadInventory(String objectId) {
+        ensureOpen();
+
+        return delegate.loadInventory(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Inventory> loadInventories(Collection<String> objectIds) {
+        ensureOpen();
+
+        return delegate.loadInventories(objectIds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getInventoryBytes(String objectId, VersionNum versionNum) {
+        ensureOpen();
+
+        return delegate.getInventoryBytes(objectId, versionNum);
+    }
+
+    /**
+     * Writes the new object version to the underlying storage, and then records the object's new head version in the
+     * index.
+     *
+     * @param inventory the updated object inventory
+     * @param stagingDir the directory that contains the composed contents of the new object version
+     * @param upgradeOcflVersion indicates if the OCFL spec version needs to be upgraded as part of the write operation
+     */
+    @Override
+    public void storeNewVersion(Inventory inventory, Path stagingDir, boolean upgradeOcflVersion) {
+        ensureOpen();
+
+        delegate.storeNewVersion(inventory, stagingDir, upgradeOcflVersion);
+        safeIndexObject(inventory.getId(), inventory.getObjectRootPath(), inventory.getHead());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, OcflFileRetriever> getObjectStreams(Inventory inventory, VersionNum versionNum) {
+        ensureOpen();
+
+        return delegate.getObjectStreams(inventory, versionNum);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reconstructObjectVersion(Inventory inventory, VersionNum versionNum, Path stagingDir) {
+        ensureOpen();
+
+        delegate.reconstructObjectVersion(inventory, versionNum, stagingDir);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purgeObject(String objectId) {
+        ensureOpen();
+
+        delegate.purgeObject(objectId);
+        safeRemoveObject(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rollbackToVersion(Inventory inventory, VersionNum versionNum) {
+        ensureOpen();
+
+        delegate.rollbackToVersion(inventory, versionNum);
+        safeIndexObject(inventory.getId(), inventory.getObjectRootPath(), versionNum);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commitMutableHead(Inventory oldInventory, Inventory newInventory, Path stagingDir) {
+        ensureOpen();
+
+        delegate.commitMutableHead(oldInventory, newInventory, stagingDir);
+        safeIndexObject(newInventory.getId(), newInventory.getObjectRootPath(), newInventory.getHead());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purgeMutableHead(String objectId) {
+        ensureOpen();
+
+        delegate.purgeMutableHead(objectId);
+    }
+
+    /**
+     * Returns true if the object is in the index. Objects that are not in the index are looked for in storage, so that
+     * an index that is out of sync never causes an existing object to be reported as missing.
+     *
+     * @param objectId the id of the object
+     * @return true if the object exists
+     */
+    @Override
+    public boolean containsObject(String objectId) {
+        ensureOpen();
+
+        return objectIndexDb.containsObject(objectId) || delegate.containsObject(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String objectRootPath(String objectId) {
+        ensureOpen();
+
+        return delegate.objectRootPath(objectId);
+    }
+
+    /**
+     * Lists the ids of the objects in the index. Storage is not touched.
+     *
+     * @return stream of object ids
+     */
+    @Override
+    public Stream<String> listObjectIds() {
+        ensureOpen();
+
+        return objectIndexDb.listObjectIds();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportVersion(ObjectVersionId objectVersionId, Path outputPath) {
+        ensureOpen();
+
+        delegate.exportVersion(objectVersionId, outputPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportObject(String objectId, Path outputPath) {
+        ensureOpen();
+
+        delegate.exportObject(objectId, outputPath);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void importObject(String objectId, Path objectPath) {
+        ensureOpen();
+
+        delegate.importObject(objectId, objectPath);
+        safeIndexObject(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValidationResults validateObject(String objectId, ContentValidation contentValidation) {
+        ensureOpen();
+
+        return delegate.validateObject(objectId, contentValidation);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidateCache(String objectId) {
+        delegate.invalidateCache(objectId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidateCache() {
+        delegate.invalidateCache();
+    }
+
+    /**
+     * Reconciles the index with storage. Every object in storage is added to the index, or has its entry updated, and
+     * then the entries for objects that were not found in storage are removed. This walks the entire storage hierarchy
+     * and reads every object's inventory, so it can take a long time on large repositories. Objects that are written
+     * or purged while the index is being rebuilt are indexed correctly.
+     */
+    public void rebuildIndex() {
+        ensureOpen();
+
+        LOG.info("Rebuilding object index");
+
+        // Entries may be stored with second precision, so any entry that was updated after this point must be retained
+        var rebuildStart = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        var count = new LongAdder();
+
+        try (var objectIds = delegate.listObjectIds()) {
+            objectIds.forEach(objectId -> {
+                var inventory = delegate.loadInventory(objectId);
+                if (inventory != null) {
+                    objectIndexDb.indexObject(objectId, inventory.getObjectRootPath(), inventory.getHead());
+                    // If the object was purged after its inventory was loaded, the purge may have removed its entry
+                    // before it was written. The rewritten entry is newer than rebuildStart, so it must be removed
+                    // here.
+                    if (delegate.containsObject(objectId)) {
+                        count.increment();
+                    } else {
+                        objectIndexDb.removeObject(objectId);
+                    }
+                }
+            });
+        }
+
+        objectIndexDb.removeObjectsIndexedBefore(rebuildStart);
+
+        LOG.info("Finished rebuilding object index. Indexed {} objects", count.sum());
+    }
+
+    private void safeIndexObject(String objectId) {
+        try {
+            var inventory = delegate.loadInventory(objectId);
+            if (inventory != null) {
+                safeIndexObject(objectId, inventory.getObjectRootPath(), inventory.getHead());
+            }
+        } catch (RuntimeException e) {
+            logIndexFailure(objectId, e);
+        }
+    }
+
+    private void safeIndexObject(String objectId, String objectRootPath, VersionNum headVersion) {
+        try {
+            objectIndexDb.indexObject(objectId, objectRootPath, headVersion);
+        } catch (RuntimeException e) {
+            logIndexFailure(objectId, e);
+        }
+    }
+
+    private void safeRemoveObject(String objectId) {
+        try {
+            objectIndexDb.removeObject(objectId);
+        } catch (RuntimeException e) {
+            logIndexFailure(objectId, e);
+        }
+    }
+
+    private void logIndexFailure(String objectId, Exception e) {
+        LOG.error(
+                "Failed to update the object index entry for object {}. The index may need to be rebuilt.",
+                objectId,
+                e);
+    }
+}
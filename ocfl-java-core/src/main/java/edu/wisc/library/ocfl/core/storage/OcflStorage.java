@@ -28,6 +28,7 @@ import edu.wisc.library.ocfl.api.OcflFileRetriever;
 import edu.wisc.library.ocfl.api.exception.FixityCheckException;
 import edu.wisc.library.ocfl.api.exception.NotFoundException;
 import edu.wisc.library.ocfl.api.exception.ObjectOutOfSyncException;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
 import edu.wisc.library.ocfl.api.model.ObjectVersionId;
 import edu.wisc.library.ocfl.api.model.OcflVersion;
 import edu.wisc.library.ocfl.api.model.ValidationResults;
@@ -37,6 +38,8 @@ import edu.wisc.library.ocfl.core.extension.OcflExtensionConfig;
 import edu.wisc.library.ocfl.core.inventory.InventoryMapper;
 import edu.wisc.library.ocfl.core.model.Inventory;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -80,6 +83,26 @@ public interface OcflStorage {
      */
     Inventory loadInventory(String objectId);
 
+    /**
+     * Returns verified copies of the most recent inventories of multiple objects. Objects that are not found are not
+     * included in the result. Implementations should load the inventories concurrently or in bulk where possible; by
+     * default, they are loaded one at a time.
+     *
+     * @param objectIds the ids of the objects to load
+     * @return map of object id to deserialized inventory
+     * @throws FixityCheckException if an inventory fails its fixity check
+     */
+    default Map<String, Inventory> loadInventories(Collection<String> objectIds) {
+        var inventories = new HashMap<String, Inventory>(objectIds.size());
+        for (var objectId : objectIds) {
+            var inventory = loadInventory(objectId);
+            if (inventory != null) {
+                inventories.put(objectId, inventory);
+            }
+        }
+        return inventories;
+    }
+
     /**
      * Returns the raw inventory bytes for the specified object version
      *
@@ -245,7 +268,19 @@ public interface OcflStorage {
      * @return the validation results
      * @throws NotFoundException if the object does not exist.
      */
-    ValidationResults validateObject(String objectId, boolean contentFixityCheck);
+    default ValidationResults validateObject(String objectId, boolean contentFixityCheck) {
+        return validateObject(objectId, contentFixityCheck ? ContentValidation.FIXITY : ContentValidation.NONE);
+    }
+
+    /**
+     * Validates the specified object against the OCFL 1.0 spec.
+     *
+     * @param objectId the id of the object to validate
+     * @param contentValidation how thoroughly the content files should be checked
+     * @return the validation results
+     * @throws NotFoundException if the object does not exist.
+     */
+    ValidationResults validateObject(String objectId, ContentValidation contentValidation);
 
     /**
      * If the OcflStorage is using an inventory cache, then this method invalidates the cache entry for the
@@ -25,13 +25,19 @@
 package edu.wisc.library.ocfl.core.storage;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.cache.Cache;
+import edu.wisc.library.ocfl.core.cache.CaffeineCache;
 import edu.wisc.library.ocfl.core.storage.cloud.CloudClient;
 import edu.wisc.library.ocfl.core.storage.cloud.CloudStorage;
 import edu.wisc.library.ocfl.core.storage.common.Storage;
 import edu.wisc.library.ocfl.core.storage.filesystem.FileSystemStorage;
+import edu.wisc.library.ocfl.core.util.BufferPool;
 import edu.wisc.library.ocfl.core.util.ObjectMappers;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 /**
  * Builder for constructing {@link OcflStorage} objects. It is configured with sensible defaults and can minimally be
@@ -40,9 +46,14 @@ import java.nio.file.Path;
 public class OcflStorageBuilder {
 
     private ObjectMapper objectMapper;
-    private Storage storage;
+    private Supplier<Storage> storage;
     private OcflStorageInitializer initializer;
     private boolean verifyInventoryDigest;
+    private Cache<String, String> objectRootPathCache;
+    private double fixityDownloadRate;
+    private int inventoryLoadParallelism;
+    private ExecutorService inventoryLoadExecutor;
+    private BufferPool bufferPool;
 
     public static OcflStorageBuilder builder() {
         return new OcflStorageBuilder();
@@ -51,6 +62,11 @@ public class OcflStorageBuilder {
     public OcflStorageBuilder() {
         objectMapper = ObjectMappers.prettyPrintMapper();
         this.verifyInventoryDigest = true;
+        this.fixityDownloadRate = 1.0;
+        this.inventoryLoadParallelism = 8;
+        this.bufferPool = BufferPool.defaultPool();
+        this.objectRootPathCache =
+                new CaffeineCache<>(Caffeine.newBuilder().maximumSize(10_000).build());
     }
 
     /**
@@ -61,7 +77,8 @@ public class OcflStorageBuilder {
      * @return builder
      */
     public OcflStorageBuilder storage(Storage storage) {
-        this.storage = Enforce.notNull(storage, "storage cannot be null");
+        Enforce.notNull(storage, "storage cannot be null");
+        this.storage = () -> storage;
         return this;
     }
 
@@ -73,7 +90,8 @@ public class OcflStorageBuilder {
      * @return builder
      */
     public OcflStorageBuilder fileSystem(Path storageRoot) {
-        this.storage = new FileSystemStorage(storageRoot);
+        Enforce.notNull(storageRoot, "storageRoot cannot be null");
+        this.storage = () -> new FileSystemStorage(storageRoot, 1, true, -1, bufferPool);
         return this;
     }
 
@@ -85,7 +103,8 @@ public class OcflStorageBuilder {
      * @return builder
      */
     public OcflStorageBuilder cloud(CloudClient cloudClient) {
-        this.storage = new CloudStorage(cloudClient);
+        Enforce.notNull(cloudClient, "cloudClient cannot be null");
+        this.storage = () -> new CloudStorage(cloudClient, 1, false, bufferPool);
         return this;
     }
 
@@ -123,6 +142,79 @@ public class OcflStorageBuilder {
         return this;
     }
 
+    /**
+     * Used to cache the mapping of object ids to object root paths, as computed by the repository's storage layout
+     * extension. The default is an in memory {@link CaffeineCache} instance that has a maximum size of 10,000 entries.
+     * Storage layouts are deterministic so entries are never invalidated. Set to null to disable caching.
+     *
+     * @param objectRootPathCache object root path cache, may be null
+     * @return builder
+     */
+    public OcflStorageBuilder objectRootPathCache(Cache<String, String> objectRootPathCache) {
+        this.objectRootPathCache = objectRootPathCache;
+        return this;
+    }
+
+    /**
+     * Configures the fraction of content files that are downloaded when validating content fixity, if the storage
+     * already has digests for the files. For example, S3 objects that were uploaded with SHA256 or SHA1 additional
+     * checksums can be verified against the checksums S3 computed instead of downloading them. The remaining files are
+     * still downloaded and digested so that problems with the stored content are eventually detected. Files that the
+     * storage does not have digests for are always downloaded. Default: 1.0, every file is downloaded.
+     *
+     * @param fixityDownloadRate value between 0.0 and 1.0
+     * @return builder
+     */
+    public OcflStorageBuilder fixityDownloadRate(double fixityDownloadRate) {
+        this.fixityDownloadRate = Enforce.expressionTrue(
+                fixityDownloadRate >= 0.0 && fixityDownloadRate <= 1.0,
+                fixityDownloadRate,
+                "fixityDownloadRate must be between 0.0 and 1.0");
+        return this;
+    }
+
+    /**
+     * Configures the maximum number of inventories that are loaded concurrently when the inventories of multiple objects
+     * are requested at once, such as by {@link edu.wisc.library.ocfl.api.OcflRepository#describeObjects}. Default: 8
+     *
+     * @param inventoryLoadParallelism the maximum number of concurrent inventory loads, must be greater than 0
+     * @return builder
+     */
+    public OcflStorageBuilder inventoryLoadParallelism(int inventoryLoadParallelism) {
+        this.inventoryLoadParallelism = Enforce.expressionTrue(
+                inventoryLoadParallelism > 0,
+                inventoryLoadParallelism,
+                "inventoryLoadParallelism must be greater than 0");
+        return this;
+    }
+
+    /**
+     * Configures the executor that inventories are loaded on when the inventories of multiple objects are requested at
+     * once. No more than inventoryLoadParallelism of its threads are used by a single request. The executor is not shut
+     * down when the storage is closed. By default, the storage creates a pool of inventoryLoadParallelism threads that
+     * is shut down when the storage is closed.
+     *
+     * @param inventoryLoadExecutor the executor to load inventories on
+     * @return builder
+     */
+    public OcflStorageBuilder inventoryLoadExecutor(ExecutorService inventoryLoadExecutor) {
+        this.inventoryLoadExecutor = Enforce.notNull(inventoryLoadExecutor, "inventoryLoadExecutor cannot be null");
+        return this;
+    }
+
+    /**
+     * Configures the buffer pool of storage created by {@link #fileSystem(Path)} or {@link #cloud(CloudClient)}. The
+     * pool's buffer size is used for the storage's read buffers. Storage implementations set with
+     * {@link #storage(Storage)} are configured independently. Default: {@link BufferPool#defaultPool()}
+     *
+     * @param bufferPool the buffer pool
+     * @return builder
+     */
+    public OcflStorageBuilder bufferPool(BufferPool bufferPool) {
+        this.bufferPool = Enforce.notNull(bufferPool, "bufferPool cannot be null");
+        return this;
+    }
+
     /**
      * Creates a {@link OcflStorage} object. One of {@link #storage(Storage)}, {@link #fileSystem(Path)}, or {@link #cloud(CloudClient)}
      * must be called before calling this method.
@@ -132,11 +224,20 @@ public class OcflStorageBuilder {
     public OcflStorage build() {
         Enforce.notNull(storage, "storage cannot be null");
 
+        var builtStorage = storage.get();
+
         var init = initializer;
         if (init == null) {
-            init = new DefaultOcflStorageInitializer(storage, objectMapper);
+            init = new DefaultOcflStorageInitializer(builtStorage, objectMapper);
         }
 
-        return new DefaultOcflStorage(storage, verifyInventoryDigest, init);
+        return new DefaultOcflStorage(
+                builtStorage,
+                verifyInventoryDigest,
+                init,
+                objectRootPathCache,
+                fixityDownloadRate,
+                inventoryLoadParallelism,
+                inventoryLoadExecutor);
     }
 }
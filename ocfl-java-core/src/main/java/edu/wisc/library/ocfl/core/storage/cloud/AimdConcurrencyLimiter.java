@@ -0,0 +1,268 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.storage.cloud;
+
+import edu.wisc.library.ocfl.api.exception.OcflJavaException;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of concurrent requests using additive-increase/multiplicative-decrease. Every request that
+ * completes without being throttled raises the limit by {@code 1/limit}, so the limit grows by about one each time a
+ * full window of requests succeeds. A throttled request multiplies the limit by the backoff ratio.
+ *
+ * <p>When a burst of requests is throttled, only the first one to complete lowers the limit. Requests that were
+ * already in flight when the limit was lowered do not lower it again, as they were sent under the old limit.
+ *
+ * <p>Permits are taken either by blocking with {@link #acquire()}, or without blocking with {@link #acquireAsync()}.
+ * Asynchronous waiters are served in the order they asked, and before blocked threads.
+ */
+public class AimdConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private final ReentrantLock lock;
+    private final Condition available;
+    private final Queue<CompletableFuture<Permit>> waiters;
+    private final AtomicInteger grantRequests;
+
+    private double limit;
+    private int inFlight;
+    private long generation;
+
+    /**
+     * @param initialLimit the number of concurrent requests to start with
+     * @param minLimit the lowest the limit may be lowered to, at least 1
+     * @param maxLimit the highest the limit may be raised to
+     * @param backoffRatio the factor, between 0.0 and 1.0 exclusive, the limit is multiplied by when throttled
+     */
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.minLimit = Enforce.expressionTrue(minLimit >= 1, minLimit, "minLimit must be at least 1");
+        this.maxLimit = Enforce.expressionTrue(maxLimit >= minLimit, maxLimit, "maxLimit must be at least minLimit");
+        this.backoffRatio = Enforce.expressionTrue(
+                backoffRatio > 0.0 && backoffRatio < 1.0, backoffRatio, "backoffRatio must be between 0.0 and 1.0");
+        Enforce.expressionTrue(
+                initialLimit >= minLimit && initialLimit <= maxLimit,
+                initialLimit,
+                "initialLimit must be between minLimit and maxLimit");
+        this.limit = initialLimit;
+        this.lock = new ReentrantLock();
+        this.available = lock.newCondition();
+        this.waiters = new ArrayDeque<>();
+        this.grantRequests = new AtomicInteger();
+    }
+
+    /**
+     * Waits until there are fewer requests in flight than the current limit, and then takes a permit. The permit must
+     * be released when the request completes.
+     *
+     * @return the permit
+     */
+    public Permit acquire() {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit || !waiters.isEmpty()) {
+                available.await();
+            }
+            inFlight++;
+            return new Permit(generation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OcflJavaException("Interrupted while waiting for a request permit", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a permit without blocking. The returned future is completed with the permit once there are fewer requests
+     * in flight than the current limit. If the limit has been reached, the future is completed by the thread that
+     * releases the permit that makes room, so the stages that depend on it must not block. The permit must be released
+     * when the request completes.
+     *
+     * @return a future that is completed with the permit
+     */
+    public CompletableFuture<Permit> acquireAsync() {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit(generation));
+            }
+            var waiter = new CompletableFuture<Permit>();
+            waiters.add(waiter);
+            return waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long permitGeneration, boolean throttled) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (throttled) {
+                if (permitGeneration == generation) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    generation++;
+                }
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        grantWaiters();
+    }
+
+    /**
+     * Hands freed permits to asynchronous waiters, and then wakes blocked threads if any permits are left. Completing a
+     * waiter runs the request that was waiting, which may complete, and release its permit, synchronously. Instead of
+     * recursing, that release only records that another pass is needed, and the thread that is already granting makes
+     * the pass.
+     */
+    private void grantWaiters() {
+        if (grantRequests.getAndIncrement() != 0) {
+            return;
+        }
+
+        var missed = 1;
+        do {
+            while (true) {
+                CompletableFuture<Permit> waiter;
+                Permit permit;
+
+                lock.lock();
+                try {
+                    if (waiters.isEmpty() || inFlight >= (int) limit) {
+                        available.signalAll();
+                        break;
+                    }
+                    waiter = waiters.poll();
+                    inFlight++;
+                    permit = new Permit(generation);
+                } finally {
+                    lock.unlock();
+                }
+
+                if (!waiter.complete(permit)) {
+                    // The waiter was cancelled, so the permit was never used
+                    returnUnused();
+                }
+            }
+            missed = grantRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void returnUnused() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the current concurrency limit
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of asynchronous requests waiting for a permit
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of requests currently in flight
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AimdConcurrencyLimiter{" + "minLimit="
+                + minLimit + ", maxLimit="
+                + maxLimit + ", backoffRatio="
+                + backoffRatio + ", limit="
+                + getLimit() + '}';
+    }
+
+    /**
+     * A slot for one request. Each permit may only be released once.
+     */
+    public class Permit {
+
+        private final long generation;
+        private boolean released;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+
+        /**
+         * Releases the permit and adjusts the limit.
+         *
+         * @param throttled true if the request was rejected because the service is overloaded
+         */
+        public void release(boolean throttled) {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            AimdConcurrencyLimiter.this.release(generation, throttled);
+        }
+    }
+}
@@ -27,9 +27,15 @@ package edu.wisc.library.ocfl.core.storage.cloud;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Wrapper interface abstracting cloud provider clients
+ *
+ * <p>The methods that return futures allow {@link CloudStorage} to have many requests in flight at once. Their default
+ * implementations call the synchronous methods on the calling thread and return completed futures, so clients that are
+ * built on synchronous SDKs do not need to implement them.
  */
 public interface CloudClient {
 
@@ -67,6 +73,21 @@ public interface CloudClient {
      */
     CloudObjectKey uploadFile(Path srcPath, String dstPath, String contentType);
 
+    /**
+     * Uploads a file to the destination without waiting for the upload to complete.
+     *
+     * @param srcPath src file
+     * @param dstPath object path
+     * @return future that completes with the object key
+     */
+    default CompletableFuture<CloudObjectKey> uploadFileAsync(Path srcPath, String dstPath) {
+        try {
+            return CompletableFuture.completedFuture(uploadFile(srcPath, dstPath));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Uploads an object with byte content
      *
@@ -87,6 +108,21 @@ public interface CloudClient {
      */
     CloudObjectKey copyObject(String srcPath, String dstPath);
 
+    /**
+     * Copies an object from one location to another within the same bucket without waiting for the copy to complete.
+     *
+     * @param srcPath source object key
+     * @param dstPath destination object path
+     * @return future that completes with the destination key, or fails with KeyNotFoundException when srcPath not found
+     */
+    default CompletableFuture<CloudObjectKey> copyObjectAsync(String srcPath, String dstPath) {
+        try {
+            return CompletableFuture.completedFuture(copyObject(srcPath, dstPath));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Downloads an object to the local filesystem.
      *
@@ -97,6 +133,22 @@ public interface CloudClient {
      */
     Path downloadFile(String srcPath, Path dstPath);
 
+    /**
+     * Downloads an object to the local filesystem without waiting for the download to complete.
+     *
+     * @param srcPath object key
+     * @param dstPath path to write the file to
+     * @return future that completes with the destination path, or fails with KeyNotFoundException when srcPath not
+     *         found
+     */
+    default CompletableFuture<Path> downloadFileAsync(String srcPath, Path dstPath) {
+        try {
+            return CompletableFuture.completedFuture(downloadFile(srcPath, dstPath));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Downloads and object and performs a fixity check as it streams to disk.
      *
@@ -106,6 +158,17 @@ public interface CloudClient {
      */
     InputStream downloadStream(String srcPath);
 
+    /**
+     * Downloads the specified byte range of an object. The range is not fixity checked.
+     *
+     * @param srcPath object key
+     * @param startPosition the position of the first byte to return, starting at 0
+     * @param endPosition the position of the last byte to return, inclusive
+     * @return stream of the object content within the range
+     * @throws KeyNotFoundException when srcPath not found
+     */
+    InputStream downloadStream(String srcPath, long startPosition, long endPosition);
+
     /**
      * Downloads an object to a string. This assumes that the object is UTF-8 encoded.
      *
@@ -132,6 +195,28 @@ public interface CloudClient {
      */
     ListResult list(String prefix);
 
+    /**
+     * Lazily lists all of the keys under a prefix. No delimiter is used. Unlike {@link #list(String)}, pages of keys
+     * are only requested as the stream is consumed, so the complete listing of a large prefix is never held in memory.
+     * The stream should be closed if it is not fully consumed.
+     *
+     * @param prefix the key prefix
+     * @return stream of the objects under the prefix, in key order
+     */
+    Stream<ListResult.ObjectListing> listStream(String prefix);
+
+    /**
+     * Lists a single page of the keys under a prefix, in key order. No delimiter is used. Pages are requested by
+     * passing the path of the last key in the previous page as startAfter. This makes it possible to scan a large
+     * prefix incrementally, and to split a scan into key ranges that are listed concurrently.
+     *
+     * @param prefix the key prefix, an empty prefix lists the entire repository
+     * @param startAfter only keys with paths that sort after this path are returned, may be null
+     * @param maxKeys the maximum number of keys to return
+     * @return list response, it does not contain any objects when there are no more keys
+     */
+    ListResult listPage(String prefix, String startAfter, int maxKeys);
+
     /**
      * Lists all of the keys within a virtual directory. Only keys that fall between the specified prefix and the next
      * '/' are returned.
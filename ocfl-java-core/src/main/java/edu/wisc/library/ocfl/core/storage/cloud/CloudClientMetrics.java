@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.storage.cloud;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the requests a {@link ResilientCloudClient} has made. An operation is a single call to the client, and may
+ * result in multiple requests when it is retried.
+ */
+public class CloudClientMetrics {
+
+    private final LongAdder operationCount;
+    private final LongAdder requestCount;
+    private final LongAdder failedRequestCount;
+    private final LongAdder throttledCount;
+    private final LongAdder rateLimitedMillis;
+
+    public CloudClientMetrics() {
+        this.operationCount = new LongAdder();
+        this.requestCount = new LongAdder();
+        this.failedRequestCount = new LongAdder();
+        this.throttledCount = new LongAdder();
+        this.rateLimitedMillis = new LongAdder();
+    }
+
+    void recordOperation() {
+        operationCount.increment();
+    }
+
+    void recordRequest() {
+        requestCount.increment();
+    }
+
+    void recordFailedRequest() {
+        failedRequestCount.increment();
+    }
+
+    void recordThrottled() {
+        throttledCount.increment();
+    }
+
+    void recordRateLimited(long millis) {
+        rateLimitedMillis.add(millis);
+    }
+
+    /**
+     * @return the number of calls that were made to the client
+     */
+    public long getOperationCount() {
+        return operationCount.sum();
+    }
+
+    /**
+     * @return the number of requests that were made, including retries
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return the number of requests that were retries of earlier requests
+     */
+    public long getRetryCount() {
+        return Math.max(0, getRequestCount() - getOperationCount());
+    }
+
+    /**
+     * @return the number of requests that failed, including those that were throttled
+     */
+    public long getFailedRequestCount() {
+        return failedRequestCount.sum();
+    }
+
+    /**
+     * @return the number of requests that were rejected because the service was overloaded
+     */
+    public long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    /**
+     * @return the total number of milliseconds requests waited on per-prefix rate limits
+     */
+    public long getRateLimitedMillis() {
+        return rateLimitedMillis.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "CloudClientMetrics{" + "operationCount="
+                + getOperationCount() + ", requestCount="
+                + getRequestCount() + ", failedRequestCount="
+                + getFailedRequestCount() + ", throttledCount="
+                + getThrottledCount() + ", rateLimitedMillis="
+                + getRateLimitedMillis() + '}';
+    }
+}
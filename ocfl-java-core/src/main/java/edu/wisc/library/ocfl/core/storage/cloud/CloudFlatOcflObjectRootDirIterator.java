@@ -0,0 +1,364 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.storage.cloud;
+
+import static edu.wisc.library.ocfl.api.OcflConstants.OBJECT_NAMASTE_PREFIX;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import edu.wisc.library.ocfl.api.OcflConstants;
+import edu.wisc.library.ocfl.api.exception.OcflJavaException;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.storage.common.OcflObjectRootDirIterator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementation of {@link OcflObjectRootDirIterator} that finds object roots by scanning a flat listing of every key
+ * in the repository for object namaste files, rather than by walking the directory tree. For repositories that use
+ * hashed n-tuple layouts, this requires far fewer list requests than walking the tree, because most of the
+ * directories in the tree only contain a single child directory.
+ *
+ * <p>Once an object root is found, the rest of the keys under it are skipped, so that files within an object's content
+ * that happen to be named like a namaste file are not mistaken for nested object roots. Object namaste files sort
+ * before the version directories, which is where all content is.
+ *
+ * <p>When the parallelism is greater than 1, the key space is split into ranges at the top level directories of the
+ * repository, and each range is scanned concurrently by passing its start boundary as the StartAfter parameter. In
+ * this case, object roots are returned in no particular order.
+ */
+public class CloudFlatOcflObjectRootDirIterator extends OcflObjectRootDirIterator {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int BUFFER_SIZE = 1000;
+    private static final String END = new String("END");
+
+    /**
+     * The highest code point. A key that is a prefix followed by this character sorts after every key that starts with
+     * the prefix, except keys that continue with the same character, which are skipped along with the rest.
+     */
+    private static final String MAX_CHAR = new String(Character.toChars(Character.MAX_CODE_POINT));
+
+    private final CloudClient cloudClient;
+    private final int parallelism;
+
+    public CloudFlatOcflObjectRootDirIterator(CloudClient cloudClient) {
+        this(cloudClient, 1);
+    }
+
+    /**
+     * @param cloudClient the cloud client
+     * @param parallelism the number of key ranges to scan concurrently
+     */
+    public CloudFlatOcflObjectRootDirIterator(CloudClient cloudClient, int parallelism) {
+        this.cloudClient = Enforce.notNull(cloudClient, "cloudClient cannot be null");
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * The only child directories that the scan returns are object roots
+     *
+     * @param path directory path
+     * @return true if the path is not the storage root
+     */
+    @Override
+    protected boolean isObjectRoot(String path) {
+        return !path.isEmpty();
+    }
+
+    @Override
+    protected Directory createDirectory(String path) {
+        if (path.isEmpty()) {
+            if (parallelism > 1) {
+                return new ParallelScanDirectory();
+            }
+            return new ScanDirectory();
+        }
+        return new ObjectRootDirectory();
+    }
+
+    /**
+     * Scans the keys within the range, and passes the object roots that are found to the consumer. The scan stops
+     * early if the consumer returns false.
+     *
+     * @param startAfter the path to start scanning after, or null to start at the beginning
+     * @param endAt the last path in the range, or null to scan to the end
+     */
+    private void scanRange(String startAfter, String endAt, RootConsumer consumer) throws InterruptedException {
+        var scanner = new KeyScanner(startAfter);
+        var endBytes = endAt == null ? null : endAt.getBytes(StandardCharsets.UTF_8);
+
+        String path;
+        while ((path = scanner.nextKey()) != null) {
+            // S3 sorts keys by their UTF-8 bytes
+            if (endBytes != null && Arrays.compareUnsigned(path.getBytes(StandardCharsets.UTF_8), endBytes) > 0) {
+                return;
+            }
+
+            var objectRoot = objectRootFromNamastePath(path);
+            if (objectRoot != null) {
+                scanner.skipPrefix(objectRoot + "/");
+                if (!consumer.accept(objectRoot)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private String objectRootFromNamastePath(String path) {
+        var index = path.lastIndexOf('/');
+
+        if (index == -1 || !path.startsWith(OBJECT_NAMASTE_PREFIX, index + 1)) {
+            return null;
+        }
+
+        var objectRoot = path.substring(0, index);
+
+        if (objectRoot.equals(OcflConstants.EXTENSIONS_DIR)
+                || objectRoot.startsWith(OcflConstants.EXTENSIONS_DIR + "/")) {
+            return null;
+        }
+
+        return objectRoot;
+    }
+
+    /**
+     * Divides the key space into ranges at evenly spaced top level directories. Each range starts after the previous
+     * range's boundary and ends at its own boundary. The boundaries include the trailing slash, because that is the
+     * order S3 returns the directories in, and the order of the keys within them. For example, "abc-d/" sorts before
+     * "abc/", but "abc-d" sorts after "abc".
+     */
+    private List<String> splitPoints() {
+        var topLevelDirs = new ArrayList<String>();
+        cloudClient.listDirectory("").getDirectories().forEach(dir -> {
+            var name = dir.getName();
+            if (!OcflConstants.EXTENSIONS_DIR.equals(name)) {
+                topLevelDirs.add(name + "/");
+            }
+        });
+
+        var splits = new ArrayList<String>();
+        var ranges = Math.min(parallelism, topLevelDirs.size());
+
+        for (int i = 1; i < ranges; i++) {
+            splits.add(topLevelDirs.get(i * topLevelDirs.size() / ranges));
+        }
+
+        return splits;
+    }
+
+    @FunctionalInterface
+    private interface RootConsumer {
+        boolean accept(String objectRoot) throws InterruptedException;
+    }
+
+    /**
+     * Object roots do not need to be listed
+     */
+    private static class ObjectRootDirectory implements Directory {
+        @Override
+        public String nextChildDirectory() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+            // noop
+        }
+    }
+
+    /**
+     * Scans the entire repository one page at a time on the calling thread
+     */
+    private class ScanDirectory implements Directory {
+
+        private final KeyScanner scanner = new KeyScanner(null);
+        private boolean done;
+
+        @Override
+        public String nextChildDirectory() {
+            while (!done) {
+                var path = scanner.nextKey();
+                if (path == null) {
+                    done = true;
+                    return null;
+                }
+
+                var objectRoot = objectRootFromNamastePath(path);
+                if (objectRoot != null) {
+                    scanner.skipPrefix(objectRoot + "/");
+                    return objectRoot;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() {
+            done = true;
+        }
+    }
+
+    /**
+     * Iterates over the keys in the repository one page at a time, skipping keys that start with a given prefix. Keys
+     * that are skipped are dropped from the current page, and, if the page ends within the prefix, the next page is
+     * requested starting after the prefix rather than after the last key.
+     */
+    private class KeyScanner {
+
+        private String lastPath;
+        private String skipPrefix;
+        private Iterator<ListResult.ObjectListing> page;
+
+        KeyScanner(String startAfter) {
+            this.lastPath = startAfter;
+        }
+
+        String nextKey() {
+            while (true) {
+                if (page == null || !page.hasNext()) {
+                    var after = lastPath;
+                    if (skipPrefix != null && after != null && after.startsWith(skipPrefix)) {
+                        after = skipPrefix + MAX_CHAR;
+                    }
+                    var objects = cloudClient.listPage("", after, PAGE_SIZE).getObjects();
+                    if (objects.isEmpty()) {
+                        return null;
+                    }
+                    page = objects.iterator();
+                }
+
+                var path = page.next().getKey().getPath();
+                lastPath = path;
+
+                if (skipPrefix != null && path.startsWith(skipPrefix)) {
+                    continue;
+                }
+
+                return path;
+            }
+        }
+
+        void skipPrefix(String prefix) {
+            this.skipPrefix = prefix;
+        }
+    }
+
+    /**
+     * Scans ranges of the repository concurrently, and buffers the object roots that are found in a bounded queue
+     */
+    private class ParallelScanDirectory implements Directory {
+
+        private final BlockingQueue<String> queue;
+        private final AtomicReference<RuntimeException> error;
+        private final ExecutorService executor;
+        private volatile boolean closed;
+        private boolean done;
+
+        ParallelScanDirectory() {
+            var splits = splitPoints();
+            var remaining = new AtomicInteger(splits.size() + 1);
+
+            this.queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            this.error = new AtomicReference<>();
+            this.executor = Executors.newFixedThreadPool(
+                    splits.size() + 1,
+                    new ThreadFactoryBuilder()
+                            .setDaemon(true)
+                            .setNameFormat("ocfl-object-scan-%d")
+                            .build());
+
+            for (int i = 0; i <= splits.size(); i++) {
+                var startAfter = i == 0 ? null : splits.get(i - 1);
+                var endAt = i == splits.size() ? null : splits.get(i);
+
+                executor.execute(() -> {
+                    try {
+                        scanRange(startAfter, endAt, objectRoot -> {
+                            if (closed) {
+                                return false;
+                            }
+                            queue.put(objectRoot);
+                            return true;
+                        });
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (RuntimeException e) {
+                        error.compareAndSet(null, e);
+                    }
+
+                    if (remaining.decrementAndGet() == 0 || error.get() != null) {
+                        try {
+                            queue.put(END);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }
+        }
+
+        @Override
+        public String nextChildDirectory() {
+            if (done) {
+                return null;
+            }
+
+            try {
+                var next = queue.take();
+
+                if (next == END) {
+                    done = true;
+                    var e = error.get();
+                    if (e != null) {
+                        throw e;
+                    }
+                    return null;
+                }
+
+                return next;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OcflJavaException("Interrupted while waiting for the next object root", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            executor.shutdownNow();
+            queue.clear();
+        }
+    }
+}
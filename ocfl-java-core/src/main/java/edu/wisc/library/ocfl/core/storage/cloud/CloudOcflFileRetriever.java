@@ -25,10 +25,14 @@
 package edu.wisc.library.ocfl.core.storage.cloud;
 
 import edu.wisc.library.ocfl.api.OcflFileRetriever;
+import edu.wisc.library.ocfl.api.io.FixityCheckChannel;
 import edu.wisc.library.ocfl.api.io.FixityCheckInputStream;
 import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
 import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.util.BufferPool;
 import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * OcflFileRetriever implementation for lazy-loading files from cloud storage.
@@ -39,6 +43,7 @@ public class CloudOcflFileRetriever implements OcflFileRetriever {
     private final String key;
     private final DigestAlgorithm digestAlgorithm;
     private final String digestValue;
+    private final int bufferSize;
 
     public static Builder builder() {
         return new Builder();
@@ -47,23 +52,42 @@ public class CloudOcflFileRetriever implements OcflFileRetriever {
     public static class Builder {
 
         private CloudClient cloudClient;
+        private int bufferSize = BufferPool.DEFAULT_BUFFER_SIZE;
 
         public Builder cloudClient(CloudClient cloudClient) {
             this.cloudClient = cloudClient;
             return this;
         }
 
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
         public CloudOcflFileRetriever build(String key, DigestAlgorithm digestAlgorithm, String digestValue) {
-            return new CloudOcflFileRetriever(cloudClient, key, digestAlgorithm, digestValue);
+            return new CloudOcflFileRetriever(cloudClient, key, digestAlgorithm, digestValue, bufferSize);
         }
     }
 
     public CloudOcflFileRetriever(
             CloudClient cloudClient, String key, DigestAlgorithm digestAlgorithm, String digestValue) {
+        this(cloudClient, key, digestAlgorithm, digestValue, BufferPool.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param cloudClient the cloud client
+     * @param key the object's key
+     * @param digestAlgorithm the algorithm of the object's digest
+     * @param digestValue the expected digest of the object
+     * @param bufferSize the size of the buffer that downloads are read through
+     */
+    public CloudOcflFileRetriever(
+            CloudClient cloudClient, String key, DigestAlgorithm digestAlgorithm, String digestValue, int bufferSize) {
         this.cloudClient = Enforce.notNull(cloudClient, "cloudClient cannot be null");
         this.key = Enforce.notBlank(key, "key cannot be blank");
         this.digestAlgorithm = Enforce.notNull(digestAlgorithm, "digestAlgorithm cannot be null");
         this.digestValue = Enforce.notBlank(digestValue, "digestValue cannot be null");
+        this.bufferSize = Enforce.expressionTrue(bufferSize > 0, bufferSize, "bufferSize must be greater than 0");
     }
 
     /**
@@ -73,6 +97,41 @@ public class CloudOcflFileRetriever implements OcflFileRetriever {
     public FixityCheckInputStream retrieveFile() {
         // TODO caching?
         return new FixityCheckInputStream(
-                new BufferedInputStream(cloudClient.downloadStream(key)), digestAlgorithm, digestValue);
+                new BufferedInputStream(cloudClient.downloadStream(key), bufferSize), digestAlgorithm, digestValue);
+    }
+
+    /**
+     * Downloads only the range using a ranged GET. The range is not fixity checked.
+     *
+     * @param startPosition the position of the first byte to return, starting at 0
+     * @param endPosition the position of the last byte to return, inclusive
+     * @return InputStream of the file's content within the range
+     */
+    @Override
+    public InputStream retrieveRange(long startPosition, long endPosition) {
+        Enforce.expressionTrue(startPosition >= 0, startPosition, "startPosition cannot be negative");
+        Enforce.expressionTrue(
+                endPosition >= startPosition, endPosition, "endPosition cannot be less than startPosition");
+
+        return new BufferedInputStream(cloudClient.downloadStream(key, startPosition, endPosition), bufferSize);
+    }
+
+    /**
+     * Returns a channel that streams the object, and issues a ranged GET when its position is changed. The content is
+     * not fixity checked.
+     *
+     * @return SeekableByteChannel of the file's content
+     */
+    @Override
+    public SeekableByteChannel retrieveChannel() {
+        return new CloudReadChannel(cloudClient, key, bufferSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FixityCheckChannel retrieveFixityCheckChannel() {
+        return new FixityCheckChannel(retrieveChannel(), digestAlgorithm, digestValue);
     }
 }
@@ -32,13 +32,25 @@ import edu.wisc.library.ocfl.core.util.FileUtil;
 import java.util.Iterator;
 
 /**
- * Implementation of {@link OcflObjectRootDirIterator} that iterates over cloud objects
+ * Implementation of {@link OcflObjectRootDirIterator} that iterates over cloud objects. Each directory is listed
+ * once, and object roots are identified by the namaste file in their listing.
  */
 public class CloudOcflObjectRootDirIterator extends OcflObjectRootDirIterator {
 
+    private static final int BUFFER_SIZE = 1000;
+
     private final CloudClient cloudClient;
 
     public CloudOcflObjectRootDirIterator(CloudClient cloudClient) {
+        this(cloudClient, 1);
+    }
+
+    /**
+     * @param cloudClient the cloud client
+     * @param parallelism the number of directories to list concurrently, 1 to list them sequentially
+     */
+    public CloudOcflObjectRootDirIterator(CloudClient cloudClient, int parallelism) {
+        super(parallelism, BUFFER_SIZE);
         this.cloudClient = Enforce.notNull(cloudClient, "cloudClient cannot be null");
     }
 
@@ -48,6 +60,14 @@ public class CloudOcflObjectRootDirIterator extends OcflObjectRootDirIterator {
         return !listResult.getObjects().isEmpty();
     }
 
+    @Override
+    protected boolean isObjectRoot(String path, Directory directory) {
+        if (directory instanceof CloudDirectory) {
+            return ((CloudDirectory) directory).containsObjectNamaste;
+        }
+        return isObjectRoot(path);
+    }
+
     @Override
     protected Directory createDirectory(String path) {
         return new CloudDirectory(path);
@@ -56,10 +76,13 @@ public class CloudOcflObjectRootDirIterator extends OcflObjectRootDirIterator {
     private class CloudDirectory implements Directory {
 
         private final Iterator<ListResult.DirectoryListing> childDirectories;
+        private final boolean containsObjectNamaste;
 
         CloudDirectory(String path) {
             var listResult = cloudClient.listDirectory(path);
             childDirectories = listResult.getDirectories().iterator();
+            containsObjectNamaste = listResult.getObjects().stream()
+                    .anyMatch(object -> object.getKeySuffix().startsWith(OBJECT_NAMASTE_PREFIX));
         }
 
         @Override
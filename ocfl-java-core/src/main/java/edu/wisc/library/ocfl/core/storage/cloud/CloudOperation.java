@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.storage.cloud;
+
+/**
+ * The kinds of requests a {@link CloudClient} makes. Used to configure retries and rate limits per kind of request.
+ */
+public enum CloudOperation {
+
+    /**
+     * Uploading files and bytes
+     */
+    UPLOAD(true),
+    /**
+     * Copying objects within the bucket
+     */
+    COPY(true),
+    /**
+     * Deleting objects and prefixes
+     */
+    DELETE(true),
+    /**
+     * Downloading objects to files, streams, and strings
+     */
+    DOWNLOAD(false),
+    /**
+     * Retrieving object metadata and checking that the bucket exists
+     */
+    HEAD(false),
+    /**
+     * Listing objects and directories
+     */
+    LIST(false);
+
+    private final boolean write;
+
+    CloudOperation(boolean write) {
+        this.write = write;
+    }
+
+    /**
+     * @return true if the operation modifies the bucket
+     */
+    public boolean isWrite() {
+        return write;
+    }
+}
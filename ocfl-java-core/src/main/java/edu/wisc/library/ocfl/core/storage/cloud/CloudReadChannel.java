@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.storage.cloud;
+
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Read-only SeekableByteChannel over an object in cloud storage. The object is streamed from the current position, and
+ * a new ranged request is issued whenever the position is changed. The content is not fixity checked.
+ */
+class CloudReadChannel implements SeekableByteChannel {
+
+    private final CloudClient cloudClient;
+    private final String key;
+    private final int bufferSize;
+
+    private InputStream stream;
+    private long position;
+    private long size = -1;
+    private boolean open = true;
+    private byte[] transferBuffer;
+
+    CloudReadChannel(CloudClient cloudClient, String key, int bufferSize) {
+        this.cloudClient = Enforce.notNull(cloudClient, "cloudClient cannot be null");
+        this.key = Enforce.notBlank(key, "key cannot be blank");
+        this.bufferSize = Enforce.expressionTrue(bufferSize > 0, bufferSize, "bufferSize must be greater than 0");
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+
+        if (stream == null) {
+            stream = position == 0
+                    ? cloudClient.downloadStream(key)
+                    : cloudClient.downloadStream(key, position, Long.MAX_VALUE - 1);
+        }
+
+        var length = dst.remaining();
+        if (length == 0) {
+            return 0;
+        }
+
+        int read;
+        if (dst.hasArray()) {
+            read = stream.read(dst.array(), dst.arrayOffset() + dst.position(), length);
+            if (read > 0) {
+                dst.position(dst.position() + read);
+            }
+        } else {
+            // Direct buffers have no backing array, so the bytes are staged through a reused array
+            if (transferBuffer == null) {
+                transferBuffer = new byte[bufferSize];
+            }
+            read = stream.read(transferBuffer, 0, Math.min(length, transferBuffer.length));
+            if (read > 0) {
+                dst.put(transferBuffer, 0, read);
+            }
+        }
+
+        if (read > 0) {
+            position += read;
+        }
+        return read;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        Enforce.expressionTrue(newPosition >= 0, newPosition, "position cannot be negative");
+        if (newPosition != position) {
+            closeStream();
+            position = newPosition;
+        }
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        if (size == -1) {
+            size = cloudClient.head(key).getContentLength();
+        }
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        open = false;
+        closeStream();
+    }
+
+    private void closeStream() throws IOException {
+        if (stream != null) {
+            try {
+                stream.close();
+            } finally {
+                stream = null;
+            }
+        }
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
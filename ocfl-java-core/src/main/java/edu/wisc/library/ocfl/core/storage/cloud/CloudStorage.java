@@ -24,6 +24,7 @@
 
 package edu.wisc.library.ocfl.core.storage.cloud;
 
+import at.favre.lib.bytes.Bytes;
 import edu.wisc.library.ocfl.api.OcflFileRetriever;
 import edu.wisc.library.ocfl.api.exception.OcflFileAlreadyExistsException;
 import edu.wisc.library.ocfl.api.exception.OcflIOException;
@@ -33,6 +34,7 @@ import edu.wisc.library.ocfl.api.util.Enforce;
 import edu.wisc.library.ocfl.core.storage.common.Listing;
 import edu.wisc.library.ocfl.core.storage.common.OcflObjectRootDirIterator;
 import edu.wisc.library.ocfl.core.storage.common.Storage;
+import edu.wisc.library.ocfl.core.util.BufferPool;
 import edu.wisc.library.ocfl.core.util.FileUtil;
 import edu.wisc.library.ocfl.core.util.UncheckedFiles;
 import java.io.BufferedInputStream;
@@ -42,8 +44,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,10 +62,56 @@ public class CloudStorage implements Storage {
 
     private final CloudClient client;
     private final CloudOcflFileRetriever.Builder fileRetrieverBuilder;
+    private final int iterationParallelism;
+    private final boolean flatObjectScan;
+    private final int bufferSize;
 
     public CloudStorage(CloudClient client) {
+        this(client, 1, false);
+    }
+
+    /**
+     * @param client the cloud client
+     * @param iterationParallelism the number of directories to list concurrently when iterating over all of the
+     *                             objects in the repository. When greater than 1, objects are returned in no
+     *                             particular order.
+     */
+    public CloudStorage(CloudClient client, int iterationParallelism) {
+        this(client, iterationParallelism, false);
+    }
+
+    /**
+     * @param client the cloud client
+     * @param iterationParallelism the number of directories, or key ranges when flatObjectScan is true, to list
+     *                             concurrently when iterating over all of the objects in the repository. When greater
+     *                             than 1, objects are returned in no particular order.
+     * @param flatObjectScan true to find objects by scanning a flat listing of every key in the repository for object
+     *                       namaste files, rather than by walking the directory tree. This requires fewer requests for
+     *                       repositories that use hashed n-tuple layouts.
+     */
+    public CloudStorage(CloudClient client, int iterationParallelism, boolean flatObjectScan) {
+        this(client, iterationParallelism, flatObjectScan, BufferPool.defaultPool());
+    }
+
+    /**
+     * @param client the cloud client
+     * @param iterationParallelism the number of directories, or key ranges when flatObjectScan is true, to list
+     *                             concurrently when iterating over all of the objects in the repository. When greater
+     *                             than 1, objects are returned in no particular order.
+     * @param flatObjectScan true to find objects by scanning a flat listing of every key in the repository for object
+     *                       namaste files, rather than by walking the directory tree. This requires fewer requests for
+     *                       repositories that use hashed n-tuple layouts.
+     * @param bufferPool the pool that determines the size of download buffers
+     */
+    public CloudStorage(CloudClient client, int iterationParallelism, boolean flatObjectScan, BufferPool bufferPool) {
         this.client = Enforce.notNull(client, "client cannot be null");
-        this.fileRetrieverBuilder = CloudOcflFileRetriever.builder().cloudClient(client);
+        Enforce.notNull(bufferPool, "bufferPool cannot be null");
+        this.bufferSize = bufferPool.getBufferSize();
+        this.fileRetrieverBuilder =
+                CloudOcflFileRetriever.builder().cloudClient(client).bufferSize(bufferSize);
+        this.iterationParallelism = Enforce.expressionTrue(
+                iterationParallelism > 0, iterationParallelism, "iterationParallelism must be greater than 0");
+        this.flatObjectScan = flatObjectScan;
     }
 
     /**
@@ -71,7 +123,7 @@ public class CloudStorage implements Storage {
         var result = client.listDirectory(directoryPath);
 
         result.getObjects().forEach(object -> {
-            listings.add(Listing.file(object.getKeySuffix()));
+            listings.add(Listing.file(object.getKeySuffix(), object.getSize()));
         });
         result.getDirectories().forEach(dir -> {
             listings.add(Listing.directory(dir.getName()));
@@ -89,16 +141,12 @@ public class CloudStorage implements Storage {
      */
     @Override
     public List<Listing> listRecursive(String directoryPath) {
-        var listings = new ArrayList<Listing>();
-
-        var result = client.list(withTrailingSlash(directoryPath));
+        List<Listing> listings;
 
-        result.getObjects().forEach(object -> {
-            listings.add(Listing.file(object.getKeySuffix()));
-        });
-        result.getDirectories().forEach(dir -> {
-            listings.add(Listing.directory(dir.getName()));
-        });
+        try (var objects = client.listStream(withTrailingSlash(directoryPath))) {
+            listings = objects.map(object -> Listing.file(object.getKeySuffix(), object.getSize()))
+                    .collect(Collectors.toList());
+        }
 
         if (listings.isEmpty()) {
             throw new OcflNoSuchFileException(String.format("Directory %s does not exist", directoryPath));
@@ -123,7 +171,10 @@ public class CloudStorage implements Storage {
      */
     @Override
     public OcflObjectRootDirIterator iterateObjects() {
-        return new CloudOcflObjectRootDirIterator(client);
+        if (flatObjectScan) {
+            return new CloudFlatOcflObjectRootDirIterator(client, iterationParallelism);
+        }
+        return new CloudOcflObjectRootDirIterator(client, iterationParallelism);
     }
 
     /**
@@ -139,13 +190,53 @@ public class CloudStorage implements Storage {
         }
     }
 
+    /**
+     * Returns the sha256 and sha1 checksums the cloud provider stored for the object when it was uploaded, if any.
+     * Checksums of objects that were uploaded in multiple parts are checksums of the part checksums, and are not
+     * returned because they cannot be compared to a digest of the entire file.
+     *
+     * @param filePath path to the file
+     * @return map of algorithms to lowercase hex digests
+     */
+    @Override
+    public Map<DigestAlgorithm, String> storedDigests(String filePath) {
+        try {
+            var head = client.head(filePath);
+            var digests = new HashMap<DigestAlgorithm, String>();
+            addStoredDigest(digests, DigestAlgorithm.sha256, head.getChecksumSha256());
+            addStoredDigest(digests, DigestAlgorithm.sha1, head.getChecksumSha1());
+            return digests;
+        } catch (KeyNotFoundException e) {
+            throw new OcflNoSuchFileException(String.format("%s was not found", filePath), e);
+        }
+    }
+
+    private void addStoredDigest(Map<DigestAlgorithm, String> digests, DigestAlgorithm algorithm, String checksum) {
+        // Composite checksums of multipart uploads have a part count suffix, eg "abc==-3"
+        if (checksum != null && !checksum.contains("-")) {
+            digests.put(algorithm, Bytes.parseBase64(checksum).encodeHex());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public InputStream read(String filePath) {
         try {
-            return new BufferedInputStream(client.downloadStream(filePath));
+            return new BufferedInputStream(client.downloadStream(filePath), bufferSize);
+        } catch (KeyNotFoundException e) {
+            throw new OcflNoSuchFileException(String.format("%s was not found", filePath), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream readRange(String filePath, long startPosition, long endPosition) {
+        try {
+            return new BufferedInputStream(client.downloadStream(filePath, startPosition, endPosition), bufferSize);
         } catch (KeyNotFoundException e) {
             throw new OcflNoSuchFileException(String.format("%s was not found", filePath), e);
         }
@@ -193,23 +284,28 @@ public class CloudStorage implements Storage {
      */
     @Override
     public void copyDirectoryOutOf(String source, Path outputPath) {
-        var objects = client.list(withTrailingSlash(source)).getObjects();
-
-        if (objects.isEmpty()) {
-            throw new OcflNoSuchFileException(String.format("Directory %s does not exist", source));
-        }
+        var downloads = new ArrayList<CompletableFuture<Path>>();
 
-        objects.forEach(object -> {
-            var destination = outputPath.resolve(object.getKeySuffix());
+        try (var objects = client.listStream(withTrailingSlash(source))) {
+            var iterator = objects.iterator();
+            while (iterator.hasNext()) {
+                var object = iterator.next();
+                var destination = outputPath.resolve(object.getKeySuffix());
 
-            UncheckedFiles.createDirectories(destination.getParent());
+                UncheckedFiles.createDirectories(destination.getParent());
 
-            try (var stream = client.downloadStream(object.getKey().getPath())) {
-                Files.copy(stream, destination);
-            } catch (IOException e) {
-                throw OcflIOException.from(e);
+                addAndFailFast(
+                        downloads, client.downloadFileAsync(object.getKey().getPath(), destination));
             }
-        });
+            joinAll(downloads);
+        } catch (RuntimeException e) {
+            awaitQuietly(downloads);
+            throw e;
+        }
+
+        if (downloads.isEmpty()) {
+            throw new OcflNoSuchFileException(String.format("Directory %s does not exist", source));
+        }
     }
 
     /**
@@ -239,16 +335,20 @@ public class CloudStorage implements Storage {
     public void moveDirectoryInto(Path source, String destination) {
         failOnExistingDir(destination);
 
-        var objectKeys = Collections.synchronizedList(new ArrayList<String>());
+        var objectKeys = new ArrayList<String>();
+        var uploads = new ArrayList<CompletableFuture<CloudObjectKey>>();
 
         try (var paths = Files.walk(source)) {
             paths.filter(Files::isRegularFile).forEach(file -> {
                 var relative = FileUtil.pathToStringStandardSeparator(source.relativize(file));
                 var key = FileUtil.pathJoinFailEmpty(destination, relative);
-                client.uploadFile(file, key);
                 objectKeys.add(key);
+                addAndFailFast(uploads, client.uploadFileAsync(file, key));
             });
+            joinAll(uploads);
         } catch (IOException | RuntimeException e) {
+            // In flight uploads must finish before they can be cleaned up
+            awaitQuietly(uploads);
             client.safeDeleteObjects(objectKeys);
 
             if (e instanceof IOException) {
@@ -269,18 +369,21 @@ public class CloudStorage implements Storage {
 
         var srcKeys = new ArrayList<String>();
         var dstKeys = new ArrayList<String>();
+        var copies = new ArrayList<CompletableFuture<CloudObjectKey>>();
 
         try {
             for (var file : files) {
                 if (file.isFile()) {
                     var srcFile = FileUtil.pathJoinIgnoreEmpty(source, file.getRelativePath());
                     var dstFile = FileUtil.pathJoinIgnoreEmpty(destination, file.getRelativePath());
-                    client.copyObject(srcFile, dstFile);
                     srcKeys.add(srcFile);
                     dstKeys.add(dstFile);
+                    addAndFailFast(copies, client.copyObjectAsync(srcFile, dstFile));
                 }
             }
+            joinAll(copies);
         } catch (RuntimeException e) {
+            awaitQuietly(copies);
             client.safeDeleteObjects(dstKeys);
             throw e;
         }
@@ -343,6 +446,40 @@ public class CloudStorage implements Storage {
         }
     }
 
+    /**
+     * Adds the future to the list, and throws immediately if it has already failed. This stops the submission of new
+     * requests on the first failure when the client completes its futures synchronously.
+     */
+    private static <T> void addAndFailFast(List<CompletableFuture<T>> futures, CompletableFuture<T> future) {
+        futures.add(future);
+        if (future.isCompletedExceptionally()) {
+            join(future);
+        }
+    }
+
+    private static <T> void joinAll(List<CompletableFuture<T>> futures) {
+        futures.forEach(CloudStorage::join);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static <T> void awaitQuietly(List<CompletableFuture<T>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (RuntimeException e) {
+            // the failures are handled by the caller
+        }
+    }
+
     private String withTrailingSlash(String value) {
         if (value.endsWith("/")) {
             return value;
@@ -36,6 +36,8 @@ public class HeadResult {
     private String contentEncoding;
     private String eTag;
     private Instant lastModified;
+    private String checksumSha256;
+    private String checksumSha1;
 
     public Long getContentLength() {
         return contentLength;
@@ -73,6 +75,30 @@ public class HeadResult {
         return this;
     }
 
+    /**
+     * @return the base64 encoded sha256 checksum the cloud provider stored for the object, or null
+     */
+    public String getChecksumSha256() {
+        return checksumSha256;
+    }
+
+    public HeadResult setChecksumSha256(String checksumSha256) {
+        this.checksumSha256 = checksumSha256;
+        return this;
+    }
+
+    /**
+     * @return the base64 encoded sha1 checksum the cloud provider stored for the object, or null
+     */
+    public String getChecksumSha1() {
+        return checksumSha1;
+    }
+
+    public HeadResult setChecksumSha1(String checksumSha1) {
+        this.checksumSha1 = checksumSha1;
+        return this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -85,12 +111,14 @@ public class HeadResult {
         return Objects.equals(contentLength, that.contentLength)
                 && Objects.equals(contentEncoding, that.contentEncoding)
                 && Objects.equals(eTag, that.eTag)
-                && Objects.equals(lastModified, that.lastModified);
+                && Objects.equals(lastModified, that.lastModified)
+                && Objects.equals(checksumSha256, that.checksumSha256)
+                && Objects.equals(checksumSha1, that.checksumSha1);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(contentLength, contentEncoding, eTag, lastModified);
+        return Objects.hash(contentLength, contentEncoding, eTag, lastModified, checksumSha256, checksumSha1);
     }
 
     @Override
@@ -99,6 +127,8 @@ public class HeadResult {
                 + contentLength + ", contentEncoding='"
                 + contentEncoding + '\'' + ", eTag='"
                 + eTag + '\'' + ", lastModified="
-                + lastModified + '}';
+                + lastModified + ", checksumSha256='"
+                + checksumSha256 + '\'' + ", checksumSha1='"
+                + checksumSha1 + '\'' + '}';
     }
 }
@@ -82,6 +82,7 @@ public class ListResult {
 
         private CloudObjectKey key;
         private String keySuffix;
+        private Long size;
 
         /**
          * The key the object is stored at.
@@ -111,9 +112,24 @@ public class ListResult {
             return this;
         }
 
+        /**
+         * The size of the object in bytes, if it was returned by the list operation
+         *
+         * @return object size or null
+         */
+        public Long getSize() {
+            return size;
+        }
+
+        public ObjectListing setSize(Long size) {
+            this.size = size;
+            return this;
+        }
+
         @Override
         public String toString() {
-            return "ObjectListing{" + "key='" + key + '\'' + ", keySuffix='" + keySuffix + '\'' + '}';
+            return "ObjectListing{" + "key='" + key + '\'' + ", keySuffix='" + keySuffix + '\'' + ", size=" + size
+                    + '}';
         }
     }
 
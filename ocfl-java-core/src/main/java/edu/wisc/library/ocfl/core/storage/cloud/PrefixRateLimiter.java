@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.storage.cloud;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.wisc.library.ocfl.api.exception.OcflJavaException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the rate of requests per key prefix. Object stores such as S3 scale request throughput per prefix, and
+ * throttle a prefix that receives requests faster than it has scaled to. Spreading requests to the rate a prefix
+ * sustains avoids the throttling, rather than reacting to it after the fact.
+ *
+ * <p>The prefix of a path is its first {@code prefixDepth} segments. Reads and writes are limited separately, as S3
+ * allows more reads than writes per prefix.
+ *
+ * <p>Each request reserves the next free slot for its prefix. A prefix that has been idle may send up to one second's
+ * worth of requests at once. {@link #reserve(CloudOperation, String)} returns how long to wait for the slot without
+ * waiting, so that asynchronous requests can be scheduled rather than blocking a thread.
+ */
+class PrefixRateLimiter {
+
+    private final int prefixDepth;
+    private final double writesPerSecond;
+    private final double readsPerSecond;
+
+    private final Cache<String, SlotLimiter> writeLimiters;
+    private final Cache<String, SlotLimiter> readLimiters;
+
+    /**
+     * @param prefixDepth the number of path segments that make up a prefix
+     * @param writesPerSecond the maximum write requests per second per prefix, or 0 for no limit
+     * @param readsPerSecond the maximum read requests per second per prefix, or 0 for no limit
+     */
+    PrefixRateLimiter(int prefixDepth, double writesPerSecond, double readsPerSecond) {
+        this.prefixDepth = prefixDepth;
+        this.writesPerSecond = writesPerSecond;
+        this.readsPerSecond = readsPerSecond;
+        this.writeLimiters = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(5))
+                .maximumSize(10_000)
+                .build();
+        this.readLimiters = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(5))
+                .maximumSize(10_000)
+                .build();
+    }
+
+    /**
+     * Waits until a request for the path may be sent.
+     *
+     * @param operation the kind of request
+     * @param path the path the request is for
+     * @return the number of milliseconds waited
+     */
+    long acquire(CloudOperation operation, String path) {
+        var waitNanos = reserve(operation, path);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OcflJavaException("Interrupted while waiting for the request rate limit", e);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    }
+
+    /**
+     * Reserves the next slot a request for the path may be sent in, without waiting for it.
+     *
+     * @param operation the kind of request
+     * @param path the path the request is for
+     * @return the number of nanoseconds until the request may be sent
+     */
+    long reserve(CloudOperation operation, String path) {
+        var rate = operation.isWrite() ? writesPerSecond : readsPerSecond;
+        if (rate <= 0) {
+            return 0;
+        }
+        var limiters = operation.isWrite() ? writeLimiters : readLimiters;
+        var limiter = limiters.get(prefix(path), k -> new SlotLimiter(rate));
+        return limiter.reserve(System.nanoTime());
+    }
+
+    String prefix(String path) {
+        if (path == null) {
+            return "";
+        }
+        var index = -1;
+        for (int i = 0; i < prefixDepth; i++) {
+            index = path.indexOf('/', index + 1);
+            if (index == -1) {
+                return path;
+            }
+        }
+        return path.substring(0, index);
+    }
+
+    /**
+     * Hands out evenly spaced slots. Slots that went unused while idle are kept for up to one second, so that a burst
+     * after a quiet period is not spread out needlessly.
+     */
+    private static class SlotLimiter {
+
+        private static final long MAX_BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final long intervalNanos;
+        private long nextFreeNanos;
+
+        SlotLimiter(double permitsPerSecond) {
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+            this.nextFreeNanos = System.nanoTime();
+        }
+
+        synchronized long reserve(long nowNanos) {
+            var earliest = nowNanos - MAX_BURST_NANOS;
+            var start = nextFreeNanos - earliest > 0 ? nextFreeNanos : earliest;
+            nextFreeNanos = start + intervalNanos;
+            return Math.max(0, start - nowNanos);
+        }
+    }
+}
@@ -0,0 +1,586 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.storage.cloud;
+
+import edu.wisc.library.ocfl.api.exception.OcflInputException;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import net.jodah.failsafe.Failsafe;
+import net.jodah.failsafe.FailsafeExecutor;
+import net.jodah.failsafe.RetryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * CloudClient decorator that retries failed requests, limits how many requests are in flight, and limits the rate of
+ * requests per key prefix.
+ *
+ * <p>Each {@link CloudOperation} has its own Failsafe retry policy. Every attempt is counted against an optional
+ * {@link AimdConcurrencyLimiter}, which lowers the number of concurrent requests when the throttling classifier reports
+ * that the service is overloaded, and slowly raises it again as requests succeed. An optional per-prefix rate limit
+ * spreads requests out before they are sent.
+ *
+ * <p>Synchronous requests wait for the rate limit and for a permit on the calling thread. Asynchronous requests never
+ * block a thread: they are delayed on the retry scheduler until their rate limit slot, and then sent when a permit
+ * frees up.
+ *
+ * <p>Only opening a stream or listing is retried. Failures that occur while the stream or listing is consumed are
+ * passed to the caller.
+ */
+public class ResilientCloudClient implements CloudClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResilientCloudClient.class);
+
+    private final CloudClient delegate;
+    private final Map<CloudOperation, FailsafeExecutor<Object>> executors;
+    private final Predicate<Throwable> throttlingClassifier;
+    private final AimdConcurrencyLimiter concurrencyLimiter;
+    private final PrefixRateLimiter rateLimiter;
+    private final CloudClientMetrics metrics;
+    private final ScheduledExecutorService retryScheduler;
+
+    /**
+     * Used to create a new ResilientCloudClient instance.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The retry policy that is used for operations that do not have one configured. It retries runtime exceptions,
+     * other than missing keys and invalid input, up to 5 times with exponential backoff from 50 ms to 5 seconds.
+     *
+     * @return a new retry policy
+     */
+    public static RetryPolicy<Object> defaultRetryPolicy() {
+        return new RetryPolicy<>()
+                .handle(RuntimeException.class)
+                .abortOn(KeyNotFoundException.class, OcflInputException.class)
+                .withBackoff(50, 5000, ChronoUnit.MILLIS)
+                .withJitter(0.25)
+                .withMaxRetries(5);
+    }
+
+    /**
+     * @see ResilientCloudClient#builder()
+     *
+     * @param delegate the client to send requests with
+     * @param retryPolicies the retry policy to use per operation, operations without a policy use the default
+     * @param throttlingClassifier returns true for exceptions that indicate the service is throttling requests, may be
+     *                             null
+     * @param concurrencyLimiter limits the number of concurrent requests, may be null
+     * @param prefixDepth the number of path segments that make up a prefix for rate limiting
+     * @param writesPerSecond the maximum write requests per second per prefix, or 0 for no limit
+     * @param readsPerSecond the maximum read requests per second per prefix, or 0 for no limit
+     * @param retryScheduler the scheduler asynchronous retries and rate limit delays are run on, may be null to use
+     *                       the common pool
+     */
+    public ResilientCloudClient(
+            CloudClient delegate,
+            Map<CloudOperation, RetryPolicy<Object>> retryPolicies,
+            Predicate<Throwable> throttlingClassifier,
+            AimdConcurrencyLimiter concurrencyLimiter,
+            int prefixDepth,
+            double writesPerSecond,
+            double readsPerSecond,
+            ScheduledExecutorService retryScheduler) {
+        this.delegate = Enforce.notNull(delegate, "delegate cannot be null");
+        this.throttlingClassifier = throttlingClassifier != null ? throttlingClassifier : e -> false;
+        this.concurrencyLimiter = concurrencyLimiter;
+        Enforce.expressionTrue(prefixDepth >= 0, prefixDepth, "prefixDepth cannot be negative");
+        this.rateLimiter = writesPerSecond > 0 || readsPerSecond > 0
+                ? new PrefixRateLimiter(prefixDepth, writesPerSecond, readsPerSecond)
+                : null;
+        this.metrics = new CloudClientMetrics();
+        this.retryScheduler = retryScheduler;
+
+        this.executors = new EnumMap<>(CloudOperation.class);
+        for (var operation : CloudOperation.values()) {
+            var policy = retryPolicies == null ? null : retryPolicies.get(operation);
+            if (policy == null) {
+                policy = defaultRetryPolicy();
+            }
+            var executor = Failsafe.with(policy);
+            if (retryScheduler != null) {
+                executor = executor.with(retryScheduler);
+            }
+            executors.put(operation, executor);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String bucket() {
+        return delegate.bucket();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String prefix() {
+        return delegate.prefix();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloudObjectKey uploadFile(Path srcPath, String dstPath) {
+        return call(CloudOperation.UPLOAD, dstPath, () -> delegate.uploadFile(srcPath, dstPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloudObjectKey uploadFile(Path srcPath, String dstPath, String contentType) {
+        return call(CloudOperation.UPLOAD, dstPath, () -> delegate.uploadFile(srcPath, dstPath, contentType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CloudObjectKey> uploadFileAsync(Path srcPath, String dstPath) {
+        return callAsync(CloudOperation.UPLOAD, dstPath, () -> delegate.uploadFileAsync(srcPath, dstPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloudObjectKey uploadBytes(String dstPath, byte[] bytes, String contentType) {
+        return call(CloudOperation.UPLOAD, dstPath, () -> delegate.uploadBytes(dstPath, bytes, contentType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CloudObjectKey copyObject(String srcPath, String dstPath) {
+        return call(CloudOperation.COPY, dstPath, () -> delegate.copyObject(srcPath, dstPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<CloudObjectKey> copyObjectAsync(String srcPath, String dstPath) {
+        return callAsync(CloudOperation.COPY, dstPath, () -> delegate.copyObjectAsync(srcPath, dstPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path downloadFile(String srcPath, Path dstPath) {
+        return call(CloudOperation.DOWNLOAD, srcPath, () -> delegate.downloadFile(srcPath, dstPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Path> downloadFileAsync(String srcPath, Path dstPath) {
+        return callAsync(CloudOperation.DOWNLOAD, srcPath, () -> delegate.downloadFileAsync(srcPath, dstPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream downloadStream(String srcPath) {
+        return call(CloudOperation.DOWNLOAD, srcPath, () -> delegate.downloadStream(srcPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream downloadStream(String srcPath, long startPosition, long endPosition) {
+        return call(
+                CloudOperation.DOWNLOAD, srcPath, () -> delegate.downloadStream(srcPath, startPosition, endPosition));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String downloadString(String srcPath) {
+        return call(CloudOperation.DOWNLOAD, srcPath, () -> delegate.downloadString(srcPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public HeadResult head(String path) {
+        return call(CloudOperation.HEAD, path, () -> delegate.head(path));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListResult list(String prefix) {
+        return call(CloudOperation.LIST, prefix, () -> delegate.list(prefix));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<ListResult.ObjectListing> listStream(String prefix) {
+        return call(CloudOperation.LIST, prefix, () -> delegate.listStream(prefix));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListResult listPage(String prefix, String startAfter, int maxKeys) {
+        return call(CloudOperation.LIST, prefix, () -> delegate.listPage(prefix, startAfter, maxKeys));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListResult listDirectory(String path) {
+        return call(CloudOperation.LIST, path, () -> delegate.listDirectory(path));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean directoryExists(String path) {
+        return call(CloudOperation.LIST, path, () -> delegate.directoryExists(path));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deletePath(String path) {
+        call(CloudOperation.DELETE, path, () -> {
+            delegate.deletePath(path);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteObjects(Collection<String> objectKeys) {
+        if (objectKeys.isEmpty()) {
+            return;
+        }
+        call(CloudOperation.DELETE, objectKeys.iterator().next(), () -> {
+            delegate.deleteObjects(objectKeys);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void safeDeleteObjects(String... objectKeys) {
+        safeDeleteObjects(Arrays.asList(objectKeys));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Unlike the wrapped client, the delete is retried before the failure is suppressed.
+     */
+    @Override
+    public void safeDeleteObjects(Collection<String> objectKeys) {
+        try {
+            deleteObjects(objectKeys);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to cleanup objects in bucket {}: {}", bucket(), objectKeys, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean bucketExists() {
+        return call(CloudOperation.HEAD, "", delegate::bucketExists);
+    }
+
+    /**
+     * @return the wrapped client
+     */
+    public CloudClient getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return counts of the requests this client has made
+     */
+    public CloudClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the concurrency limiter, or null if concurrency is not limited
+     */
+    public AimdConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    private <T> T call(CloudOperation operation, String path, Supplier<T> request) {
+        metrics.recordOperation();
+        return executors.get(operation).get(() -> attempt(operation, path, request));
+    }
+
+    private <T> T attempt(CloudOperation operation, String path, Supplier<T> request) {
+        waitForRateLimit(operation, path);
+        var permit = concurrencyLimiter == null ? null : concurrencyLimiter.acquire();
+        var throttled = false;
+        try {
+            metrics.recordRequest();
+            return request.get();
+        } catch (RuntimeException e) {
+            throttled = recordFailure(e);
+            LOG.debug("{} request for {} failed", operation, path, e);
+            throw e;
+        } finally {
+            if (permit != null) {
+                permit.release(throttled);
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> callAsync(
+            CloudOperation operation, String path, Supplier<CompletableFuture<T>> request) {
+        metrics.recordOperation();
+        return executors.get(operation).getStageAsync(() -> attemptAsync(operation, path, request));
+    }
+
+    /**
+     * Neither the rate limit nor the concurrency limit blocks a thread. The request is sent by whichever thread
+     * completes the wait: the retry scheduler after a rate limit delay, or the thread that releases a permit.
+     */
+    private <T> CompletableFuture<T> attemptAsync(
+            CloudOperation operation, String path, Supplier<CompletableFuture<T>> request) {
+        return delayForRateLimit(operation, path)
+                .thenCompose(ignored -> concurrencyLimiter == null
+                        ? CompletableFuture.<AimdConcurrencyLimiter.Permit>completedFuture(null)
+                        : concurrencyLimiter.acquireAsync())
+                .thenCompose(permit -> sendAsync(request, permit));
+    }
+
+    private <T> CompletableFuture<T> sendAsync(
+            Supplier<CompletableFuture<T>> request, AimdConcurrencyLimiter.Permit permit) {
+        CompletableFuture<T> future;
+        try {
+            metrics.recordRequest();
+            future = request.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        return future.whenComplete((result, error) -> {
+            var throttled = error != null && recordFailure(error);
+            if (permit != null) {
+                permit.release(throttled);
+            }
+        });
+    }
+
+    private void waitForRateLimit(CloudOperation operation, String path) {
+        if (rateLimiter != null) {
+            var waited = rateLimiter.acquire(operation, path);
+            if (waited > 0) {
+                metrics.recordRateLimited(waited);
+            }
+        }
+    }
+
+    private CompletableFuture<Void> delayForRateLimit(CloudOperation operation, String path) {
+        var waitNanos = rateLimiter == null ? 0 : rateLimiter.reserve(operation, path);
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        metrics.recordRateLimited(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+
+        if (retryScheduler == null) {
+            return CompletableFuture.runAsync(
+                    () -> {}, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+        }
+
+        var delay = new CompletableFuture<Void>();
+        retryScheduler.schedule(() -> delay.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+        return delay;
+    }
+
+    private boolean recordFailure(Throwable error) {
+        var cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        metrics.recordFailedRequest();
+
+        if (throttlingClassifier.test(cause)) {
+            metrics.recordThrottled();
+            return true;
+        }
+        return false;
+    }
+
+    public static class Builder {
+        private CloudClient delegate;
+        private final Map<CloudOperation, RetryPolicy<Object>> retryPolicies = new EnumMap<>(CloudOperation.class);
+        private Predicate<Throwable> throttlingClassifier;
+        private AimdConcurrencyLimiter concurrencyLimiter;
+        private int prefixDepth = 1;
+        private double writesPerSecond;
+        private double readsPerSecond;
+        private ScheduledExecutorService retryScheduler;
+
+        /**
+         * The client to send requests with. Required.
+         *
+         * @param delegate the wrapped client
+         * @return builder
+         */
+        public Builder delegate(CloudClient delegate) {
+            this.delegate = Enforce.notNull(delegate, "delegate cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the retry policy for an operation. Operations that do not have a policy use
+         * {@link ResilientCloudClient#defaultRetryPolicy()}. A policy may not be shared between operations.
+         *
+         * @param operation the operation
+         * @param retryPolicy the retry policy
+         * @return builder
+         */
+        public Builder retryPolicy(CloudOperation operation, RetryPolicy<Object> retryPolicy) {
+            Enforce.notNull(operation, "operation cannot be null");
+            this.retryPolicies.put(operation, Enforce.notNull(retryPolicy, "retryPolicy cannot be null"));
+            return this;
+        }
+
+        /**
+         * Identifies exceptions that mean the service is throttling requests, such as S3's 503 SlowDown. Throttled
+         * requests lower the concurrency limit. Optional. Default: nothing is considered throttled.
+         *
+         * @param throttlingClassifier returns true for exceptions caused by throttling
+         * @return builder
+         */
+        public Builder throttlingClassifier(Predicate<Throwable> throttlingClassifier) {
+            this.throttlingClassifier = throttlingClassifier;
+            return this;
+        }
+
+        /**
+         * Limits the number of requests in flight at once, and adjusts the limit based on throttling. Optional.
+         * Default: concurrency is not limited.
+         *
+         * @param concurrencyLimiter the concurrency limiter
+         * @return builder
+         */
+        public Builder concurrencyLimiter(AimdConcurrencyLimiter concurrencyLimiter) {
+            this.concurrencyLimiter = concurrencyLimiter;
+            return this;
+        }
+
+        /**
+         * Limits the rate of requests per key prefix. Optional. Default: the rate is not limited.
+         *
+         * <p>A prefix is the first {@code prefixDepth} segments of an object path. S3 supports 3,500 write and 5,500
+         * read requests per second per prefix.
+         *
+         * @param prefixDepth the number of path segments that make up a prefix
+         * @param writesPerSecond the maximum write requests per second per prefix, or 0 for no limit
+         * @param readsPerSecond the maximum read requests per second per prefix, or 0 for no limit
+         * @return builder
+         */
+        public Builder prefixRateLimits(int prefixDepth, double writesPerSecond, double readsPerSecond) {
+            this.prefixDepth = prefixDepth;
+            this.writesPerSecond = writesPerSecond;
+            this.readsPerSecond = readsPerSecond;
+            return this;
+        }
+
+        /**
+         * The scheduler that retries of asynchronous requests, and asynchronous requests that are delayed by the prefix
+         * rate limit, are run on. Requests are only sent from it, it is never blocked waiting for a limit. Optional.
+         * Default: the common pool.
+         *
+         * @param retryScheduler the scheduler
+         * @return builder
+         */
+        public Builder retryScheduler(ScheduledExecutorService retryScheduler) {
+            this.retryScheduler = retryScheduler;
+            return this;
+        }
+
+        /**
+         * Constructs a new ResilientCloudClient. delegate must be set.
+         *
+         * @return ResilientCloudClient
+         */
+        public ResilientCloudClient build() {
+            return new ResilientCloudClient(
+                    delegate,
+                    retryPolicies,
+                    throttlingClassifier,
+                    concurrencyLimiter,
+                    prefixDepth,
+                    writesPerSecond,
+                    readsPerSecond,
+                    retryScheduler);
+        }
+    }
+}
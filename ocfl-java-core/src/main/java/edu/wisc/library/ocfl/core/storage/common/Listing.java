@@ -28,7 +28,8 @@ import edu.wisc.library.ocfl.api.util.Enforce;
 import java.util.Objects;
 
 /**
- * The result of a storage list operation
+ * The result of a storage list operation. File listings may optionally include the size of the file, if the storage
+ * implementation is able to provide it without additional requests. The size is not considered when comparing listings.
  */
 public class Listing {
 
@@ -40,6 +41,7 @@ public class Listing {
 
     private final Type type;
     private final String relativePath;
+    private final Long size;
 
     /**
      * Creates a file listing. The path MUST use forward slashes as path separators.
@@ -51,6 +53,17 @@ public class Listing {
         return new Listing(Type.File, relativePath);
     }
 
+    /**
+     * Creates a file listing that includes the file's size. The path MUST use forward slashes as path separators.
+     *
+     * @param relativePath relative path to the file
+     * @param size the size of the file in bytes, or null if unknown
+     * @return file listing
+     */
+    public static Listing file(String relativePath, Long size) {
+        return new Listing(Type.File, relativePath, size);
+    }
+
     /**
      * Creates a directory listing. The path MUST use forward slashes as path separators.
      *
@@ -73,8 +86,13 @@ public class Listing {
     }
 
     public Listing(Type type, String relativePath) {
+        this(type, relativePath, null);
+    }
+
+    public Listing(Type type, String relativePath, Long size) {
         this.type = Enforce.notNull(type, "type cannot be null");
         this.relativePath = Enforce.notNull(relativePath, "relativePath cannot be null");
+        this.size = size;
     }
 
     /**
@@ -91,6 +109,13 @@ public class Listing {
         return type;
     }
 
+    /**
+     * @return the size of the file in bytes, or null if the size is unknown
+     */
+    public Long getSize() {
+        return size;
+    }
+
     public boolean isFile() {
         return type == Type.File;
     }
@@ -105,7 +130,7 @@ public class Listing {
 
     @Override
     public String toString() {
-        return "Listing{" + "type=" + type + ", relativePath='" + relativePath + '\'' + '}';
+        return "Listing{" + "type=" + type + ", relativePath='" + relativePath + '\'' + ", size=" + size + '}';
     }
 
     @Override
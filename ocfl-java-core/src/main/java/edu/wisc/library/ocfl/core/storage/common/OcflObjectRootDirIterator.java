@@ -25,26 +25,94 @@
 package edu.wisc.library.ocfl.core.storage.common;
 
 import edu.wisc.library.ocfl.api.OcflConstants;
+import edu.wisc.library.ocfl.api.exception.OcflJavaException;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Iterator that iterates over OCFL object root directories. Object roots are identified by the presence of a file that's
  * prefixed with '0=ocfl_object'.
+ *
+ * <p>By default, the directory tree is walked depth first on the calling thread, and object roots are returned in a
+ * stable order. When a parallelism greater than 1 is specified, the tree is instead walked by a dedicated fork join
+ * pool. Each directory is listed by its own task, so sibling directories, such as the tuple directories of a hashed
+ * layout, are listed concurrently. The object roots that are found are returned in no particular order. They are
+ * buffered in a bounded queue, and the walk pauses when the queue is full until the consumer catches up.
+ *
+ * <p>Alternatively, a parallel walk may be ordered, in which case object roots are returned in the same order as a
+ * sequential walk. The tree is still walked depth first on the calling thread, but the children of each directory on
+ * the current path are listed ahead of time by the pool, up to a fixed number of children per directory. This is
+ * slower than an unordered walk, because the walk cannot run ahead of the consumer, but it is still much faster than
+ * a sequential walk when listing a directory is slow.
  */
 public abstract class OcflObjectRootDirIterator implements Iterator<String>, Closeable {
 
+    private static final String END = new String("END");
+
     private boolean started = false;
-    private boolean closed = false;
+    private volatile boolean closed = false;
 
     private final ArrayDeque<Directory> dirStack;
     private String next;
 
+    private final int parallelism;
+    private final boolean ordered;
+    private final int bufferSize;
+    private final ArrayDeque<OrderedFrame> frameStack;
+    private final BlockingQueue<String> queue;
+    private final AtomicLong pendingTasks;
+    private final AtomicReference<RuntimeException> error;
+    private ForkJoinPool pool;
+
     public OcflObjectRootDirIterator() {
+        this(1, 0);
+    }
+
+    /**
+     * @param parallelism the number of directories to list concurrently, 1 to walk the tree on the calling thread
+     * @param bufferSize the maximum number of object roots to find before they are consumed, when parallelism is
+     *                   greater than 1
+     */
+    protected OcflObjectRootDirIterator(int parallelism, int bufferSize) {
+        this(parallelism, bufferSize, false);
+    }
+
+    /**
+     * @param parallelism the number of directories to list concurrently, 1 to walk the tree on the calling thread
+     * @param bufferSize when parallelism is greater than 1, the maximum number of object roots to find before they are
+     *                   consumed, or, when ordered, the maximum number of children per directory to list ahead of time
+     * @param ordered true if object roots should be returned in the same order as a sequential walk when parallelism
+     *                is greater than 1
+     */
+    protected OcflObjectRootDirIterator(int parallelism, int bufferSize, boolean ordered) {
         this.dirStack = new ArrayDeque<>();
+        this.frameStack = new ArrayDeque<>();
+        this.parallelism = Math.max(1, parallelism);
+        this.ordered = ordered;
+        this.bufferSize = Math.max(1, bufferSize);
+        if (this.parallelism > 1 && !ordered) {
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+            this.pendingTasks = new AtomicLong();
+            this.error = new AtomicReference<>();
+        } else {
+            this.queue = null;
+            this.pendingTasks = null;
+            this.error = null;
+        }
     }
 
     /**
@@ -55,6 +123,18 @@ public abstract class OcflObjectRootDirIterator implements Iterator<String>, Clo
      */
     protected abstract boolean isObjectRoot(String path);
 
+    /**
+     * Indicates if a directory is an object root. Implementations that are able to identify object roots from the
+     * directory listing they already have should override this method to avoid additional requests.
+     *
+     * @param path directory path
+     * @param directory the directory object for the path, as created by {@link #createDirectory(String)}
+     * @return true if path is an object root path
+     */
+    protected boolean isObjectRoot(String path, Directory directory) {
+        return isObjectRoot(path);
+    }
+
     /**
      * Creates an object to maintain directory state
      *
@@ -66,10 +146,19 @@ public abstract class OcflObjectRootDirIterator implements Iterator<String>, Clo
     @Override
     public void close() {
         if (!closed) {
+            closed = true;
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            if (queue != null) {
+                queue.clear();
+            }
+            while (!frameStack.isEmpty()) {
+                frameStack.pop().cancel();
+            }
             while (!dirStack.isEmpty()) {
                 popDirectory();
             }
-            closed = true;
         }
     }
 
@@ -78,8 +167,14 @@ public abstract class OcflObjectRootDirIterator implements Iterator<String>, Clo
         if (closed) {
             throw new IllegalStateException("Iterator is closed.");
         }
-        fetchNextIfNeeded();
-        return next != null;
+        if (parallelism > 1 && ordered) {
+            walkNextIfNeeded();
+        } else if (parallelism > 1) {
+            takeNextIfNeeded();
+        } else {
+            fetchNextIfNeeded();
+        }
+        return next != null && next != END;
     }
 
     @Override
@@ -99,7 +194,7 @@ public abstract class OcflObjectRootDirIterator implements Iterator<String>, Clo
             while (nextDirectory != null) {
                 if (shouldSkip(nextDirectory)) {
                     popDirectory();
-                } else if (isObjectRoot(nextDirectory)) {
+                } else if (isObjectRoot(nextDirectory, dirStack.peek())) {
                     // Do not process children
                     popDirectory();
                     next = nextDirectory;
@@ -144,10 +239,204 @@ public abstract class OcflObjectRootDirIterator implements Iterator<String>, Clo
         }
     }
 
+    private void takeNextIfNeeded() {
+        if (!started) {
+            pool = new ForkJoinPool(parallelism);
+            pendingTasks.incrementAndGet();
+            pool.execute(new DirectoryTask(""));
+            started = true;
+        }
+
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new OcflJavaException("Interrupted while waiting for the next object root", e);
+            }
+        }
+
+        if (next == END) {
+            var e = error.get();
+            if (e != null) {
+                pool.shutdownNow();
+                throw e;
+            }
+            pool.shutdown();
+        }
+    }
+
+    private void walkNextIfNeeded() {
+        if (!started) {
+            pool = new ForkJoinPool(parallelism);
+            frameStack.push(new OrderedFrame(awaitListing(submitListing("")).children));
+            started = true;
+        }
+
+        while (next == null && !frameStack.isEmpty()) {
+            var listing = frameStack.peek().pollNext();
+
+            if (listing == null) {
+                frameStack.pop();
+            } else {
+                var directory = awaitListing(listing);
+                if (directory.objectRoot) {
+                    next = directory.path;
+                } else {
+                    frameStack.push(new OrderedFrame(directory.children));
+                }
+            }
+        }
+
+        if (next == null) {
+            next = END;
+            pool.shutdown();
+        }
+    }
+
+    private CompletableFuture<ListedDirectory> submitListing(String path) {
+        return CompletableFuture.supplyAsync(() -> listDirectory(path), pool);
+    }
+
+    private ListedDirectory awaitListing(CompletableFuture<ListedDirectory> listing) {
+        try {
+            return listing.join();
+        } catch (CompletionException | CancellationException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private ListedDirectory listDirectory(String path) {
+        var directory = createDirectory(path);
+        try {
+            if (!path.isEmpty() && isObjectRoot(path, directory)) {
+                return new ListedDirectory(path, true, List.of());
+            }
+
+            var children = new ArrayList<String>();
+            String child;
+            while (!closed && (child = directory.nextChildDirectory()) != null) {
+                if (!shouldSkip(child)) {
+                    children.add(child);
+                }
+            }
+            return new ListedDirectory(path, false, children);
+        } finally {
+            try {
+                directory.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
     private boolean shouldSkip(String path) {
         return OcflConstants.EXTENSIONS_DIR.equals(path);
     }
 
+    /**
+     * Lists a single directory. Child directories are forked as new tasks, unless the directory is an object root.
+     */
+    private class DirectoryTask extends RecursiveAction {
+
+        private final String path;
+
+        DirectoryTask(String path) {
+            this.path = path;
+        }
+
+        @Override
+        protected void compute() {
+            try (var directory = createDirectory(path)) {
+                if (!path.isEmpty() && isObjectRoot(path, directory)) {
+                    queue.put(path);
+                } else {
+                    String child;
+                    while (!closed && (child = directory.nextChildDirectory()) != null) {
+                        if (!shouldSkip(child)) {
+                            pendingTasks.incrementAndGet();
+                            new DirectoryTask(child).fork();
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // ignore close failures
+            } catch (RuntimeException e) {
+                if (error.compareAndSet(null, e)) {
+                    finish();
+                }
+            } finally {
+                if (pendingTasks.decrementAndGet() == 0 && error.get() == null) {
+                    finish();
+                }
+            }
+        }
+
+        private void finish() {
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The result of listing a directory during an ordered walk
+     */
+    private static class ListedDirectory {
+
+        private final String path;
+        private final boolean objectRoot;
+        private final List<String> children;
+
+        ListedDirectory(String path, boolean objectRoot, List<String> children) {
+            this.path = path;
+            this.objectRoot = objectRoot;
+            this.children = children;
+        }
+    }
+
+    /**
+     * A directory on the current path of an ordered walk. Its children are listed ahead of time, in order, and at most
+     * bufferSize of them are listed or being listed at once.
+     */
+    private class OrderedFrame {
+
+        private final Iterator<String> children;
+        private final ArrayDeque<CompletableFuture<ListedDirectory>> listings;
+
+        OrderedFrame(List<String> children) {
+            this.children = children.iterator();
+            this.listings = new ArrayDeque<>();
+            fill();
+        }
+
+        CompletableFuture<ListedDirectory> pollNext() {
+            var listing = listings.poll();
+            fill();
+            return listing;
+        }
+
+        void cancel() {
+            listings.forEach(listing -> listing.cancel(true));
+            listings.clear();
+        }
+
+        private void fill() {
+            while (listings.size() < bufferSize && children.hasNext()) {
+                listings.add(submitListing(children.next()));
+            }
+        }
+    }
+
     /**
      * Encapsulates a directory for iterating over its children
      */
@@ -8,6 +8,7 @@ import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Abstraction over any storage implementation. Paths are represented as strings because forward-slashes MUST
@@ -59,6 +60,17 @@ public interface Storage {
      */
     boolean fileExists(String filePath);
 
+    /**
+     * Returns the digests of the specified file that the storage system has already calculated, such as S3 additional
+     * checksums, without reading the file's content. An empty map is returned if the storage system does not have any
+     * digests for the file.
+     *
+     * @param filePath path to the file
+     * @return map of algorithms to lowercase hex digests
+     * @throws OcflNoSuchFileException when the file does not exist
+     */
+    Map<DigestAlgorithm, String> storedDigests(String filePath);
+
     /**
      * Streams the content of the specified file
      *
@@ -68,6 +80,18 @@ public interface Storage {
      */
     InputStream read(String filePath);
 
+    /**
+     * Streams the specified byte range of the file. If the file is shorter than the range, then only the bytes that
+     * exist within the range are returned.
+     *
+     * @param filePath path to the file
+     * @param startPosition the position of the first byte to return, starting at 0
+     * @param endPosition the position of the last byte to return, inclusive
+     * @return input stream of the file content within the range
+     * @throws OcflNoSuchFileException when the file does not exist
+     */
+    InputStream readRange(String filePath, long startPosition, long endPosition);
+
     /**
      * Read the contents of the specified file to a string
      *
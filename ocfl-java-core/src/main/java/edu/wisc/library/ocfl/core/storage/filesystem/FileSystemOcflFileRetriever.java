@@ -24,14 +24,20 @@
 
 package edu.wisc.library.ocfl.core.storage.filesystem;
 
+import com.google.common.io.ByteStreams;
 import edu.wisc.library.ocfl.api.OcflFileRetriever;
 import edu.wisc.library.ocfl.api.exception.OcflIOException;
+import edu.wisc.library.ocfl.api.io.FixityCheckChannel;
 import edu.wisc.library.ocfl.api.io.FixityCheckInputStream;
 import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
 import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.util.BufferPool;
 import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 
 /**
@@ -42,11 +48,40 @@ public class FileSystemOcflFileRetriever implements OcflFileRetriever {
     private final Path filePath;
     private final DigestAlgorithm digestAlgorithm;
     private final String digestValue;
+    private final long mmapThreshold;
+    private final int bufferSize;
 
     public FileSystemOcflFileRetriever(Path filePath, DigestAlgorithm digestAlgorithm, String digestValue) {
+        this(filePath, digestAlgorithm, digestValue, -1);
+    }
+
+    /**
+     * @param filePath the path to the file
+     * @param digestAlgorithm the algorithm of the file's digest
+     * @param digestValue the expected digest of the file
+     * @param mmapThreshold files that are at least this many bytes are read through memory mapped buffers. A value
+     *                      less than 1 disables memory mapping.
+     */
+    public FileSystemOcflFileRetriever(
+            Path filePath, DigestAlgorithm digestAlgorithm, String digestValue, long mmapThreshold) {
+        this(filePath, digestAlgorithm, digestValue, mmapThreshold, BufferPool.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param filePath the path to the file
+     * @param digestAlgorithm the algorithm of the file's digest
+     * @param digestValue the expected digest of the file
+     * @param mmapThreshold files that are at least this many bytes are read through memory mapped buffers. A value
+     *                      less than 1 disables memory mapping.
+     * @param bufferSize the size of the buffer used by streams that are not memory mapped
+     */
+    public FileSystemOcflFileRetriever(
+            Path filePath, DigestAlgorithm digestAlgorithm, String digestValue, long mmapThreshold, int bufferSize) {
         this.filePath = Enforce.notNull(filePath, "filePath cannot be null");
         this.digestAlgorithm = Enforce.notNull(digestAlgorithm, "digestAlgorithm cannot be null");
         this.digestValue = Enforce.notBlank(digestValue, "digestValue cannot be null");
+        this.mmapThreshold = mmapThreshold;
+        this.bufferSize = Enforce.expressionTrue(bufferSize > 0, bufferSize, "bufferSize must be greater than 0");
     }
 
     /**
@@ -54,11 +89,61 @@ public class FileSystemOcflFileRetriever implements OcflFileRetriever {
      */
     @Override
     public FixityCheckInputStream retrieveFile() {
+        return new FixityCheckInputStream(
+                FileSystemStorage.openStream(filePath, mmapThreshold, bufferSize), digestAlgorithm, digestValue);
+    }
+
+    /**
+     * Reads the range with positional reads from a FileChannel, so that the bytes before the range are skipped without
+     * being read. The range is not fixity checked.
+     *
+     * @param startPosition the position of the first byte to return, starting at 0
+     * @param endPosition the position of the last byte to return, inclusive
+     * @return InputStream of the file's content within the range
+     */
+    @Override
+    public InputStream retrieveRange(long startPosition, long endPosition) {
+        Enforce.expressionTrue(startPosition >= 0, startPosition, "startPosition cannot be negative");
+        Enforce.expressionTrue(
+                endPosition >= startPosition, endPosition, "endPosition cannot be less than startPosition");
+
         try {
-            return new FixityCheckInputStream(
-                    new BufferedInputStream(Files.newInputStream(filePath)), digestAlgorithm, digestValue);
+            var channel = FileChannel.open(filePath);
+            long length;
+            try {
+                channel.position(startPosition);
+                // clamping to the file size also keeps open-ended ranges, like Long.MAX_VALUE, from overflowing
+                length = Math.max(0, Math.min(endPosition, channel.size() - 1) - startPosition + 1);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            return new BufferedInputStream(ByteStreams.limit(Channels.newInputStream(channel), length), bufferSize);
         } catch (IOException e) {
             throw OcflIOException.from(e);
         }
     }
+
+    /**
+     * Returns a FileChannel, so that the content may be sent with {@code transferTo()} without copying it into the JVM.
+     * The content is not fixity checked.
+     *
+     * @return FileChannel of the file's content
+     */
+    @Override
+    public SeekableByteChannel retrieveChannel() {
+        try {
+            return FileChannel.open(filePath);
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FixityCheckChannel retrieveFixityCheckChannel() {
+        return new FixityCheckChannel(retrieveChannel(), digestAlgorithm, digestValue);
+    }
 }
@@ -27,6 +27,7 @@ package edu.wisc.library.ocfl.core.storage.filesystem;
 import static edu.wisc.library.ocfl.api.OcflConstants.OBJECT_NAMASTE_PREFIX;
 
 import edu.wisc.library.ocfl.api.exception.OcflIOException;
+import edu.wisc.library.ocfl.api.util.Enforce;
 import edu.wisc.library.ocfl.core.storage.common.OcflObjectRootDirIterator;
 import edu.wisc.library.ocfl.core.util.FileUtil;
 import java.io.IOException;
@@ -41,10 +42,23 @@ import java.util.Iterator;
  */
 public class FileSystemOcflObjectRootDirIterator extends OcflObjectRootDirIterator {
 
+    private static final int BUFFER_SIZE = 1000;
+
     private final Path root;
 
     public FileSystemOcflObjectRootDirIterator(Path root) {
-        this.root = root;
+        this(root, 1, true);
+    }
+
+    /**
+     * @param root the storage root
+     * @param parallelism the number of directories to list concurrently, 1 to list them sequentially
+     * @param ordered true to return object roots in the same order as when they are listed sequentially, false to
+     *                return them in the order they are found
+     */
+    public FileSystemOcflObjectRootDirIterator(Path root, int parallelism, boolean ordered) {
+        super(parallelism, BUFFER_SIZE, ordered);
+        this.root = Enforce.notNull(root, "root cannot be null");
     }
 
     @Override
@@ -24,6 +24,7 @@
 
 package edu.wisc.library.ocfl.core.storage.filesystem;
 
+import com.google.common.io.ByteStreams;
 import edu.wisc.library.ocfl.api.OcflFileRetriever;
 import edu.wisc.library.ocfl.api.exception.OcflFileAlreadyExistsException;
 import edu.wisc.library.ocfl.api.exception.OcflIOException;
@@ -33,22 +34,30 @@ import edu.wisc.library.ocfl.api.util.Enforce;
 import edu.wisc.library.ocfl.core.storage.common.Listing;
 import edu.wisc.library.ocfl.core.storage.common.OcflObjectRootDirIterator;
 import edu.wisc.library.ocfl.core.storage.common.Storage;
+import edu.wisc.library.ocfl.core.util.BufferPool;
 import edu.wisc.library.ocfl.core.util.FileUtil;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,37 +69,122 @@ public class FileSystemStorage implements Storage {
     private static final Logger LOG = LoggerFactory.getLogger(FileSystemStorage.class);
 
     private final Path storageRoot;
+    private final int iterationParallelism;
+    private final boolean orderedIteration;
+    private final long mmapThreshold;
+    private final BufferPool bufferPool;
 
     public FileSystemStorage(Path storageRoot) {
+        this(storageRoot, 1, true);
+    }
+
+    /**
+     * @param storageRoot the path to the storage root
+     * @param iterationParallelism the number of directories to list concurrently when iterating over all of the
+     *                             objects in the repository
+     * @param orderedIteration when iterationParallelism is greater than 1, true to return objects in the same order
+     *                         as a sequential walk, or false to return them in no particular order. Unordered
+     *                         iteration is faster, because the walk is able to run ahead of the consumer.
+     */
+    public FileSystemStorage(Path storageRoot, int iterationParallelism, boolean orderedIteration) {
+        this(storageRoot, iterationParallelism, orderedIteration, -1);
+    }
+
+    /**
+     * @param storageRoot the path to the storage root
+     * @param iterationParallelism the number of directories to list concurrently when iterating over all of the
+     *                             objects in the repository
+     * @param orderedIteration when iterationParallelism is greater than 1, true to return objects in the same order
+     *                         as a sequential walk, or false to return them in no particular order. Unordered
+     *                         iteration is faster, because the walk is able to run ahead of the consumer.
+     * @param mmapThreshold files that are at least this many bytes are read through memory mapped buffers, which
+     *                      reduces the copy overhead of reading large files. A value less than 1 disables memory
+     *                      mapping. This should not be enabled on Windows, where mapped files cannot be deleted until
+     *                      the mapping is garbage collected.
+     */
+    public FileSystemStorage(Path storageRoot, int iterationParallelism, boolean orderedIteration, long mmapThreshold) {
+        this(storageRoot, iterationParallelism, orderedIteration, mmapThreshold, BufferPool.defaultPool());
+    }
+
+    /**
+     * @param storageRoot the path to the storage root
+     * @param iterationParallelism the number of directories to list concurrently when iterating over all of the
+     *                             objects in the repository
+     * @param orderedIteration when iterationParallelism is greater than 1, true to return objects in the same order
+     *                         as a sequential walk, or false to return them in no particular order. Unordered
+     *                         iteration is faster, because the walk is able to run ahead of the consumer.
+     * @param mmapThreshold files that are at least this many bytes are read through memory mapped buffers, which
+     *                      reduces the copy overhead of reading large files. A value less than 1 disables memory
+     *                      mapping. This should not be enabled on Windows, where mapped files cannot be deleted until
+     *                      the mapping is garbage collected.
+     * @param bufferPool the pool that determines the size of read buffers
+     */
+    public FileSystemStorage(
+            Path storageRoot,
+            int iterationParallelism,
+            boolean orderedIteration,
+            long mmapThreshold,
+            BufferPool bufferPool) {
         this.storageRoot = Enforce.notNull(storageRoot, "storageRoot cannot be null");
+        this.iterationParallelism = Enforce.expressionTrue(
+                iterationParallelism > 0, iterationParallelism, "iterationParallelism must be greater than 0");
+        this.orderedIteration = orderedIteration;
+        this.mmapThreshold = mmapThreshold;
+        this.bufferPool = Enforce.notNull(bufferPool, "bufferPool cannot be null");
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>The children are visited with a depth limited walk, so that each child's attributes are read once, rather than
+     * separately testing if it's a file and then if it's a directory.
      */
     @Override
     public List<Listing> listDirectory(String directoryPath) {
         var fullPath = storageRoot.resolve(directoryPath);
 
-        try (var children = Files.list(fullPath)) {
-            return children.map(child -> {
-                        var name = child.getFileName().toString();
-                        if (Files.isRegularFile(child)) {
-                            return Listing.file(name);
-                        } else if (Files.isDirectory(child)) {
-                            return Listing.directory(name);
-                        } else {
-                            return Listing.other(name);
-                        }
-                    })
-                    .collect(Collectors.toList());
+        var listings = new ArrayList<Listing>();
+
+        try {
+            Files.walkFileTree(fullPath, EnumSet.of(FileVisitOption.FOLLOW_LINKS), 1, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (file.equals(fullPath)) {
+                        throw new NotDirectoryException(fullPath.toString());
+                    }
+
+                    var name = file.getFileName().toString();
+                    if (attrs.isRegularFile()) {
+                        listings.add(Listing.file(name, attrs.size()));
+                    } else if (attrs.isDirectory()) {
+                        listings.add(Listing.directory(name));
+                    } else {
+                        listings.add(Listing.other(name));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                    if (file.equals(fullPath)) {
+                        throw exc;
+                    }
+                    listings.add(Listing.other(file.getFileName().toString()));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
         } catch (IOException e) {
             throw OcflIOException.from(e);
         }
+
+        return listings;
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>Empty directories are detected by counting the entries that are visited in each directory, rather than opening
+     * every directory a second time after it has been walked.
      */
     @Override
     public List<Listing> listRecursive(String directoryPath) {
@@ -100,27 +194,46 @@ public class FileSystemStorage implements Storage {
 
         try {
             Files.walkFileTree(fullPath, new SimpleFileVisitor<>() {
+                // The number of entries that have been visited in each directory on the current path
+                private final Deque<int[]> entryCounts = new ArrayDeque<>();
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    entryCounts.push(new int[1]);
+                    return super.preVisitDirectory(dir, attrs);
+                }
+
                 @Override
                 public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    countEntry();
                     if (attrs.isRegularFile()) {
-                        listings.add(createListing(Listing.Type.File, file));
+                        listings.add(createListing(Listing.Type.File, file, attrs.size()));
                     } else {
-                        listings.add(createListing(Listing.Type.Other, file));
+                        listings.add(createListing(Listing.Type.Other, file, null));
                     }
                     return super.visitFile(file, attrs);
                 }
 
                 @Override
                 public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                    if (FileUtil.isDirEmpty(dir) && !dir.equals(fullPath)) {
-                        listings.add(createListing(Listing.Type.Directory, dir));
+                    var entries = entryCounts.pop()[0];
+                    countEntry();
+                    if (entries == 0 && !dir.equals(fullPath)) {
+                        listings.add(createListing(Listing.Type.Directory, dir, null));
                     }
                     return super.postVisitDirectory(dir, exc);
                 }
 
-                private Listing createListing(Listing.Type type, Path file) {
+                private void countEntry() {
+                    var count = entryCounts.peek();
+                    if (count != null) {
+                        count[0]++;
+                    }
+                }
+
+                private Listing createListing(Listing.Type type, Path file, Long size) {
                     var relative = FileUtil.pathToStringStandardSeparator(fullPath.relativize(file));
-                    return new Listing(type, relative);
+                    return new Listing(type, relative, size);
                 }
             });
         } catch (IOException e) {
@@ -149,7 +262,7 @@ public class FileSystemStorage implements Storage {
      */
     @Override
     public OcflObjectRootDirIterator iterateObjects() {
-        return new FileSystemOcflObjectRootDirIterator(storageRoot);
+        return new FileSystemOcflObjectRootDirIterator(storageRoot, iterationParallelism, orderedIteration);
     }
 
     /**
@@ -160,13 +273,64 @@ public class FileSystemStorage implements Storage {
         return Files.exists(storageRoot.resolve(filePath));
     }
 
+    /**
+     * Digests are not stored on the filesystem, so this always returns an empty map.
+     *
+     * @param filePath path to the file
+     * @return empty map
+     */
+    @Override
+    public Map<DigestAlgorithm, String> storedDigests(String filePath) {
+        if (!fileExists(filePath)) {
+            throw new OcflNoSuchFileException(String.format("%s was not found", filePath));
+        }
+        return Collections.emptyMap();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public InputStream read(String filePath) {
+        return openStream(storageRoot.resolve(filePath), mmapThreshold, bufferPool.getBufferSize());
+    }
+
+    /**
+     * Opens a buffered stream of the file. If the file is at least mmapThreshold bytes, then it is read through memory
+     * mapped buffers instead.
+     *
+     * @param file the file to open
+     * @param mmapThreshold the minimum file size to memory map, or a value less than 1 to never memory map
+     * @param bufferSize the size of the buffer to use when the file is not memory mapped
+     * @return stream of the file's content
+     */
+    static InputStream openStream(Path file, long mmapThreshold, int bufferSize) {
         try {
-            return new BufferedInputStream(Files.newInputStream(storageRoot.resolve(filePath)));
+            if (mmapThreshold > 0 && Files.size(file) >= mmapThreshold) {
+                return MappedFileInputStream.open(file);
+            }
+            return new BufferedInputStream(Files.newInputStream(file), bufferSize);
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream readRange(String filePath, long startPosition, long endPosition) {
+        try {
+            var channel = Files.newByteChannel(storageRoot.resolve(filePath));
+            try {
+                channel.position(startPosition);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            var length = Math.max(0, endPosition - startPosition + 1);
+            return new BufferedInputStream(
+                    ByteStreams.limit(Channels.newInputStream(channel), length), bufferPool.getBufferSize());
         } catch (IOException e) {
             throw OcflIOException.from(e);
         }
@@ -190,7 +354,7 @@ public class FileSystemStorage implements Storage {
     @Override
     public OcflFileRetriever readLazy(String filePath, DigestAlgorithm algorithm, String digest) {
         var fullPath = storageRoot.resolve(filePath);
-        return new FileSystemOcflFileRetriever(fullPath, algorithm, digest);
+        return new FileSystemOcflFileRetriever(fullPath, algorithm, digest, mmapThreshold, bufferPool.getBufferSize());
     }
 
     /**
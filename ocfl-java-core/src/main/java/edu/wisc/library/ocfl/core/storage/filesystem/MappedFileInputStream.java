@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.storage.filesystem;
+
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * InputStream that reads a file through memory mapped windows, rather than with read syscalls. This reduces the copy
+ * overhead when reading large files, such as when their fixity is checked. The file is mapped in fixed size windows,
+ * so that files larger than 2 GB can be read without reserving address space for the entire file.
+ *
+ * <p>The mappings are released when they are garbage collected. On Windows, a mapped file cannot be deleted until then.
+ */
+class MappedFileInputStream extends InputStream {
+
+    static final long DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long mark;
+
+    /**
+     * Opens the file and returns a stream that reads it through memory mapped windows.
+     *
+     * @param file the file to read
+     * @return stream
+     * @throws IOException when the file cannot be opened
+     */
+    static MappedFileInputStream open(Path file) throws IOException {
+        var channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedFileInputStream(channel, DEFAULT_WINDOW_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param channel the channel to read, it is closed when the stream is closed
+     * @param windowSize the number of bytes to map at a time
+     * @throws IOException when the size of the channel cannot be read
+     */
+    MappedFileInputStream(FileChannel channel, long windowSize) throws IOException {
+        this.channel = Enforce.notNull(channel, "channel cannot be null");
+        this.windowSize = Enforce.expressionTrue(
+                windowSize > 0 && windowSize <= Integer.MAX_VALUE,
+                windowSize,
+                "windowSize must be greater than 0 and less than 2 GB");
+        this.size = channel.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureWindow()) {
+            return -1;
+        }
+        position++;
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureWindow()) {
+            return -1;
+        }
+        var count = Math.min(len, window.remaining());
+        window.get(b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        var skipped = Math.min(n, size - position);
+        seek(position + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, size - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        mark = position;
+    }
+
+    @Override
+    public synchronized void reset() {
+        seek(mark);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void seek(long newPosition) {
+        position = newPosition;
+        if (window != null) {
+            if (position >= windowStart && position < windowStart + window.limit()) {
+                window.position((int) (position - windowStart));
+            } else {
+                window = null;
+            }
+        }
+    }
+
+    /**
+     * Maps the window that contains the current position, if necessary.
+     *
+     * @return false when the end of the file has been reached
+     */
+    private boolean ensureWindow() throws IOException {
+        if (position >= size) {
+            return false;
+        }
+        if (window == null || !window.hasRemaining()) {
+            windowStart = position;
+            var length = Math.min(windowSize, size - position);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.util;
+
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of reusable ByteBuffers that is shared by the code that copies and digests file content.
+ *
+ * <p>Buffers are grouped into size classes. Sizes up to 64 KiB are rounded up to a power of two. Larger sizes are
+ * rounded up to one of eight evenly spaced classes between consecutive powers of two, so that a large buffer, such as
+ * a multipart upload part, is at most 12.5% larger than requested. A request is served from the smallest class that
+ * fits, and a new buffer is allocated when that class is empty. Released buffers are retained until the pool holds
+ * {@code maxPooledBytes}; beyond that they are left for the garbage collector. Buffers larger than 1 GiB are never
+ * pooled. Use {@link #pooledCapacity(int)} to size {@code maxPooledBytes} for the largest buffer that should be
+ * retained.
+ */
+public class BufferPool {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    public static final long DEFAULT_MAX_POOLED_BYTES = 32 * 1024 * 1024;
+
+    private static final int MAX_POOLED_CAPACITY = 1 << 30;
+    private static final int MAX_POWER_OF_TWO_CAPACITY = 64 * 1024;
+    private static final int SUB_CLASS_BITS = 3;
+
+    private static final BufferPool DEFAULT_POOL = new BufferPool();
+
+    private final int bufferSize;
+    private final long maxPooledBytes;
+    private final boolean direct;
+    private final ConcurrentMap<Integer, Queue<ByteBuffer>> sizeClasses;
+    private final AtomicLong pooledBytes;
+
+    /**
+     * Returns the pool that is used when one is not explicitly configured. It uses heap buffers, a buffer size of
+     * {@link #DEFAULT_BUFFER_SIZE}, and retains at most {@link #DEFAULT_MAX_POOLED_BYTES}.
+     *
+     * @return the default pool
+     */
+    public static BufferPool defaultPool() {
+        return DEFAULT_POOL;
+    }
+
+    public BufferPool() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED_BYTES, false);
+    }
+
+    /**
+     * @param bufferSize the size of the buffers used for streaming IO, must be greater than 0
+     * @param maxPooledBytes the maximum number of bytes of released buffers to retain, 0 to disable pooling
+     * @param direct true to allocate direct buffers, false to allocate heap buffers
+     */
+    public BufferPool(int bufferSize, long maxPooledBytes, boolean direct) {
+        this.bufferSize = Enforce.expressionTrue(bufferSize > 0, bufferSize, "bufferSize must be greater than 0");
+        this.maxPooledBytes =
+                Enforce.expressionTrue(maxPooledBytes >= 0, maxPooledBytes, "maxPooledBytes cannot be negative");
+        this.direct = direct;
+        this.sizeClasses = new ConcurrentHashMap<>();
+        this.pooledBytes = new AtomicLong();
+    }
+
+    /**
+     * @return the size of the buffers used for streaming IO
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return true if the pool allocates direct buffers
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * @return the number of bytes currently retained by the pool
+     */
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    /**
+     * Acquires a buffer with {@link #getBufferSize()} bytes remaining.
+     *
+     * @return cleared buffer
+     */
+    public ByteBuffer acquire() {
+        return acquire(bufferSize);
+    }
+
+    /**
+     * Acquires a buffer with exactly {@code size} bytes remaining. The buffer's capacity may be larger. The buffer
+     * should be returned with {@link #release(ByteBuffer)} once it is no longer used.
+     *
+     * @param size the number of bytes needed, must be greater than 0
+     * @return cleared buffer with its limit set to size
+     */
+    public ByteBuffer acquire(int size) {
+        Enforce.expressionTrue(size > 0, size, "size must be greater than 0");
+
+        ByteBuffer buffer = null;
+
+        if (size <= MAX_POOLED_CAPACITY) {
+            var capacity = pooledCapacity(size);
+            var sizeClass = sizeClasses.get(capacity);
+            if (sizeClass != null) {
+                buffer = sizeClass.poll();
+            }
+            if (buffer != null) {
+                pooledBytes.addAndGet(-buffer.capacity());
+            } else {
+                buffer = allocate(capacity);
+            }
+        } else {
+            buffer = allocate(size);
+        }
+
+        buffer.clear().limit(size);
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers that were not acquired from this pool, or that do not fit within the pool's
+     * bound, are dropped. The buffer must not be used after it is released.
+     *
+     * @param buffer the buffer to release, may be null
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.isDirect() != direct || buffer.isReadOnly()) {
+            return;
+        }
+
+        var capacity = buffer.capacity();
+        if (capacity == 0 || capacity > MAX_POOLED_CAPACITY || pooledCapacity(capacity) != capacity) {
+            return;
+        }
+
+        if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+            pooledBytes.addAndGet(-capacity);
+            return;
+        }
+
+        sizeClasses
+                .computeIfAbsent(capacity, k -> new ConcurrentLinkedQueue<>())
+                .offer(buffer);
+    }
+
+    /**
+     * Returns the capacity of the buffer that a pool allocates, and retains, for a request of the given size.
+     *
+     * @param size the number of bytes requested, must be greater than 0 and at most 1 GiB
+     * @return the capacity of the size class the request is served from
+     */
+    public static int pooledCapacity(int size) {
+        Enforce.expressionTrue(
+                size > 0 && size <= MAX_POOLED_CAPACITY, size, "size must be greater than 0 and at most 1 GiB");
+
+        if (size <= MAX_POWER_OF_TWO_CAPACITY) {
+            return 1 << (32 - Integer.numberOfLeadingZeros(size - 1));
+        }
+
+        var step = Integer.highestOneBit(size - 1) >> SUB_CLASS_BITS;
+        return (size + step - 1) / step * step;
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    @Override
+    public String toString() {
+        return "BufferPool{" + "bufferSize="
+                + bufferSize + ", maxPooledBytes="
+                + maxPooledBytes + ", direct="
+                + direct + '}';
+    }
+}
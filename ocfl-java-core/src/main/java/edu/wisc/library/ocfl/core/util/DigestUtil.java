@@ -36,8 +36,6 @@ import java.security.MessageDigest;
 
 public final class DigestUtil {
 
-    private static final int BUFFER_SIZE = 8192;
-
     private DigestUtil() {}
 
     public static String computeDigestHex(DigestAlgorithm algorithm, Path path) {
@@ -56,14 +54,21 @@ public final class DigestUtil {
         return Bytes.wrap(computeDigest(digest, path)).encodeHex(upperCase);
     }
 
+    public static String computeDigestHex(MessageDigest digest, Path path, BufferPool bufferPool) {
+        return Bytes.wrap(computeDigest(digest, path, bufferPool)).encodeHex();
+    }
+
     public static byte[] computeDigest(DigestAlgorithm algorithm, Path path) {
         return computeDigest(algorithm.getMessageDigest(), path);
     }
 
     public static byte[] computeDigest(MessageDigest digest, Path path) {
-        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
-            var buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        return computeDigest(digest, path, BufferPool.defaultPool());
+    }
 
+    public static byte[] computeDigest(MessageDigest digest, Path path, BufferPool bufferPool) {
+        var buffer = bufferPool.acquire();
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
             while (channel.read(buffer) > -1) {
                 buffer.flip();
                 digest.update(buffer);
@@ -73,6 +78,8 @@ public final class DigestUtil {
             return digest.digest();
         } catch (IOException e) {
             throw new OcflIOException(e);
+        } finally {
+            bufferPool.release(buffer);
         }
     }
 
@@ -24,6 +24,7 @@
 
 package edu.wisc.library.ocfl.core.util;
 
+import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
 import edu.wisc.library.ocfl.api.model.FileChange;
 import edu.wisc.library.ocfl.api.model.FileChangeHistory;
 import edu.wisc.library.ocfl.api.model.FileChangeType;
@@ -128,6 +129,7 @@ public class ResponseMapper {
 
                 var digests = inventory.getFixityForContentPath(contentPath);
                 digests.forEach(details::addDigest);
+                details.setSize(parseSize(digests.get(DigestAlgorithm.size)));
                 fileDetailsMap.put(path, details);
             });
         });
@@ -135,6 +137,17 @@ public class ResponseMapper {
         return fileDetailsMap;
     }
 
+    private Long parseSize(String size) {
+        if (size == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(size);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private VersionInfo versionInfo(Version version) {
         var versionInfo = new VersionInfo().setMessage(version.getMessage()).setCreated(version.getCreated());
 
@@ -0,0 +1,291 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import edu.wisc.library.ocfl.api.exception.OcflIOException;
+import edu.wisc.library.ocfl.api.exception.OcflJavaException;
+import edu.wisc.library.ocfl.api.io.FixityCheckInputStream;
+import edu.wisc.library.ocfl.api.model.OcflObjectVersionFile;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the files in an object version to an OutputStream as a ZIP archive, without staging anything on disk.
+ *
+ * <p>While a file is being written, the next files are fetched concurrently. Up to {@code prefetchBufferSize} bytes of
+ * each prefetched file are read into memory, so small files are fully downloaded and the first-byte latency of large
+ * files overlaps with writing the previous file. The fixity of every file is verified as it is written.
+ *
+ * <p>Files are prefetched on an executor that is shared by all writes. When a write fails, prefetches that have not
+ * started are cancelled, and the streams of the ones that have are closed as they finish, without waiting for them.
+ */
+public class ZipVersionWriter implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ZipVersionWriter.class);
+
+    public static final int DEFAULT_PREFETCH_COUNT = 4;
+    public static final int DEFAULT_PREFETCH_BUFFER_SIZE = 1024 * 1024;
+
+    private final int prefetchCount;
+    private final int prefetchBufferSize;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+
+    public ZipVersionWriter() {
+        this(DEFAULT_PREFETCH_COUNT, DEFAULT_PREFETCH_BUFFER_SIZE);
+    }
+
+    /**
+     * @param prefetchCount the number of files to fetch ahead of the file that is being written, must be greater than 0
+     * @param prefetchBufferSize the maximum number of bytes to buffer per prefetched file, must be greater than 0
+     */
+    public ZipVersionWriter(int prefetchCount, int prefetchBufferSize) {
+        this(prefetchCount, prefetchBufferSize, null);
+    }
+
+    /**
+     * @param prefetchCount the number of files to fetch ahead of the file that is being written, must be greater than 0
+     * @param prefetchBufferSize the maximum number of bytes to buffer per prefetched file, must be greater than 0
+     * @param executor the executor to prefetch files on, or null to use a pool of daemon threads that is owned by this
+     *                 writer and shut down when it is closed. A supplied executor is not shut down.
+     */
+    public ZipVersionWriter(int prefetchCount, int prefetchBufferSize, ExecutorService executor) {
+        this.prefetchCount =
+                Enforce.expressionTrue(prefetchCount > 0, prefetchCount, "prefetchCount must be greater than 0");
+        this.prefetchBufferSize = Enforce.expressionTrue(
+                prefetchBufferSize > 0, prefetchBufferSize, "prefetchBufferSize must be greater than 0");
+        if (executor != null) {
+            this.executor = executor;
+            this.ownsExecutor = false;
+        } else {
+            // a write uses at most prefetchCount threads, and idle threads exit after a minute
+            this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("ocfl-zip-prefetch-%d")
+                    .build());
+            this.ownsExecutor = true;
+        }
+    }
+
+    /**
+     * Writes the files to the output stream as a ZIP archive. Files are written in logical path order. The output
+     * stream is NOT closed.
+     *
+     * @param files the files to write
+     * @param outputStream the stream to write the archive to
+     * @throws edu.wisc.library.ocfl.api.exception.FixityCheckException when a file fails its fixity check
+     */
+    public void write(Collection<OcflObjectVersionFile> files, OutputStream outputStream) {
+        Enforce.notNull(files, "files cannot be null");
+        Enforce.notNull(outputStream, "outputStream cannot be null");
+
+        var sorted = files.stream()
+                .sorted(Comparator.comparing(OcflObjectVersionFile::getPath))
+                .collect(Collectors.toList());
+
+        var zip = new ZipOutputStream(outputStream);
+
+        if (sorted.isEmpty()) {
+            finish(zip);
+            return;
+        }
+
+        var pending = new ArrayDeque<Prefetch>(prefetchCount);
+        var remaining = sorted.iterator();
+
+        try {
+            while (pending.size() < prefetchCount && remaining.hasNext()) {
+                pending.add(submit(remaining.next()));
+            }
+
+            while (!pending.isEmpty()) {
+                var prefetched = await(pending.poll().result);
+                submitNext(remaining, pending);
+
+                try (prefetched) {
+                    LOG.debug("Writing {} to zip", prefetched.path);
+                    zip.putNextEntry(new ZipEntry(prefetched.path));
+                    prefetched.writeTo(zip);
+                    zip.closeEntry();
+                }
+            }
+
+            finish(zip);
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        } finally {
+            pending.forEach(this::cancel);
+        }
+    }
+
+    /**
+     * Shuts down the prefetch executor, if it is owned by this writer.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void submitNext(Iterator<OcflObjectVersionFile> remaining, ArrayDeque<Prefetch> pending) {
+        if (remaining.hasNext()) {
+            pending.add(submit(remaining.next()));
+        }
+    }
+
+    private Prefetch submit(OcflObjectVersionFile file) {
+        var result = new CompletableFuture<PrefetchedFile>();
+        var task = executor.submit(() -> {
+            try {
+                var prefetched = prefetch(file);
+                if (!result.complete(prefetched)) {
+                    // the write failed and cancelled the prefetch while it was running
+                    closeQuietly(prefetched);
+                }
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return new Prefetch(task, result);
+    }
+
+    private PrefetchedFile prefetch(OcflObjectVersionFile file) throws IOException {
+        var stream = file.getStream();
+        try {
+            var buffer = stream.readNBytes(prefetchBufferSize);
+            if (buffer.length < prefetchBufferSize) {
+                try (stream) {
+                    stream.checkFixity();
+                }
+                return new PrefetchedFile(file.getPath(), buffer, null);
+            }
+            return new PrefetchedFile(file.getPath(), buffer, stream);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(stream);
+            throw e;
+        }
+    }
+
+    private PrefetchedFile await(CompletableFuture<PrefetchedFile> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw OcflIOException.from((IOException) e.getCause());
+            }
+            throw new OcflJavaException("Failed to fetch file", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OcflJavaException("Interrupted while fetching file", e);
+        }
+    }
+
+    private void finish(ZipOutputStream zip) {
+        try {
+            zip.finish();
+            zip.flush();
+        } catch (IOException e) {
+            throw OcflIOException.from(e);
+        }
+    }
+
+    /**
+     * Cancels a prefetch that will not be written, without waiting for it. If it already finished, its stream is
+     * closed here. Otherwise, it closes its own stream when it finishes.
+     */
+    private void cancel(Prefetch prefetch) {
+        prefetch.task.cancel(true);
+        if (!prefetch.result.cancel(false) && !prefetch.result.isCompletedExceptionally()) {
+            closeQuietly(prefetch.result.join());
+        }
+    }
+
+    private void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            LOG.debug("Failed to close prefetched file", e);
+        }
+    }
+
+    private static class Prefetch {
+
+        private final Future<?> task;
+        private final CompletableFuture<PrefetchedFile> result;
+
+        private Prefetch(Future<?> task, CompletableFuture<PrefetchedFile> result) {
+            this.task = task;
+            this.result = result;
+        }
+    }
+
+    private static class PrefetchedFile implements AutoCloseable {
+
+        private final String path;
+        private final byte[] buffer;
+        private final FixityCheckInputStream remainder;
+
+        private PrefetchedFile(String path, byte[] buffer, FixityCheckInputStream remainder) {
+            this.path = path;
+            this.buffer = buffer;
+            this.remainder = remainder;
+        }
+
+        void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(buffer);
+            if (remainder != null) {
+                remainder.transferTo(outputStream);
+                remainder.checkFixity();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (remainder != null) {
+                remainder.close();
+            }
+        }
+    }
+}
@@ -95,114 +95,134 @@ public class SimpleInventoryParser {
             JsonNode jsonTree, String inventoryPath, ValidationResultsBuilder results) {
         var inventory = new SimpleInventory();
 
-        jsonTree.fields().forEachRemaining(entry -> {
-            var fieldName = entry.getKey();
-            var field = entry.getValue();
-
-            switch (fieldName) {
-                case SimpleInventory.ID_KEY:
-                    inventory.setId(parseString(
-                            field,
-                            () -> results.addIssue(
-                                    ValidationCode.E037, "Inventory id must be a string in %s", inventoryPath)));
-                    break;
-                case SimpleInventory.TYPE_KEY:
-                    inventory.setType(parseString(
-                            field,
-                            () -> results.addIssue(
-                                    ValidationCode.E038, "Inventory type must be a string in %s", inventoryPath)));
-                    break;
-                case SimpleInventory.DIGEST_ALGO_KEY:
-                    inventory.setDigestAlgorithm(parseString(
-                            field,
-                            () -> results.addIssue(
-                                    ValidationCode.E033,
-                                    "Inventory digest algorithm must be a string in %s",
-                                    inventoryPath)));
-                    break;
-                case SimpleInventory.HEAD_KEY:
-                    inventory.setHead(parseString(
-                            field,
-                            () -> results.addIssue(
-                                    ValidationCode.E040, "Inventory head must be a string in %s", inventoryPath)));
-                    break;
-                case SimpleInventory.CONTENT_DIR_KEY:
-                    inventory.setContentDirectory(parseString(
-                            field,
-                            () -> results.addIssue(
-                                    ValidationCode.E033,
-                                    "Inventory content directory must be a string in %s",
-                                    inventoryPath)));
-                    break;
-                case SimpleInventory.FIXITY_KEY:
-                    inventory.setFixity(parseFixity(field, inventoryPath, results));
-                    break;
-                case SimpleInventory.MANIFEST_KEY:
-                    inventory.setManifest(parseManifest(field, inventoryPath, results));
-                    break;
-                case SimpleInventory.VERSIONS_KEY:
-                    inventory.setVersions(parseVersions(field, inventoryPath, results));
-                    break;
-                default:
-                    results.addIssue(
-                            ValidationCode.E102,
-                            "Inventory cannot contain unknown property %s in %s",
-                            fieldName,
-                            inventoryPath);
-                    break;
-            }
-        });
+        jsonTree.fields()
+                .forEachRemaining(entry ->
+                        parseInventoryField(inventory, entry.getKey(), entry.getValue(), inventoryPath, results));
 
         return inventory;
     }
 
+    /**
+     * Parses a single top level inventory field and sets its value on the inventory
+     */
+    void parseInventoryField(
+            SimpleInventory inventory,
+            String fieldName,
+            JsonNode field,
+            String inventoryPath,
+            ValidationResultsBuilder results) {
+        switch (fieldName) {
+            case SimpleInventory.ID_KEY:
+                inventory.setId(parseString(
+                        field,
+                        () -> results.addIssue(
+                                ValidationCode.E037, "Inventory id must be a string in %s", inventoryPath)));
+                break;
+            case SimpleInventory.TYPE_KEY:
+                inventory.setType(parseString(
+                        field,
+                        () -> results.addIssue(
+                                ValidationCode.E038, "Inventory type must be a string in %s", inventoryPath)));
+                break;
+            case SimpleInventory.DIGEST_ALGO_KEY:
+                inventory.setDigestAlgorithm(parseString(
+                        field,
+                        () -> results.addIssue(
+                                ValidationCode.E033,
+                                "Inventory digest algorithm must be a string in %s",
+                                inventoryPath)));
+                break;
+            case SimpleInventory.HEAD_KEY:
+                inventory.setHead(parseString(
+                        field,
+                        () -> results.addIssue(
+                                ValidationCode.E040, "Inventory head must be a string in %s", inventoryPath)));
+                break;
+            case SimpleInventory.CONTENT_DIR_KEY:
+                inventory.setContentDirectory(parseString(
+                        field,
+                        () -> results.addIssue(
+                                ValidationCode.E033,
+                                "Inventory content directory must be a string in %s",
+                                inventoryPath)));
+                break;
+            case SimpleInventory.FIXITY_KEY:
+                inventory.setFixity(parseFixity(field, inventoryPath, results));
+                break;
+            case SimpleInventory.MANIFEST_KEY:
+                inventory.setManifest(parseManifest(field, inventoryPath, results));
+                break;
+            case SimpleInventory.VERSIONS_KEY:
+                inventory.setVersions(parseVersions(field, inventoryPath, results));
+                break;
+            default:
+                results.addIssue(
+                        ValidationCode.E102,
+                        "Inventory cannot contain unknown property %s in %s",
+                        fieldName,
+                        inventoryPath);
+                break;
+        }
+    }
+
     private SimpleVersion parseVersion(
             JsonNode versionNode, String versionNum, String inventoryPath, ValidationResultsBuilder results) {
         var version = new SimpleVersion();
 
-        versionNode.fields().forEachRemaining(entry -> {
-            var fieldName = entry.getKey();
-            var field = entry.getValue();
-
-            switch (fieldName) {
-                case SimpleVersion.CREATED_KEY:
-                    version.setCreated(parseString(
-                            field,
-                            () -> results.addIssue(
-                                    ValidationCode.E049,
-                                    "Inventory version %s created timestamp must be a string in %s",
-                                    versionNum,
-                                    inventoryPath)));
-                    break;
-                case SimpleVersion.MESSAGE_KEY:
-                    version.setMessage(parseString(
-                            field,
-                            () -> results.addIssue(
-                                    ValidationCode.E094,
-                                    "Inventory version %s message must be a string in %s",
-                                    versionNum,
-                                    inventoryPath)));
-                    break;
-                case SimpleVersion.USER_KEY:
-                    version.setUser(parseUser(field, versionNum, inventoryPath, results));
-                    break;
-                case SimpleVersion.STATE_KEY:
-                    version.setState(parseState(field, versionNum, inventoryPath, results));
-                    break;
-                default:
-                    results.addIssue(
-                            ValidationCode.E102,
-                            "Inventory version %s cannot contain unknown property %s in %s",
-                            versionNum,
-                            fieldName,
-                            inventoryPath);
-                    break;
-            }
-        });
+        versionNode
+                .fields()
+                .forEachRemaining(entry -> parseVersionField(
+                        version, entry.getKey(), entry.getValue(), versionNum, inventoryPath, results));
 
         return version;
     }
 
+    /**
+     * Parses a single version field and sets its value on the version
+     */
+    void parseVersionField(
+            SimpleVersion version,
+            String fieldName,
+            JsonNode field,
+            String versionNum,
+            String inventoryPath,
+            ValidationResultsBuilder results) {
+        switch (fieldName) {
+            case SimpleVersion.CREATED_KEY:
+                version.setCreated(parseString(
+                        field,
+                        () -> results.addIssue(
+                                ValidationCode.E049,
+                                "Inventory version %s created timestamp must be a string in %s",
+                                versionNum,
+                                inventoryPath)));
+                break;
+            case SimpleVersion.MESSAGE_KEY:
+                version.setMessage(parseString(
+                        field,
+                        () -> results.addIssue(
+                                ValidationCode.E094,
+                                "Inventory version %s message must be a string in %s",
+                                versionNum,
+                                inventoryPath)));
+                break;
+            case SimpleVersion.USER_KEY:
+                version.setUser(parseUser(field, versionNum, inventoryPath, results));
+                break;
+            case SimpleVersion.STATE_KEY:
+                version.setState(parseState(field, versionNum, inventoryPath, results));
+                break;
+            default:
+                results.addIssue(
+                        ValidationCode.E102,
+                        "Inventory version %s cannot contain unknown property %s in %s",
+                        versionNum,
+                        fieldName,
+                        inventoryPath);
+                break;
+        }
+    }
+
     private SimpleUser parseUser(
             JsonNode userNode, String versionNum, String inventoryPath, ValidationResultsBuilder results) {
         var user = new SimpleUser();
@@ -257,30 +277,7 @@ public class SimpleInventoryParser {
         Map<String, List<String>> manifest = null;
 
         if (field.isObject()) {
-            manifest = parseDigestPathsMap(
-                    field,
-                    () -> results.addIssue(
-                            ValidationCode.E096, "Inventory manifest cannot contain null digests in %s", inventoryPath),
-                    digest -> results.addIssue(
-                            ValidationCode.E092,
-                            "Inventory manifest cannot contain null content paths for %s in %s",
-                            digest,
-                            inventoryPath),
-                    digest -> results.addIssue(
-                            ValidationCode.E092,
-                            "Inventory manifest digest %s must reference a list value in %s",
-                            digest,
-                            inventoryPath),
-                    digest -> results.addIssue(
-                            ValidationCode.E092,
-                            "Inventory manifest digest %s cannot contain null paths in %s",
-                            digest,
-                            inventoryPath),
-                    digest -> results.addIssue(
-                            ValidationCode.E092,
-                            "Inventory manifest digest %s content paths must be strings in %s",
-                            digest,
-                            inventoryPath));
+            manifest = parseDigestPathsMap(field, manifestIssues(inventoryPath, results));
         } else {
             results.addIssue(ValidationCode.E106, "Inventory manifest must be an object in %s", inventoryPath);
         }
@@ -288,6 +285,35 @@ public class SimpleInventoryParser {
         return manifest;
     }
 
+    /**
+     * @return the issues to report when a manifest entry is structurally invalid
+     */
+    DigestPathsIssues manifestIssues(String inventoryPath, ValidationResultsBuilder results) {
+        return new DigestPathsIssues(
+                () -> results.addIssue(
+                        ValidationCode.E096, "Inventory manifest cannot contain null digests in %s", inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E092,
+                        "Inventory manifest cannot contain null content paths for %s in %s",
+                        digest,
+                        inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E092,
+                        "Inventory manifest digest %s must reference a list value in %s",
+                        digest,
+                        inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E092,
+                        "Inventory manifest digest %s cannot contain null paths in %s",
+                        digest,
+                        inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E092,
+                        "Inventory manifest digest %s content paths must be strings in %s",
+                        digest,
+                        inventoryPath));
+    }
+
     private Map<String, SimpleVersion> parseVersions(
             JsonNode field, String inventoryPath, ValidationResultsBuilder results) {
         Map<String, SimpleVersion> versions = null;
@@ -300,17 +326,9 @@ public class SimpleInventoryParser {
                 var num = entry.getKey();
                 var versionNode = entry.getValue();
 
-                if (num == null) {
-                    results.addIssue(
-                            ValidationCode.E046, "Inventory version numbers cannot be null in %s", inventoryPath);
-                } else if (versionNode.isNull()) {
-                    results.addIssue(
-                            ValidationCode.E047, "Inventory version objects cannot be null in %s", inventoryPath);
-                } else if (versionNode.isObject()) {
-                    var version = parseVersion(versionNode, num, inventoryPath, results);
+                var version = parseVersionEntry(num, versionNode, inventoryPath, results);
+                if (version != null) {
                     versions.put(num, version);
-                } else {
-                    results.addIssue(ValidationCode.E047, "Inventory versions must be objects in %s", inventoryPath);
                 }
             }
         } else {
@@ -320,43 +338,31 @@ public class SimpleInventoryParser {
         return versions;
     }
 
+    /**
+     * Parses a single entry in the inventory's versions object
+     *
+     * @return the parsed version, or null if the entry is not a version object
+     */
+    SimpleVersion parseVersionEntry(
+            String num, JsonNode versionNode, String inventoryPath, ValidationResultsBuilder results) {
+        if (num == null) {
+            results.addIssue(ValidationCode.E046, "Inventory version numbers cannot be null in %s", inventoryPath);
+        } else if (versionNode.isNull()) {
+            results.addIssue(ValidationCode.E047, "Inventory version objects cannot be null in %s", inventoryPath);
+        } else if (versionNode.isObject()) {
+            return parseVersion(versionNode, num, inventoryPath, results);
+        } else {
+            results.addIssue(ValidationCode.E047, "Inventory versions must be objects in %s", inventoryPath);
+        }
+        return null;
+    }
+
     private Map<String, List<String>> parseState(
             JsonNode stateNode, String versionNum, String inventoryPath, ValidationResultsBuilder results) {
         Map<String, List<String>> state = null;
 
         if (stateNode.isObject()) {
-            state = parseDigestPathsMap(
-                    stateNode,
-                    () -> results.addIssue(
-                            ValidationCode.E050,
-                            "Inventory version %s cannot contain null digests in %s",
-                            versionNum,
-                            inventoryPath),
-                    // TODO this code is a little iffy
-                    digest -> results.addIssue(
-                            ValidationCode.E050,
-                            "Inventory version %s cannot contain null logical paths for %s in %s",
-                            versionNum,
-                            digest,
-                            inventoryPath),
-                    digest -> results.addIssue(
-                            ValidationCode.E050,
-                            "Inventory version %s digest %s must reference a list value in %s",
-                            versionNum,
-                            digest,
-                            inventoryPath),
-                    digest -> results.addIssue(
-                            ValidationCode.E051,
-                            "Inventory version %s digest %s cannot contain null paths in %s",
-                            versionNum,
-                            digest,
-                            inventoryPath),
-                    digest -> results.addIssue(
-                            ValidationCode.E051,
-                            "Inventory version %s digest %s logical paths must be strings in %s",
-                            versionNum,
-                            digest,
-                            inventoryPath));
+            state = parseDigestPathsMap(stateNode, stateIssues(versionNum, inventoryPath, results));
         } else {
             results.addIssue(
                     ValidationCode.E050,
@@ -368,6 +374,43 @@ public class SimpleInventoryParser {
         return state;
     }
 
+    /**
+     * @return the issues to report when a version state entry is structurally invalid
+     */
+    DigestPathsIssues stateIssues(String versionNum, String inventoryPath, ValidationResultsBuilder results) {
+        return new DigestPathsIssues(
+                () -> results.addIssue(
+                        ValidationCode.E050,
+                        "Inventory version %s cannot contain null digests in %s",
+                        versionNum,
+                        inventoryPath),
+                // TODO this code is a little iffy
+                digest -> results.addIssue(
+                        ValidationCode.E050,
+                        "Inventory version %s cannot contain null logical paths for %s in %s",
+                        versionNum,
+                        digest,
+                        inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E050,
+                        "Inventory version %s digest %s must reference a list value in %s",
+                        versionNum,
+                        digest,
+                        inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E051,
+                        "Inventory version %s digest %s cannot contain null paths in %s",
+                        versionNum,
+                        digest,
+                        inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E051,
+                        "Inventory version %s digest %s logical paths must be strings in %s",
+                        versionNum,
+                        digest,
+                        inventoryPath));
+    }
+
     private Map<String, Map<String, List<String>>> parseFixity(
             JsonNode field, String inventoryPath, ValidationResultsBuilder results) {
         Map<String, Map<String, List<String>>> fixity = null;
@@ -392,37 +435,8 @@ public class SimpleInventoryParser {
                             algorithm,
                             inventoryPath);
                 } else if (digestsNode.isObject()) {
-                    var fixitySection = parseDigestPathsMap(
-                            digestsNode,
-                            () -> results.addIssue(
-                                    ValidationCode.E057,
-                                    "Inventory fixity algorithm %s cannot contain null digests in %s",
-                                    algorithm,
-                                    inventoryPath),
-                            digest -> results.addIssue(
-                                    ValidationCode.E057,
-                                    "Inventory fixity algorithm %s digest %s cannot contain null content paths in %s",
-                                    algorithm,
-                                    digest,
-                                    inventoryPath),
-                            digest -> results.addIssue(
-                                    ValidationCode.E057,
-                                    "Inventory fixity algorithm %s digest %s must reference a list value in %s",
-                                    algorithm,
-                                    digest,
-                                    inventoryPath),
-                            digest -> results.addIssue(
-                                    ValidationCode.E057,
-                                    "Inventory fixity algorithm %s digest %s cannot contain null paths in %s",
-                                    algorithm,
-                                    digest,
-                                    inventoryPath),
-                            digest -> results.addIssue(
-                                    ValidationCode.E057,
-                                    "Inventory fixity algorithm %s digest %s content paths must be strings in %s",
-                                    algorithm,
-                                    digest,
-                                    inventoryPath));
+                    var fixitySection =
+                            parseDigestPathsMap(digestsNode, fixityIssues(algorithm, inventoryPath, results));
 
                     fixity.put(algorithm, fixitySection);
                 } else {
@@ -440,13 +454,40 @@ public class SimpleInventoryParser {
         return fixity;
     }
 
-    private Map<String, List<String>> parseDigestPathsMap(
-            JsonNode field,
-            Runnable keyIsNull,
-            Consumer<String> pathsIsNull,
-            Consumer<String> pathsIsWrongType,
-            Consumer<String> pathIsNull,
-            Consumer<String> pathIsWrongType) {
+    private DigestPathsIssues fixityIssues(String algorithm, String inventoryPath, ValidationResultsBuilder results) {
+        return new DigestPathsIssues(
+                () -> results.addIssue(
+                        ValidationCode.E057,
+                        "Inventory fixity algorithm %s cannot contain null digests in %s",
+                        algorithm,
+                        inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E057,
+                        "Inventory fixity algorithm %s digest %s cannot contain null content paths in %s",
+                        algorithm,
+                        digest,
+                        inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E057,
+                        "Inventory fixity algorithm %s digest %s must reference a list value in %s",
+                        algorithm,
+                        digest,
+                        inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E057,
+                        "Inventory fixity algorithm %s digest %s cannot contain null paths in %s",
+                        algorithm,
+                        digest,
+                        inventoryPath),
+                digest -> results.addIssue(
+                        ValidationCode.E057,
+                        "Inventory fixity algorithm %s digest %s content paths must be strings in %s",
+                        algorithm,
+                        digest,
+                        inventoryPath));
+    }
+
+    private Map<String, List<String>> parseDigestPathsMap(JsonNode field, DigestPathsIssues issues) {
         var map = new HashMap<String, List<String>>();
 
         field.fields().forEachRemaining(entry -> {
@@ -454,20 +495,20 @@ public class SimpleInventoryParser {
             var pathsNode = entry.getValue();
 
             if (digest == null) {
-                keyIsNull.run();
+                issues.keyIsNull.run();
             } else if (pathsNode.isNull()) {
-                pathsIsNull.accept(digest);
+                issues.pathsIsNull.accept(digest);
             } else if (!pathsNode.isArray()) {
-                pathsIsWrongType.accept(digest);
+                issues.pathsIsWrongType.accept(digest);
             } else {
                 var paths = new ArrayList<String>();
                 map.put(digest, paths);
 
                 pathsNode.elements().forEachRemaining(pathNode -> {
                     if (pathNode.isNull()) {
-                        pathIsNull.accept(digest);
+                        issues.pathIsNull.accept(digest);
                     } else if (!pathNode.isTextual()) {
-                        pathIsWrongType.accept(digest);
+                        issues.pathIsWrongType.accept(digest);
                     } else {
                         paths.add(pathNode.textValue());
                     }
@@ -492,6 +533,30 @@ public class SimpleInventoryParser {
         return value;
     }
 
+    /**
+     * The issues to report when an entry in a digest to paths map is structurally invalid
+     */
+    static class DigestPathsIssues {
+        final Runnable keyIsNull;
+        final Consumer<String> pathsIsNull;
+        final Consumer<String> pathsIsWrongType;
+        final Consumer<String> pathIsNull;
+        final Consumer<String> pathIsWrongType;
+
+        DigestPathsIssues(
+                Runnable keyIsNull,
+                Consumer<String> pathsIsNull,
+                Consumer<String> pathsIsWrongType,
+                Consumer<String> pathIsNull,
+                Consumer<String> pathIsWrongType) {
+            this.keyIsNull = keyIsNull;
+            this.pathsIsNull = pathsIsNull;
+            this.pathsIsWrongType = pathsIsWrongType;
+            this.pathIsNull = pathIsNull;
+            this.pathIsWrongType = pathIsWrongType;
+        }
+    }
+
     public static class ParseSimpleInventoryResult {
         private final Optional<SimpleInventory> inventory;
         private final ValidationResults validationResults;
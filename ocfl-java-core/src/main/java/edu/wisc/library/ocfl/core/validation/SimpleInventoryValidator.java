@@ -41,11 +41,13 @@ import edu.wisc.library.ocfl.api.model.ValidationResults;
 import edu.wisc.library.ocfl.api.model.VersionNum;
 import edu.wisc.library.ocfl.api.util.Enforce;
 import edu.wisc.library.ocfl.core.validation.model.SimpleInventory;
+import edu.wisc.library.ocfl.core.validation.model.SimpleVersion;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
@@ -55,15 +57,26 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
- * Validates the contents of a SimpleInventory object against the OCFL v1.0 spec
+ * Validates the contents of a SimpleInventory object against the OCFL v1.0 spec.
+ *
+ * <p>When constructed with a {@link ForkJoinPool}, large inventories are validated in parallel. The manifest, version
+ * states, and fixity blocks are validated in separate tasks, and the issues from each task are merged in the same
+ * order that they would be produced in when validating sequentially.
  */
 public class SimpleInventoryValidator {
 
+    /**
+     * The minimum number of manifest entries plus versions an inventory must have before it is validated in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
     private static final Pattern VALID_VERSION = Pattern.compile("^v\\d+$");
 
     private static final VersionNum VERSION_ZERO = VersionNum.fromInt(0);
@@ -102,8 +115,35 @@ public class SimpleInventoryValidator {
             .toFormatter();
 
     private final BitSet lowerHexChars;
+    private final ForkJoinPool forkJoinPool;
+    private final int parallelThreshold;
 
+    /**
+     * Creates a validator that validates inventories sequentially
+     */
     public SimpleInventoryValidator() {
+        this(null, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates a validator that validates inventories that are at least {@link #DEFAULT_PARALLEL_THRESHOLD} in size in
+     * parallel.
+     *
+     * @param forkJoinPool the pool to validate in, or null to validate sequentially
+     */
+    public SimpleInventoryValidator(ForkJoinPool forkJoinPool) {
+        this(forkJoinPool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param forkJoinPool the pool to validate in, or null to validate sequentially
+     * @param parallelThreshold the minimum number of manifest entries plus versions an inventory must have before it
+     *                          is validated in parallel
+     */
+    public SimpleInventoryValidator(ForkJoinPool forkJoinPool, int parallelThreshold) {
+        Enforce.expressionTrue(parallelThreshold >= 0, parallelThreshold, "parallelThreshold must be non-negative");
+        this.forkJoinPool = forkJoinPool;
+        this.parallelThreshold = parallelThreshold;
         lowerHexChars = new BitSet();
         for (int i = '0'; i <= '9'; i++) {
             lowerHexChars.set(i);
@@ -134,6 +174,30 @@ public class SimpleInventoryValidator {
 
         var results = new ValidationResultsBuilder();
 
+        validateInventoryHeader(inventory, inventoryPath, ocflVersion, equality, results);
+
+        if (shouldValidateInParallel(inventory)) {
+            results.addAll(forkJoinPool.invoke(
+                    ForkJoinTask.adapt(() -> validateInventoryContentsParallel(inventory, inventoryPath))));
+        } else {
+            validateInventoryVersionNumbers(inventory, inventoryPath, results);
+            validateInventoryManifest(inventory, inventoryPath, results);
+            validateInventoryVersions(inventory, inventoryPath, results);
+            validateInventoryFixity(inventory, inventoryPath, results);
+        }
+
+        return results.build();
+    }
+
+    /**
+     * Validates the inventory's top level properties, excluding the manifest, versions, and fixity blocks.
+     */
+    void validateInventoryHeader(
+            SimpleInventory inventory,
+            String inventoryPath,
+            OcflVersion ocflVersion,
+            VersionEquality equality,
+            ValidationResultsBuilder results) {
         results.addIssue(notBlank(
                         inventory.getId(), ValidationCode.E036, "Inventory id must be set in %s", inventoryPath))
                 .addIssue(ifNotNull(
@@ -192,13 +256,50 @@ public class SimpleInventoryValidator {
                             "Inventory content directory cannot equal '.' or '..' in %s",
                             inventoryPath));
         }
+    }
 
-        validateInventoryVersionNumbers(inventory, inventoryPath, results);
-        validateInventoryManifest(inventory, inventoryPath, results);
-        validateInventoryVersions(inventory, inventoryPath, results);
-        validateInventoryFixity(inventory, inventoryPath, results);
+    private boolean shouldValidateInParallel(SimpleInventory inventory) {
+        if (forkJoinPool == null) {
+            return false;
+        }
 
-        return results.build();
+        long size = 0;
+        if (inventory.getManifest() != null) {
+            size += inventory.getManifest().size();
+        }
+        if (inventory.getVersions() != null) {
+            size += inventory.getVersions().size();
+        }
+        return size >= parallelThreshold;
+    }
+
+    /**
+     * Must be called from within the fork join pool. Each section is validated into its own results builder, and then
+     * the builders are merged in the same order as the sequential validation so that the results are deterministic.
+     */
+    private ValidationResultsBuilder validateInventoryContentsParallel(
+            SimpleInventory inventory, String inventoryPath) {
+        var versionNumbersTask = ForkJoinTask.adapt(() -> {
+            var results = new ValidationResultsBuilder();
+            validateInventoryVersionNumbers(inventory, inventoryPath, results);
+            return results;
+        });
+        var manifestTask = ForkJoinTask.adapt(() -> {
+            var results = new ValidationResultsBuilder();
+            validateInventoryManifest(inventory, inventoryPath, results);
+            return results;
+        });
+        var versionsTask = ForkJoinTask.adapt(() -> validateInventoryVersionsParallel(inventory, inventoryPath));
+        var fixityTask = ForkJoinTask.adapt(() -> validateInventoryFixityParallel(inventory, inventoryPath));
+
+        ForkJoinTask.invokeAll(versionNumbersTask, manifestTask, versionsTask, fixityTask);
+
+        var results = new ValidationResultsBuilder();
+        results.addAll(versionNumbersTask.join());
+        results.addAll(manifestTask.join());
+        results.addAll(versionsTask.join());
+        results.addAll(fixityTask.join());
+        return results;
     }
 
     private void validateType(
@@ -243,198 +344,273 @@ public class SimpleInventoryValidator {
         }
     }
 
-    private void validateInventoryManifest(
-            SimpleInventory inventory, String inventoryPath, ValidationResultsBuilder results) {
+    void validateInventoryManifest(SimpleInventory inventory, String inventoryPath, ValidationResultsBuilder results) {
         if (inventory.getManifest() != null) {
             var digests = new HashSet<String>(inventory.getManifest().size());
             for (var digest : inventory.getManifest().keySet()) {
                 var digestLower = digest.toLowerCase();
 
-                if (!isDigestValidHex(digestLower, inventory.getDigestAlgorithm())) {
-                    results.addIssue(
-                            ValidationCode.E096,
-                            "Inventory manifest digests must be valid in %s. Found: %s",
-                            inventoryPath,
-                            digest);
-                }
+                validateManifestDigest(digest, inventory.getDigestAlgorithm(), inventoryPath, results);
 
                 if (digests.contains(digestLower)) {
-                    results.addIssue(
-                            ValidationCode.E096,
-                            "Inventory manifest cannot contain duplicates of digest %s in %s",
-                            digestLower,
-                            inventoryPath);
+                    addDuplicateManifestDigestIssue(digestLower, inventoryPath, results);
                 } else {
                     digests.add(digestLower);
                 }
             }
 
-            validateDigestPathsMap(
-                    inventory.getManifest(),
-                    path -> results.addIssue(
-                            ValidationCode.E100,
-                            "Inventory manifest cannot contain content paths that begin or end with '/' in %s. Found: %s",
-                            inventoryPath,
-                            path),
-                    path -> results.addIssue(
-                            ValidationCode.E101,
-                            "Inventory manifest content paths must be unique in %s. Found: %s",
-                            inventoryPath,
-                            path),
-                    path -> results.addIssue(
-                            ValidationCode.E099,
-                            "Inventory manifest cannot contain blank content path parts in %s. Found: %s",
-                            inventoryPath,
-                            path),
-                    path -> results.addIssue(
-                            ValidationCode.E099,
-                            "Inventory manifest cannot contain content path parts equal to '.' or '..' in %s. Found: %s",
-                            inventoryPath,
-                            path),
-                    path -> results.addIssue(
-                            ValidationCode.E101,
-                            "Inventory manifest content paths must be non-conflicting in %s. Found conflicting path: %s",
-                            inventoryPath,
-                            path));
+            var pathsValidator = manifestPathsValidator(inventoryPath, results);
+            inventory.getManifest().values().forEach(paths -> paths.forEach(pathsValidator::validatePath));
+            pathsValidator.finish();
         } else {
             results.addIssue(ValidationCode.E041, "Inventory manifest must be set in %s", inventoryPath);
         }
     }
 
-    private void validateInventoryVersions(
-            SimpleInventory inventory, String inventoryPath, ValidationResultsBuilder results) {
+    void validateManifestDigest(
+            String digest, String digestAlgorithm, String inventoryPath, ValidationResultsBuilder results) {
+        if (!isDigestValidHex(digest.toLowerCase(), digestAlgorithm)) {
+            results.addIssue(
+                    ValidationCode.E096,
+                    "Inventory manifest digests must be valid in %s. Found: %s",
+                    inventoryPath,
+                    digest);
+        }
+    }
+
+    void addDuplicateManifestDigestIssue(String digestLower, String inventoryPath, ValidationResultsBuilder results) {
+        results.addIssue(
+                ValidationCode.E096,
+                "Inventory manifest cannot contain duplicates of digest %s in %s",
+                digestLower,
+                inventoryPath);
+    }
+
+    DigestPathsValidator manifestPathsValidator(String inventoryPath, ValidationResultsBuilder results) {
+        return new DigestPathsValidator(
+                path -> results.addIssue(
+                        ValidationCode.E100,
+                        "Inventory manifest cannot contain content paths that begin or end with '/' in %s. Found: %s",
+                        inventoryPath,
+                        path),
+                path -> results.addIssue(
+                        ValidationCode.E101,
+                        "Inventory manifest content paths must be unique in %s. Found: %s",
+                        inventoryPath,
+                        path),
+                path -> results.addIssue(
+                        ValidationCode.E099,
+                        "Inventory manifest cannot contain blank content path parts in %s. Found: %s",
+                        inventoryPath,
+                        path),
+                path -> results.addIssue(
+                        ValidationCode.E099,
+                        "Inventory manifest cannot contain content path parts equal to '.' or '..' in %s. Found: %s",
+                        inventoryPath,
+                        path),
+                path -> results.addIssue(
+                        ValidationCode.E101,
+                        "Inventory manifest content paths must be non-conflicting in %s. Found conflicting path: %s",
+                        inventoryPath,
+                        path));
+    }
+
+    void validateInventoryVersions(SimpleInventory inventory, String inventoryPath, ValidationResultsBuilder results) {
         if (inventory.getVersions() != null) {
-            var manifest = inventory.getManifest() == null ? Collections.emptyMap() : inventory.getManifest();
+            var manifest = inventory.getManifest() == null
+                    ? Collections.<String, List<String>>emptyMap()
+                    : inventory.getManifest();
             var unseenDigests = new HashSet<>(manifest.keySet());
 
             for (var entry : inventory.getVersions().entrySet()) {
-                var versionNum = entry.getKey();
                 var version = entry.getValue();
-
-                if (version.getCreated() != null) {
-                    try {
-                        RFC3339_FORMAT.parse(version.getCreated());
-                    } catch (DateTimeParseException e) {
-                        results.addIssue(
-                                ValidationCode.E049,
-                                "Inventory version %s created timestamp must be formatted in accordance to RFC3339 in %s. Found: %s",
-                                versionNum,
-                                inventoryPath,
-                                version.getCreated());
-                    }
-                } else {
-                    results.addIssue(
-                            ValidationCode.E048,
-                            "Inventory version %s must contain a created timestamp in %s",
-                            versionNum,
-                            inventoryPath);
+                validateInventoryVersion(entry.getKey(), version, manifest.keySet(), inventoryPath, results);
+                if (version.getState() != null) {
+                    unseenDigests.removeAll(version.getState().keySet());
                 }
+            }
 
-                if (version.getUser() != null) {
-                    var user = version.getUser();
-                    results.addIssue(notBlank(
-                                    user.getName(),
-                                    ValidationCode.E054,
-                                    "Inventory version %s user name must be set in %s",
-                                    versionNum,
-                                    inventoryPath))
-                            .addIssue(notNull(
-                                    user.getAddress(),
-                                    ValidationCode.W008,
-                                    "Inventory version %s user address should be set in %s",
-                                    versionNum,
-                                    inventoryPath));
-                    if (user.getAddress() != null) {
-                        results.addIssue(isTrue(
-                                isUri(user.getAddress()),
-                                ValidationCode.W009,
-                                "Inventory version %s user address should be a URI in %s. Found: %s",
-                                versionNum,
-                                inventoryPath,
-                                user.getAddress()));
-                    }
-                } else {
-                    results.addIssue(
-                            ValidationCode.W007,
-                            "Inventory version %s should contain a user in %s",
-                            versionNum,
-                            inventoryPath);
-                }
+            addUnseenDigestIssues(unseenDigests, inventoryPath, results);
+        } else {
+            results.addIssue(ValidationCode.E043, "Inventory versions must be set in %s", inventoryPath);
+        }
+    }
 
-                if (version.getMessage() == null) {
-                    results.addIssue(
-                            ValidationCode.W007,
-                            "Inventory version %s should contain a message in %s",
-                            versionNum,
-                            inventoryPath);
-                }
+    private ValidationResultsBuilder validateInventoryVersionsParallel(
+            SimpleInventory inventory, String inventoryPath) {
+        if (inventory.getVersions() == null) {
+            var results = new ValidationResultsBuilder();
+            validateInventoryVersions(inventory, inventoryPath, results);
+            return results;
+        }
 
-                if (version.getState() != null) {
-                    for (var digest : version.getState().keySet()) {
-                        unseenDigests.remove(digest);
-                        results.addIssue(isTrue(
-                                manifest.containsKey(digest),
-                                ValidationCode.E050,
-                                "Inventory version %s contains digest %s that does not exist in the manifest in %s",
-                                versionNum,
-                                digest,
-                                inventoryPath));
-                    }
+        var manifest = inventory.getManifest() == null
+                ? Collections.<String, List<String>>emptyMap()
+                : inventory.getManifest();
+        var tasks = new ArrayList<ForkJoinTask<ValidationResultsBuilder>>(
+                inventory.getVersions().size());
+
+        for (var entry : inventory.getVersions().entrySet()) {
+            tasks.add(ForkJoinTask.adapt(() -> {
+                var versionResults = new ValidationResultsBuilder();
+                validateInventoryVersion(
+                        entry.getKey(), entry.getValue(), manifest.keySet(), inventoryPath, versionResults);
+                return versionResults;
+            }));
+        }
 
-                    validateDigestPathsMap(
-                            version.getState(),
-                            path -> results.addIssue(
-                                    ValidationCode.E053,
-                                    "Inventory version %s cannot contain paths that begin or end with '/' in %s. Found: %s",
-                                    versionNum,
-                                    inventoryPath,
-                                    path),
-                            path -> results.addIssue(
-                                    ValidationCode.E095,
-                                    "Inventory version %s paths must be unique in %s. Found: %s",
-                                    versionNum,
-                                    inventoryPath,
-                                    path),
-                            path -> results.addIssue(
-                                    ValidationCode.E052,
-                                    "Inventory version %s cannot contain blank path parts in %s. Found: %s",
-                                    versionNum,
-                                    inventoryPath,
-                                    path),
-                            path -> results.addIssue(
-                                    ValidationCode.E052,
-                                    "Inventory version %s cannot contain path parts equal to '.' or '..' in %s. Found: %s",
-                                    versionNum,
-                                    inventoryPath,
-                                    path),
-                            path -> results.addIssue(
-                                    ValidationCode.E095,
-                                    "Inventory version %s paths must be non-conflicting in %s. Found conflicting path: %s",
-                                    versionNum,
-                                    inventoryPath,
-                                    path));
-                } else {
-                    results.addIssue(
-                            ValidationCode.E048,
-                            "Inventory version %s must contain a state in %s",
-                            versionNum,
-                            inventoryPath);
-                }
+        ForkJoinTask.invokeAll(tasks);
+
+        var results = new ValidationResultsBuilder();
+        tasks.forEach(task -> results.addAll(task.join()));
+
+        var unseenDigests = new HashSet<>(manifest.keySet());
+        for (var version : inventory.getVersions().values()) {
+            if (version.getState() != null) {
+                unseenDigests.removeAll(version.getState().keySet());
             }
+        }
+        addUnseenDigestIssues(unseenDigests, inventoryPath, results);
+
+        return results;
+    }
 
-            for (var digest : unseenDigests) {
+    void validateInventoryVersion(
+            String versionNum,
+            SimpleVersion version,
+            Set<String> manifestDigests,
+            String inventoryPath,
+            ValidationResultsBuilder results) {
+        if (version.getCreated() != null) {
+            try {
+                RFC3339_FORMAT.parse(version.getCreated());
+            } catch (DateTimeParseException e) {
                 results.addIssue(
-                        ValidationCode.E107,
-                        "Inventory manifest in %s contains an entry that is not referenced in any version. Found: %s",
+                        ValidationCode.E049,
+                        "Inventory version %s created timestamp must be formatted in accordance to RFC3339 in %s. Found: %s",
+                        versionNum,
                         inventoryPath,
-                        digest);
+                        version.getCreated());
             }
         } else {
-            results.addIssue(ValidationCode.E043, "Inventory versions must be set in %s", inventoryPath);
+            results.addIssue(
+                    ValidationCode.E048,
+                    "Inventory version %s must contain a created timestamp in %s",
+                    versionNum,
+                    inventoryPath);
+        }
+
+        if (version.getUser() != null) {
+            var user = version.getUser();
+            results.addIssue(notBlank(
+                            user.getName(),
+                            ValidationCode.E054,
+                            "Inventory version %s user name must be set in %s",
+                            versionNum,
+                            inventoryPath))
+                    .addIssue(notNull(
+                            user.getAddress(),
+                            ValidationCode.W008,
+                            "Inventory version %s user address should be set in %s",
+                            versionNum,
+                            inventoryPath));
+            if (user.getAddress() != null) {
+                results.addIssue(isTrue(
+                        isUri(user.getAddress()),
+                        ValidationCode.W009,
+                        "Inventory version %s user address should be a URI in %s. Found: %s",
+                        versionNum,
+                        inventoryPath,
+                        user.getAddress()));
+            }
+        } else {
+            results.addIssue(
+                    ValidationCode.W007, "Inventory version %s should contain a user in %s", versionNum, inventoryPath);
+        }
+
+        if (version.getMessage() == null) {
+            results.addIssue(
+                    ValidationCode.W007,
+                    "Inventory version %s should contain a message in %s",
+                    versionNum,
+                    inventoryPath);
+        }
+
+        if (version.getState() != null) {
+            for (var digest : version.getState().keySet()) {
+                validateStateDigest(versionNum, digest, manifestDigests, inventoryPath, results);
+            }
+
+            var pathsValidator = statePathsValidator(versionNum, inventoryPath, results);
+            version.getState().values().forEach(paths -> paths.forEach(pathsValidator::validatePath));
+            pathsValidator.finish();
+        } else {
+            results.addIssue(
+                    ValidationCode.E048, "Inventory version %s must contain a state in %s", versionNum, inventoryPath);
+        }
+    }
+
+    void validateStateDigest(
+            String versionNum,
+            String digest,
+            Set<String> manifestDigests,
+            String inventoryPath,
+            ValidationResultsBuilder results) {
+        results.addIssue(isTrue(
+                manifestDigests.contains(digest),
+                ValidationCode.E050,
+                "Inventory version %s contains digest %s that does not exist in the manifest in %s",
+                versionNum,
+                digest,
+                inventoryPath));
+    }
+
+    DigestPathsValidator statePathsValidator(
+            String versionNum, String inventoryPath, ValidationResultsBuilder results) {
+        return new DigestPathsValidator(
+                path -> results.addIssue(
+                        ValidationCode.E053,
+                        "Inventory version %s cannot contain paths that begin or end with '/' in %s. Found: %s",
+                        versionNum,
+                        inventoryPath,
+                        path),
+                path -> results.addIssue(
+                        ValidationCode.E095,
+                        "Inventory version %s paths must be unique in %s. Found: %s",
+                        versionNum,
+                        inventoryPath,
+                        path),
+                path -> results.addIssue(
+                        ValidationCode.E052,
+                        "Inventory version %s cannot contain blank path parts in %s. Found: %s",
+                        versionNum,
+                        inventoryPath,
+                        path),
+                path -> results.addIssue(
+                        ValidationCode.E052,
+                        "Inventory version %s cannot contain path parts equal to '.' or '..' in %s. Found: %s",
+                        versionNum,
+                        inventoryPath,
+                        path),
+                path -> results.addIssue(
+                        ValidationCode.E095,
+                        "Inventory version %s paths must be non-conflicting in %s. Found conflicting path: %s",
+                        versionNum,
+                        inventoryPath,
+                        path));
+    }
+
+    void addUnseenDigestIssues(Set<String> unseenDigests, String inventoryPath, ValidationResultsBuilder results) {
+        for (var digest : unseenDigests) {
+            results.addIssue(
+                    ValidationCode.E107,
+                    "Inventory manifest in %s contains an entry that is not referenced in any version. Found: %s",
+                    inventoryPath,
+                    digest);
         }
     }
 
-    private void validateInventoryVersionNumbers(
+    void validateInventoryVersionNumbers(
             SimpleInventory inventory, String inventoryPath, ValidationResultsBuilder results) {
         if (inventory.getVersions() != null) {
             if (inventory.getHead() != null && !inventory.getVersions().containsKey(inventory.getHead())) {
@@ -506,65 +682,90 @@ public class SimpleInventoryValidator {
     private void validateInventoryFixity(
             SimpleInventory inventory, String inventoryPath, ValidationResultsBuilder results) {
         if (inventory.getFixity() != null) {
-            var fixity = inventory.getFixity();
+            for (var entry : inventory.getFixity().entrySet()) {
+                validateInventoryFixityBlock(entry.getKey(), entry.getValue(), inventoryPath, results);
+            }
+        }
+    }
+
+    private ValidationResultsBuilder validateInventoryFixityParallel(SimpleInventory inventory, String inventoryPath) {
+        var results = new ValidationResultsBuilder();
+
+        if (inventory.getFixity() != null) {
+            var tasks = new ArrayList<ForkJoinTask<ValidationResultsBuilder>>(
+                    inventory.getFixity().size());
+
+            for (var entry : inventory.getFixity().entrySet()) {
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    var blockResults = new ValidationResultsBuilder();
+                    validateInventoryFixityBlock(entry.getKey(), entry.getValue(), inventoryPath, blockResults);
+                    return blockResults;
+                }));
+            }
 
-            for (var entry : fixity.entrySet()) {
-                var algorithm = entry.getKey();
-                var digestMap = entry.getValue();
+            ForkJoinTask.invokeAll(tasks);
+            tasks.forEach(task -> results.addAll(task.join()));
+        }
 
-                if (digestMap != null) {
-                    var digests = new HashSet<String>(digestMap.size());
-                    for (var digest : digestMap.keySet()) {
-                        var digestLower = digest.toLowerCase();
+        return results;
+    }
 
-                        if (!isDigestValidHex(digestLower, algorithm)) {
-                            results.addIssue(
-                                    ValidationCode.E057,
-                                    "Inventory fixity block digests must be valid in %s. Found: %s",
-                                    inventoryPath,
-                                    digest);
-                        }
+    void validateInventoryFixityBlock(
+            String algorithm,
+            Map<String, List<String>> digestMap,
+            String inventoryPath,
+            ValidationResultsBuilder results) {
+        if (digestMap != null) {
+            var digests = new HashSet<String>(digestMap.size());
+            for (var digest : digestMap.keySet()) {
+                var digestLower = digest.toLowerCase();
 
-                        if (digests.contains(digestLower)) {
-                            results.addIssue(
-                                    ValidationCode.E097,
-                                    "Inventory fixity block cannot contain duplicates of digest %s in %s",
-                                    digestLower,
-                                    inventoryPath);
-                        } else {
-                            digests.add(digestLower);
-                        }
-                    }
+                if (!isDigestValidHex(digestLower, algorithm)) {
+                    results.addIssue(
+                            ValidationCode.E057,
+                            "Inventory fixity block digests must be valid in %s. Found: %s",
+                            inventoryPath,
+                            digest);
+                }
 
-                    validateDigestPathsMap(
-                            digestMap,
-                            path -> results.addIssue(
-                                    ValidationCode.E100,
-                                    "Inventory fixity block cannot contain content paths that begin or end with '/' in %s. Found: %s",
-                                    inventoryPath,
-                                    path),
-                            path -> results.addIssue(
-                                    ValidationCode.E101,
-                                    "Inventory fixity block content paths must be unique in %s. Found: %s",
-                                    inventoryPath,
-                                    path),
-                            path -> results.addIssue(
-                                    ValidationCode.E099,
-                                    "Inventory fixity block cannot contain blank content path parts in %s. Found: %s",
-                                    inventoryPath,
-                                    path),
-                            path -> results.addIssue(
-                                    ValidationCode.E099,
-                                    "Inventory fixity block cannot contain content path parts equal to '.' or '..' in %s. Found: %s",
-                                    inventoryPath,
-                                    path),
-                            path -> results.addIssue(
-                                    ValidationCode.E101,
-                                    "Inventory fixity block content paths must be non-conflicting in %s. Found conflicting path: %s",
-                                    inventoryPath,
-                                    path));
+                if (digests.contains(digestLower)) {
+                    results.addIssue(
+                            ValidationCode.E097,
+                            "Inventory fixity block cannot contain duplicates of digest %s in %s",
+                            digestLower,
+                            inventoryPath);
+                } else {
+                    digests.add(digestLower);
                 }
             }
+
+            validateDigestPathsMap(
+                    digestMap,
+                    path -> results.addIssue(
+                            ValidationCode.E100,
+                            "Inventory fixity block cannot contain content paths that begin or end with '/' in %s. Found: %s",
+                            inventoryPath,
+                            path),
+                    path -> results.addIssue(
+                            ValidationCode.E101,
+                            "Inventory fixity block content paths must be unique in %s. Found: %s",
+                            inventoryPath,
+                            path),
+                    path -> results.addIssue(
+                            ValidationCode.E099,
+                            "Inventory fixity block cannot contain blank content path parts in %s. Found: %s",
+                            inventoryPath,
+                            path),
+                    path -> results.addIssue(
+                            ValidationCode.E099,
+                            "Inventory fixity block cannot contain content path parts equal to '.' or '..' in %s. Found: %s",
+                            inventoryPath,
+                            path),
+                    path -> results.addIssue(
+                            ValidationCode.E101,
+                            "Inventory fixity block content paths must be non-conflicting in %s. Found conflicting path: %s",
+                            inventoryPath,
+                            path));
         }
     }
 
@@ -575,77 +776,10 @@ public class SimpleInventoryValidator {
             Consumer<String> blankPart,
             Consumer<String> dotPart,
             Consumer<String> conflicting) {
-        var files = new HashSet<String>();
-        var dirs = new HashSet<String>();
-
-        for (var paths : map.values()) {
-            for (var path : paths) {
-                var trimmedPath = path;
-                var startsWith = path.startsWith("/");
-                var endsWith = path.endsWith("/");
-
-                if (startsWith || endsWith) {
-                    leadingTrailingSlashes.accept(path);
-                    // Trim here so that we don't get empty part failures too
-                    if (startsWith) {
-                        trimmedPath = trimmedPath.substring(1);
-                    }
-                    if (endsWith) {
-                        trimmedPath = trimmedPath.substring(0, trimmedPath.length() - 1);
-                    }
-                }
-
-                if (files.contains(path)) {
-                    nonUnique.accept(path);
-                } else {
-                    files.add(path);
-                }
-
-                var parts = trimmedPath.split("/");
-
-                var pathBuilder = new StringBuilder();
-
-                var erroredBlank = false;
-                var erroredDot = false;
-
-                for (int i = 0; i < parts.length; i++) {
-                    var part = parts[i];
-
-                    if (!erroredBlank && part.isEmpty()) {
-                        blankPart.accept(path);
-                        erroredBlank = true;
-                    } else if (!erroredDot && (part.equals(".") || part.equals(".."))) {
-                        dotPart.accept(path);
-                        erroredDot = true;
-                    }
-
-                    if (i < parts.length - 1) {
-                        if (i > 0) {
-                            pathBuilder.append("/");
-                        }
-                        pathBuilder.append(part);
-                        dirs.add(pathBuilder.toString());
-                    }
-                }
-            }
-        }
-
-        Set<String> iter;
-        Set<String> check;
-
-        if (files.size() > dirs.size()) {
-            iter = dirs;
-            check = files;
-        } else {
-            iter = files;
-            check = dirs;
-        }
-
-        iter.forEach(path -> {
-            if (check.contains(path)) {
-                conflicting.accept(path);
-            }
-        });
+        var pathsValidator =
+                new DigestPathsValidator(leadingTrailingSlashes, nonUnique, blankPart, dotPart, conflicting);
+        map.values().forEach(paths -> paths.forEach(pathsValidator::validatePath));
+        pathsValidator.finish();
     }
 
     private Optional<VersionNum> parseAndValidateVersionNum(
@@ -755,4 +889,107 @@ public class SimpleInventoryValidator {
 
         return new ValidationIssue(code, message);
     }
+
+    /**
+     * Validates the paths in a digest to paths map one path at a time. Only the paths and their parent directories are
+     * retained, which is what is needed to detect duplicate and conflicting paths once all the paths have been seen.
+     */
+    static class DigestPathsValidator {
+
+        private final Consumer<String> leadingTrailingSlashes;
+        private final Consumer<String> nonUnique;
+        private final Consumer<String> blankPart;
+        private final Consumer<String> dotPart;
+        private final Consumer<String> conflicting;
+
+        private final Set<String> files;
+        private final Set<String> dirs;
+
+        DigestPathsValidator(
+                Consumer<String> leadingTrailingSlashes,
+                Consumer<String> nonUnique,
+                Consumer<String> blankPart,
+                Consumer<String> dotPart,
+                Consumer<String> conflicting) {
+            this.leadingTrailingSlashes = leadingTrailingSlashes;
+            this.nonUnique = nonUnique;
+            this.blankPart = blankPart;
+            this.dotPart = dotPart;
+            this.conflicting = conflicting;
+            this.files = new HashSet<>();
+            this.dirs = new HashSet<>();
+        }
+
+        void validatePath(String path) {
+            var trimmedPath = path;
+            var startsWith = path.startsWith("/");
+            var endsWith = path.endsWith("/");
+
+            if (startsWith || endsWith) {
+                leadingTrailingSlashes.accept(path);
+                // Trim here so that we don't get empty part failures too
+                if (startsWith) {
+                    trimmedPath = trimmedPath.substring(1);
+                }
+                if (endsWith) {
+                    trimmedPath = trimmedPath.substring(0, trimmedPath.length() - 1);
+                }
+            }
+
+            if (files.contains(path)) {
+                nonUnique.accept(path);
+            } else {
+                files.add(path);
+            }
+
+            var parts = trimmedPath.split("/");
+
+            var pathBuilder = new StringBuilder();
+
+            var erroredBlank = false;
+            var erroredDot = false;
+
+            for (int i = 0; i < parts.length; i++) {
+                var part = parts[i];
+
+                if (!erroredBlank && part.isEmpty()) {
+                    blankPart.accept(path);
+                    erroredBlank = true;
+                } else if (!erroredDot && (part.equals(".") || part.equals(".."))) {
+                    dotPart.accept(path);
+                    erroredDot = true;
+                }
+
+                if (i < parts.length - 1) {
+                    if (i > 0) {
+                        pathBuilder.append("/");
+                    }
+                    pathBuilder.append(part);
+                    dirs.add(pathBuilder.toString());
+                }
+            }
+        }
+
+        /**
+         * Reports the paths that conflict with a directory. Must be called after all paths have been validated.
+         */
+        void finish() {
+            Set<String> iter;
+            Set<String> check;
+
+            if (files.size() > dirs.size()) {
+                iter = dirs;
+                check = files;
+            } else {
+                iter = files;
+                check = dirs;
+            }
+
+            iter.forEach(path -> {
+                if (check.contains(path)) {
+                    conflicting.accept(path);
+                }
+            });
+        }
+    }
 }
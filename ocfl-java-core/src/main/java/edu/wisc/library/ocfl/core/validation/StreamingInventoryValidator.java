@@ -0,0 +1,396 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.validation;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import edu.wisc.library.ocfl.api.exception.OcflIOException;
+import edu.wisc.library.ocfl.api.model.OcflVersion;
+import edu.wisc.library.ocfl.api.model.ValidationCode;
+import edu.wisc.library.ocfl.api.model.ValidationResults;
+import edu.wisc.library.ocfl.api.util.Enforce;
+import edu.wisc.library.ocfl.core.validation.model.SimpleInventory;
+import edu.wisc.library.ocfl.core.validation.model.SimpleVersion;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Validates an inventory while it is being parsed, rather than parsing the entire inventory into memory first. This
+ * produces the same issues as {@link SimpleInventoryParser} followed by {@link SimpleInventoryValidator}, though not
+ * necessarily in the same order.
+ *
+ * <p>The manifest and version states are validated one entry at a time as their tokens are read, and the rest of the
+ * inventory one top level property, or version, at a time. The only index that is kept for the duration of the parse
+ * is the set of manifest digests, along with whether each digest is referenced by a version, which is needed to
+ * cross-reference the version states. The content paths of the manifest, and the logical paths of a version, are only
+ * retained until the manifest, or version, has been read, so that duplicate and conflicting paths can be detected.
+ *
+ * <p>Inventories are expected to list the manifest before the versions. If they do not, the digests of the version
+ * states that are encountered before the manifest are held in memory until the manifest is read.
+ */
+public class StreamingInventoryValidator {
+
+    private final ObjectMapper objectMapper;
+    private final SimpleInventoryParser inventoryParser;
+    private final SimpleInventoryValidator inventoryValidator;
+
+    public StreamingInventoryValidator() {
+        this(new SimpleInventoryValidator());
+    }
+
+    /**
+     * @param inventoryValidator the validator to apply to each inventory section
+     */
+    public StreamingInventoryValidator(SimpleInventoryValidator inventoryValidator) {
+        this.inventoryValidator = Enforce.notNull(inventoryValidator, "inventoryValidator cannot be null");
+        this.inventoryParser = new SimpleInventoryParser();
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * Validates the inventory JSON in the stream and returns an object containing any issues that were found.
+     *
+     * @param inventoryStream JSON inventory stream
+     * @param inventoryPath the path to the inventory, this is used for constructing validation messages
+     * @param ocflVersion the OCFL version the inventory should adhere to, or null if the version does not matter
+     * @param equality how the inventory version should relate to the expected version, or null if the version does not matter
+     * @return the validation results
+     */
+    public ValidationResults validateInventory(
+            InputStream inventoryStream,
+            String inventoryPath,
+            OcflVersion ocflVersion,
+            SimpleInventoryValidator.VersionEquality equality) {
+        Enforce.notNull(inventoryStream, "inventoryStream cannot be null");
+        Enforce.notNull(inventoryPath, "inventoryPath cannot be null");
+
+        try (var parser = objectMapper.getFactory().createParser(inventoryStream)) {
+            return new StreamingValidation(parser, inventoryPath).validate(ocflVersion, equality);
+        } catch (JsonParseException e) {
+            return new ValidationResultsBuilder()
+                    .addIssue(ValidationCode.E033, "Inventory at %s is an invalid JSON document", inventoryPath)
+                    .build();
+        } catch (IOException e) {
+            throw new OcflIOException(e);
+        }
+    }
+
+    /**
+     * Holds the state of a single validation
+     */
+    private class StreamingValidation {
+
+        private final JsonParser parser;
+        private final String inventoryPath;
+        private final ValidationResultsBuilder results;
+        private final SimpleInventory inventory;
+
+        private Map<String, SimpleVersion> versions;
+        private final Map<String, List<String>> pendingStateDigests;
+        private boolean digestAlgorithmSeen;
+        private boolean manifestSeen;
+        private boolean manifestDigestsValidated;
+        // maps each manifest digest to whether it is referenced by a version
+        private Map<String, Boolean> manifestDigests;
+        // the lower case forms of the manifest digests that are not lower case, used to find case-insensitive dups
+        private Set<String> mixedCaseDigests;
+
+        StreamingValidation(JsonParser parser, String inventoryPath) {
+            this.parser = parser;
+            this.inventoryPath = inventoryPath;
+            this.results = new ValidationResultsBuilder();
+            this.inventory = new SimpleInventory();
+            this.pendingStateDigests = new LinkedHashMap<>();
+        }
+
+        ValidationResults validate(OcflVersion ocflVersion, SimpleInventoryValidator.VersionEquality equality)
+                throws IOException {
+            var token = parser.nextToken();
+
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    var fieldName = parser.getCurrentName();
+                    var valueToken = parser.nextToken();
+
+                    if (SimpleInventory.VERSIONS_KEY.equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                        streamVersions();
+                    } else if (SimpleInventory.MANIFEST_KEY.equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                        streamManifest();
+                    } else {
+                        inventoryParser.parseInventoryField(inventory, fieldName, readTree(), inventoryPath, results);
+                        onFieldParsed(fieldName);
+                    }
+                }
+            } else if (token != null) {
+                parser.skipChildren();
+            }
+
+            return finish(ocflVersion, equality);
+        }
+
+        private void onFieldParsed(String fieldName) {
+            switch (fieldName) {
+                case SimpleInventory.DIGEST_ALGO_KEY:
+                    digestAlgorithmSeen = true;
+                    if (manifestSeen && !manifestDigestsValidated) {
+                        validateManifestDigests();
+                    }
+                    break;
+                case SimpleInventory.MANIFEST_KEY:
+                    // the manifest is not an object, so the versions are cross-referenced against an empty manifest
+                    if (manifestDigests == null) {
+                        onManifestDigestsKnown();
+                    }
+                    break;
+                case SimpleInventory.FIXITY_KEY:
+                    if (inventory.getFixity() != null) {
+                        inventory
+                                .getFixity()
+                                .forEach((algorithm, block) -> inventoryValidator.validateInventoryFixityBlock(
+                                        algorithm, block, inventoryPath, results));
+                        inventory.setFixity(null);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void streamManifest() throws IOException {
+            manifestDigests = new HashMap<>();
+            mixedCaseDigests = new HashSet<>();
+
+            var issues = inventoryParser.manifestIssues(inventoryPath, results);
+            var pathsValidator = inventoryValidator.manifestPathsValidator(inventoryPath, results);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var digest = parser.getCurrentName();
+                parser.nextToken();
+
+                if (streamPaths(digest, issues, pathsValidator::validatePath)) {
+                    addManifestDigest(digest);
+                }
+            }
+
+            pathsValidator.finish();
+            manifestSeen = true;
+
+            if (digestAlgorithmSeen) {
+                validateManifestDigests();
+            }
+
+            onManifestDigestsKnown();
+        }
+
+        private void addManifestDigest(String digest) {
+            var digestLower = digest.toLowerCase();
+
+            if (manifestDigests.containsKey(digestLower) || mixedCaseDigests.contains(digestLower)) {
+                inventoryValidator.addDuplicateManifestDigestIssue(digestLower, inventoryPath, results);
+            } else if (!digest.equals(digestLower)) {
+                mixedCaseDigests.add(digestLower);
+            }
+
+            manifestDigests.putIfAbsent(digest, Boolean.FALSE);
+        }
+
+        private void validateManifestDigests() {
+            manifestDigests
+                    .keySet()
+                    .forEach(digest -> inventoryValidator.validateManifestDigest(
+                            digest, inventory.getDigestAlgorithm(), inventoryPath, results));
+            manifestDigestsValidated = true;
+        }
+
+        private void onManifestDigestsKnown() {
+            if (manifestDigests == null) {
+                manifestDigests = new HashMap<>();
+            }
+            mixedCaseDigests = null;
+
+            pendingStateDigests.forEach(
+                    (versionNum, digests) -> digests.forEach(digest -> validateStateDigest(versionNum, digest)));
+            pendingStateDigests.clear();
+        }
+
+        private void streamVersions() throws IOException {
+            versions = new LinkedHashMap<>();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var versionNum = parser.getCurrentName();
+                var token = parser.nextToken();
+
+                if (token == JsonToken.START_OBJECT) {
+                    versions.put(versionNum, streamVersion(versionNum));
+                } else {
+                    // not a version object, so this only records the issue
+                    inventoryParser.parseVersionEntry(versionNum, readTree(), inventoryPath, results);
+                }
+            }
+        }
+
+        private SimpleVersion streamVersion(String versionNum) throws IOException {
+            var version = new SimpleVersion();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var fieldName = parser.getCurrentName();
+                var token = parser.nextToken();
+
+                if (SimpleVersion.STATE_KEY.equals(fieldName) && token == JsonToken.START_OBJECT) {
+                    streamState(versionNum);
+                    // The state has already been validated, and only the version number is needed after this point
+                    version.setState(Collections.emptyMap());
+                } else {
+                    inventoryParser.parseVersionField(
+                            version, fieldName, readTree(), versionNum, inventoryPath, results);
+                }
+            }
+
+            inventoryValidator.validateInventoryVersion(
+                    versionNum, version, Collections.emptySet(), inventoryPath, results);
+
+            return version;
+        }
+
+        private void streamState(String versionNum) throws IOException {
+            var issues = inventoryParser.stateIssues(versionNum, inventoryPath, results);
+            var pathsValidator = inventoryValidator.statePathsValidator(versionNum, inventoryPath, results);
+            var pendingDigests = manifestDigests == null ? new ArrayList<String>() : null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var digest = parser.getCurrentName();
+                parser.nextToken();
+
+                if (streamPaths(digest, issues, pathsValidator::validatePath)) {
+                    if (pendingDigests == null) {
+                        validateStateDigest(versionNum, digest);
+                    } else {
+                        pendingDigests.add(digest);
+                    }
+                }
+            }
+
+            pathsValidator.finish();
+
+            if (pendingDigests != null) {
+                pendingStateDigests.put(versionNum, pendingDigests);
+            }
+        }
+
+        private void validateStateDigest(String versionNum, String digest) {
+            inventoryValidator.validateStateDigest(
+                    versionNum, digest, manifestDigests.keySet(), inventoryPath, results);
+            manifestDigests.replace(digest, Boolean.TRUE);
+        }
+
+        /**
+         * Reads the paths array that the parser is positioned at, passing each path to the consumer.
+         *
+         * @return true if the value is an array
+         */
+        private boolean streamPaths(
+                String digest, SimpleInventoryParser.DigestPathsIssues issues, Consumer<String> pathConsumer)
+                throws IOException {
+            var token = parser.currentToken();
+
+            if (token == JsonToken.VALUE_NULL) {
+                issues.pathsIsNull.accept(digest);
+                return false;
+            } else if (token != JsonToken.START_ARRAY) {
+                issues.pathsIsWrongType.accept(digest);
+                parser.skipChildren();
+                return false;
+            }
+
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token == JsonToken.VALUE_NULL) {
+                    issues.pathIsNull.accept(digest);
+                } else if (token == JsonToken.VALUE_STRING) {
+                    pathConsumer.accept(parser.getText());
+                } else {
+                    issues.pathIsWrongType.accept(digest);
+                    parser.skipChildren();
+                }
+            }
+
+            return true;
+        }
+
+        private ValidationResults finish(OcflVersion ocflVersion, SimpleInventoryValidator.VersionEquality equality) {
+            if (manifestDigests == null) {
+                onManifestDigestsKnown();
+            }
+
+            if (!manifestSeen) {
+                // reports that the manifest is missing
+                inventoryValidator.validateInventoryManifest(inventory, inventoryPath, results);
+            } else if (!manifestDigestsValidated) {
+                validateManifestDigests();
+            }
+
+            if (versions != null) {
+                inventory.setVersions(versions);
+            }
+
+            var finalResults = new ValidationResultsBuilder();
+
+            inventoryValidator.validateInventoryHeader(inventory, inventoryPath, ocflVersion, equality, finalResults);
+            inventoryValidator.validateInventoryVersionNumbers(inventory, inventoryPath, finalResults);
+
+            finalResults.addAll(results);
+
+            if (inventory.getVersions() != null) {
+                var unseenDigests = manifestDigests.entrySet().stream()
+                        .filter(entry -> !entry.getValue())
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toSet());
+                inventoryValidator.addUnseenDigestIssues(unseenDigests, inventoryPath, finalResults);
+            } else {
+                inventoryValidator.validateInventoryVersions(inventory, inventoryPath, finalResults);
+            }
+
+            return finalResults.build();
+        }
+
+        private JsonNode readTree() throws IOException {
+            JsonNode node = objectMapper.readTree(parser);
+            return node == null ? NullNode.getInstance() : node;
+        }
+    }
+}
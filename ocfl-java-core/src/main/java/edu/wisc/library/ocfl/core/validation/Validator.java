@@ -31,6 +31,7 @@ import edu.wisc.library.ocfl.api.OcflConstants;
 import edu.wisc.library.ocfl.api.exception.OcflIOException;
 import edu.wisc.library.ocfl.api.exception.OcflInputException;
 import edu.wisc.library.ocfl.api.exception.OcflNoSuchFileException;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
 import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
 import edu.wisc.library.ocfl.api.model.InventoryType;
 import edu.wisc.library.ocfl.api.model.OcflVersion;
@@ -51,6 +52,7 @@ import edu.wisc.library.ocfl.core.util.MultiDigestInputStream;
 import edu.wisc.library.ocfl.core.util.NamasteTypeFile;
 import edu.wisc.library.ocfl.core.validation.model.SimpleInventory;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -65,6 +67,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -91,6 +95,8 @@ public class Validator {
     private final Storage fileSystem;
     private final SimpleInventoryParser inventoryParser;
     private final SimpleInventoryValidator inventoryValidator;
+    private final StreamingInventoryValidator streamingInventoryValidator;
+    private final double fixityDownloadRate;
 
     /**
      * Validates that object at the specified location on disk
@@ -115,10 +121,42 @@ public class Validator {
                 .validateInventory(inventoryPath.getFileName().toString());
     }
 
+    /**
+     * Creates a validator that validates large inventories in parallel using the common fork join pool
+     *
+     * @param fileSystem the storage the objects are in
+     */
     public Validator(Storage fileSystem) {
+        this(fileSystem, new SimpleInventoryValidator(ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * @param fileSystem the storage the objects are in
+     * @param inventoryValidator the validator to validate inventories with
+     */
+    public Validator(Storage fileSystem, SimpleInventoryValidator inventoryValidator) {
+        this(fileSystem, inventoryValidator, 1.0);
+    }
+
+    /**
+     * When content fixity is checked, files that the storage already has digests for, such as S3 objects that were
+     * uploaded with additional checksums, are verified against the stored digests rather than downloaded. In order to
+     * detect problems with the stored content, a random sample of these files are still downloaded and digested.
+     *
+     * @param fileSystem the storage the objects are in
+     * @param inventoryValidator the validator to validate inventories with
+     * @param fixityDownloadRate the fraction, between 0.0 and 1.0, of files with stored digests to download when
+     *                           checking fixity. 1.0 means that every file is downloaded.
+     */
+    public Validator(Storage fileSystem, SimpleInventoryValidator inventoryValidator, double fixityDownloadRate) {
+        this.fixityDownloadRate = Enforce.expressionTrue(
+                fixityDownloadRate >= 0.0 && fixityDownloadRate <= 1.0,
+                fixityDownloadRate,
+                "fixityDownloadRate must be between 0.0 and 1.0");
         this.fileSystem = Enforce.notNull(fileSystem, "fileSystem cannot be null");
         this.inventoryParser = new SimpleInventoryParser();
-        this.inventoryValidator = new SimpleInventoryValidator();
+        this.inventoryValidator = Enforce.notNull(inventoryValidator, "inventoryValidator cannot be null");
+        this.streamingInventoryValidator = new StreamingInventoryValidator(inventoryValidator);
     }
 
     /**
@@ -129,7 +167,19 @@ public class Validator {
      * @return the validation results
      */
     public ValidationResults validateObject(String objectRootPath, boolean contentFixityCheck) {
+        return validateObject(objectRootPath, contentFixityCheck ? ContentValidation.FIXITY : ContentValidation.NONE);
+    }
+
+    /**
+     * Validates the specified directory against the OCFL 1.0 and 1.1 spec.
+     *
+     * @param objectRootPath the path to the object to validate
+     * @param contentValidation how thoroughly the content files should be checked
+     * @return the validation results
+     */
+    public ValidationResults validateObject(String objectRootPath, ContentValidation contentValidation) {
         Enforce.notBlank(objectRootPath, "objectRootPath cannot be blank");
+        Enforce.notNull(contentValidation, "contentValidation cannot be null");
 
         var results = new ValidationResultsBuilder();
 
@@ -150,7 +200,7 @@ public class Validator {
                         inventory,
                         parseResult.digests,
                         parseResult.isValid,
-                        contentFixityCheck,
+                        contentValidation,
                         results));
             } else {
                 results.addIssue(ValidationCode.E063, "Object root inventory not found at %s", inventoryPath);
@@ -161,7 +211,8 @@ public class Validator {
     }
 
     /**
-     * Validates that an inventory is internally valid.
+     * Validates that an inventory is internally valid. The inventory is validated while it's parsed, so the entire
+     * inventory is never held in memory at once.
      *
      * @param inventoryPath the path to the inventory to validate
      * @return the validation results
@@ -173,15 +224,11 @@ public class Validator {
             throw new OcflInputException("No inventory found at: " + inventoryPath);
         }
 
-        var results = new ValidationResultsBuilder();
-        var parseResults = parseInventory(inventoryPath, results, VALID_INVENTORY_ALGORITHMS);
-
-        parseResults.inventory.ifPresent(inventory -> {
-            var validationResults = inventoryValidator.validateInventory(inventory, inventoryPath, null, null);
-            results.addAll(validationResults);
-        });
-
-        return results.build();
+        try (var stream = fileSystem.read(inventoryPath)) {
+            return streamingInventoryValidator.validateInventory(stream, inventoryPath, null, null);
+        } catch (IOException e) {
+            throw new OcflIOException(e);
+        }
     }
 
     private void validateObjectWithInventory(
@@ -192,7 +239,7 @@ public class Validator {
             SimpleInventory rootInventory,
             Map<DigestAlgorithm, String> inventoryDigests,
             boolean inventoryIsValid,
-            boolean contentFixityCheck,
+            ContentValidation contentValidation,
             ValidationResultsBuilder results) {
         var ignoreFiles = new HashSet<String>();
         ignoreFiles.add(OcflConstants.INVENTORY_FILE);
@@ -218,7 +265,8 @@ public class Validator {
             var rootDigest =
                     inventoryDigests.get(DigestAlgorithmRegistry.getAlgorithm(rootInventory.getDigestAlgorithm()));
 
-            var contentFiles = findAllContentFiles(objectRootPath, rootInventory, results);
+            var contentSizes = contentValidation == ContentValidation.NONE ? null : new HashMap<String, Long>();
+            var contentFiles = findAllContentFiles(objectRootPath, rootInventory, contentSizes, results);
             var manifests = new Manifests(rootInventory);
 
             validateContentFiles(inventoryPath, rootInventory, contentFiles, manifests, results);
@@ -250,7 +298,11 @@ public class Validator {
                 }
             }
 
-            if (contentFixityCheck) {
+            if (contentSizes != null) {
+                sizeCheck(objectRootPath, rootInventory, contentSizes, results);
+            }
+
+            if (contentValidation == ContentValidation.FIXITY) {
                 // TODO digests from the non-root fixity blocks are not validated
                 fixityCheck(objectRootPath, rootInventory, manifests, results);
             }
@@ -580,8 +632,15 @@ public class Validator {
         });
     }
 
+    /**
+     * Lists all of the content files in the object. If contentSizes is not null, then it is populated with the sizes
+     * of the content files that the storage reported sizes for.
+     */
     private ContentPaths findAllContentFiles(
-            String objectRootPath, SimpleInventory inventory, ValidationResultsBuilder results) {
+            String objectRootPath,
+            SimpleInventory inventory,
+            Map<String, Long> contentSizes,
+            ValidationResultsBuilder results) {
         var contentDir = defaultedContentDir(inventory);
 
         var files = new HashSet<String>(inventory.getManifest().size());
@@ -602,6 +661,9 @@ public class Validator {
                             fullPath);
                 } else {
                     files.add(contentPath);
+                    if (contentSizes != null && listing.getSize() != null) {
+                        contentSizes.put(contentPath, listing.getSize());
+                    }
                 }
             });
         });
@@ -609,6 +671,49 @@ public class Validator {
         return new ContentPaths(files);
     }
 
+    /**
+     * Compares the sizes recorded in the inventory's size fixity block with the sizes the storage reported when the
+     * content files were listed. Files that do not have both an expected and actual size are not checked.
+     */
+    private void sizeCheck(
+            String objectRootPath,
+            SimpleInventory inventory,
+            Map<String, Long> contentSizes,
+            ValidationResultsBuilder results) {
+        if (inventory.getFixity() == null) {
+            return;
+        }
+
+        var sizeBlock = inventory.getFixity().get(DigestAlgorithm.size.getOcflName());
+
+        if (sizeBlock == null) {
+            return;
+        }
+
+        sizeBlock.forEach((expected, contentPaths) -> {
+            for (var contentPath : contentPaths) {
+                var actual = contentSizes.get(contentPath);
+
+                if (actual == null) {
+                    // Missing files were already reported
+                    continue;
+                }
+
+                var storagePath = FileUtil.pathJoinFailEmpty(objectRootPath, contentPath);
+
+                if (!expected.equals(String.valueOf(actual))) {
+                    results.addIssue(
+                            ValidationCode.E093,
+                            "File %s failed %s fixity check. Expected: %s; Actual: %s",
+                            storagePath,
+                            DigestAlgorithm.size.getOcflName(),
+                            expected,
+                            actual);
+                }
+            }
+        });
+    }
+
     private void fixityCheck(
             String objectRootPath, SimpleInventory inventory, Manifests manifests, ValidationResultsBuilder results) {
         var invertedFixityMap = invertFixity(inventory);
@@ -643,29 +748,18 @@ public class Validator {
                     expectations.putAll(fixityDigests);
                 }
 
+                if (!shouldDownloadForFixity()
+                        && storedFixityCheck(storagePath, expectations, contentAlgorithms, results)) {
+                    continue;
+                }
+
                 try (var contentStream = fileSystem.read(storagePath)) {
                     var wrapped = MultiDigestInputStream.create(contentStream, expectations.keySet());
 
-                    while (wrapped.read() != -1) {
-                        // read entire stream
-                    }
-
-                    var actualDigests = wrapped.getResults();
+                    // Read in bulk so that the digests are updated a buffer at a time rather than byte by byte
+                    wrapped.transferTo(OutputStream.nullOutputStream());
 
-                    expectations.forEach((algorithm, expected) -> {
-                        var actual = actualDigests.get(algorithm);
-                        if (!expected.equalsIgnoreCase(actual)) {
-                            var code =
-                                    contentAlgorithms.contains(algorithm) ? ValidationCode.E092 : ValidationCode.E093;
-                            results.addIssue(
-                                    code,
-                                    "File %s failed %s fixity check. Expected: %s; Actual: %s",
-                                    storagePath,
-                                    algorithm.getOcflName(),
-                                    expected,
-                                    actual);
-                        }
-                    });
+                    compareDigests(storagePath, expectations, wrapped.getResults(), contentAlgorithms, results);
                 } catch (OcflNoSuchFileException e) {
                     // Ignore this. We already reported missing files.
                 } catch (Exception e) {
@@ -676,6 +770,67 @@ public class Validator {
         }
     }
 
+    private boolean shouldDownloadForFixity() {
+        return fixityDownloadRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < fixityDownloadRate;
+    }
+
+    /**
+     * Verifies the expected digests against the digests the storage has stored for the file. Returns false if the
+     * storage does not have a stored digest for any of the expected algorithms, in which case the file must be read.
+     */
+    private boolean storedFixityCheck(
+            String storagePath,
+            Map<DigestAlgorithm, String> expectations,
+            Set<DigestAlgorithm> contentAlgorithms,
+            ValidationResultsBuilder results) {
+        Map<DigestAlgorithm, String> storedDigests;
+
+        try {
+            storedDigests = fileSystem.storedDigests(storagePath);
+        } catch (OcflNoSuchFileException e) {
+            // Ignore this. We already reported missing files.
+            return true;
+        } catch (RuntimeException e) {
+            LOG.debug("Failed to get stored digests for {}", storagePath, e);
+            return false;
+        }
+
+        var comparable = new HashMap<DigestAlgorithm, String>();
+        expectations.forEach((algorithm, expected) -> {
+            if (storedDigests.containsKey(algorithm)) {
+                comparable.put(algorithm, expected);
+            }
+        });
+
+        if (comparable.isEmpty()) {
+            return false;
+        }
+
+        compareDigests(storagePath, comparable, storedDigests, contentAlgorithms, results);
+        return true;
+    }
+
+    private void compareDigests(
+            String storagePath,
+            Map<DigestAlgorithm, String> expectations,
+            Map<DigestAlgorithm, String> actualDigests,
+            Set<DigestAlgorithm> contentAlgorithms,
+            ValidationResultsBuilder results) {
+        expectations.forEach((algorithm, expected) -> {
+            var actual = actualDigests.get(algorithm);
+            if (!expected.equalsIgnoreCase(actual)) {
+                var code = contentAlgorithms.contains(algorithm) ? ValidationCode.E092 : ValidationCode.E093;
+                results.addIssue(
+                        code,
+                        "File %s failed %s fixity check. Expected: %s; Actual: %s",
+                        storagePath,
+                        algorithm.getOcflName(),
+                        expected,
+                        actual);
+            }
+        });
+    }
+
     private void validateVersionDirContents(
             String objectRootPath,
             String versionStr,
@@ -938,9 +1093,7 @@ public class Validator {
     private String computeInventoryDigest(String inventoryPath, DigestAlgorithm algorithm) {
         try (var stream = fileSystem.read(inventoryPath)) {
             var wrapped = MultiDigestInputStream.create(stream, List.of(algorithm));
-            while (wrapped.read() > 0) {
-                // consume stream
-            }
+            wrapped.transferTo(OutputStream.nullOutputStream());
             return wrapped.getResults().get(algorithm);
         } catch (IOException e) {
             throw new OcflIOException(e);
@@ -0,0 +1,260 @@
+package edu.wisc.library.ocfl.core.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+import edu.wisc.library.ocfl.api.model.VersionNum;
+import edu.wisc.library.ocfl.core.model.RevisionNum;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ChangeFeedDatabaseTest {
+
+    private static ComboPooledDataSource dataSource;
+
+    private String tableName;
+    private ExecutorService executor;
+    private ChangeFeedDatabase database;
+
+    @BeforeAll
+    public static void beforeAll() {
+        dataSource = new ComboPooledDataSource();
+        dataSource.setJdbcUrl(System.getProperty("db.url", "jdbc:h2:mem:test"));
+        dataSource.setUser(System.getProperty("db.user", ""));
+        dataSource.setPassword(System.getProperty("db.password", ""));
+    }
+
+    @BeforeEach
+    public void setup() {
+        tableName = "feed_" + UUID.randomUUID().toString().replaceAll("-", "");
+
+        database = createDatabase(tableName);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void after() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldRecordChangeWithVersionAndRevision() {
+        database.recordChange(
+                OcflChangeType.MUTABLE_HEAD_UPDATED, "o1", VersionNum.fromString("v2"), RevisionNum.fromString("r1"));
+
+        var changes = listChanges(0);
+
+        assertEquals(1, changes.size());
+        var change = changes.get(0);
+        assertEquals(OcflChangeType.MUTABLE_HEAD_UPDATED, change.getChangeType());
+        assertEquals("o1", change.getObjectId());
+        assertEquals(VersionNum.fromString("v2"), change.getVersionNum());
+        assertEquals(RevisionNum.fromString("r1"), change.getRevisionNum());
+        assertNotNull(change.getChangeTimestamp());
+        assertEquals(database.latestChangeId(), change.getChangeId());
+    }
+
+    @Test
+    public void shouldRecordChangeWithoutVersion() {
+        database.recordChange(OcflChangeType.PURGED, "o1", null, null);
+
+        var change = listChanges(0).get(0);
+
+        assertEquals(OcflChangeType.PURGED, change.getChangeType());
+        assertNull(change.getVersionNum());
+        assertNull(change.getRevisionNum());
+    }
+
+    @Test
+    public void shouldListChangesInRecordedOrder() {
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o2", VersionNum.fromString("v1"), null);
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o1", VersionNum.fromString("v1"), null);
+        database.recordChange(OcflChangeType.PURGED, "o2", null, null);
+
+        assertEquals(List.of("o2", "o1", "o2"), objectIds(listChanges(0)));
+    }
+
+    @Test
+    public void shouldOnlyListChangesAfterCursor() {
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o1", VersionNum.fromString("v1"), null);
+        var cursor = database.latestChangeId();
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o2", VersionNum.fromString("v1"), null);
+
+        assertEquals(List.of("o2"), objectIds(listChanges(cursor)));
+        assertEquals(List.of(), listChanges(database.latestChangeId()));
+    }
+
+    @Test
+    public void shouldReturnZeroLatestIdWhenFeedEmpty() {
+        assertEquals(0, database.latestChangeId());
+    }
+
+    @Test
+    public void shouldRemoveChangesThroughId() {
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o1", VersionNum.fromString("v1"), null);
+        var cursor = database.latestChangeId();
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o2", VersionNum.fromString("v1"), null);
+
+        database.removeChangesThrough(cursor);
+
+        assertEquals(List.of("o2"), objectIds(listChanges(cursor)));
+    }
+
+    @Test
+    public void shouldNotListChangesAfterPendingChangeUntilItIsCompleted() {
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o1", VersionNum.fromString("v1"), null);
+        var pendingId = database.beginChange(OcflChangeType.VERSION_CREATED, "o2");
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o3", VersionNum.fromString("v1"), null);
+
+        assertEquals(List.of("o1"), objectIds(listChanges(0)));
+
+        database.completeChange(pendingId, VersionNum.fromString("v2"), null);
+
+        var changes = listChanges(0);
+        assertEquals(List.of("o1", "o2", "o3"), objectIds(changes));
+        assertEquals(VersionNum.fromString("v2"), changes.get(1).getVersionNum());
+    }
+
+    @Test
+    public void shouldSkipAbandonedChangesAndNotCompleteThem() {
+        var abandonedId = database.beginChange(OcflChangeType.VERSION_CREATED, "o1");
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o2", VersionNum.fromString("v1"), null);
+
+        database.abandonChange(abandonedId);
+        database.completeChange(abandonedId, VersionNum.fromString("v1"), null);
+
+        assertEquals(List.of("o2"), objectIds(listChanges(0)));
+    }
+
+    @Test
+    public void shouldOnlyResolvePendingChangesOlderThanDuration() {
+        database.beginChange(OcflChangeType.PURGED, "o1");
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o2", VersionNum.fromString("v1"), null);
+
+        assertEquals(0, database.resolvePendingChanges(Duration.ofHours(1)));
+        assertEquals(List.of(), listChanges(0));
+
+        assertEquals(1, database.resolvePendingChanges(Duration.ZERO));
+        assertEquals(List.of("o1", "o2"), objectIds(listChanges(0)));
+    }
+
+    @Test
+    public void shouldCompletePendingChangeOlderThanPendingTimeoutWhenListed() throws SQLException {
+        var staleId = database.beginChange(OcflChangeType.VERSION_CREATED, "o1");
+        var pendingId = database.beginChange(OcflChangeType.VERSION_CREATED, "o2");
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o3", VersionNum.fromString("v1"), null);
+
+        // simulates a change that was left pending by a process that failed an hour ago
+        try (var connection = dataSource.getConnection();
+                var statement = connection.prepareStatement(
+                        String.format("UPDATE %s SET change_timestamp = ? WHERE change_id = ?", tableName))) {
+            statement.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now().minusHours(1)));
+            statement.setLong(2, staleId);
+            statement.executeUpdate();
+        }
+
+        var changes = listChanges(0);
+        assertEquals(List.of("o1"), objectIds(changes));
+        assertNull(changes.get(0).getVersionNum());
+
+        database.completeChange(staleId, VersionNum.fromString("v1"), null);
+        database.completeChange(pendingId, VersionNum.fromString("v1"), null);
+
+        changes = listChanges(0);
+        assertEquals(List.of("o1", "o2", "o3"), objectIds(changes));
+        assertNull(changes.get(0).getVersionNum());
+    }
+
+    @Test
+    public void shouldNotListPastGapInChangeIdsUntilGapTimeoutExpires() throws SQLException {
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o1", VersionNum.fromString("v1"), null);
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o2", VersionNum.fromString("v1"), null);
+        database.recordChange(OcflChangeType.VERSION_CREATED, "o3", VersionNum.fromString("v1"), null);
+
+        // simulates a change that was assigned an id but is not committed yet
+        try (var connection = dataSource.getConnection();
+                var statement =
+                        connection.prepareStatement(String.format("DELETE FROM %s WHERE object_id = ?", tableName))) {
+            statement.setString(1, "o2");
+            statement.executeUpdate();
+        }
+
+        assertEquals(List.of("o1"), objectIds(listChanges(0)));
+
+        var noWaitDatabase = new DefaultChangeFeedDatabase(tableName, dataSource, Duration.ZERO);
+        try (var changes = noWaitDatabase.listChanges(0)) {
+            assertEquals(List.of("o1", "o3"), objectIds(changes.collect(Collectors.toList())));
+        }
+    }
+
+    @Test
+    public void shouldListEveryChangeOnceWhenRecordedConcurrently()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        var writers = 4;
+        var changesPerWriter = 25;
+        var phaser = new Phaser(writers + 1);
+        var futures = new ArrayList<Future<?>>();
+
+        for (var i = 0; i < writers; i++) {
+            var objectId = "o" + i;
+            futures.add(executor.submit(() -> {
+                phaser.arriveAndAwaitAdvance();
+                for (var j = 0; j < changesPerWriter; j++) {
+                    var changeId = database.beginChange(OcflChangeType.VERSION_CREATED, objectId);
+                    database.completeChange(changeId, VersionNum.fromString("v" + (j + 1)), null);
+                }
+            }));
+        }
+
+        phaser.arriveAndAwaitAdvance();
+
+        for (var future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        var changes = listChanges(0);
+
+        assertEquals(writers * changesPerWriter, changes.size());
+        for (var i = 1; i < changes.size(); i++) {
+            assertTrue(changes.get(i).getChangeId() > changes.get(i - 1).getChangeId());
+        }
+        assertEquals(database.latestChangeId(), changes.get(changes.size() - 1).getChangeId());
+    }
+
+    private List<OcflChange> listChanges(long afterChangeId) {
+        try (var changes = database.listChanges(afterChangeId)) {
+            return changes.collect(Collectors.toList());
+        }
+    }
+
+    private List<String> objectIds(List<OcflChange> changes) {
+        return changes.stream().map(OcflChange::getObjectId).collect(Collectors.toList());
+    }
+
+    private ChangeFeedDatabase createDatabase(String tableName) {
+        return new ChangeFeedDatabaseBuilder()
+                .dataSource(dataSource)
+                .tableName(tableName)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package edu.wisc.library.ocfl.core.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class KeysetPageIteratorTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    private List<Integer> rows;
+    private List<Integer> requestedKeys;
+
+    @BeforeEach
+    public void setup() {
+        rows = new ArrayList<>();
+        requestedKeys = new ArrayList<>();
+    }
+
+    @Test
+    public void shouldReturnNothingWhenNoRows() {
+        var iterator = iterator(null);
+
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals(1, requestedKeys.size());
+    }
+
+    @Test
+    public void shouldReturnAllRowsWhenFewerThanPage() {
+        addRows(2);
+
+        assertEquals(List.of(1, 2), collect(iterator(null)));
+        assertEquals(1, requestedKeys.size());
+    }
+
+    @Test
+    public void shouldRequestNextPageAfterLastKeyWhenPageFull() {
+        addRows(7);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), collect(iterator(null)));
+        assertEquals(List.of(3, 6), requestedKeys.subList(1, requestedKeys.size()));
+    }
+
+    @Test
+    public void shouldRequestEmptyPageWhenRowsExactMultipleOfPage() {
+        addRows(6);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), collect(iterator(null)));
+        assertEquals(3, requestedKeys.size());
+    }
+
+    @Test
+    public void shouldStartAfterKey() {
+        addRows(5);
+
+        assertEquals(List.of(3, 4, 5), collect(iterator(2)));
+    }
+
+    @Test
+    public void shouldNotLoadNextPageUntilCurrentPageConsumed() {
+        addRows(5);
+
+        var iterator = iterator(null);
+        for (var i = 0; i < PAGE_SIZE; i++) {
+            iterator.next();
+        }
+
+        assertEquals(1, requestedKeys.size());
+
+        iterator.next();
+
+        assertEquals(2, requestedKeys.size());
+    }
+
+    private KeysetPageIterator<Integer, Integer> iterator(Integer startAfter) {
+        return new KeysetPageIterator<>(startAfter, PAGE_SIZE, this::loadPage, Function.identity());
+    }
+
+    private List<Integer> loadPage(Integer afterKey) {
+        requestedKeys.add(afterKey);
+        return rows.stream()
+                .filter(row -> afterKey == null || row > afterKey)
+                .limit(PAGE_SIZE)
+                .collect(Collectors.toList());
+    }
+
+    private void addRows(int count) {
+        IntStream.rangeClosed(1, count).forEach(rows::add);
+    }
+
+    private List<Integer> collect(KeysetPageIterator<Integer, Integer> iterator) {
+        try (var stream = KeysetPageIterator.stream(iterator)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -109,6 +110,33 @@ public class ObjectDetailsDatabaseTest {
         assertNull(details);
     }
 
+    @Test
+    public void shouldRetrieveDetailsForMultipleObjects() {
+        var inventory = basicInventory();
+        var invBytes = inventoryBytes(inventory);
+        var digest = DigestUtil.computeDigestHex(inventory.getDigestAlgorithm(), invBytes);
+
+        var inventory2 = Inventory.builderFromStub(
+                        "o2", new OcflConfig().setOcflVersion(OcflConstants.DEFAULT_OCFL_VERSION), "o2")
+                .addFileToManifest("f1", "v1/content/file1.txt")
+                .addHeadVersion(Version.builder()
+                        .created(OffsetDateTime.now())
+                        .addFile("f1", "file1.txt")
+                        .build())
+                .build();
+        var invBytes2 = inventoryBytes(inventory2);
+        var digest2 = DigestUtil.computeDigestHex(inventory2.getDigestAlgorithm(), invBytes2);
+
+        database.addObjectDetails(inventory, digest, invBytes);
+        database.addObjectDetails(inventory2, digest2, invBytes2);
+
+        var details = database.retrieveObjectDetails(List.of("o1", "o2", "o3"));
+
+        assertEquals(2, details.size());
+        assertObjectDetails(inventory, digest, invBytes, details.get("o1"));
+        assertObjectDetails(inventory2, digest2, invBytes2, details.get("o2"));
+    }
+
     @Test
     public void shouldApplyUpdateWhenRunnableSucceeds() {
         var inventory = basicInventory();
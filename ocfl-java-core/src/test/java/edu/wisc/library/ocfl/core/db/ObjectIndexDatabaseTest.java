@@ -0,0 +1,149 @@
+package edu.wisc.library.ocfl.core.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+import edu.wisc.library.ocfl.api.model.VersionNum;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ObjectIndexDatabaseTest {
+
+    private static ComboPooledDataSource dataSource;
+
+    private String tableName;
+    private ExecutorService executor;
+    private ObjectIndexDatabase database;
+
+    @BeforeAll
+    public static void beforeAll() {
+        dataSource = new ComboPooledDataSource();
+        dataSource.setJdbcUrl(System.getProperty("db.url", "jdbc:h2:mem:test"));
+        dataSource.setUser(System.getProperty("db.user", ""));
+        dataSource.setPassword(System.getProperty("db.password", ""));
+    }
+
+    @BeforeEach
+    public void setup() {
+        tableName = "index_" + UUID.randomUUID().toString().replaceAll("-", "");
+
+        database = createDatabase(tableName);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void after() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldContainObjectWhenIndexed() {
+        database.indexObject("o1", "a/b/o1", VersionNum.fromString("v1"));
+
+        assertTrue(database.containsObject("o1"));
+        assertFalse(database.containsObject("o2"));
+    }
+
+    @Test
+    public void shouldUpdateObjectWhenAlreadyIndexed() {
+        database.indexObject("o1", "a/b/o1", VersionNum.fromString("v1"));
+        database.indexObject("o1", "a/b/o1", VersionNum.fromString("v2"));
+
+        assertEquals(List.of("o1"), listObjectIds());
+    }
+
+    @Test
+    public void shouldListObjectIdsInIdOrder() {
+        database.indexObject("o3", "o3", VersionNum.fromString("v1"));
+        database.indexObject("o1", "o1", VersionNum.fromString("v1"));
+        database.indexObject("o2", "o2", VersionNum.fromString("v1"));
+
+        assertEquals(List.of("o1", "o2", "o3"), listObjectIds());
+    }
+
+    @Test
+    public void shouldListNothingWhenIndexEmpty() {
+        assertEquals(List.of(), listObjectIds());
+    }
+
+    @Test
+    public void shouldRemoveObjectWhenIndexed() {
+        database.indexObject("o1", "o1", VersionNum.fromString("v1"));
+        database.indexObject("o2", "o2", VersionNum.fromString("v1"));
+
+        database.removeObject("o1");
+
+        assertFalse(database.containsObject("o1"));
+        assertEquals(List.of("o2"), listObjectIds());
+    }
+
+    @Test
+    public void shouldDoNothingWhenRemoveAndObjectNotIndexed() {
+        database.indexObject("o1", "o1", VersionNum.fromString("v1"));
+
+        database.removeObject("o2");
+
+        assertEquals(List.of("o1"), listObjectIds());
+    }
+
+    @Test
+    public void shouldOnlyRemoveObjectsIndexedBeforeTimestamp() {
+        database.indexObject("o1", "o1", VersionNum.fromString("v1"));
+
+        database.removeObjectsIndexedBefore(LocalDateTime.now().minus(1, ChronoUnit.HOURS));
+        assertEquals(List.of("o1"), listObjectIds());
+
+        database.removeObjectsIndexedBefore(LocalDateTime.now().plus(1, ChronoUnit.HOURS));
+        assertEquals(List.of(), listObjectIds());
+    }
+
+    @Test
+    public void shouldIndexObjectOnceWhenIndexedConcurrently()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        var phaser = new Phaser(3);
+
+        var future = executor.submit(() -> {
+            phaser.arriveAndAwaitAdvance();
+            database.indexObject("o1", "o1", VersionNum.fromString("v1"));
+        });
+        var future2 = executor.submit(() -> {
+            phaser.arriveAndAwaitAdvance();
+            database.indexObject("o1", "o1", VersionNum.fromString("v2"));
+        });
+
+        phaser.arriveAndAwaitAdvance();
+
+        future.get(5, TimeUnit.SECONDS);
+        future2.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("o1"), listObjectIds());
+    }
+
+    private List<String> listObjectIds() {
+        try (var ids = database.listObjectIds()) {
+            return ids.collect(Collectors.toList());
+        }
+    }
+
+    private ObjectIndexDatabase createDatabase(String tableName) {
+        return new ObjectIndexDatabaseBuilder()
+                .dataSource(dataSource)
+                .tableName(tableName)
+                .build();
+    }
+}
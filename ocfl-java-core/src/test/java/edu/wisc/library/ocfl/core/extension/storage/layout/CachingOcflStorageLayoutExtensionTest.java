@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 University of Wisconsin Board of Regents
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package edu.wisc.library.ocfl.core.extension.storage.layout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.wisc.library.ocfl.core.cache.CaffeineCache;
+import edu.wisc.library.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CachingOcflStorageLayoutExtensionTest {
+
+    private HashedNTupleLayoutExtension delegate;
+    private CachingOcflStorageLayoutExtension ext;
+
+    @BeforeEach
+    public void setup() {
+        delegate = new HashedNTupleLayoutExtension();
+        ext = new CachingOcflStorageLayoutExtension(
+                delegate,
+                new CaffeineCache<>(Caffeine.newBuilder().maximumSize(2).build()));
+        ext.init(new HashedNTupleLayoutConfig());
+    }
+
+    @Test
+    public void shouldMapIdSameAsDelegate() {
+        var objectId = "http://library.wisc.edu/123";
+        assertEquals(delegate.mapObjectId(objectId), ext.mapObjectId(objectId));
+        assertEquals(delegate.mapObjectId(objectId), ext.mapObjectId(objectId));
+        assertEquals(HashedNTupleLayoutExtension.EXTENSION_NAME, ext.getExtensionName());
+    }
+
+    @Test
+    public void shouldTrackHitsAndMisses() {
+        assertEquals(1.0, ext.getHitRate());
+
+        ext.mapObjectId("o1");
+        ext.mapObjectId("o1");
+        ext.mapObjectId("o2");
+        ext.mapObjectId("o1");
+
+        assertEquals(4, ext.getRequestCount());
+        assertEquals(2, ext.getMissCount());
+        assertEquals(2, ext.getHitCount());
+        assertEquals(0.5, ext.getHitRate());
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import edu.wisc.library.ocfl.api.exception.OcflExtensionException;
 import java.nio.file.FileSystems;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -38,4 +39,15 @@ public class FlatLayoutExtensionTest {
                 .isInstanceOf(OcflExtensionException.class)
                 .hasMessageContaining("path separator");
     }
+
+    @Test
+    public void mapObjectRootPathToSameId() {
+        var objectId = "..hor_rib:lé-$id";
+        assertEquals(Optional.of(objectId), ext.mapObjectRootPath(ext.mapObjectId(objectId)));
+    }
+
+    @Test
+    public void doNotMapObjectRootPathWhenNested() {
+        assertEquals(Optional.empty(), ext.mapObjectRootPath("abc/obj123"));
+    }
 }
@@ -30,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import edu.wisc.library.ocfl.api.exception.OcflExtensionException;
 import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
 import edu.wisc.library.ocfl.core.extension.storage.layout.config.HashedNTupleIdEncapsulationLayoutConfig;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -74,6 +75,26 @@ public class HashedNTupleIdEncapsulationLayoutExtensionTest {
         assertMapping("609/ea7/968/http%3a%2f%2flibrary%2ewisc%2eedu%2f123");
     }
 
+    @Test
+    public void shouldMapObjectRootPathToId() {
+        ext.init(new HashedNTupleIdEncapsulationLayoutConfig());
+        assertEquals(
+                Optional.of(objectId), ext.mapObjectRootPath("ed7/558/5a6/http%3a%2f%2flibrary%2ewisc%2eedu%2f123"));
+    }
+
+    @Test
+    public void shouldNotMapObjectRootPathWhenIdTruncated() {
+        ext.init(new HashedNTupleIdEncapsulationLayoutConfig());
+        var longId = "abcdefghij".repeat(11);
+        assertEquals(Optional.empty(), ext.mapObjectRootPath(ext.mapObjectId(longId)));
+    }
+
+    @Test
+    public void shouldNotMapObjectRootPathWhenPathDoesNotMatchId() {
+        ext.init(new HashedNTupleIdEncapsulationLayoutConfig());
+        assertEquals(Optional.empty(), ext.mapObjectRootPath("000/000/000/http%3a%2f%2flibrary%2ewisc%2eedu%2f123"));
+    }
+
     @Test
     public void shouldThrowExceptionWhenTupleSizeAndNumTuplesNotBoth0() {
         assertThatThrownBy(() -> {
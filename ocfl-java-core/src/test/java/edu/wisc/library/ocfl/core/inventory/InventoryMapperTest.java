@@ -42,6 +42,22 @@ public class InventoryMapperTest {
         assertEquals(digest, inventory.getInventoryDigest());
     }
 
+    @Test
+    public void shouldReadIdFromBeginningOfInventory() throws IOException {
+        var original = readFile("simple-inventory.json");
+        var inventory = mapper.readNoDigest("obj1", new ByteArrayInputStream(original.getBytes()));
+        var truncated = original.substring(0, original.indexOf("\"manifest\""));
+
+        assertEquals(inventory.getId(), mapper.readId(new ByteArrayInputStream(truncated.getBytes())));
+    }
+
+    @Test
+    public void shouldReturnNullWhenIdNotInReadPortionOfInventory() {
+        var truncated = "{\"type\": \"https://ocfl.io/1.1/spec/#inventory\", \"manifest\": {\"abc";
+
+        assertNull(mapper.readId(new ByteArrayInputStream(truncated.getBytes())));
+    }
+
     @Test
     public void shouldRoundTripMutableHeadInventory() throws IOException {
         var original = readFile("simple-inventory.json");
@@ -0,0 +1,213 @@
+package edu.wisc.library.ocfl.core.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.wisc.library.ocfl.api.OcflConfig;
+import edu.wisc.library.ocfl.api.OcflConstants;
+import edu.wisc.library.ocfl.core.cache.Cache;
+import edu.wisc.library.ocfl.core.cache.CaffeineCache;
+import edu.wisc.library.ocfl.core.cache.NoOpCache;
+import edu.wisc.library.ocfl.core.extension.ExtensionSupportEvaluator;
+import edu.wisc.library.ocfl.core.inventory.InventoryMapper;
+import edu.wisc.library.ocfl.core.model.Inventory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CachingOcflStorageTest {
+
+    private OcflStorage delegate;
+    private CachingOcflStorage storage;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(OcflStorage.class);
+        storage = new CachingOcflStorage(new NoOpCache<>(), delegate);
+        storage.initializeStorage(null, null, InventoryMapper.prettyPrintMapper(), new ExtensionSupportEvaluator());
+    }
+
+    @Test
+    public void shouldLoadInventoryOnceWhenConcurrentlyRequested() throws InterruptedException {
+        var inventory = inventory("o1");
+        var loadStarted = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        when(delegate.loadInventory("o1")).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            release.await();
+            return inventory;
+        });
+
+        var results = new ConcurrentLinkedQueue<Inventory>();
+        var threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> results.add(storage.loadInventory("o1"))));
+        }
+        threads.forEach(Thread::start);
+
+        loadStarted.await();
+        awaitBlocked(threads);
+        release.countDown();
+
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        verify(delegate, times(1)).loadInventory("o1");
+        assertEquals(8, results.size());
+        results.forEach(result -> assertSame(inventory, result));
+    }
+
+    @Test
+    public void shouldShareInFlightLoadWithBatchLoad() throws InterruptedException {
+        var o1 = inventory("o1");
+        var o2 = inventory("o2");
+        var loadStarted = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        when(delegate.loadInventory("o1")).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            release.await();
+            return o1;
+        });
+        when(delegate.loadInventories(any())).thenReturn(Map.of("o2", o2));
+
+        var single = new Thread(() -> storage.loadInventory("o1"));
+        single.start();
+        loadStarted.await();
+
+        var batchResult = new ConcurrentLinkedQueue<Map<String, Inventory>>();
+        var batch = new Thread(() -> batchResult.add(storage.loadInventories(List.of("o1", "o2"))));
+        batch.start();
+
+        awaitBlocked(List.of(batch));
+        release.countDown();
+        single.join();
+        batch.join();
+
+        verify(delegate, times(1)).loadInventory("o1");
+        verify(delegate).loadInventories(Set.of("o2"));
+        assertEquals(Map.of("o1", o1, "o2", o2), batchResult.peek());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldBatchLoadInventoriesEvictedAfterContainsCheck() {
+        var o1 = inventory("o1");
+        var o2 = inventory("o2");
+        Cache<String, Inventory> cache = mock(Cache.class);
+        storage = new CachingOcflStorage(cache, delegate);
+        storage.initializeStorage(null, null, InventoryMapper.prettyPrintMapper(), new ExtensionSupportEvaluator());
+
+        // o2 is reported as cached, but is evicted before it is read
+        when(cache.contains(any())).thenReturn(true);
+        when(cache.getIfPresent("o1")).thenReturn(o1);
+        when(delegate.loadInventories(any())).thenReturn(Map.of("o2", o2));
+
+        assertEquals(Map.of("o1", o1, "o2", o2), storage.loadInventories(List.of("o1", "o2")));
+
+        verify(delegate).loadInventories(Set.of("o2"));
+        verify(delegate, never()).loadInventory(any());
+    }
+
+    @Test
+    public void shouldNotDeadlockWhenSingleLoadStartsWhileBatchLoadIsCaching() throws InterruptedException {
+        // The ids have the same hash code, so they share a bin in both the cache and the in-flight loads
+        var batchInventory = inventory("Aa");
+        var singleInventory = inventory("BB");
+        var caffeine =
+                new CaffeineCache<String, Inventory>(Caffeine.newBuilder().build());
+        var caching = new CountDownLatch(1);
+        var single = new AtomicReference<Thread>();
+
+        // Holds the batch load's put until the single load has entered the cache loader
+        var cache = new Cache<String, Inventory>() {
+            @Override
+            public Inventory get(String key, Function<String, Inventory> loader) {
+                return caffeine.get(key, loader);
+            }
+
+            @Override
+            public void put(String key, Inventory value) {
+                caching.countDown();
+                awaitBlocked(single.get(), Duration.ofMillis(500));
+                caffeine.put(key, value);
+            }
+
+            @Override
+            public void invalidate(String key) {
+                caffeine.invalidate(key);
+            }
+
+            @Override
+            public void invalidateAll() {
+                caffeine.invalidateAll();
+            }
+
+            @Override
+            public boolean contains(String key) {
+                return caffeine.contains(key);
+            }
+        };
+
+        storage = new CachingOcflStorage(cache, delegate);
+        storage.initializeStorage(null, null, InventoryMapper.prettyPrintMapper(), new ExtensionSupportEvaluator());
+        when(delegate.loadInventories(any())).thenReturn(Map.of("Aa", batchInventory));
+        when(delegate.loadInventory("BB")).thenReturn(singleInventory);
+
+        var batchResult = new ConcurrentLinkedQueue<Map<String, Inventory>>();
+        var singleResult = new ConcurrentLinkedQueue<Inventory>();
+        var batch = new Thread(() -> batchResult.add(storage.loadInventories(List.of("Aa"))));
+        single.set(new Thread(() -> singleResult.add(storage.loadInventory("BB"))));
+
+        batch.start();
+        caching.await();
+        single.get().start();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            batch.join();
+            single.get().join();
+        });
+        assertEquals(Map.of("Aa", batchInventory), batchResult.peek());
+        assertSame(singleInventory, singleResult.peek());
+    }
+
+    private void awaitBlocked(Thread thread, Duration timeout) {
+        var deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            while (thread.getState() != Thread.State.BLOCKED && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitBlocked(List<Thread> threads) throws InterruptedException {
+        while (!threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Inventory inventory(String objectId) {
+        return Inventory.stubInventory(
+                objectId, new OcflConfig().setOcflVersion(OcflConstants.DEFAULT_OCFL_VERSION), objectId);
+    }
+}
@@ -0,0 +1,78 @@
+package edu.wisc.library.ocfl.core.storage;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.wisc.library.ocfl.api.exception.OcflDbException;
+import edu.wisc.library.ocfl.api.exception.OcflIOException;
+import edu.wisc.library.ocfl.core.db.ChangeFeedDatabase;
+import edu.wisc.library.ocfl.core.db.OcflChangeType;
+import edu.wisc.library.ocfl.core.extension.ExtensionSupportEvaluator;
+import edu.wisc.library.ocfl.core.inventory.InventoryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ChangeFeedOcflStorageTest {
+
+    private ChangeFeedDatabase changeFeedDb;
+    private OcflStorage delegate;
+    private ChangeFeedOcflStorage storage;
+
+    @BeforeEach
+    public void setup() {
+        changeFeedDb = mock(ChangeFeedDatabase.class);
+        delegate = mock(OcflStorage.class);
+        storage = new ChangeFeedOcflStorage(changeFeedDb, delegate);
+        storage.initializeStorage(null, null, InventoryMapper.prettyPrintMapper(), new ExtensionSupportEvaluator());
+    }
+
+    @Test
+    public void shouldBeginChangeBeforeModifyingStorageAndCompleteItAfter() {
+        when(changeFeedDb.beginChange(OcflChangeType.PURGED, "o1")).thenReturn(5L);
+
+        storage.purgeObject("o1");
+
+        var order = inOrder(changeFeedDb, delegate);
+        order.verify(changeFeedDb).beginChange(OcflChangeType.PURGED, "o1");
+        order.verify(delegate).purgeObject("o1");
+        order.verify(changeFeedDb).completeChange(5L, null, null);
+    }
+
+    @Test
+    public void shouldNotModifyStorageWhenChangeCannotBeRecorded() {
+        when(changeFeedDb.beginChange(OcflChangeType.PURGED, "o1")).thenThrow(new OcflDbException("failed"));
+
+        assertThrows(OcflDbException.class, () -> storage.purgeObject("o1"));
+
+        verify(delegate, never()).purgeObject("o1");
+    }
+
+    @Test
+    public void shouldAbandonChangeWhenStorageOperationFails() {
+        when(changeFeedDb.beginChange(OcflChangeType.PURGED, "o1")).thenReturn(5L);
+        doThrow(new OcflIOException("failed")).when(delegate).purgeObject("o1");
+
+        assertThrows(OcflIOException.class, () -> storage.purgeObject("o1"));
+
+        verify(changeFeedDb).abandonChange(5L);
+        verify(changeFeedDb, never()).completeChange(anyLong(), any(), any());
+    }
+
+    @Test
+    public void shouldLeaveChangePendingWhenItCannotBeCompleted() {
+        when(changeFeedDb.beginChange(OcflChangeType.MUTABLE_HEAD_PURGED, "o1")).thenReturn(5L);
+        doThrow(new OcflDbException("failed")).when(changeFeedDb).completeChange(5L, null, null);
+
+        storage.purgeMutableHead("o1");
+
+        verify(delegate).purgeMutableHead("o1");
+        verify(changeFeedDb, never()).abandonChange(anyLong());
+    }
+}
@@ -0,0 +1,67 @@
+package edu.wisc.library.ocfl.core.storage;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.wisc.library.ocfl.api.OcflConfig;
+import edu.wisc.library.ocfl.api.OcflConstants;
+import edu.wisc.library.ocfl.core.db.ObjectIndexDatabase;
+import edu.wisc.library.ocfl.core.extension.ExtensionSupportEvaluator;
+import edu.wisc.library.ocfl.core.inventory.InventoryMapper;
+import edu.wisc.library.ocfl.core.model.Inventory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ObjectIndexOcflStorageTest {
+
+    private OcflStorage delegate;
+    private ObjectIndexDatabase objectIndexDb;
+    private ObjectIndexOcflStorage storage;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(OcflStorage.class);
+        objectIndexDb = mock(ObjectIndexDatabase.class);
+        storage = new ObjectIndexOcflStorage(objectIndexDb, delegate);
+        storage.initializeStorage(null, null, InventoryMapper.prettyPrintMapper(), new ExtensionSupportEvaluator());
+    }
+
+    @Test
+    public void shouldRemoveEntryWhenObjectPurgedWhileRebuilding() {
+        var o1 = inventory("o1");
+        var o2 = inventory("o2");
+        var o2Purged = new AtomicBoolean(false);
+
+        when(delegate.listObjectIds()).thenReturn(Stream.of("o1", "o2"));
+        when(delegate.loadInventory("o1")).thenReturn(o1);
+        when(delegate.loadInventory("o2")).thenAnswer(invocation -> {
+            // o2 is purged, and its entry removed, after its inventory is loaded
+            storage.purgeObject("o2");
+            o2Purged.set(true);
+            return o2;
+        });
+        when(delegate.containsObject("o1")).thenReturn(true);
+        when(delegate.containsObject("o2")).thenAnswer(invocation -> !o2Purged.get());
+
+        storage.rebuildIndex();
+
+        verify(objectIndexDb).indexObject("o1", o1.getObjectRootPath(), o1.getHead());
+        verify(objectIndexDb, never()).removeObject("o1");
+        var inOrder = inOrder(objectIndexDb);
+        inOrder.verify(objectIndexDb).removeObject("o2");
+        inOrder.verify(objectIndexDb).indexObject("o2", o2.getObjectRootPath(), o2.getHead());
+        inOrder.verify(objectIndexDb).removeObject("o2");
+        verify(objectIndexDb).removeObjectsIndexedBefore(any());
+    }
+
+    private Inventory inventory(String objectId) {
+        return Inventory.stubInventory(
+                objectId, new OcflConfig().setOcflVersion(OcflConstants.DEFAULT_OCFL_VERSION), objectId);
+    }
+}
@@ -0,0 +1,140 @@
+package edu.wisc.library.ocfl.core.storage.cloud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wisc.library.ocfl.api.exception.OcflInputException;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+public class AimdConcurrencyLimiterTest {
+
+    @Test
+    public void lowerLimitOnceWhenBurstOfRequestsIsThrottled() {
+        var limiter = new AimdConcurrencyLimiter(10, 2, 20, 0.5);
+
+        var permits = new ArrayList<AimdConcurrencyLimiter.Permit>();
+        for (int i = 0; i < 10; i++) {
+            permits.add(limiter.acquire());
+        }
+        assertEquals(10, limiter.getInFlight());
+
+        permits.forEach(permit -> permit.release(true));
+
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void raiseLimitAsRequestsSucceed() {
+        var limiter = new AimdConcurrencyLimiter(4, 2, 6, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire().release(false);
+        }
+
+        assertEquals(6, limiter.getLimit());
+    }
+
+    @Test
+    public void neverLowerLimitBelowMin() {
+        var limiter = new AimdConcurrencyLimiter(4, 3, 6, 0.5);
+
+        limiter.acquire().release(true);
+        limiter.acquire().release(true);
+
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    public void ignoreRepeatedRelease() {
+        var limiter = new AimdConcurrencyLimiter(4, 1, 6, 0.5);
+
+        var permit = limiter.acquire();
+        permit.release(true);
+        permit.release(true);
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void waitForPermitWhenAtLimit() throws InterruptedException {
+        var limiter = new AimdConcurrencyLimiter(1, 1, 1, 0.5);
+        var first = limiter.acquire();
+
+        var thread = new Thread(() -> limiter.acquire().release(false));
+        thread.start();
+
+        thread.join(100);
+        assertEquals(Thread.State.WAITING, thread.getState());
+
+        first.release(false);
+        thread.join(5000);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void completeAsyncPermitWhenPermitIsReleased() {
+        var limiter = new AimdConcurrencyLimiter(1, 1, 1, 0.5);
+        var first = limiter.acquireAsync().join();
+
+        var second = limiter.acquireAsync();
+        var third = limiter.acquireAsync();
+        assertFalse(second.isDone());
+        assertEquals(2, limiter.getWaiting());
+
+        first.release(false);
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        assertEquals(1, limiter.getInFlight());
+
+        second.join().release(false);
+        third.join().release(false);
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getWaiting());
+    }
+
+    @Test
+    public void passPermitOnWhenAsyncWaiterIsCancelled() {
+        var limiter = new AimdConcurrencyLimiter(1, 1, 1, 0.5);
+        var first = limiter.acquire();
+
+        var cancelled = limiter.acquireAsync();
+        var waiting = limiter.acquireAsync();
+        cancelled.cancel(false);
+
+        first.release(false);
+        assertTrue(waiting.isDone());
+        assertEquals(1, limiter.getInFlight());
+
+        waiting.join().release(false);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void releasePermitsOfRequestsSentWhenPermitIsGrantedWithoutRecursing() {
+        var limiter = new AimdConcurrencyLimiter(1, 1, 1, 0.5);
+        var first = limiter.acquire();
+
+        var waiters = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < 10_000; i++) {
+            waiters.add(limiter.acquireAsync().thenAccept(permit -> permit.release(false)));
+        }
+
+        first.release(false);
+
+        waiters.forEach(waiter -> assertTrue(waiter.isDone()));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void rejectInvalidLimits() {
+        assertThrows(OcflInputException.class, () -> new AimdConcurrencyLimiter(1, 0, 4, 0.5));
+        assertThrows(OcflInputException.class, () -> new AimdConcurrencyLimiter(5, 1, 4, 0.5));
+        assertThrows(OcflInputException.class, () -> new AimdConcurrencyLimiter(2, 1, 4, 1.0));
+    }
+}
@@ -0,0 +1,102 @@
+package edu.wisc.library.ocfl.core.storage.cloud;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class CloudFlatOcflObjectRootDirIteratorTest {
+
+    private TreeSet<String> keys;
+    private CloudClient cloudClient;
+
+    @BeforeEach
+    public void setup() {
+        keys = new TreeSet<>();
+        cloudClient = mock(CloudClient.class);
+
+        when(cloudClient.listPage(eq(""), any(), anyInt())).thenAnswer(invocation -> {
+            String startAfter = invocation.getArgument(1);
+            int maxKeys = invocation.getArgument(2);
+            var tail = startAfter == null ? keys : keys.tailSet(startAfter, false);
+            return new ListResult()
+                    .setObjects(tail.stream().limit(maxKeys).map(this::listing).collect(Collectors.toList()));
+        });
+        when(cloudClient.listDirectory("")).thenAnswer(invocation -> {
+            var dirs = keys.stream()
+                    .filter(key -> key.contains("/"))
+                    .map(key -> key.substring(0, key.indexOf('/') + 1))
+                    .distinct()
+                    .sorted()
+                    .map(dir -> new ListResult.DirectoryListing().setPath(dir))
+                    .collect(Collectors.toList());
+            return new ListResult().setObjects(List.of()).setDirectories(dirs);
+        });
+
+        keys.add("0=ocfl_1.1");
+        keys.add("extensions/0004-hashed-n-tuple-storage-layout/config.json");
+        keys.add("abb/obj4/0=ocfl_object_1.1");
+        keys.add("abb/obj4/inventory.json");
+        keys.add("abc-d/obj2/0=ocfl_object_1.1");
+        keys.add("abc-d/obj2/v1/content/file");
+        keys.add("abc/obj1/0=ocfl_object_1.1");
+        keys.add("abc/obj1/inventory.json");
+        keys.add("abc/obj1/v1/content/a/0=ocfl_object_1.1");
+        keys.add("abd/obj3/0=ocfl_object_1.1");
+    }
+
+    @Test
+    public void skipNamasteFilesWithinObjectContent() {
+        assertThat(scan(1), containsInAnyOrder("abb/obj4", "abc-d/obj2", "abc/obj1", "abd/obj3"));
+    }
+
+    @Test
+    public void skipObjectContentThatSpansPages() {
+        for (int i = 0; i < 2500; i++) {
+            keys.add(String.format("abc/obj1/v1/content/f%05d", i));
+        }
+        keys.add("abc/obj1/v1/content/z/0=ocfl_object_1.1");
+
+        assertThat(scan(1), containsInAnyOrder("abb/obj4", "abc-d/obj2", "abc/obj1", "abd/obj3"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 8})
+    public void findEachObjectOnceWhenSiblingDirsShareNamePrefix(int parallelism) {
+        for (int i = 0; i < 1500; i++) {
+            keys.add(String.format("abc/obj1/v1/content/f%05d", i));
+        }
+
+        var roots = scan(parallelism);
+
+        assertEquals(4, roots.size());
+        assertThat(roots, containsInAnyOrder("abb/obj4", "abc-d/obj2", "abc/obj1", "abd/obj3"));
+    }
+
+    private List<String> scan(int parallelism) {
+        var roots = new ArrayList<String>();
+        try (var iterator = new CloudFlatOcflObjectRootDirIterator(cloudClient, parallelism)) {
+            iterator.forEachRemaining(roots::add);
+        }
+        return roots;
+    }
+
+    private ListResult.ObjectListing listing(String path) {
+        return new ListResult.ObjectListing()
+                .setKey(CloudObjectKey.builder().prefix("").buildFromPath(path))
+                .setKeySuffix(path);
+    }
+}
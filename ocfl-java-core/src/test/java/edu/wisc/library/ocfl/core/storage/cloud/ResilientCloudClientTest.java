@@ -0,0 +1,190 @@
+package edu.wisc.library.ocfl.core.storage.cloud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import net.jodah.failsafe.RetryPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ResilientCloudClientTest {
+
+    private CloudClient delegate;
+    private AimdConcurrencyLimiter limiter;
+    private ResilientCloudClient client;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(CloudClient.class);
+        limiter = new AimdConcurrencyLimiter(8, 1, 8, 0.5);
+        client = ResilientCloudClient.builder()
+                .delegate(delegate)
+                .throttlingClassifier(e -> e instanceof ThrottledException)
+                .concurrencyLimiter(limiter)
+                .retryPolicy(CloudOperation.DOWNLOAD, fastRetry())
+                .retryPolicy(CloudOperation.COPY, fastRetry())
+                .retryPolicy(CloudOperation.HEAD, fastRetry())
+                .build();
+    }
+
+    @Test
+    public void retryFailedRequestsAndBackOffWhenThrottled() {
+        when(delegate.downloadString("a/b"))
+                .thenThrow(new ThrottledException())
+                .thenThrow(new IllegalStateException("boom"))
+                .thenReturn("content");
+
+        assertEquals("content", client.downloadString("a/b"));
+
+        verify(delegate, times(3)).downloadString("a/b");
+        assertEquals(4, limiter.getLimit());
+
+        var metrics = client.getMetrics();
+        assertEquals(1, metrics.getOperationCount());
+        assertEquals(3, metrics.getRequestCount());
+        assertEquals(2, metrics.getRetryCount());
+        assertEquals(2, metrics.getFailedRequestCount());
+        assertEquals(1, metrics.getThrottledCount());
+    }
+
+    @Test
+    public void doNotRetryMissingKeys() {
+        when(delegate.head("a/b")).thenThrow(new KeyNotFoundException("missing"));
+
+        assertThrows(KeyNotFoundException.class, () -> client.head("a/b"));
+
+        verify(delegate, times(1)).head("a/b");
+    }
+
+    @Test
+    public void failAfterRetriesAreExhausted() {
+        when(delegate.downloadString("a/b")).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> client.downloadString("a/b"));
+
+        verify(delegate, times(3)).downloadString("a/b");
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void retryAsyncRequests() {
+        when(delegate.copyObjectAsync("a/b", "c/d"))
+                .thenReturn(CompletableFuture.failedFuture(new ThrottledException()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        CloudObjectKey.builder().prefix("").buildFromPath("c/d")));
+
+        var key = client.copyObjectAsync("a/b", "c/d").join();
+
+        assertEquals("c/d", key.getPath());
+        verify(delegate, times(2)).copyObjectAsync("a/b", "c/d");
+        assertEquals(1, client.getMetrics().getThrottledCount());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void failAsyncRequestWithoutRetryWhenKeyMissing() {
+        when(delegate.copyObjectAsync("a/b", "c/d"))
+                .thenReturn(CompletableFuture.failedFuture(new KeyNotFoundException("missing")));
+
+        var future = client.copyObjectAsync("a/b", "c/d");
+
+        var e = assertThrows(CompletionException.class, future::join);
+        assertEquals(KeyNotFoundException.class, e.getCause().getClass());
+        verify(delegate, times(1)).copyObjectAsync("a/b", "c/d");
+    }
+
+    @Test
+    public void queueAsyncRequestsAtLimitWithoutBlockingCaller() {
+        var limitedClient = ResilientCloudClient.builder()
+                .delegate(delegate)
+                .concurrencyLimiter(new AimdConcurrencyLimiter(1, 1, 1, 0.5))
+                .build();
+        var firstCopy = new CompletableFuture<CloudObjectKey>();
+        var secondKey = CloudObjectKey.builder().prefix("").buildFromPath("g/h");
+        when(delegate.copyObjectAsync("a/b", "c/d")).thenReturn(firstCopy);
+        when(delegate.copyObjectAsync("e/f", "g/h")).thenReturn(CompletableFuture.completedFuture(secondKey));
+
+        var first = limitedClient.copyObjectAsync("a/b", "c/d");
+        var second = limitedClient.copyObjectAsync("e/f", "g/h");
+
+        verify(delegate, timeout(5000)).copyObjectAsync("a/b", "c/d");
+        verify(delegate, after(100).never()).copyObjectAsync("e/f", "g/h");
+        assertFalse(second.isDone());
+
+        firstCopy.complete(CloudObjectKey.builder().prefix("").buildFromPath("c/d"));
+
+        assertEquals("c/d", first.join().getPath());
+        assertEquals("g/h", second.join().getPath());
+    }
+
+    @Test
+    public void delayAsyncRequestsOverRateLimit() {
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            var limitedClient = ResilientCloudClient.builder()
+                    .delegate(delegate)
+                    .prefixRateLimits(1, 10, 0)
+                    .retryScheduler(scheduler)
+                    .build();
+            when(delegate.copyObjectAsync("a/b", "c/d"))
+                    .thenReturn(CompletableFuture.completedFuture(
+                            CloudObjectKey.builder().prefix("").buildFromPath("c/d")));
+
+            var futures = new ArrayList<CompletableFuture<CloudObjectKey>>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(limitedClient.copyObjectAsync("a/b", "c/d"));
+            }
+
+            futures.forEach(CompletableFuture::join);
+            verify(delegate, times(3)).copyObjectAsync("a/b", "c/d");
+            assertTrue(limitedClient.getMetrics().getRateLimitedMillis() >= 150);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void reserveEvenlySpacedSlotsPerPrefix() {
+        var rateLimiter = new PrefixRateLimiter(1, 10, 0);
+
+        assertEquals(0, rateLimiter.reserve(CloudOperation.UPLOAD, "a/b"));
+        var wait = rateLimiter.reserve(CloudOperation.UPLOAD, "a/c");
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(100), String.valueOf(wait));
+        assertEquals(0, rateLimiter.reserve(CloudOperation.UPLOAD, "b/c"));
+        assertEquals(0, rateLimiter.reserve(CloudOperation.DOWNLOAD, "a/b"));
+    }
+
+    @Test
+    public void limitPrefixToFirstSegments() {
+        var rateLimiter = new PrefixRateLimiter(2, 1, 1);
+
+        assertEquals("a/b", rateLimiter.prefix("a/b/c/d"));
+        assertEquals("a/b", rateLimiter.prefix("a/b"));
+        assertEquals("a", rateLimiter.prefix("a"));
+        assertEquals("", rateLimiter.prefix(null));
+    }
+
+    private RetryPolicy<Object> fastRetry() {
+        return new RetryPolicy<>()
+                .handle(RuntimeException.class)
+                .abortOn(KeyNotFoundException.class)
+                .withDelay(Duration.ofMillis(1))
+                .withMaxRetries(2);
+    }
+
+    private static class ThrottledException extends RuntimeException {}
+}
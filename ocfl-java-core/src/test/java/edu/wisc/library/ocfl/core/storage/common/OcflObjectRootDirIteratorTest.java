@@ -0,0 +1,168 @@
+package edu.wisc.library.ocfl.core.storage.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import edu.wisc.library.ocfl.api.exception.OcflIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OcflObjectRootDirIteratorTest {
+
+    private Map<String, List<String>> tree;
+    private Set<String> objectRoots;
+
+    @BeforeEach
+    public void setup() {
+        tree = new HashMap<>();
+        objectRoots = new HashSet<>();
+
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                for (int k = 0; k < 3; k++) {
+                    objectRoots.add(addPath("t" + i + "/t" + j + "/obj" + k));
+                }
+            }
+        }
+
+        addPath("extensions/ext/obj1");
+        objectRoots.add("extensions/ext/obj1");
+    }
+
+    @Test
+    public void shouldFindSameObjectRootsSequentiallyAndInParallel() {
+        var sequential = collect(new TestIterator(1, 0));
+        var parallel = collect(new TestIterator(8, 5));
+
+        assertThat(sequential).hasSize(300).doesNotContain("extensions/ext/obj1");
+        assertThat(parallel).containsExactlyInAnyOrderElementsOf(sequential);
+    }
+
+    @Test
+    public void shouldReturnObjectRootsInSequentialOrderWhenParallelAndOrdered() {
+        var sequential = collect(new TestIterator(1, 0));
+
+        assertThat(collect(new TestIterator(8, 3, true))).containsExactlyElementsOf(sequential);
+        assertThat(collect(new TestIterator(4, 1, true))).containsExactlyElementsOf(sequential);
+    }
+
+    @Test
+    public void shouldPropagateErrorWhenParallelAndOrdered() {
+        var iterator = new TestIterator(4, 10, true);
+        iterator.failOn = "t5/t5";
+
+        assertThatThrownBy(() -> collect(iterator)).isInstanceOf(OcflIOException.class);
+    }
+
+    @Test
+    public void shouldStopWhenClosedEarlyWhenOrdered() {
+        var iterator = new TestIterator(4, 10, true);
+
+        assertThat(iterator.next()).isEqualTo("t0/t0/obj0");
+        iterator.close();
+
+        assertThatThrownBy(iterator::hasNext).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldReturnObjectRootsInStableOrderWhenSequential() {
+        assertThat(collect(new TestIterator(1, 0))).containsExactlyElementsOf(collect(new TestIterator(1, 0)));
+    }
+
+    @Test
+    public void shouldNotListChildrenOfObjectRoots() {
+        addPath("t1/t1/obj1/v1/content");
+        var iterator = new TestIterator(4, 10);
+
+        collect(iterator);
+
+        assertThat(iterator.listed).doesNotContain("t1/t1/obj1/v1");
+    }
+
+    @Test
+    public void shouldPropagateErrorWhenParallel() {
+        var iterator = new TestIterator(4, 10);
+        iterator.failOn = "t5/t5";
+
+        assertThatThrownBy(() -> collect(iterator)).isInstanceOf(OcflIOException.class);
+    }
+
+    @Test
+    public void shouldStopWhenClosedEarly() {
+        var iterator = new TestIterator(4, 2);
+
+        assertThat(iterator.next()).isNotNull();
+        iterator.close();
+
+        assertThatThrownBy(iterator::hasNext).isInstanceOf(IllegalStateException.class);
+    }
+
+    private String addPath(String path) {
+        var parts = path.split("/");
+        var parent = "";
+        for (var part : parts) {
+            var child = parent.isEmpty() ? part : parent + "/" + part;
+            var children = tree.computeIfAbsent(parent, k -> new ArrayList<>());
+            if (!children.contains(child)) {
+                children.add(child);
+            }
+            parent = child;
+        }
+        return path;
+    }
+
+    private List<String> collect(OcflObjectRootDirIterator iterator) {
+        var results = new ArrayList<String>();
+        try (iterator) {
+            iterator.forEachRemaining(results::add);
+        }
+        return results;
+    }
+
+    private class TestIterator extends OcflObjectRootDirIterator {
+
+        private final Set<String> listed = ConcurrentHashMap.newKeySet();
+        private volatile String failOn;
+
+        TestIterator(int parallelism, int bufferSize) {
+            super(parallelism, bufferSize);
+        }
+
+        TestIterator(int parallelism, int bufferSize, boolean ordered) {
+            super(parallelism, bufferSize, ordered);
+        }
+
+        @Override
+        protected boolean isObjectRoot(String path) {
+            return objectRoots.contains(path);
+        }
+
+        @Override
+        protected Directory createDirectory(String path) {
+            if (path.equals(failOn)) {
+                throw new OcflIOException("failed to list " + path);
+            }
+            listed.add(path);
+            Iterator<String> children = tree.getOrDefault(path, List.of()).iterator();
+            return new Directory() {
+                @Override
+                public String nextChildDirectory() {
+                    return children.hasNext() ? children.next() : null;
+                }
+
+                @Override
+                public void close() {
+                    // noop
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package edu.wisc.library.ocfl.core.storage.filesystem;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedFileInputStreamTest {
+
+    @TempDir
+    public Path tempDir;
+
+    @Test
+    public void shouldReadFileAcrossWindows() throws IOException {
+        var content = randomBytes(1000);
+        var file = Files.write(tempDir.resolve("file"), content);
+
+        try (var stream = new MappedFileInputStream(FileChannel.open(file), 64)) {
+            assertArrayEquals(content, stream.readAllBytes());
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    public void shouldReadSingleBytesAcrossWindows() throws IOException {
+        var content = randomBytes(100);
+        var file = Files.write(tempDir.resolve("file"), content);
+
+        try (var stream = new MappedFileInputStream(FileChannel.open(file), 7)) {
+            for (var b : content) {
+                assertEquals(b & 0xFF, stream.read());
+            }
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    public void shouldSkipAndResetAcrossWindows() throws IOException {
+        var content = randomBytes(300);
+        var file = Files.write(tempDir.resolve("file"), content);
+
+        try (var stream = new MappedFileInputStream(FileChannel.open(file), 64)) {
+            assertEquals(100, stream.skip(100));
+            stream.mark(0);
+            assertEquals(content[100] & 0xFF, stream.read());
+            assertEquals(150, stream.skip(150));
+            assertEquals(content[251] & 0xFF, stream.read());
+            stream.reset();
+            assertEquals(content[100] & 0xFF, stream.read());
+            assertEquals(199, stream.skip(500));
+            assertEquals(-1, stream.read());
+        }
+    }
+
+    @Test
+    public void shouldReadEmptyFile() throws IOException {
+        var file = Files.write(tempDir.resolve("file"), new byte[0]);
+
+        try (var stream = new MappedFileInputStream(FileChannel.open(file), 64)) {
+            assertEquals(-1, stream.read());
+            assertEquals(-1, stream.read(new byte[10]));
+        }
+    }
+
+    @Test
+    public void shouldMapFilesOverThreshold() throws IOException {
+        var storage = new FileSystemStorage(tempDir, 1, true, 100);
+        var small = randomBytes(99);
+        var large = randomBytes(100);
+        Files.write(tempDir.resolve("small"), small);
+        Files.write(tempDir.resolve("large"), large);
+
+        try (var stream = storage.read("small")) {
+            assertFalse(stream instanceof MappedFileInputStream);
+            assertArrayEquals(small, stream.readAllBytes());
+        }
+        try (var stream = storage.read("large")) {
+            assertTrue(stream instanceof MappedFileInputStream);
+            assertArrayEquals(large, stream.readAllBytes());
+        }
+    }
+
+    private byte[] randomBytes(int length) {
+        var bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
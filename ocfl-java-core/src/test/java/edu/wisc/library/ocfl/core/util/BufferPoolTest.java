@@ -0,0 +1,101 @@
+package edu.wisc.library.ocfl.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+public class BufferPoolTest {
+
+    @Test
+    public void shouldReturnBufferLimitedToRequestedSize() {
+        var pool = new BufferPool(1024, 1024 * 1024, false);
+
+        var buffer = pool.acquire(1000);
+
+        assertEquals(0, buffer.position());
+        assertEquals(1000, buffer.limit());
+        assertEquals(1024, buffer.capacity());
+        assertFalse(buffer.isDirect());
+        assertEquals(1024, pool.acquire().remaining());
+    }
+
+    @Test
+    public void shouldReuseReleasedBuffersOfTheSameSizeClass() {
+        var pool = new BufferPool(1024, 1024 * 1024, false);
+
+        var buffer = pool.acquire(600);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+
+        assertEquals(1024, pool.getPooledBytes());
+
+        var reused = pool.acquire(1024);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(1024, reused.limit());
+        assertEquals(0, pool.getPooledBytes());
+
+        assertNotSame(buffer, pool.acquire(2048));
+    }
+
+    @Test
+    public void shouldRoundLargeSizesToCloserSizeClasses() {
+        assertEquals(1, BufferPool.pooledCapacity(1));
+        assertEquals(64 * 1024, BufferPool.pooledCapacity(64 * 1024));
+        assertEquals(72 * 1024, BufferPool.pooledCapacity(64 * 1024 + 1));
+        assertEquals(11 * 1024 * 1024, BufferPool.pooledCapacity(10 * 1024 * 1024 + 10));
+        assertEquals(104 * 1024 * 1024, BufferPool.pooledCapacity(100 * 1024 * 1024));
+        assertEquals(128 * 1024 * 1024, BufferPool.pooledCapacity(128 * 1024 * 1024));
+        assertEquals(1024 * 1024 * 1024, BufferPool.pooledCapacity(1024 * 1024 * 1024));
+    }
+
+    @Test
+    public void shouldReuseLargeBuffersWhenCapFitsSizeClass() {
+        var pool = new BufferPool(1024, BufferPool.pooledCapacity(100_000), false);
+
+        var buffer = pool.acquire(100_000);
+        assertEquals(104 * 1024, buffer.capacity());
+        pool.release(buffer);
+
+        assertEquals(104 * 1024, pool.getPooledBytes());
+
+        var reused = pool.acquire(99_000);
+        assertSame(buffer, reused);
+        assertEquals(99_000, reused.limit());
+    }
+
+    @Test
+    public void shouldNotRetainMoreThanMaxPooledBytes() {
+        var pool = new BufferPool(1024, 2048, false);
+
+        var buffer1 = pool.acquire();
+        var buffer2 = pool.acquire();
+        var buffer3 = pool.acquire();
+
+        pool.release(buffer1);
+        pool.release(buffer2);
+        pool.release(buffer3);
+
+        assertEquals(2048, pool.getPooledBytes());
+        assertSame(buffer1, pool.acquire());
+        assertSame(buffer2, pool.acquire());
+        assertNotSame(buffer3, pool.acquire());
+    }
+
+    @Test
+    public void shouldDropBuffersThatWereNotAllocatedByPool() {
+        var pool = new BufferPool(1024, 1024 * 1024, true);
+
+        pool.release(ByteBuffer.allocate(1024));
+        pool.release(ByteBuffer.allocateDirect(1000));
+        pool.release(null);
+
+        assertEquals(0, pool.getPooledBytes());
+        assertTrue(pool.acquire().isDirect());
+    }
+}
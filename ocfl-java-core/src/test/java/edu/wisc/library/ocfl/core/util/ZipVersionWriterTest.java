@@ -0,0 +1,173 @@
+package edu.wisc.library.ocfl.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import edu.wisc.library.ocfl.api.exception.FixityCheckException;
+import edu.wisc.library.ocfl.api.exception.OcflIOException;
+import edu.wisc.library.ocfl.api.io.FixityCheckInputStream;
+import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
+import edu.wisc.library.ocfl.api.model.FileDetails;
+import edu.wisc.library.ocfl.api.model.OcflObjectVersionFile;
+import edu.wisc.library.ocfl.core.storage.filesystem.FileSystemOcflFileRetriever;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ZipVersionWriterTest {
+
+    @TempDir
+    public Path tempDir;
+
+    @Test
+    public void shouldWriteAllFilesInPathOrder() throws IOException {
+        var files = List.of(
+                file("b.txt", "file b"),
+                file("dir/c.txt", "file c is larger than the prefetch buffer"),
+                file("a.txt", "file a"),
+                file("empty.txt", ""));
+
+        var out = new ByteArrayOutputStream();
+        new ZipVersionWriter(2, 8).write(files, out);
+
+        var entries = readZip(out.toByteArray());
+
+        assertEquals(List.of("a.txt", "b.txt", "dir/c.txt", "empty.txt"), new ArrayList<>(entries.keySet()));
+        assertEquals("file a", entries.get("a.txt"));
+        assertEquals("file b", entries.get("b.txt"));
+        assertEquals("file c is larger than the prefetch buffer", entries.get("dir/c.txt"));
+        assertEquals("", entries.get("empty.txt"));
+    }
+
+    @Test
+    public void shouldWriteEmptyZipWhenNoFiles() throws IOException {
+        var out = new ByteArrayOutputStream();
+        new ZipVersionWriter().write(List.of(), out);
+
+        assertEquals(0, readZip(out.toByteArray()).size());
+    }
+
+    @Test
+    public void shouldFailWhenSmallFileFailsFixityCheck() throws IOException {
+        var files = List.of(file("a.txt", "file a"), corruptFile("b.txt", "file b"));
+
+        var writer = new ZipVersionWriter(2, 1024);
+
+        assertThrows(FixityCheckException.class, () -> writer.write(files, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void shouldFailWhenLargeFileFailsFixityCheck() throws IOException {
+        var files = List.of(corruptFile("a.txt", "file a is larger than the prefetch buffer"), file("b.txt", "file b"));
+
+        var writer = new ZipVersionWriter(2, 8);
+
+        assertThrows(FixityCheckException.class, () -> writer.write(files, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void shouldNotWaitForRunningPrefetchesWhenOutputFails() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var closed = new CountDownLatch(1);
+        var files =
+                List.of(file("a.txt", "file a"), blockingFile("b.txt", started, release, closed), file("c.txt", "c"));
+
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var writer = new ZipVersionWriter(3, 4, executor);
+            var disconnected = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    Uninterruptibles.awaitUninterruptibly(started);
+                    throw new IOException("client disconnected");
+                }
+            };
+
+            // b.txt occupies the only prefetch thread and c.txt is queued behind it when the write fails
+            assertTimeoutPreemptively(
+                    Duration.ofSeconds(10),
+                    () -> assertThrows(OcflIOException.class, () -> writer.write(files, disconnected)));
+
+            release.countDown();
+            assertTrue(closed.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private OcflObjectVersionFile blockingFile(
+            String path, CountDownLatch started, CountDownLatch release, CountDownLatch closed) throws IOException {
+        var file = writeFile(path, path);
+        var digest = DigestUtil.computeDigestHex(DigestAlgorithm.sha512, file);
+        var details = new FileDetails().setPath(path).addDigest(DigestAlgorithm.sha512, digest);
+        return new OcflObjectVersionFile(
+                details, new FileSystemOcflFileRetriever(file, DigestAlgorithm.sha512, digest) {
+                    @Override
+                    public FixityCheckInputStream retrieveFile() {
+                        started.countDown();
+                        Uninterruptibles.awaitUninterruptibly(release);
+                        return new FixityCheckInputStream(super.retrieveFile(), DigestAlgorithm.sha512, digest) {
+                            @Override
+                            public void close() throws IOException {
+                                super.close();
+                                closed.countDown();
+                            }
+                        };
+                    }
+                });
+    }
+
+    private OcflObjectVersionFile file(String path, String content) throws IOException {
+        var file = writeFile(path, content);
+        var digest = DigestUtil.computeDigestHex(DigestAlgorithm.sha512, file);
+        return versionFile(path, file, digest);
+    }
+
+    private OcflObjectVersionFile corruptFile(String path, String content) throws IOException {
+        var file = writeFile(path, content);
+        var digest = DigestUtil.computeDigestHex(DigestAlgorithm.sha512, content + "!");
+        return versionFile(path, file, digest);
+    }
+
+    private OcflObjectVersionFile versionFile(String path, Path file, String digest) {
+        var details = new FileDetails().setPath(path).addDigest(DigestAlgorithm.sha512, digest);
+        return new OcflObjectVersionFile(
+                details, new FileSystemOcflFileRetriever(file, DigestAlgorithm.sha512, digest));
+    }
+
+    private Path writeFile(String path, String content) throws IOException {
+        var file = tempDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private Map<String, String> readZip(byte[] bytes) throws IOException {
+        var entries = new LinkedHashMap<String, String>();
+        try (var zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            var entry = zip.getNextEntry();
+            while (entry != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes()));
+                entry = zip.getNextEntry();
+            }
+        }
+        return entries;
+    }
+}
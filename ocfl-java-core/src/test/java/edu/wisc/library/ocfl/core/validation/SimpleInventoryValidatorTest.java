@@ -0,0 +1,155 @@
+package edu.wisc.library.ocfl.core.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
+import edu.wisc.library.ocfl.api.model.InventoryType;
+import edu.wisc.library.ocfl.api.model.OcflVersion;
+import edu.wisc.library.ocfl.api.model.ValidationCode;
+import edu.wisc.library.ocfl.api.model.ValidationIssue;
+import edu.wisc.library.ocfl.api.model.ValidationResults;
+import edu.wisc.library.ocfl.core.util.DigestUtil;
+import edu.wisc.library.ocfl.core.validation.model.SimpleInventory;
+import edu.wisc.library.ocfl.core.validation.model.SimpleUser;
+import edu.wisc.library.ocfl.core.validation.model.SimpleVersion;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SimpleInventoryValidatorTest {
+
+    private static final String INVENTORY_PATH = "o1/inventory.json";
+
+    private ForkJoinPool pool;
+    private SimpleInventoryValidator sequentialValidator;
+    private SimpleInventoryValidator parallelValidator;
+
+    @BeforeEach
+    public void setup() {
+        pool = new ForkJoinPool(4);
+        sequentialValidator = new SimpleInventoryValidator();
+        parallelValidator = new SimpleInventoryValidator(pool, 0);
+    }
+
+    @AfterEach
+    public void after() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void parallelValidationShouldProduceNoIssuesWhenInventoryValid() {
+        var inventory = inventory(100, 10);
+
+        var results = parallelValidator.validateInventory(
+                inventory, INVENTORY_PATH, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL);
+
+        assertThat(results.getErrors()).isEmpty();
+        assertThat(results.getWarnings()).isEmpty();
+    }
+
+    @Test
+    public void parallelValidationShouldProduceSameIssuesInSameOrderAsSequential() {
+        var inventory = inventory(200, 20);
+
+        // unreferenced manifest entry
+        inventory.getManifest().put(digest("unreferenced"), List.of("v1/content/unreferenced"));
+        // invalid created timestamp and missing user
+        inventory.getVersions().get("v3").setCreated("yesterday").setUser(null);
+        // missing message
+        inventory.getVersions().get("v7").setMessage(null);
+        // state digest not in manifest and bad paths
+        inventory.getVersions().get("v12").getState().put(digest("missing"), List.of("/leading", "a/../b"));
+        // bad fixity block
+        inventory.setFixity(Map.of(DigestAlgorithm.md5.getOcflName(), Map.of("bogus", List.of("v1/content/file-1"))));
+
+        var sequential = sequentialValidator.validateInventory(
+                inventory, INVENTORY_PATH, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL);
+        var parallel = parallelValidator.validateInventory(
+                inventory, INVENTORY_PATH, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL);
+
+        assertThat(codes(sequential.getErrors()))
+                .contains(
+                        ValidationCode.E049,
+                        ValidationCode.E050,
+                        ValidationCode.E052,
+                        ValidationCode.E053,
+                        ValidationCode.E057,
+                        ValidationCode.E107);
+        assertThat(codes(sequential.getWarnings())).contains(ValidationCode.W007);
+
+        assertSameResults(parallel, sequential);
+    }
+
+    @Test
+    public void shouldValidateSequentiallyWhenBelowThreshold() {
+        var validator = new SimpleInventoryValidator(pool, Integer.MAX_VALUE);
+        var inventory = inventory(10, 2);
+        inventory.getVersions().get("v2").setCreated(null);
+
+        var results = validator.validateInventory(
+                inventory, INVENTORY_PATH, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL);
+
+        assertThat(codes(results.getErrors())).containsExactly(ValidationCode.E048);
+        assertThat(pool.getStealCount()).isZero();
+    }
+
+    private void assertSameResults(ValidationResults actual, ValidationResults expected) {
+        assertThat(messages(actual.getErrors())).containsExactlyElementsOf(messages(expected.getErrors()));
+        assertThat(messages(actual.getWarnings())).containsExactlyElementsOf(messages(expected.getWarnings()));
+        assertThat(messages(actual.getInfos())).containsExactlyElementsOf(messages(expected.getInfos()));
+    }
+
+    private List<ValidationCode> codes(List<ValidationIssue> issues) {
+        return issues.stream().map(ValidationIssue::getCode).collect(Collectors.toList());
+    }
+
+    private List<String> messages(List<ValidationIssue> issues) {
+        return issues.stream()
+                .map(issue -> issue.getCode() + " " + issue.getMessage())
+                .collect(Collectors.toList());
+    }
+
+    private SimpleInventory inventory(int fileCount, int versionCount) {
+        var manifest = new LinkedHashMap<String, List<String>>();
+        var versions = new LinkedHashMap<String, SimpleVersion>();
+
+        for (int i = 1; i <= fileCount; i++) {
+            manifest.put(digest("file-" + i), List.of("v1/content/file-" + i));
+        }
+
+        for (int v = 1; v <= versionCount; v++) {
+            var state = new LinkedHashMap<String, List<String>>();
+            for (int i = 1; i <= fileCount; i++) {
+                if (i % versionCount == v % versionCount || v == versionCount) {
+                    state.put(digest("file-" + i), List.of("dir-" + (i % 7) + "/file-" + i));
+                }
+            }
+            versions.put(
+                    "v" + v,
+                    new SimpleVersion(
+                            "2023-01-0" + (v % 9 + 1) + "T10:11:12Z",
+                            "commit " + v,
+                            new SimpleUser("Peter", "mailto:peter@example.com"),
+                            state));
+        }
+
+        return new SimpleInventory(
+                "urn:example:o1",
+                InventoryType.OCFL_1_1.getId(),
+                DigestAlgorithm.sha512.getOcflName(),
+                "v" + versionCount,
+                null,
+                null,
+                manifest,
+                versions);
+    }
+
+    private String digest(String value) {
+        return DigestUtil.computeDigestHex(DigestAlgorithm.sha512, value);
+    }
+}
@@ -0,0 +1,183 @@
+package edu.wisc.library.ocfl.core.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import edu.wisc.library.ocfl.api.model.OcflVersion;
+import edu.wisc.library.ocfl.api.model.ValidationCode;
+import edu.wisc.library.ocfl.api.model.ValidationIssue;
+import edu.wisc.library.ocfl.api.model.ValidationResults;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StreamingInventoryValidatorTest {
+
+    private static final String NAME = "inventory.json";
+
+    private static final String D1 = "a".repeat(128);
+    private static final String D2 = "b".repeat(128);
+    private static final String D3 = "c".repeat(128);
+
+    private static final String HEADER = "\"id\": \"urn:example:1\",\n"
+            + "\"type\": \"https://ocfl.io/1.1/spec/#inventory\",\n"
+            + "\"head\": \"v2\",\n";
+    private static final String ALGORITHM = "\"digestAlgorithm\": \"sha512\",\n";
+    private static final String MANIFEST = "\"manifest\": {\n"
+            + "  \"" + D1 + "\": [\"v1/content/a.txt\"],\n"
+            + "  \"" + D2 + "\": [\"v2/content/b.txt\"],\n"
+            + "  \"" + D3 + "\": [\"v2/content/c.txt\"]\n"
+            + "},\n";
+    private static final String FIXITY = "\"fixity\": {\"md5\": {\"bogus\": [\"v1/content/a.txt\"]}},\n";
+    private static final String VERSIONS = "\"versions\": {\n"
+            + "  \"v1\": {\"created\": \"2023-01-01T10:11:12Z\", \"message\": \"one\","
+            + " \"user\": {\"name\": \"Peter\", \"address\": \"mailto:peter@example.com\"},"
+            + " \"state\": {\"" + D1 + "\": [\"a.txt\"]}},\n"
+            + "  \"v2\": {\"created\": \"yesterday\", \"user\": {\"name\": \"Peter\"},"
+            + " \"state\": {\"" + D1 + "\": [\"a.txt\", \"/a.txt\"], \"" + D2 + "\": [\"a.txt/b.txt\"],"
+            + " \"" + "d".repeat(128) + "\": [\"d.txt\"]}}\n"
+            + "}\n";
+
+    private StreamingInventoryValidator streamingValidator;
+    private SimpleInventoryParser parser;
+    private SimpleInventoryValidator validator;
+
+    @BeforeEach
+    public void setup() {
+        streamingValidator = new StreamingInventoryValidator();
+        parser = new SimpleInventoryParser();
+        validator = new SimpleInventoryValidator();
+    }
+
+    @Test
+    public void shouldProduceSameIssuesAsParserAndValidatorWhenWellOrdered() {
+        var json = "{\n" + HEADER + ALGORITHM + FIXITY + MANIFEST + VERSIONS + "}";
+
+        var results = streamingValidator.validateInventory(
+                toStream(json), NAME, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL);
+
+        assertThat(codes(results.getErrors()))
+                .contains(
+                        ValidationCode.E049,
+                        ValidationCode.E050,
+                        ValidationCode.E053,
+                        ValidationCode.E057,
+                        ValidationCode.E095,
+                        ValidationCode.E107);
+        assertSameIssues(results, validateInMemory(json));
+    }
+
+    @Test
+    public void shouldProduceSameIssuesWhenVersionsAndAlgorithmAfterManifest() {
+        var json = "{\n" + HEADER + VERSIONS.strip() + ",\n" + MANIFEST + FIXITY + ALGORITHM.replace(",\n", "\n") + "}";
+
+        var results = streamingValidator.validateInventory(
+                toStream(json), NAME, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL);
+
+        assertSameIssues(results, validateInMemory(json));
+    }
+
+    @Test
+    public void shouldProduceSameIssuesWhenManifestAndVersionsMissing() {
+        var json = "{\n" + HEADER.replace(",\n\"head\": \"v2\",\n", "") + "}";
+
+        var results = streamingValidator.validateInventory(
+                toStream(json), NAME, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL);
+
+        assertThat(codes(results.getErrors())).contains(ValidationCode.E041, ValidationCode.E043);
+        assertSameIssues(results, validateInMemory(json));
+    }
+
+    @Test
+    public void shouldProduceSameIssuesWhenFieldsHaveWrongTypes() {
+        var json = "{\"id\": 1, \"type\": [], \"digestAlgorithm\": \"sha512\", \"head\": \"v1\", \"manifest\": [],"
+                + " \"versions\": {\"v1\": \"bogus\"}, \"unknown\": true}";
+
+        var results = streamingValidator.validateInventory(
+                toStream(json), NAME, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL);
+
+        assertThat(codes(results.getErrors())).contains(ValidationCode.E037, ValidationCode.E047, ValidationCode.E102);
+        assertSameIssues(results, validateInMemory(json));
+    }
+
+    @Test
+    public void shouldProduceSameIssuesWhenManifestAndStateEntriesInvalid() {
+        var json = "{\"id\": \"urn:example:1\", \"type\": \"https://ocfl.io/1.1/spec/#inventory\","
+                + " \"digestAlgorithm\": \"sha512\", \"head\": \"v1\","
+                + " \"manifest\": {\"AAA\": [\"v1/content/a\", null, 5], \"aaa\": [\"v1/content/a/b\"],"
+                + " \"bad\": null, \"bad2\": \"str\", \"Zz\": [\"/v1//content/./x/\"]},"
+                + " \"versions\": {\"v1\": {\"created\": \"2023-01-01T10:11:12Z\","
+                + " \"state\": {\"AAA\": [\"a\", null, [1]], \"nope\": [\"a\"], \"q\": 5}}}}";
+
+        var results = streamingValidator.validateInventory(
+                toStream(json), NAME, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL);
+
+        assertThat(codes(results.getErrors()))
+                .contains(
+                        ValidationCode.E050,
+                        ValidationCode.E051,
+                        ValidationCode.E092,
+                        ValidationCode.E096,
+                        ValidationCode.E099,
+                        ValidationCode.E100,
+                        ValidationCode.E101);
+        assertSameIssues(results, validateInMemory(json));
+    }
+
+    @Test
+    public void shouldProduceSameIssuesWhenVersionsPresentAndManifestMissing() {
+        var json = "{\"id\": \"urn:example:1\", \"type\": \"https://ocfl.io/1.1/spec/#inventory\","
+                + " \"digestAlgorithm\": \"md5\", \"head\": \"v1\", \"versions\": {\"v1\":"
+                + " {\"created\": \"2023-01-01T10:11:12Z\", \"state\": {\"abc\": [\"a.txt\"]}}}}";
+
+        var results = streamingValidator.validateInventory(
+                toStream(json), NAME, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL);
+
+        assertThat(codes(results.getErrors())).contains(ValidationCode.E041, ValidationCode.E050);
+        assertSameIssues(results, validateInMemory(json));
+    }
+
+    @Test
+    public void shouldFailWhenInvalidJson() {
+        var json = "{\n" + HEADER + ALGORITHM + MANIFEST;
+
+        var results = streamingValidator.validateInventory(toStream(json), NAME, null, null);
+
+        assertThat(codes(results.getErrors())).containsExactly(ValidationCode.E033);
+        assertThat(results.getWarnings()).isEmpty();
+    }
+
+    private ValidationResults validateInMemory(String json) {
+        var results = new ValidationResultsBuilder();
+        var parseResult = parser.parse(toStream(json), NAME);
+        results.addAll(parseResult.getValidationResults());
+        parseResult.getInventory().ifPresent(inventory -> {
+            results.addAll(validator.validateInventory(
+                    inventory, NAME, OcflVersion.OCFL_1_1, SimpleInventoryValidator.VersionEquality.EQUAL));
+        });
+        return results.build();
+    }
+
+    private void assertSameIssues(ValidationResults actual, ValidationResults expected) {
+        assertThat(messages(actual.getErrors())).containsExactlyInAnyOrderElementsOf(messages(expected.getErrors()));
+        assertThat(messages(actual.getWarnings()))
+                .containsExactlyInAnyOrderElementsOf(messages(expected.getWarnings()));
+        assertThat(messages(actual.getInfos())).containsExactlyInAnyOrderElementsOf(messages(expected.getInfos()));
+    }
+
+    private List<ValidationCode> codes(List<ValidationIssue> issues) {
+        return issues.stream().map(ValidationIssue::getCode).collect(Collectors.toList());
+    }
+
+    private List<String> messages(List<ValidationIssue> issues) {
+        return issues.stream()
+                .map(issue -> issue.getCode() + " " + issue.getMessage())
+                .collect(Collectors.toList());
+    }
+
+    private ByteArrayInputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
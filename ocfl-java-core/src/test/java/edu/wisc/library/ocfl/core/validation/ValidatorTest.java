@@ -3,16 +3,20 @@ package edu.wisc.library.ocfl.core.validation;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import edu.wisc.library.ocfl.api.model.ContentValidation;
+import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
 import edu.wisc.library.ocfl.api.model.ValidationCode;
 import edu.wisc.library.ocfl.api.model.ValidationResults;
 import edu.wisc.library.ocfl.core.storage.filesystem.FileSystemStorage;
 import java.nio.file.Paths;
 import java.security.Security;
+import java.util.Map;
 import java.util.Objects;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 public class ValidatorTest {
@@ -1126,6 +1130,76 @@ public class ValidatorTest {
         assertInfoCount(results, 0);
     }
 
+    @ParameterizedTest
+    @EnumSource(ContentValidation.class)
+    public void validateObjectWithSizeFixityAtEveryContentValidationLevel(ContentValidation contentValidation) {
+        var validator = createValidator(CUSTOM_GOOD_FIXTURES);
+        var results = validator.validateObject("size-fixity", contentValidation);
+        assertNoIssues(results);
+    }
+
+    @Test
+    public void errorOnSizeDoesNotMatchWhenSizeValidation() {
+        var name = "E093_size_mismatch";
+        var validator = createValidator(CUSTOM_BAD_FIXTURES);
+
+        var results = validator.validateObject(name, ContentValidation.SIZE);
+
+        assertErrorCount(results, 1);
+        assertHasError(
+                results,
+                ValidationCode.E093,
+                "File E093_size_mismatch/v1/content/dir/file2.txt failed size fixity check. Expected: 5; Actual: 4");
+        assertWarningsCount(results, 0);
+        assertInfoCount(results, 0);
+    }
+
+    @Test
+    public void doNotCheckSizeWhenNoContentValidation() {
+        var validator = createValidator(CUSTOM_BAD_FIXTURES);
+        var results = validator.validateObject("E093_size_mismatch", ContentValidation.NONE);
+        assertNoIssues(results);
+    }
+
+    @Test
+    public void useStoredDigestsInsteadOfDownloadingWhenDownloadRateZero() {
+        var name = "ocfl_object_all_fixity_digests";
+        var storedSha256 = "a".repeat(64);
+        var validator =
+                createStoredDigestValidator("official/good-objects", Map.of(DigestAlgorithm.sha256, storedSha256), 0.0);
+
+        var results = validator.validateObject(name, true);
+
+        assertErrorCount(results, 1);
+        assertHasError(
+                results,
+                ValidationCode.E093,
+                "File ocfl_object_all_fixity_digests/v1/content/file.txt failed sha256 fixity check. Expected: 0b13a01dc7580ed7d4737d62ecd1a0c2067b0f3eccc327f4964fd82d582e3fd4; Actual: "
+                        + storedSha256);
+        assertWarningsCount(results, 0);
+        assertInfoCount(results, 0);
+    }
+
+    @Test
+    public void downloadContentWhenNoStoredDigestsForInventoryAlgorithms() {
+        var validator = createStoredDigestValidator(
+                "official/good-objects", Map.of(DigestAlgorithm.sha256, "a".repeat(64)), 0.0);
+
+        var results = validator.validateObject("spec-ex-full", true);
+
+        assertNoIssues(results);
+    }
+
+    @Test
+    public void ignoreStoredDigestsWhenDownloadRateOne() {
+        var validator = createStoredDigestValidator(
+                "official/good-objects", Map.of(DigestAlgorithm.sha256, "a".repeat(64)), 1.0);
+
+        var results = validator.validateObject("ocfl_object_all_fixity_digests", true);
+
+        assertNoIssues(results);
+    }
+
     @Test
     public void errorOnOldManifestMissingEntries() {
         var name = "E023_old_manifest_missing_entries";
@@ -1531,4 +1605,16 @@ public class ValidatorTest {
         var storage = new FileSystemStorage(Paths.get("src/test/resources/fixtures", rootName));
         return new Validator(storage);
     }
+
+    private Validator createStoredDigestValidator(
+            String rootName, Map<DigestAlgorithm, String> storedDigests, double fixityDownloadRate) {
+        var storage = new FileSystemStorage(Paths.get("src/test/resources/fixtures", rootName)) {
+            @Override
+            public Map<DigestAlgorithm, String> storedDigests(String filePath) {
+                super.storedDigests(filePath);
+                return storedDigests;
+            }
+        };
+        return new Validator(storage, new SimpleInventoryValidator(), fixityDownloadRate);
+    }
 }
@@ -1,13 +1,19 @@
 package edu.wisc.library.ocfl.itest;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import edu.wisc.library.ocfl.api.MutableOcflRepository;
 import edu.wisc.library.ocfl.api.OcflRepository;
 import edu.wisc.library.ocfl.api.model.ObjectVersionId;
 import edu.wisc.library.ocfl.api.model.VersionInfo;
 import edu.wisc.library.ocfl.aws.OcflS3Client;
 import edu.wisc.library.ocfl.core.OcflRepositoryBuilder;
+import edu.wisc.library.ocfl.core.cache.CaffeineCache;
 import edu.wisc.library.ocfl.core.cache.NoOpCache;
+import edu.wisc.library.ocfl.core.extension.storage.layout.CachingOcflStorageLayoutExtension;
+import edu.wisc.library.ocfl.core.extension.storage.layout.HashedNTupleLayoutExtension;
+import edu.wisc.library.ocfl.core.extension.storage.layout.OcflStorageLayoutExtension;
 import edu.wisc.library.ocfl.core.extension.storage.layout.config.HashedNTupleLayoutConfig;
+import edu.wisc.library.ocfl.core.storage.filesystem.FileSystemStorage;
 import edu.wisc.library.ocfl.core.util.FileUtil;
 import edu.wisc.library.ocfl.core.util.UncheckedFiles;
 import io.micrometer.core.instrument.Meter;
@@ -19,6 +25,7 @@ import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.prometheus.client.exporter.HTTPServer;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.nio.file.Files;
@@ -295,6 +302,187 @@ public class LoadITest {
         System.out.println("Done");
     }
 
+    @Test
+    public void rawLayoutMappingTest() throws InterruptedException {
+        var threadCount = 10;
+        var duration = Duration.ofMinutes(2);
+
+        var extension = new HashedNTupleLayoutExtension();
+        extension.init(new HashedNTupleLayoutConfig());
+
+        runLayoutMappingTest(extension, threadCount, duration, "raw");
+    }
+
+    @Test
+    public void cachedLayoutMappingTest() throws InterruptedException {
+        var threadCount = 10;
+        var duration = Duration.ofMinutes(2);
+
+        var extension = new CachingOcflStorageLayoutExtension(
+                new HashedNTupleLayoutExtension(),
+                new CaffeineCache<>(Caffeine.newBuilder().maximumSize(10_000).build()));
+        extension.init(new HashedNTupleLayoutConfig());
+
+        runLayoutMappingTest(extension, threadCount, duration, "cached");
+
+        System.out.println("Cache hit rate: " + extension.getHitRate());
+    }
+
+    private void runLayoutMappingTest(
+            OcflStorageLayoutExtension extension, int threadCount, Duration duration, String type)
+            throws InterruptedException {
+        System.out.println("Starting layoutMappingTest");
+
+        // A fixed set of ids so that ids are resolved repeatedly, as they are when an object is accessed
+        var objectIds = new ArrayList<String>();
+        for (var i = 0; i < 5_000; i++) {
+            objectIds.add("info:fedora/" + UUID.randomUUID());
+        }
+
+        var timer = Metrics.timer("mapObjectId", "threads", String.valueOf(threadCount), "type", type);
+
+        var threads = new ArrayList<Thread>(threadCount);
+
+        for (var i = 0; i < threadCount; i++) {
+            threads.add(createThread(duration, ignored -> {
+                var objectId = objectIds.get(ThreadLocalRandom.current().nextInt(objectIds.size()));
+                timer.record(() -> {
+                    extension.mapObjectId(objectId);
+                });
+            }));
+        }
+
+        startThreads(threads);
+        System.out.println("Waiting for threads to complete...");
+        joinThreads(threads);
+
+        System.out.println("Finished. Waiting for metrics collection...");
+        TimeUnit.SECONDS.sleep(30);
+        System.out.println("Done");
+    }
+
+    @Test
+    public void fsListDirectoryTest() throws InterruptedException {
+        var threadCount = 10;
+        var duration = Duration.ofMinutes(2);
+        var dirCount = 10;
+        var fileCount = 1000;
+
+        var storage = new FileSystemStorage(createTestTree(dirCount, fileCount));
+
+        runListTest(dirCount, fileCount, threadCount, duration, "listDirectory", () -> {
+            storage.listDirectory("dir-0");
+        });
+    }
+
+    @Test
+    public void fsListRecursiveTest() throws InterruptedException {
+        var threadCount = 10;
+        var duration = Duration.ofMinutes(2);
+        var dirCount = 100;
+        var fileCount = 100;
+
+        var storage = new FileSystemStorage(createTestTree(dirCount, fileCount));
+
+        runListTest(dirCount, fileCount, threadCount, duration, "listRecursive", () -> {
+            storage.listRecursive("");
+        });
+    }
+
+    private void runListTest(
+            int dirCount, int fileCount, int threadCount, Duration duration, String operation, Runnable list)
+            throws InterruptedException {
+        System.out.println("Starting " + operation + "Test");
+
+        var timer = Metrics.timer(
+                operation,
+                "dirs",
+                String.valueOf(dirCount),
+                "files",
+                String.valueOf(fileCount),
+                "threads",
+                String.valueOf(threadCount),
+                "storage",
+                "fs");
+
+        var threads = new ArrayList<Thread>(threadCount);
+
+        for (var i = 0; i < threadCount; i++) {
+            threads.add(createThread(duration, ignored -> {
+                timer.record(list);
+            }));
+        }
+
+        startThreads(threads);
+        System.out.println("Waiting for threads to complete...");
+        joinThreads(threads);
+
+        System.out.println("Finished. Waiting for metrics collection...");
+        TimeUnit.SECONDS.sleep(30);
+        System.out.println("Done");
+    }
+
+    @Test
+    public void fsStreamReadTest() throws InterruptedException {
+        var threadCount = 10;
+        var duration = Duration.ofMinutes(2);
+        var fileSize = 128 * MB;
+
+        // Memory mapping disabled
+        runReadTest(fileSize, -1, threadCount, duration, "stream");
+    }
+
+    @Test
+    public void fsMappedReadTest() throws InterruptedException {
+        var threadCount = 10;
+        var duration = Duration.ofMinutes(2);
+        var fileSize = 128 * MB;
+
+        runReadTest(fileSize, MB, threadCount, duration, "mapped");
+    }
+
+    private void runReadTest(long fileSize, long mmapThreshold, int threadCount, Duration duration, String type)
+            throws InterruptedException {
+        System.out.println("Starting readTest");
+
+        System.out.println("Creating test object");
+        var objectPath = createTestObject(1, fileSize);
+        System.out.println("Created test object: " + objectPath);
+
+        var storage = new FileSystemStorage(objectPath, 1, true, mmapThreshold);
+
+        var timer = Metrics.timer(
+                "readFile",
+                "sizeBytes",
+                String.valueOf(fileSize),
+                "threads",
+                String.valueOf(threadCount),
+                "type",
+                type);
+
+        var threads = new ArrayList<Thread>(threadCount);
+
+        for (var i = 0; i < threadCount; i++) {
+            threads.add(createThread(duration, ignored -> {
+                timer.record(() -> {
+                    try (var stream = storage.read("file-0")) {
+                        stream.transferTo(OutputStream.nullOutputStream());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }));
+        }
+
+        startThreads(threads);
+        System.out.println("Waiting for threads to complete...");
+        joinThreads(threads);
+
+        System.out.println("Finished. Waiting for metrics collection...");
+        TimeUnit.SECONDS.sleep(30);
+        System.out.println("Done");
+    }
+
     private void runPutTest(
             OcflRepository repo,
             int fileCount,
@@ -476,6 +664,24 @@ public class LoadITest {
         return objectPath;
     }
 
+    private Path createTestTree(int dirCount, int fileCount) {
+        System.out.println("Creating test tree");
+        var root = UncheckedFiles.createDirectories(
+                tempRoot.resolve(UUID.randomUUID().toString()));
+
+        for (int i = 0; i < dirCount; i++) {
+            var dir = UncheckedFiles.createDirectories(root.resolve("dir-" + i));
+            // An empty leaf in each directory, which listRecursive reports separately
+            UncheckedFiles.createDirectories(dir.resolve("empty"));
+            for (int j = 0; j < fileCount; j++) {
+                writeFile(dir.resolve("file-" + j), KB);
+            }
+        }
+
+        System.out.println("Created test tree: " + root);
+        return root;
+    }
+
     private void writeFile(Path path, long size) {
         var bytes = new byte[BUFFER_SIZE];
         try (var out = new BufferedOutputStream(Files.newOutputStream(path))) {
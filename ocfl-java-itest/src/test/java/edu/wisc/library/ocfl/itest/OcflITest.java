@@ -20,10 +20,12 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -46,6 +48,7 @@ import edu.wisc.library.ocfl.api.exception.PathConstraintException;
 import edu.wisc.library.ocfl.api.exception.RepositoryConfigurationException;
 import edu.wisc.library.ocfl.api.exception.ValidationException;
 import edu.wisc.library.ocfl.api.io.FixityCheckInputStream;
+import edu.wisc.library.ocfl.api.model.ContentValidation;
 import edu.wisc.library.ocfl.api.model.DigestAlgorithm;
 import edu.wisc.library.ocfl.api.model.FileChangeType;
 import edu.wisc.library.ocfl.api.model.ObjectVersionId;
@@ -54,6 +57,7 @@ import edu.wisc.library.ocfl.api.model.OcflVersion;
 import edu.wisc.library.ocfl.api.model.ValidationCode;
 import edu.wisc.library.ocfl.api.model.VersionInfo;
 import edu.wisc.library.ocfl.api.model.VersionNum;
+import edu.wisc.library.ocfl.core.AsyncOcflRepository;
 import edu.wisc.library.ocfl.core.DefaultOcflObjectUpdater;
 import edu.wisc.library.ocfl.core.OcflRepositoryBuilder;
 import edu.wisc.library.ocfl.core.cache.CaffeineCache;
@@ -69,7 +73,9 @@ import edu.wisc.library.ocfl.itest.ext.TestLayoutExtension;
 import edu.wisc.library.ocfl.itest.ext.TestLayoutExtensionConfig;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -79,6 +85,7 @@ import java.security.DigestInputStream;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -87,6 +94,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.zip.ZipInputStream;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -379,6 +387,239 @@ public abstract class OcflITest {
         verifyRepo(repoName);
     }
 
+    @Test
+    public void describeAndGetMultipleObjects() throws IOException {
+        var repoName = "batch-describe";
+        var repo = defaultRepo(repoName);
+
+        repo.updateObject(ObjectVersionId.head("o1"), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("1"), "f1");
+        });
+        repo.updateObject(ObjectVersionId.head("o1"), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("2"), "f2");
+        });
+        repo.updateObject(ObjectVersionId.head("o2"), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("3"), "f3");
+        });
+
+        var details = repo.describeObjects(List.of("o2", "o3", "o1"));
+
+        assertThat(details.keySet(), contains("o2", "o1"));
+        assertEquals(VersionNum.fromString("v2"), details.get("o1").getHeadVersionNum());
+        assertEquals(VersionNum.fromString("v1"), details.get("o2").getHeadVersionNum());
+
+        var o1v1 = ObjectVersionId.version("o1", "v1");
+        var o1v3 = ObjectVersionId.version("o1", "v3");
+        var o2Head = ObjectVersionId.head("o2");
+        var objects = repo.getObjects(List.of(o1v1, o1v3, o2Head));
+
+        assertThat(objects.keySet(), contains(o1v1, o2Head));
+        assertFalse(objects.get(o1v1).containsFile("f2"));
+        try (var stream = objects.get(o2Head).getFile("f3").getStream()) {
+            assertEquals("3", new String(stream.readAllBytes()));
+        }
+    }
+
+    @Test
+    public void asyncRepository() throws Exception {
+        var repoName = "async-repo";
+
+        try (var repo = new AsyncOcflRepository(defaultRepo(repoName))) {
+            var versions = List.of(
+                    repo.updateObject(ObjectVersionId.head("o1"), defaultVersionInfo, updater -> {
+                        updater.writeFile(streamString("1"), "f1");
+                    }),
+                    repo.updateObject(ObjectVersionId.head("o2"), defaultVersionInfo, updater -> {
+                        updater.writeFile(streamString("2"), "f2");
+                    }));
+            CompletableFuture.allOf(versions.toArray(CompletableFuture[]::new)).get();
+
+            var object = repo.getObject(ObjectVersionId.head("o2")).get();
+            try (var stream = object.getFile("f2").getStream()) {
+                assertEquals("2", new String(stream.readAllBytes()));
+            }
+
+            assertEquals(
+                    VersionNum.fromString("v1"), repo.describeObject("o1").get().getHeadVersionNum());
+
+            var error = assertThrows(
+                    ExecutionException.class, () -> repo.describeObject("o3").get());
+            assertThat(error.getCause(), instanceOf(NotFoundException.class));
+        }
+    }
+
+    @Test
+    public void getObjectFileRange() throws IOException {
+        var repoName = "range-repo";
+        var repo = defaultRepo(repoName);
+
+        var objectId = "o1";
+
+        repo.updateObject(ObjectVersionId.head(objectId), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("0123456789"), "f1");
+        });
+
+        var file = repo.getObject(ObjectVersionId.head(objectId)).getFile("f1");
+
+        try (var stream = file.getRange(2, 5)) {
+            assertEquals("2345", new String(stream.readAllBytes()));
+        }
+        try (var stream = file.getRange(0, 0)) {
+            assertEquals("0", new String(stream.readAllBytes()));
+        }
+        try (var stream = file.getRange(8, 20)) {
+            assertEquals("89", new String(stream.readAllBytes()));
+        }
+        try (var stream = file.getRange(3, Long.MAX_VALUE)) {
+            assertEquals("3456789", new String(stream.readAllBytes()));
+        }
+        try (var stream = file.getRange(0, Long.MAX_VALUE)) {
+            assertEquals("0123456789", new String(stream.readAllBytes()));
+        }
+
+        assertThrows(OcflInputException.class, () -> file.getRange(5, 2));
+    }
+
+    @Test
+    public void getObjectAsZip() throws IOException {
+        var repoName = "zip-repo";
+        var repo = defaultRepo(repoName, builder -> builder.zipPrefetchCount(2).zipPrefetchBufferSize(4));
+
+        var objectId = "o1";
+
+        repo.updateObject(ObjectVersionId.head(objectId), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("file 1"), "f1");
+            updater.writeFile(streamString("file 2"), "dir/f2");
+            updater.writeFile(streamString("3"), "dir/f3");
+        });
+        repo.updateObject(ObjectVersionId.head(objectId), defaultVersionInfo, updater -> {
+            updater.removeFile("f1");
+        });
+
+        var out = new ByteArrayOutputStream();
+        repo.getObjectAsZip(ObjectVersionId.version(objectId, "v1"), out);
+
+        var entries = new HashMap<String, String>();
+        try (var zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes()));
+            }
+        }
+
+        assertEquals(Map.of("f1", "file 1", "dir/f2", "file 2", "dir/f3", "3"), entries);
+
+        assertThrows(
+                NotFoundException.class,
+                () -> repo.getObjectAsZip(ObjectVersionId.head("bogus"), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void recordFileSizesWhenConfigured() throws IOException {
+        var repoName = "size-repo";
+        var repo = defaultRepo(repoName, builder -> {
+            builder.ocflConfig(config -> config.setRecordFileSizes(true));
+        });
+
+        var objectId = "o1";
+
+        repo.updateObject(ObjectVersionId.head(objectId), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("0123456789"), "f1");
+            updater.addPath(sourceObjectPath("o2", "v1").resolve("file1"), "f2");
+        });
+        repo.updateObject(ObjectVersionId.head(objectId), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("0123456789"), "f3");
+        });
+
+        var sourceSize = Files.size(sourceObjectPath("o2", "v1").resolve("file1"));
+
+        var version = repo.describeVersion(ObjectVersionId.head(objectId));
+        assertEquals(10L, version.getFile("f1").getSize());
+        assertEquals(sourceSize, version.getFile("f2").getSize());
+        assertEquals(10L, version.getFile("f3").getSize());
+
+        var object = repo.getObject(ObjectVersionId.head(objectId));
+        assertEquals(10L, object.getFile("f1").getSize());
+        assertEquals("10", object.getFile("f1").getFixity().get(DigestAlgorithm.size));
+
+        assertTrue(repo.validateObject(objectId, ContentValidation.SIZE)
+                .getErrors()
+                .isEmpty());
+    }
+
+    @Test
+    public void recordFileSizesOnPutObjectWhenConfigured() throws IOException {
+        var repoName = "put-size-repo";
+        var repo = defaultRepo(repoName, builder -> {
+            builder.ocflConfig(config -> config.setRecordFileSizes(true));
+        });
+
+        var objectId = "o1";
+        var sourcePath = sourceObjectPath("o2", "v1");
+
+        repo.putObject(ObjectVersionId.head(objectId), sourcePath, defaultVersionInfo);
+
+        var version = repo.describeVersion(ObjectVersionId.head(objectId));
+        assertEquals(
+                Files.size(sourcePath.resolve("file1")),
+                version.getFile("file1").getSize());
+        assertEquals(
+                Files.size(sourcePath.resolve("dir1/dir2/file2")),
+                version.getFile("dir1/dir2/file2").getSize());
+
+        assertTrue(repo.validateObject(objectId, ContentValidation.SIZE)
+                .getErrors()
+                .isEmpty());
+    }
+
+    @Test
+    public void notRecordFileSizesByDefault() {
+        var repoName = "no-size-repo";
+        var repo = defaultRepo(repoName);
+
+        var objectId = "o1";
+
+        repo.updateObject(ObjectVersionId.head(objectId), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("0123456789"), "f1");
+        });
+
+        var file = repo.getObject(ObjectVersionId.head(objectId)).getFile("f1");
+        assertNull(file.getSize());
+        assertFalse(file.getFixity().containsKey(DigestAlgorithm.size));
+    }
+
+    @Test
+    public void getObjectFileChannel() throws IOException {
+        var repoName = "channel-repo";
+        var repo = defaultRepo(repoName);
+
+        var objectId = "o1";
+
+        repo.updateObject(ObjectVersionId.head(objectId), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("0123456789"), "f1");
+        });
+
+        var file = repo.getObject(ObjectVersionId.head(objectId)).getFile("f1");
+
+        try (var channel = file.getChannel()) {
+            channel.position(4);
+            var buffer = ByteBuffer.allocate(3);
+            while (buffer.hasRemaining() && channel.read(buffer) > -1) {}
+            assertEquals("456", new String(buffer.array()));
+        }
+
+        try (var channel = file.getFixityCheckChannel()) {
+            var out = new ByteArrayOutputStream();
+            var buffer = ByteBuffer.allocate(4);
+            while (channel.read(buffer) > -1) {
+                buffer.flip();
+                out.write(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+            channel.checkFixity();
+            assertEquals("0123456789", out.toString());
+        }
+    }
+
     @Test
     public void describeObject() {
         var repoName = "repo5";
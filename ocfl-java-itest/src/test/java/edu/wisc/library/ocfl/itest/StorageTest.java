@@ -46,6 +46,27 @@ public abstract class StorageTest {
 
     protected abstract String readFile(String path);
 
+    protected static final List<String> OBJECT_ROOTS =
+            List.of("a1/b1/obj1", "a1/b2/obj2", "a2/b1/obj3", "a3/obj4", "obj5");
+
+    protected void createObjectRoots() {
+        for (var objectRoot : OBJECT_ROOTS) {
+            file(objectRoot + "/0=ocfl_object_1.1", "ocfl_object_1.1\n");
+            file(objectRoot + "/inventory.json", "{}");
+            file(objectRoot + "/v1/content/file.txt", "content");
+        }
+        file("extensions/some-ext/obj6/0=ocfl_object_1.1", "ocfl_object_1.1\n");
+        file("0=ocfl_1.1", "ocfl_1.1\n");
+    }
+
+    protected List<String> collectObjectRoots(Storage storage) {
+        var objectRoots = new ArrayList<String>();
+        try (var iterator = storage.iterateObjects()) {
+            iterator.forEachRemaining(objectRoots::add);
+        }
+        return objectRoots;
+    }
+
     @BeforeEach
     public void setup() throws IOException {
         staging = Files.createDirectories(tempRoot.resolve("staging"));
@@ -101,6 +122,13 @@ public abstract class StorageTest {
         });
     }
 
+    @Test
+    public void iterateObjectRoots() {
+        createObjectRoots();
+
+        assertThat(collectObjectRoots(storage), containsInAnyOrder(OBJECT_ROOTS.toArray(String[]::new)));
+    }
+
     @Test
     public void notEmptyWhenDirExistsAndHasChildren() {
         file("some/dir/a/1.txt");
@@ -6,14 +6,21 @@ import static edu.wisc.library.ocfl.itest.ITestHelper.sourceObjectPath;
 import static edu.wisc.library.ocfl.itest.ITestHelper.streamString;
 import static edu.wisc.library.ocfl.itest.ITestHelper.verifyDirectoryContentsSame;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.mchange.v2.c3p0.ComboPooledDataSource;
 import edu.wisc.library.ocfl.api.OcflConstants;
 import edu.wisc.library.ocfl.api.OcflRepository;
 import edu.wisc.library.ocfl.api.model.ObjectVersionId;
 import edu.wisc.library.ocfl.core.OcflRepositoryBuilder;
 import edu.wisc.library.ocfl.core.cache.NoOpCache;
+import edu.wisc.library.ocfl.core.db.ChangeFeedDatabaseBuilder;
+import edu.wisc.library.ocfl.core.db.OcflChange;
+import edu.wisc.library.ocfl.core.db.OcflChangeType;
 import edu.wisc.library.ocfl.core.extension.storage.layout.HashedNTupleLayoutExtension;
 import edu.wisc.library.ocfl.core.extension.storage.layout.config.FlatLayoutConfig;
 import edu.wisc.library.ocfl.core.extension.storage.layout.config.HashedNTupleIdEncapsulationLayoutConfig;
@@ -30,16 +37,28 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 
 public class FileSystemOcflITest extends OcflITest {
 
+    private static ComboPooledDataSource dataSource;
+
     private Path reposDir;
 
+    @BeforeAll
+    public static void beforeAll() {
+        dataSource = new ComboPooledDataSource();
+        dataSource.setJdbcUrl(System.getProperty("db.url", "jdbc:h2:mem:test"));
+        dataSource.setUser(System.getProperty("db.user", ""));
+        dataSource.setPassword(System.getProperty("db.password", ""));
+    }
+
     // Does not work with S3Mock because the generated filenames are too long
     @Test
     public void hashedIdLayout() {
@@ -147,6 +166,77 @@ public class FileSystemOcflITest extends OcflITest {
         assertFalse(Files.exists(v2ContentPath), "empty content directories should not exist");
     }
 
+    @Test
+    public void listObjectIdsFromObjectIndex() {
+        var repoName = "object-index";
+        var indexTable = "index_" + UUID.randomUUID().toString().replaceAll("-", "");
+        var repo = defaultRepo(
+                repoName,
+                builder -> builder.objectIndexDb(db -> db.dataSource(dataSource).tableName(indexTable)));
+
+        repo.updateObject(ObjectVersionId.head("o1"), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("1"), "f1");
+        });
+        repo.updateObject(ObjectVersionId.head("o2"), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("2"), "f2");
+        });
+        repo.updateObject(ObjectVersionId.head("o3"), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("3"), "f3");
+        });
+        repo.purgeObject("o2");
+
+        try (var objectIds = repo.listObjectIds()) {
+            assertThat(objectIds.collect(Collectors.toList()), contains("o1", "o3"));
+        }
+        assertTrue(repo.containsObject("o1"));
+        assertFalse(repo.containsObject("o2"));
+
+        var newIndexTable = "index_" + UUID.randomUUID().toString().replaceAll("-", "");
+        var unindexedRepo = existingRepo(
+                repoName,
+                null,
+                builder -> builder.objectIndexDb(db -> db.dataSource(dataSource).tableName(newIndexTable)));
+
+        try (var objectIds = unindexedRepo.listObjectIds()) {
+            assertThat(objectIds.collect(Collectors.toList()), empty());
+        }
+        assertTrue(unindexedRepo.containsObject("o3"));
+
+        var rebuiltRepo = existingRepo(repoName, null, builder -> builder.objectIndexDb(
+                        db -> db.dataSource(dataSource).tableName(newIndexTable))
+                .rebuildObjectIndex());
+
+        try (var objectIds = rebuiltRepo.listObjectIds()) {
+            assertThat(objectIds.collect(Collectors.toList()), contains("o1", "o3"));
+        }
+    }
+
+    @Test
+    public void recordChangesInChangeFeed() {
+        var changeFeedDb = new ChangeFeedDatabaseBuilder()
+                .dataSource(dataSource)
+                .tableName("feed_" + UUID.randomUUID().toString().replaceAll("-", ""))
+                .build();
+        var repo = defaultRepo("change-feed", builder -> builder.changeFeedDb(changeFeedDb));
+
+        repo.updateObject(ObjectVersionId.head("o1"), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("1"), "f1");
+        });
+        var cursor = changeFeedDb.latestChangeId();
+
+        repo.updateObject(ObjectVersionId.head("o1"), defaultVersionInfo, updater -> {
+            updater.writeFile(streamString("2"), "f2");
+        });
+        repo.rollbackToVersion(ObjectVersionId.version("o1", "v1"));
+        repo.purgeObject("o1");
+
+        try (var changes = changeFeedDb.listChanges(cursor)) {
+            assertThat(
+                    changes.map(OcflChange::getChangeType).collect(Collectors.toList()),
+                    contains(OcflChangeType.VERSION_CREATED, OcflChangeType.ROLLED_BACK, OcflChangeType.PURGED));
+        }
+    }
+
     @Override
     protected void onBefore() {
         reposDir = UncheckedFiles.createDirectories(tempRoot.resolve("repos"));
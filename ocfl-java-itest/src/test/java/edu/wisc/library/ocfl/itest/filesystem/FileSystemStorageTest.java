@@ -1,10 +1,13 @@
 package edu.wisc.library.ocfl.itest.filesystem;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import edu.wisc.library.ocfl.api.exception.OcflIOException;
 import edu.wisc.library.ocfl.api.exception.OcflNoSuchFileException;
 import edu.wisc.library.ocfl.core.storage.common.Listing;
 import edu.wisc.library.ocfl.core.storage.common.Storage;
@@ -29,6 +32,25 @@ public class FileSystemStorageTest extends StorageTest {
         return new FileSystemStorage(repoRoot);
     }
 
+    @Test
+    public void iterateObjectRootsInParallelAndInOrder() {
+        createObjectRoots();
+
+        var sequential = collectObjectRoots(storage);
+        var parallelStorage = new FileSystemStorage(repoRoot, 4, true);
+
+        assertThat(collectObjectRoots(parallelStorage), contains(sequential.toArray(String[]::new)));
+    }
+
+    @Test
+    public void iterateObjectRootsInParallelAndOutOfOrder() {
+        createObjectRoots();
+
+        var parallelStorage = new FileSystemStorage(repoRoot, 4, false);
+
+        assertThat(collectObjectRoots(parallelStorage), containsInAnyOrder(OBJECT_ROOTS.toArray(String[]::new)));
+    }
+
     @Test
     public void listDirWhenHasNoChildren() {
         dir("some/dir");
@@ -60,6 +82,45 @@ public class FileSystemStorageTest extends StorageTest {
                         Listing.directory("3/4")));
     }
 
+    @Test
+    public void listDirIncludesFileSizes() {
+        file("some/dir/f1.txt", "12345");
+        dir("some/dir/a");
+
+        var listing = storage.listDirectory("some/dir");
+
+        assertThat(listing, containsInAnyOrder(Listing.file("f1.txt"), Listing.directory("a")));
+        assertEquals(
+                5L, listing.stream().filter(Listing::isFile).findFirst().get().getSize());
+    }
+
+    @Test
+    public void failListDirWhenPathIsFile() {
+        file("some/dir/f1.txt");
+
+        assertThrows(OcflIOException.class, () -> {
+            storage.listDirectory("some/dir/f1.txt");
+        });
+    }
+
+    @Test
+    public void listDirRecursiveOnlyIncludesEmptyLeafDirectories() {
+        file("a/b/c/f1.txt");
+        dir("a/b/d/e");
+        dir("a/f");
+        dir("g");
+
+        var listing = storage.listRecursive("");
+
+        assertThat(
+                listing,
+                containsInAnyOrder(
+                        Listing.file("a/b/c/f1.txt"),
+                        Listing.directory("a/b/d/e"),
+                        Listing.directory("a/f"),
+                        Listing.directory("g")));
+    }
+
     @Test
     public void deleteEmptyChildrenWhenExists() {
         file("a/b/1.txt");
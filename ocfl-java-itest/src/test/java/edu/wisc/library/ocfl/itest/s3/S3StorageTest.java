@@ -1,5 +1,9 @@
 package edu.wisc.library.ocfl.itest.s3;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
 import com.adobe.testing.s3mock.junit5.S3MockExtension;
 import edu.wisc.library.ocfl.aws.OcflS3Client;
 import edu.wisc.library.ocfl.core.storage.cloud.CloudClient;
@@ -15,6 +19,7 @@ import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
@@ -81,6 +86,33 @@ public class S3StorageTest extends StorageTest {
         }
     }
 
+    @Test
+    public void iterateObjectRootsInParallel() {
+        createObjectRoots();
+
+        var parallelStorage = new CloudStorage(createCloudClient(name), 4);
+
+        assertThat(collectObjectRoots(parallelStorage), containsInAnyOrder(OBJECT_ROOTS.toArray(String[]::new)));
+    }
+
+    @Test
+    public void iterateObjectRootsWithFlatScan() {
+        createObjectRoots();
+
+        var flatStorage = new CloudStorage(createCloudClient(name), 1, true);
+
+        assertThat(collectObjectRoots(flatStorage), contains(OBJECT_ROOTS.toArray(String[]::new)));
+    }
+
+    @Test
+    public void iterateObjectRootsWithParallelFlatScan() {
+        createObjectRoots();
+
+        var flatStorage = new CloudStorage(createCloudClient(name), 3, true);
+
+        assertThat(collectObjectRoots(flatStorage), containsInAnyOrder(OBJECT_ROOTS.toArray(String[]::new)));
+    }
+
     private CloudClient createCloudClient(String name) {
         repoPrefixes.add(name);
 